@@ -0,0 +1,50 @@
+package net.dima.project.config;
+
+import java.io.IOException;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * stateless 모드에서 매 요청의 접근 쿠키를 확인해 SecurityContext를 채우는 필터.
+ * 화면(MVC), REST API, SSE 구독, /ws-chat 핸드셰이크(SockJS 요청 포함) 모두 이 필터를 지나므로
+ * 세션 없이도 Authentication / @CurrentUser / request.getUserPrincipal()이 로그인 사용자를 가리킵니다.
+ */
+@RequiredArgsConstructor
+public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final AccessTokenCookies accessTokenCookies;
+
+    // SSE 완료/타임아웃(async 디스패치)과 오류 페이지에서도 인가 검사가 다시 돌므로 그때도 인증 정보를 채운다
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            accessTokenCookies.authenticate(request, response).ifPresent(user -> {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+                SecurityContextHolder.setContext(context);
+            });
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,210 @@
+package net.dima.project.config;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.LoginUserDetails;
+import net.dima.project.service.UserCache;
+
+/**
+ * 서명된 접근 쿠키 (stateless 모드, security.stateless.enabled=true)
+ *
+ * 로그인 정보(userSeq, userId, userName, roles, 만료 시각)를 JSON으로 만들고 HMAC-SHA256으로 서명해 쿠키에 담습니다.
+ * 서버는 세션을 저장하지 않고 매 요청 서명과 만료만 확인하므로, 같은 키를 쓰는 인스턴스라면 어느 서버로 가도 로그인이 유지됩니다.
+ * - 키: security.stateless.secret (Base64, 32바이트 이상). 비어 있으면 시작할 때 임의로 만들며, 이 경우 재시작하거나
+ *   다른 인스턴스로 가면 다시 로그인해야 합니다.
+ * - 만료: security.stateless.access-ttl-ms (기본 15분). 남은 시간이 절반 아래로 내려가면 사용자 캐시에서 최신 권한을 읽어
+ *   새 쿠키를 발급합니다. (관리자가 권한을 바꾸거나 탈퇴시키면 다음 갱신 때 반영)
+ * 쿠키는 HttpOnly, SameSite=Lax 이며 https 요청이면 Secure를 붙입니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.stateless.enabled", havingValue = "true")
+public class AccessTokenCookies {
+
+    public static final String ACCESS_COOKIE = "ACCESS_TOKEN";
+
+    private static final String HMAC = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final UserCache userCache;
+    private final ObjectMapper objectMapper;
+
+    public AccessTokenCookies(@Value("${security.stateless.secret:}") String secret,
+                              @Value("${security.stateless.access-ttl-ms:900000}") long ttlMs,
+                              UserCache userCache,
+                              ObjectMapper objectMapper) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("security.stateless.secret 이 비어 있어 임시 서명 키를 만들었습니다. 여러 인스턴스에서는 같은 키를 설정하세요.");
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret.trim());
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("security.stateless.secret 은 32바이트 이상이어야 합니다.");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC);
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.userCache = userCache;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 로그인 성공 시 접근 쿠키 발급
+     */
+    public void issue(HttpServletRequest request, HttpServletResponse response, LoginUserDetails user) {
+        long now = System.currentTimeMillis();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("seq", user.getUserSeq());
+        claims.put("uid", user.getUserId());
+        claims.put("name", user.getUserName());
+        claims.put("roles", user.getRoles());
+        claims.put("exp", now + ttl.toMillis());
+        try {
+            String token = seal(objectMapper.writeValueAsBytes(claims));
+            writeCookie(request, response, ACCESS_COOKIE, token, ttl);
+        } catch (Exception e) {
+            throw new IllegalStateException("접근 쿠키를 만들지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 요청의 접근 쿠키를 확인합니다. 서명이 틀리거나 만료되었으면 빈 값.
+     * 만료가 가까우면 최신 사용자 정보로 새 쿠키를 발급하고, 그 사이 사용자가 없어졌으면 쿠키를 지웁니다.
+     */
+    public Optional<LoginUserDetails> authenticate(HttpServletRequest request, HttpServletResponse response) {
+        String token = readCookie(request, ACCESS_COOKIE);
+        if (token == null) {
+            return Optional.empty();
+        }
+        Optional<byte[]> payload = unseal(token);
+        if (payload.isEmpty()) {
+            clear(request, response);
+            return Optional.empty();
+        }
+        Map<?, ?> claims;
+        try {
+            claims = objectMapper.readValue(payload.get(), Map.class);
+        } catch (Exception e) {
+            clear(request, response);
+            return Optional.empty();
+        }
+        long remaining = ((Number) claims.get("exp")).longValue() - System.currentTimeMillis();
+        if (remaining <= 0) {
+            clear(request, response);
+            return Optional.empty();
+        }
+
+        Integer userSeq = ((Number) claims.get("seq")).intValue();
+        if (remaining < ttl.toMillis() / 2) {
+            // 갱신: 권한/이름 변경을 반영
+            Optional<LoginUserDetails> refreshed = userCache.findByUserSeq(userSeq)
+                    .map(user -> LoginUserDetails.from(user, null));
+            if (refreshed.isEmpty()) {
+                clear(request, response);
+                return Optional.empty();
+            }
+            refreshed.get().setUserPwd(null);
+            issue(request, response, refreshed.get());
+            return refreshed;
+        }
+        return Optional.of(LoginUserDetails.builder()
+                .userSeq(userSeq)
+                .userId((String) claims.get("uid"))
+                .userName((String) claims.get("name"))
+                .roles((String) claims.get("roles"))
+                .build());
+    }
+
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        writeCookie(request, response, ACCESS_COOKIE, "", Duration.ZERO);
+    }
+
+    // ===== 서명 (CookieOAuth2AuthorizationRequestRepository 에서도 사용) =====
+
+    /**
+     * payload를 "base64url(payload).base64url(HMAC)" 형식으로 서명
+     */
+    String seal(byte[] payload) {
+        return ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(mac(payload));
+    }
+
+    /**
+     * 서명이 맞으면 payload, 아니면 빈 값
+     */
+    Optional<byte[]> unseal(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            return MessageDigest.isEqual(mac(payload), signature) ? Optional.of(payload) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    static String readCookie(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    static void writeCookie(HttpServletRequest request, HttpServletResponse response,
+                            String name, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    // Mac은 스레드 안전하지 않아 호출마다 만든다
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package net.dima.project.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+/**
+ * 메시지 채널 하나(clientInbound / clientOutbound)의 처리 지표.
+ * - 처리율: 최근 60초를 1초 단위 슬롯으로 나누어 집계
+ * - 대기 깊이: 실행기에 제출되었지만 아직 끝나지 않은 작업 수 (현재값 / 최대값)
+ * - 처리 지연: 핸들러 실행 시간을 고정 구간 히스토그램으로 집계
+ *
+ * 채널에 구독된 핸들러마다 작업이 하나씩 제출되므로, 대기 깊이는 메시지가 아니라 작업 단위로 센다.
+ */
+public class ChannelMetrics implements ExecutorChannelInterceptor {
+
+    // 히스토그램 구간 상한 (ms). 마지막 구간은 1000ms 초과
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000};
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final String channelName;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger peakPending = new AtomicInteger();
+
+    private final LongAdder[] latencyBuckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+    private final LongAdder latencyTotalNanos = new LongAdder();
+    private final ThreadLocal<Long> handleStart = new ThreadLocal<>();
+
+    private final AtomicLongArray rateSlotSeconds = new AtomicLongArray(RATE_WINDOW_SECONDS);
+    private final AtomicLongArray rateSlotCounts = new AtomicLongArray(RATE_WINDOW_SECONDS);
+
+    public ChannelMetrics(String channelName) {
+        this.channelName = channelName;
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            latencyBuckets[i] = new LongAdder();
+        }
+    }
+
+    // ===== ExecutorChannelInterceptor =====
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        sent.increment();
+        markRate();
+        int tasks = (channel instanceof AbstractSubscribableChannel subscribable)
+                ? Math.max(1, subscribable.getSubscribers().size())
+                : 1;
+        peakPending.accumulateAndGet(pending.addAndGet(tasks), Math::max);
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null) {
+            // 실행기가 작업을 거부한 경우 등: 제출되지 않은 작업은 대기 수에서 뺀다
+            int tasks = (channel instanceof AbstractSubscribableChannel subscribable)
+                    ? Math.max(1, subscribable.getSubscribers().size())
+                    : 1;
+            pending.addAndGet(-tasks);
+            failed.increment();
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        handleStart.set(System.nanoTime());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Long start = handleStart.get();
+        handleStart.remove();
+        pending.decrementAndGet();
+        handled.increment();
+        if (ex != null) {
+            failed.increment();
+        }
+        if (start != null) {
+            recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    // ===== 집계 =====
+
+    private void recordLatency(long nanos) {
+        latencyTotalNanos.add(nanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int i = 0;
+        while (i < BUCKET_BOUNDS_MS.length && millis > BUCKET_BOUNDS_MS[i]) {
+            i++;
+        }
+        latencyBuckets[i].increment();
+    }
+
+    private void markRate() {
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % RATE_WINDOW_SECONDS);
+        long tag = rateSlotSeconds.get(slot);
+        if (tag != second && rateSlotSeconds.compareAndSet(slot, tag, second)) {
+            rateSlotCounts.set(slot, 0); // 60초 전 슬롯 재사용
+        }
+        rateSlotCounts.incrementAndGet(slot);
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public long getHandledCount() {
+        return handled.sum();
+    }
+
+    /**
+     * 모니터링 API 응답용 스냅샷
+     */
+    public Map<String, Object> snapshot() {
+        long now = System.currentTimeMillis() / 1000;
+        long windowTotal = 0;
+        long peakPerSecond = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            if (now - rateSlotSeconds.get(i) < RATE_WINDOW_SECONDS) {
+                long count = rateSlotCounts.get(i);
+                windowTotal += count;
+                peakPerSecond = Math.max(peakPerSecond, count);
+            }
+        }
+
+        long handledCount = handled.sum();
+        long[] counts = new long[latencyBuckets.length];
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            counts[i] = latencyBuckets[i].sum();
+            String label = (i < BUCKET_BOUNDS_MS.length) ? "le_" + BUCKET_BOUNDS_MS[i] + "ms" : "gt_1000ms";
+            histogram.put(label, counts[i]);
+        }
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("avgMs", handledCount == 0 ? 0.0 : latencyTotalNanos.sum() / 1_000_000.0 / handledCount);
+        latency.put("p50Ms", percentileUpperBound(counts, 0.50));
+        latency.put("p95Ms", percentileUpperBound(counts, 0.95));
+        latency.put("p99Ms", percentileUpperBound(counts, 0.99));
+        latency.put("histogram", histogram);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("channel", channelName);
+        result.put("sent", sent.sum());
+        result.put("handled", handledCount);
+        result.put("failed", failed.sum());
+        result.put("ratePerSecond", (double) windowTotal / RATE_WINDOW_SECONDS);
+        result.put("peakPerSecond", peakPerSecond);
+        result.put("queueDepth", pending.get());
+        result.put("peakQueueDepth", peakPending.get());
+        result.put("latency", latency);
+        return result;
+    }
+
+    // 히스토그램 기준 근사 백분위 (해당 구간의 상한값, 최상위 구간은 -1)
+    private static long percentileUpperBound(long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= threshold) {
+                return (i < BUCKET_BOUNDS_MS.length) ? BUCKET_BOUNDS_MS[i] : -1;
+            }
+        }
+        return -1;
+    }
+}
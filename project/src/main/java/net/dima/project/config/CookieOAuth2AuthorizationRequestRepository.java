@@ -0,0 +1,83 @@
+package net.dima.project.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * stateless 모드용 OAuth2 인가 요청 저장소.
+ * 기본 저장소는 카카오/네이버로 보낸 인가 요청(state 등)을 세션에 두므로, 콜백이 다른 인스턴스로 오면 로그인이 실패합니다.
+ * 여기서는 인가 요청을 직렬화해 접근 쿠키와 같은 키로 서명한 뒤 3분짜리 쿠키에 담습니다.
+ * 서명이 맞는 값만 역직렬화하고, 그때도 Spring Security / JDK 클래스만 허용합니다.
+ */
+@RequiredArgsConstructor
+public class CookieOAuth2AuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    static final String AUTHORIZATION_COOKIE = "OAUTH2_AUTHORIZATION";
+    private static final Duration MAX_AGE = Duration.ofMinutes(3);
+    private static final ObjectInputFilter ALLOWED = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;maxbytes=16384;java.lang.*;java.util.*;java.time.*;org.springframework.security.**;!*");
+
+    private final AccessTokenCookies accessTokenCookies;
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String value = AccessTokenCookies.readCookie(request, AUTHORIZATION_COOKIE);
+        if (value == null) {
+            return null;
+        }
+        Optional<byte[]> payload = accessTokenCookies.unseal(value);
+        return payload.map(CookieOAuth2AuthorizationRequestRepository::deserialize).orElse(null);
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            AccessTokenCookies.writeCookie(request, response, AUTHORIZATION_COOKIE, "", Duration.ZERO);
+            return;
+        }
+        String value = accessTokenCookies.seal(serialize(authorizationRequest));
+        AccessTokenCookies.writeCookie(request, response, AUTHORIZATION_COOKIE, value, MAX_AGE);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request, HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (authorizationRequest != null) {
+            AccessTokenCookies.writeCookie(request, response, AUTHORIZATION_COOKIE, "", Duration.ZERO);
+        }
+        return authorizationRequest;
+    }
+
+    private static byte[] serialize(OAuth2AuthorizationRequest authorizationRequest) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(authorizationRequest);
+        } catch (IOException e) {
+            throw new IllegalStateException("OAuth2 인가 요청을 저장하지 못했습니다.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static OAuth2AuthorizationRequest deserialize(byte[] payload) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            in.setObjectInputFilter(ALLOWED);
+            return (OAuth2AuthorizationRequest) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            return null;
+        }
+    }
+}
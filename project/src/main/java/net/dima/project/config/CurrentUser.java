@@ -0,0 +1,18 @@
+package net.dima.project.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드 인자에 현재 로그인 사용자를 주입합니다. (CurrentUserArgumentResolver)
+ * 인자 타입: CachedUser(사용자 요약), Integer(userSeq), UserEntity(연관관계용 프록시)
+ * 로그인하지 않은 요청이면 null 입니다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
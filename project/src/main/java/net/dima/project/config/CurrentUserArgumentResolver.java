@@ -0,0 +1,59 @@
+package net.dima.project.config;
+
+import lombok.RequiredArgsConstructor;
+import net.dima.project.dto.CachedUser;
+import net.dima.project.dto.LoginUserDetails;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.service.UserCache;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link CurrentUser} 인자를 채웁니다.
+ * 로그인 정보(LoginUserDetails)에 이미 있는 userSeq는 그대로 쓰고, 나머지는 UserCache에서 가져오므로
+ * 요청마다 users 테이블을 조회하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserCache userCache;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (type == CachedUser.class || type == Integer.class || type == UserEntity.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        Class<?> type = parameter.getParameterType();
+        if (type == Integer.class && authentication.getPrincipal() instanceof LoginUserDetails details
+                && details.getUserSeq() != null) {
+            return details.getUserSeq();
+        }
+        if (type == UserEntity.class) {
+            return userCache.getReference(authentication.getName());
+        }
+        CachedUser user = userCache.findByUserId(authentication.getName()).orElse(null);
+        if (type == Integer.class) {
+            return user == null ? null : user.getUserSeq();
+        }
+        return user;
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.LoginUserDetails;
 
 /**
  * 로그인 성공 후 처리를 담당하는 커스텀 핸들러.
@@ -17,6 +18,17 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
+    // stateless 모드일 때만 있음 (로그인 성공 시 서명된 접근 쿠키 발급)
+    private final AccessTokenCookies accessTokenCookies;
+
+    public CustomAuthenticationSuccessHandler() {
+        this(null);
+    }
+
+    public CustomAuthenticationSuccessHandler(AccessTokenCookies accessTokenCookies) {
+        this.accessTokenCookies = accessTokenCookies;
+    }
+
     @Override
     
     // Authentication authentication : 사용자의 아이디와 roles가 들어있음 -> dto를 거치지 않기 때문에 씀 그리고 dto는 검증 전의 데이터고 authentication 검증 후의 인증된 정보가 담기는 거임.
@@ -30,6 +42,10 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
         // 1. 인증된 사용자의 권한(role) 정보를 가져온다.
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
         log.info("로그인 성공! 사용자: {}, 권한: {}", authentication.getName(), authorities);
+
+        if (accessTokenCookies != null && authentication.getPrincipal() instanceof LoginUserDetails user) {
+            accessTokenCookies.issue(request, response, user);
+        }
         
         // 2. 기본 리디렉션 URL을 설정한다.
         String targetUrl = "/";
@@ -0,0 +1,66 @@
+package net.dima.project.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.dima.project.service.SseEmitterService;
+
+/**
+ * Micrometer 지표 등록 (/actuator/prometheus 로 노출)
+ * - SQL 문 수: Hibernate StatementInspector ({@link SqlStatementCounter})
+ * - 실시간 연결: SSE 구독 수, WebSocket 세션/채널 대기 깊이 ({@link WebSocketChannelMetrics})
+ * HikariCP 풀, JVM, http.server.requests 지표는 actuator 자동 설정이 등록한다.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    SqlStatementCounter sqlStatementCounter(MeterRegistry meterRegistry) {
+        return new SqlStatementCounter(meterRegistry);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    MeterBinder realtimeConnectionMetrics(SseEmitterService sseEmitterService, WebSocketChannelMetrics webSocketChannelMetrics) {
+        return registry -> {
+            Gauge.builder("sse.emitters.active", sseEmitterService.getEmitters(), emitters -> emitters.size())
+                    .description("연결된 SSE 알림 구독 수")
+                    .register(registry);
+
+            Gauge.builder("websocket.sessions.open", webSocketChannelMetrics.getOpenSessions(), Number::doubleValue)
+                    .description("열린 채팅 WebSocket 세션 수")
+                    .register(registry);
+            FunctionCounter.builder("websocket.sessions.total", webSocketChannelMetrics.getTotalSessions(), Number::doubleValue)
+                    .description("누적 WebSocket 세션 수")
+                    .register(registry);
+            FunctionCounter.builder("websocket.sessions.slow_consumer_disconnects",
+                            webSocketChannelMetrics.getSlowConsumerDisconnects(), Number::doubleValue)
+                    .description("느린 소비자로 강제 종료된 세션 수")
+                    .register(registry);
+
+            bindChannel(registry, "inbound", webSocketChannelMetrics.getInbound());
+            bindChannel(registry, "outbound", webSocketChannelMetrics.getOutbound());
+        };
+    }
+
+    private static void bindChannel(MeterRegistry registry, String name, ChannelMetrics channel) {
+        Gauge.builder("websocket.channel.pending", channel, ChannelMetrics::getPending)
+                .description("채널 실행기에 제출되었지만 끝나지 않은 작업 수")
+                .tag("channel", name)
+                .register(registry);
+        FunctionCounter.builder("websocket.channel.handled", channel, ChannelMetrics::getHandledCount)
+                .description("채널에서 처리한 메시지 작업 수")
+                .tag("channel", name)
+                .register(registry);
+    }
+}
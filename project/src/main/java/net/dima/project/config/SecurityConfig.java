@@ -1,11 +1,16 @@
 package net.dima.project.config;
 import net.dima.project.service.NaverService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -24,7 +29,16 @@ public class SecurityConfig {
     private final NaverService naverService;
 	private final KakaoService kakaoService;
     private final CustomOAuth2FailureHandler customOAuth2FailureHandler;
+    // security.stateless.enabled=true 일 때만 빈이 있음
+    private final ObjectProvider<AccessTokenCookies> accessTokenCookies;
 
+    /**
+     * stateless 모드: 로그인 상태를 서버 세션 대신 서명된 접근 쿠키(AccessTokenCookies)로 유지합니다.
+     * 세션 고정(sticky session) 없이 여러 인스턴스를 띄울 수 있습니다. (모든 인스턴스에 같은 security.stateless.secret 필요)
+     * 소셜 신규 가입의 추가 정보 입력 단계는 여전히 짧은 세션을 씁니다.
+     */
+    @Value("${security.stateless.enabled:false}")
+    private boolean stateless;
 
 
     @Bean
@@ -47,6 +61,10 @@ public class SecurityConfig {
             .requestMatchers("/api/notifications/**").hasAnyRole("fwd", "cus", "admin")
             .requestMatchers("/download/**").authenticated()
             .requestMatchers("/adm/**").hasRole("admin")
+            .requestMatchers("/api/adm/**").hasRole("admin") // 관리자 API 전체 (운영 지표, 환율, 거래액, SCFI 반영 등)
+            .requestMatchers("/actuator/health").permitAll()
+            // Prometheus 수집 포함 관리자만 (프록시 뒤에서는 원격 주소가 전달 헤더로 바뀌므로 IP로 허용하지 않음)
+            .requestMatchers("/actuator/**").hasRole("admin")
             .requestMatchers("/fwd/**", "/api/fwd/**").hasAnyRole("fwd", "admin") // [수정]
             .requestMatchers("/cus/**", "/api/cus/**").hasAnyRole("cus", "admin") // [수정]
             .requestMatchers("/my/**").hasAnyRole("ADMIN","fwd","cus")
@@ -94,11 +112,25 @@ public class SecurityConfig {
                 )
             );
         
+        if (stateless) {
+            AccessTokenCookies cookies = accessTokenCookies.getObject();
+            // 인증 정보를 세션에 저장/조회하지 않고 요청 범위에만 둔다. 매 요청 접근 쿠키로 다시 채움
+            http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+            http.securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()));
+            http.requestCache(cache -> cache.requestCache(new NullRequestCache()));
+            http.addFilterAfter(new AccessTokenAuthenticationFilter(cookies), SecurityContextHolderFilter.class);
+            // 카카오/네이버 인가 요청(state)도 세션 대신 서명된 쿠키에 보관
+            http.oauth2Login(oauth2 -> oauth2
+                .authorizationEndpoint(endpoint -> endpoint
+                    .authorizationRequestRepository(new CookieOAuth2AuthorizationRequestRepository(cookies))));
+        }
+
         // 로그아웃 설정
         http.logout((auth) -> auth
             .logoutUrl("/logout")
             .logoutSuccessUrl("/")
             .invalidateHttpSession(true)
+            .deleteCookies(AccessTokenCookies.ACCESS_COOKIE)
             .permitAll() // 로그아웃 URL은 모두에게 허용
         );
         
@@ -131,11 +163,6 @@ public class SecurityConfig {
 
     @Bean
     public AuthenticationSuccessHandler customAuthenticationSuccessHandler() {
-        return new CustomAuthenticationSuccessHandler();
-    }
-
-    @Bean
-    BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new CustomAuthenticationSuccessHandler(accessTokenCookies.getIfAvailable());
     }
 }
@@ -0,0 +1,59 @@
+package net.dima.project.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * net.dima.project.service 의 모든 public 메서드 실행 시간을 service.method 타이머로 기록한다.
+ * 태그: class, method, exception (정상 종료는 none)
+ *
+ * 스프링 프록시를 거치는 호출만 잡히므로, 같은 서비스 안에서 this 로 부르는 메서드는 바깥 메서드 시간에 포함된다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    static final String METRIC = "service.method";
+
+    private final MeterRegistry meterRegistry;
+
+    // 정상 종료 타이머는 메서드별로 한 번만 만들어 둔다 (호출마다 태그 조회를 피함)
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * net.dima.project.service..*.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        try {
+            Object result = joinPoint.proceed();
+            timers.computeIfAbsent(method, m -> timer(joinPoint, "none")).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(joinPoint, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        return Timer.builder(METRIC)
+                .description("서비스 메서드 실행 시간")
+                .tag("class", ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
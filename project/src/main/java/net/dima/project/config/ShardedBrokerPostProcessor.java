@@ -0,0 +1,37 @@
+package net.dima.project.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * chat.broker.mode=sharded 일 때, 스프링이 생성한 SimpleBrokerMessageHandler의
+ * 구독 저장소를 ShardedSubscriptionRegistry로 교체한다.
+ * (브로커가 시작되기 전에 교체되어야 하므로 BeanPostProcessor로 처리)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "sharded")
+public class ShardedBrokerPostProcessor implements BeanPostProcessor {
+
+    private final int shardCount;
+
+    public ShardedBrokerPostProcessor(@Value("${chat.broker.shards:16}") int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof SimpleBrokerMessageHandler brokerHandler) {
+            ShardedSubscriptionRegistry registry = new ShardedSubscriptionRegistry(shardCount);
+            brokerHandler.setSubscriptionRegistry(registry);
+            log.info("WebSocket: 샤딩 브로커 활성화 (샤드 수: {})", registry.getShardCount());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,170 @@
+package net.dima.project.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+/**
+ * 프로세스 내 샤딩 브로커용 구독 저장소.
+ * 목적지(destination)를 해시하여 샤드에 분산하고, 목적지별 구독자를 불변 배열로 보관한다.
+ * 구독/해지 시에만 배열을 새로 만들어 교체(copy-on-write)하므로,
+ * 메시지 발행 시의 구독자 조회는 락 없이 배열을 그대로 읽는다.
+ *
+ * 채팅방 토픽(/topic/chatroom/{id})처럼 정확히 일치하는 목적지를 기준으로 최적화되어 있으며,
+ * 와일드카드가 포함된 구독은 별도 목록에서 PathMatcher로 매칭한다.
+ * (STOMP selector 헤더는 지원하지 않는다.)
+ */
+public class ShardedSubscriptionRegistry implements SubscriptionRegistry {
+
+    private static final Subscriber[] EMPTY = new Subscriber[0];
+
+    private final Map<String, Subscriber[]>[] shards;
+    private final int shardMask;
+
+    // 와일드카드 구독 (드물게 사용되므로 단순 목록으로 관리)
+    private final CopyOnWriteArrayList<PatternSubscriber> patternSubscribers = new CopyOnWriteArrayList<>();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    // 세션 종료 시 정리를 위한 역인덱스: sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public ShardedSubscriptionRegistry(int shardCount) {
+        int size = 1;
+        while (size < shardCount) {
+            size <<= 1; // 2의 거듭제곱으로 올림
+        }
+        this.shards = new Map[size];
+        for (int i = 0; i < size; i++) {
+            this.shards[i] = new ConcurrentHashMap<>();
+        }
+        this.shardMask = size - 1;
+    }
+
+    @Override
+    public void registerSubscription(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+
+        String previous = sessionSubscriptions
+                .computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            removeSubscriber(previous, sessionId, subscriptionId);
+        }
+
+        Subscriber subscriber = new Subscriber(sessionId, subscriptionId);
+        if (pathMatcher.isPattern(destination)) {
+            patternSubscribers.add(new PatternSubscriber(destination, subscriber));
+            return;
+        }
+        shardFor(destination).compute(destination, (dest, current) -> {
+            Subscriber[] base = (current != null) ? current : EMPTY;
+            Subscriber[] next = Arrays.copyOf(base, base.length + 1);
+            next[base.length] = subscriber;
+            return next;
+        });
+    }
+
+    @Override
+    public void unregisterSubscription(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeSubscriber(destination, sessionId, subscriptionId);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.forEach((subscriptionId, destination) -> removeSubscriber(destination, sessionId, subscriptionId));
+    }
+
+    @Override
+    public MultiValueMap<String, String> findSubscriptions(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+        if (destination == null) {
+            return result;
+        }
+
+        // 발행 경로: 불변 배열을 읽기만 하므로 락이 필요 없다.
+        Subscriber[] subscribers = shardFor(destination).get(destination);
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                result.add(subscriber.sessionId(), subscriber.subscriptionId());
+            }
+        }
+        if (!patternSubscribers.isEmpty()) {
+            for (PatternSubscriber patternSubscriber : patternSubscribers) {
+                if (pathMatcher.match(patternSubscriber.pattern(), destination)) {
+                    result.add(patternSubscriber.subscriber().sessionId(), patternSubscriber.subscriber().subscriptionId());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 현재 등록된 전체 구독 수 (모니터링용)
+     */
+    public int getSubscriptionCount() {
+        return sessionSubscriptions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    private void removeSubscriber(String destination, String sessionId, String subscriptionId) {
+        if (pathMatcher.isPattern(destination)) {
+            patternSubscribers.removeIf(p -> p.subscriber().matches(sessionId, subscriptionId));
+            return;
+        }
+        shardFor(destination).computeIfPresent(destination, (dest, current) -> {
+            Subscriber[] next = Arrays.stream(current)
+                    .filter(s -> !s.matches(sessionId, subscriptionId))
+                    .toArray(Subscriber[]::new);
+            return next.length == 0 ? null : next; // 구독자가 없으면 목적지 자체를 제거
+        });
+    }
+
+    private Map<String, Subscriber[]> shardFor(String destination) {
+        int h = destination.hashCode();
+        return shards[(h ^ (h >>> 16)) & shardMask];
+    }
+
+    private record Subscriber(String sessionId, String subscriptionId) {
+        boolean matches(String otherSessionId, String otherSubscriptionId) {
+            return sessionId.equals(otherSessionId) && subscriptionId.equals(otherSubscriptionId);
+        }
+    }
+
+    private record PatternSubscriber(String pattern, Subscriber subscriber) {
+    }
+}
@@ -0,0 +1,109 @@
+package net.dima.project.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hibernate가 준비하는 SQL 문을 세는 StatementInspector (SQL 은 바꾸지 않음).
+ *
+ * - 전체: sql.statements 카운터 (type=select/insert/update/delete/other)
+ * - 요청별: {@link #begin()} ~ {@link #end()} 사이에 같은 스레드에서 실행된 문장 수와, 문장별 반복 횟수.
+ *   같은 SQL(파라미터는 ?)이 한 요청에서 여러 번 반복되면 지연 로딩 N+1 로 의심할 수 있다.
+ *
+ * Hibernate를 거치지 않는 JdbcTemplate 쿼리(작업 임대, 내보내기 등)는 세지 않는다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final String[] TYPES = {"select", "insert", "update", "delete"};
+
+    /**
+     * 요청 하나에서 실행된 SQL 집계
+     */
+    public static final class RequestStats {
+        private final Map<String, Integer> repeats = new HashMap<>();
+        private int total;
+
+        void add(String sql) {
+            total++;
+            repeats.merge(sql, 1, Integer::sum);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * 가장 많이 반복된 문장 (없으면 null)
+         */
+        public Map.Entry<String, Integer> getMostRepeated() {
+            Map.Entry<String, Integer> most = null;
+            for (Map.Entry<String, Integer> entry : repeats.entrySet()) {
+                if (most == null || entry.getValue() > most.getValue()) {
+                    most = entry;
+                }
+            }
+            return most;
+        }
+    }
+
+    private final ThreadLocal<RequestStats> current = new ThreadLocal<>();
+    private final Counter[] counters = new Counter[TYPES.length + 1];
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        for (int i = 0; i <= TYPES.length; i++) {
+            counters[i] = Counter.builder("sql.statements")
+                    .description("Hibernate가 실행한 SQL 문 수")
+                    .tag("type", i < TYPES.length ? TYPES[i] : "other")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        counters[typeOf(sql)].increment();
+        RequestStats stats = current.get();
+        if (stats != null) {
+            stats.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 현재 스레드에서 요청별 집계를 시작한다
+     */
+    public void begin() {
+        current.set(new RequestStats());
+    }
+
+    /**
+     * 요청별 집계를 끝내고 결과를 돌려준다 (begin 없이 부르면 null)
+     */
+    public RequestStats end() {
+        RequestStats stats = current.get();
+        current.remove();
+        return stats;
+    }
+
+    private static int typeOf(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        for (int i = 0; i < TYPES.length; i++) {
+            if (sql.regionMatches(true, start, TYPES[i], 0, TYPES[i].length())) {
+                return i;
+            }
+        }
+        return TYPES.length;
+    }
+
+    static String abbreviate(String sql, int max) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= max ? flat : flat.substring(0, max) + "...";
+    }
+}
@@ -0,0 +1,95 @@
+package net.dima.project.config;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청(화면/API)마다 Hibernate SQL 문 수를 sql.request.statements 분포로 기록한다. (태그: method, uri 패턴)
+ * 한 요청에서 같은 문장이 n-plus-one-threshold 번 이상 반복되면 sql.n_plus_one.suspected 를 올리고,
+ * uri + 문장 조합마다 처음 한 번만 경고 로그를 남긴다.
+ *
+ * SSE/스트리밍처럼 비동기로 넘어가는 요청은 핸들러 스레드에서 실행된 문장까지만 센다.
+ */
+@Slf4j
+@Component
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    private final Set<String> warned = ConcurrentHashMap.newKeySet();
+
+    public SqlStatementMetricsInterceptor(SqlStatementCounter counter, MeterRegistry meterRegistry,
+                                          @Value("${metrics.sql.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 재디스패치(완료 처리)는 첫 디스패치에서 이미 기록했다
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            counter.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request);
+    }
+
+    private void record(HttpServletRequest request) {
+        SqlStatementCounter.RequestStats stats = counter.end();
+        if (stats == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("sql.request.statements")
+                .description("요청 하나에서 Hibernate가 실행한 SQL 문 수")
+                .baseUnit("statements")
+                .serviceLevelObjectives(1, 5, 10, 25, 50, 100, 250)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getTotal());
+
+        Map.Entry<String, Integer> mostRepeated = stats.getMostRepeated();
+        if (mostRepeated != null && mostRepeated.getValue() >= nPlusOneThreshold) {
+            Counter.builder("sql.n_plus_one.suspected")
+                    .description("같은 SQL이 한 요청에서 임계값 이상 반복된 요청 수")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            if (warned.add(method + " " + uri + "\n" + mostRepeated.getKey())) {
+                log.warn("SQL N+1 의심: {} {} 에서 같은 문장 {}회 (요청 전체 {}회) - {}", method, uri,
+                        mostRepeated.getValue(), stats.getTotal(), SqlStatementCounter.abbreviate(mostRepeated.getKey(), 200));
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package net.dima.project.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅(WebSocket/STOMP) 채널 지표 모음.
+ * WebSocketConfig가 인바운드/아웃바운드 채널에 인터셉터를, 전송 계층에 세션 추적 데코레이터를 등록한다.
+ *
+ * 느린 소비자: 전송 시간(sendTimeLimit) 또는 버퍼(sendBufferSizeLimit) 한도를 넘긴 세션은
+ * 스프링이 SESSION_NOT_RELIABLE 상태로 강제 종료하므로, 해당 종료 코드를 세어 집계한다.
+ * (CONNECT 프레임을 제한 시간 안에 보내지 않은 세션도 같은 코드로 닫히므로,
+ *  한 번이라도 메시지를 받은 세션만 느린 소비자로 분류한다.)
+ */
+@Slf4j
+@Component
+@Getter
+public class WebSocketChannelMetrics {
+
+    private final ChannelMetrics inbound = new ChannelMetrics("clientInbound");
+    private final ChannelMetrics outbound = new ChannelMetrics("clientOutbound");
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final AtomicInteger peakSessions = new AtomicInteger();
+    private final LongAdder totalSessions = new LongAdder();
+    private final LongAdder slowConsumerDisconnects = new LongAdder();
+    private final LongAdder firstMessageTimeouts = new LongAdder();
+
+    // 클라이언트로부터 메시지를 한 번 이상 받은 세션
+    private final Set<String> activeSessionIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 세션 연결/종료를 집계하는 WebSocketHandler 데코레이터
+     */
+    public WebSocketHandlerDecoratorFactory sessionTracker() {
+        return handler -> new SessionTrackingHandler(handler);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> sessions = new LinkedHashMap<>();
+        sessions.put("open", openSessions.get());
+        sessions.put("peak", peakSessions.get());
+        sessions.put("total", totalSessions.sum());
+        sessions.put("slowConsumerDisconnects", slowConsumerDisconnects.sum());
+        sessions.put("firstMessageTimeouts", firstMessageTimeouts.sum());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sessions", sessions);
+        result.put("inbound", inbound.snapshot());
+        result.put("outbound", outbound.snapshot());
+        return result;
+    }
+
+    private final class SessionTrackingHandler extends WebSocketHandlerDecorator {
+
+        SessionTrackingHandler(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            totalSessions.increment();
+            peakSessions.accumulateAndGet(openSessions.incrementAndGet(), Math::max);
+            super.afterConnectionEstablished(session);
+        }
+
+        @Override
+        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+            activeSessionIds.add(session.getId());
+            super.handleMessage(session, message);
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            openSessions.decrementAndGet();
+            boolean active = activeSessionIds.remove(session.getId());
+            if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                if (active) {
+                    slowConsumerDisconnects.increment();
+                    log.warn("WebSocket: 느린 소비자 세션 종료 (sessionId: {})", session.getId());
+                } else {
+                    firstMessageTimeouts.increment();
+                }
+            }
+            super.afterConnectionClosed(session, closeStatus);
+        }
+    }
+}
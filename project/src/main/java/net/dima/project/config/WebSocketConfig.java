@@ -1,16 +1,70 @@
 package net.dima.project.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import lombok.RequiredArgsConstructor;
+
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketChannelMetrics channelMetrics;
+
+    // 브로커 모드: simple(기본) / sharded(프로세스 내 샤딩) / relay(외부 STOMP 브로커)
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${chat.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    // 클라이언트 -> 서버 (인바운드) 채널 실행기
+    @Value("${chat.channel.inbound.virtual-threads:false}")
+    private boolean inboundVirtualThreads;
+
+    @Value("${chat.channel.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${chat.channel.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${chat.channel.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    // 서버 -> 클라이언트 (아웃바운드) 채널 실행기
+    @Value("${chat.channel.outbound.virtual-threads:false}")
+    private boolean outboundVirtualThreads;
+
+    @Value("${chat.channel.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${chat.channel.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${chat.channel.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // 클라이언트가 WebSocket 연결을 시작할 엔드포인트입니다.
@@ -21,8 +75,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // 메시지 브로커가 /topic으로 시작하는 주소를 구독하는 클라이언트에게 메시지를 전달하도록 설정합니다.
-        registry.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)로 /topic 메시지를 중계합니다.
+            // 구독 정보가 외부 브로커에 있으므로 여러 인스턴스가 같은 채팅방을 공유할 수 있습니다.
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // 메시지 브로커가 /topic으로 시작하는 주소를 구독하는 클라이언트에게 메시지를 전달하도록 설정합니다.
+            // sharded 모드에서는 ShardedBrokerPostProcessor가 구독 저장소만 교체합니다.
+            registry.enableSimpleBroker("/topic");
+        }
         // 클라이언트가 서버로 메시지를 보낼 때 사용할 주소의 접두사입니다.
         registry.setApplicationDestinationPrefixes("/app");
     }
@@ -31,6 +101,34 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         registration.setSendTimeLimit(15 * 1000) // 메시지 전송 시간 제한 (15초)
                     .setSendBufferSizeLimit(512 * 1024) // 전송 버퍼 크기 제한 (512KB)
-                    .setMessageSizeLimit(128 * 1024); // 메시지 크기 제한 (128KB)
+                    .setMessageSizeLimit(128 * 1024) // 메시지 크기 제한 (128KB)
+                    .addDecoratorFactory(channelMetrics.sessionTracker()); // 세션 수 / 느린 소비자 종료 집계
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "ws-inbound-", inboundVirtualThreads,
+                inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity);
+        registration.interceptors(channelMetrics.getInbound());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "ws-outbound-", outboundVirtualThreads,
+                outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity);
+        registration.interceptors(channelMetrics.getOutbound());
+    }
+
+    // 가상 스레드 모드에서는 메시지마다 가상 스레드를 만들므로 풀/큐 크기 설정은 무시된다.
+    private void configureExecutor(ChannelRegistration registration, String threadNamePrefix, boolean virtualThreads,
+                                   int corePoolSize, int maxPoolSize, int queueCapacity) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor(threadNamePrefix));
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(corePoolSize)
+                    .maxPoolSize(maxPoolSize)
+                    .queueCapacity(queueCapacity);
+        }
     }
 }
\ No newline at end of file
@@ -3,16 +3,32 @@ package net.dima.project.controller;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import net.dima.project.dto.DashboardMetricsDto;
+import net.dima.project.dto.RevenueSummaryDto;
 import net.dima.project.dto.ScfiDataDto;
+import net.dima.project.dto.VolumeBreakdownDto;
 import net.dima.project.dto.VolumeDto;
+import net.dima.project.dto.VolumeSeriesDto;
+import net.dima.project.entity.VolumeBucket;
 import net.dima.project.service.AdminService;
+import net.dima.project.service.FxRateService;
+import net.dima.project.service.ScfiImportService;
+import net.dima.project.service.SettlementLedgerService;
+import net.dima.project.service.VolumeRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map; // import 추가
 
 @RestController
@@ -21,12 +37,50 @@ import java.util.Map; // import 추가
 public class AdminApiController {
 
     private final AdminService adminService;
+    private final FxRateService fxRateService;
+    private final SettlementLedgerService settlementLedgerService;
+    private final VolumeRollupService volumeRollupService;
+    private final ScfiImportService scfiImportService;
 
     @GetMapping("/volumes")
     public ResponseEntity<VolumeDto> getVolumes() {
         VolumeDto volumeData = adminService.getSystemVolume();
         return ResponseEntity.ok(volumeData);
     }
+
+    // 일별 물동량 시계열 (기본: 최근 30일)
+    @GetMapping("/volumes/daily")
+    public ResponseEntity<List<VolumeSeriesDto>> getDailyVolumes(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = (to != null) ? to : LocalDate.now();
+        LocalDate start = (from != null) ? from : end.minusDays(29);
+        return ResponseEntity.ok(volumeRollupService.getDailySeries(start, end));
+    }
+
+    // 경로별 / 포워더별 물동량 순위 (bucket: DEALT, OFFERED, REQUESTED, CONFIRMED ...)
+    @GetMapping("/volumes/{groupBy}")
+    public ResponseEntity<?> getVolumeBreakdown(
+            @PathVariable("groupBy") String groupBy,
+            @RequestParam(value = "bucket", defaultValue = "DEALT") String bucket,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            LocalDate end = (to != null) ? to : LocalDate.now();
+            LocalDate start = (from != null) ? from : end.minusDays(29);
+            VolumeBucket volumeBucket = VolumeBucket.valueOf(bucket.toUpperCase());
+            int size = Math.max(1, Math.min(limit, 100));
+            List<VolumeBreakdownDto> result = switch (groupBy) {
+                case "routes" -> volumeRollupService.getRouteBreakdown(start, end, volumeBucket, size);
+                case "forwarders" -> volumeRollupService.getForwarderBreakdown(start, end, volumeBucket, size);
+                default -> throw new IllegalArgumentException("지원하지 않는 집계 기준입니다: " + groupBy);
+            };
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
     
     // [추가] 대시보드 전체 데이터 API
     @GetMapping("/dashboard-metrics")
@@ -57,5 +111,40 @@ public class AdminApiController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-    
-}
\ No newline at end of file
+
+    // SCFI 지수 CSV 일괄 반영 (record_date,index_value, 같은 날짜는 덮어쓰기, 잘못된 줄은 줄별 오류로 응답)
+    @PostMapping("/scfi-data/import")
+    public ResponseEntity<?> importScfiData(@RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(scfiImportService.importCsv(in));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 현재 적용 중인 환율 (통화별 최신값)
+    @GetMapping("/fx-rates")
+    public ResponseEntity<Map<String, Object>> getFxRates() {
+        return ResponseEntity.ok(fxRateService.describe());
+    }
+
+    // 환율 CSV 업로드 (currency,effective_date,rate_to_base)
+    @PostMapping("/fx-rates")
+    public ResponseEntity<String> uploadFxRates(@RequestParam("file") MultipartFile file, Authentication authentication) {
+        try (InputStream in = file.getInputStream()) {
+            int imported = fxRateService.importCsv(in, "upload:" + authentication.getName());
+            int converted = settlementLedgerService.fillMissingBaseAmounts();
+            return ResponseEntity.ok("환율 " + imported + "건이 반영되었습니다. (거래내역 " + converted + "건 환산)");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 기간별 판매 거래액 합계 (기준 통화)
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueSummaryDto> getRevenue(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(adminService.getRevenueSummary(from, to));
+    }
+}
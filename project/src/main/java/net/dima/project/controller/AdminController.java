@@ -1,7 +1,10 @@
 package net.dima.project.controller;
 
-import java.util.List;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +23,9 @@ import net.dima.project.dto.UserInfoDto;
 @Slf4j
 public class AdminController {
 
+	// 관리 목록의 기본 정렬 (@PageableDefault와 동일)
+	private static final Sort.Order DEFAULT_ORDER = Sort.Order.desc("createDate");
+
 	private final AdminService adminService;
     /**
      * 관리자 대시보드 메인 페이지를 반환합니다.
@@ -33,20 +39,45 @@ public class AdminController {
     }
 
     @GetMapping("/forwarder-management")
-    public String forwarderManagementPage(Model model) {
+    public String forwarderManagementPage(Model model,
+                                          @PageableDefault(size = 50, sort = "createDate", direction = Sort.Direction.DESC) Pageable pageable) {
         // [수정] activeMenu 정보를 모델에 추가
         model.addAttribute("activeMenu", "forwarder-management");
-        List<ForwarderInfoDto> forwarderList = adminService.getForwarderList();
-        model.addAttribute("forwarderList", forwarderList);
+        pageable = withDefaultSort(pageable);
+        Page<ForwarderInfoDto> forwarderPage = adminService.getForwarderList(pageable);
+        model.addAttribute("forwarderPage", forwarderPage);
+        model.addAttribute("forwarderList", forwarderPage.getContent());
+        addSortAttributes(model, pageable);
         return "adm/ADM_forwarder_management";
     }
     
     // [추가] 유저(화주) 관리 페이지
     @GetMapping("/user-management")
-    public String userManagementPage(Model model) {
+    public String userManagementPage(Model model,
+                                     @PageableDefault(size = 50, sort = "createDate", direction = Sort.Direction.DESC) Pageable pageable) {
         model.addAttribute("activeMenu", "user-management");
-        List<UserInfoDto> userList = adminService.getUserList();
-        model.addAttribute("userList", userList);
+        pageable = withDefaultSort(pageable);
+        Page<UserInfoDto> userPage = adminService.getUserList(pageable);
+        model.addAttribute("userPage", userPage);
+        model.addAttribute("userList", userPage.getContent());
+        addSortAttributes(model, pageable);
         return "adm/ADM_user_management";
     }
+
+    // 정렬 없이 들어온 요청(?sort= 등)은 기본 정렬로 조회
+    private static Pageable withDefaultSort(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(DEFAULT_ORDER))
+                : Pageable.unpaged(Sort.by(DEFAULT_ORDER));
+    }
+
+    private void addSortAttributes(Model model, Pageable pageable) {
+        Sort sort = pageable.getSort();
+        Sort.Order order = sort.isSorted() ? sort.iterator().next() : DEFAULT_ORDER;
+        model.addAttribute("currentSortField", order.getProperty());
+        model.addAttribute("currentSortDirection", order.getDirection().name());
+        model.addAttribute("reverseSortDirection", order.isAscending() ? "desc" : "asc");
+    }
 }
\ No newline at end of file
@@ -1,12 +1,11 @@
 package net.dima.project.controller;
 
 import lombok.RequiredArgsConstructor;
+import net.dima.project.config.CurrentUser;
 import net.dima.project.dto.ChatMessageDto;
 import net.dima.project.dto.ChatRoomDto;
-import net.dima.project.dto.LoginUserDetails;
 import net.dima.project.service.ChatService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping; 
@@ -26,9 +25,9 @@ public class ChatApiController {
     private final ChatService chatService;
 
     @GetMapping("/rooms")
-    public ResponseEntity<List<ChatRoomDto>> getMyChatRooms(@AuthenticationPrincipal LoginUserDetails userDetails) {
-        // [수정] 이제 userDetails.getUserSeq()가 정상적으로 동작합니다.
-        List<ChatRoomDto> chatRooms = chatService.getChatRoomsForUser(userDetails.getUserSeq());
+    public ResponseEntity<List<ChatRoomDto>> getMyChatRooms(@CurrentUser Integer userSeq) {
+        // [수정] 이제 userSeq가 정상적으로 동작합니다.
+        List<ChatRoomDto> chatRooms = chatService.getChatRoomsForUser(userSeq);
         return ResponseEntity.ok(chatRooms);
     }
 
@@ -44,14 +43,14 @@ public class ChatApiController {
     public ResponseEntity<Void> updateChatRoomName(
             @PathVariable("roomId") Long roomId,
             @RequestBody Map<String, String> payload,
-            @AuthenticationPrincipal LoginUserDetails userDetails) {
+            @CurrentUser Integer userSeq) {
         
         String newName = payload.get("name");
         if (newName == null || newName.isBlank()) {
             return ResponseEntity.badRequest().build();
         }
         
-        chatService.updateChatRoomName(userDetails.getUserSeq(), roomId, newName.trim());
+        chatService.updateChatRoomName(userSeq, roomId, newName.trim());
         return ResponseEntity.ok().build();
     }
     
@@ -59,8 +58,21 @@ public class ChatApiController {
     @PostMapping("/rooms/{roomId}/read")
     public ResponseEntity<Void> markMessagesAsRead(
             @PathVariable("roomId") Long roomId,
-            @AuthenticationPrincipal LoginUserDetails userDetails) {
-        chatService.markMessagesAsRead(roomId, userDetails.getUserSeq());
+            @CurrentUser Integer userSeq) {
+        chatService.markMessagesAsRead(roomId, userSeq);
         return ResponseEntity.ok().build();
     }
+
+    // 컨테이너 공지 채팅방 열기 (운송사 전용, 없으면 생성)
+    @PostMapping("/containers/{containerId}/room")
+    public ResponseEntity<?> openContainerChatRoom(
+            @PathVariable("containerId") String containerId,
+            @CurrentUser Integer userSeq) {
+        try {
+            Long roomId = chatService.openContainerChatRoom(containerId, userSeq);
+            return ResponseEntity.ok(Map.of("chatRoomId", roomId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
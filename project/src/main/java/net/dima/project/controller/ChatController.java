@@ -5,8 +5,11 @@ import net.dima.project.dto.ChatMessageDto;
 import net.dima.project.entity.ChatMessage;
 import net.dima.project.service.ChatService;
 
+import java.security.Principal;
+
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Controller;
 
 @Controller
@@ -17,9 +20,12 @@ public class ChatController {
     private final ChatService chatService; // ChatService 주입
 
     @MessageMapping("/chat/sendMessage")
-    public void sendMessage(ChatMessageDto chatMessageDto) {
-        // 1. 받은 메시지를 DB에 저장
-        ChatMessage savedMessage = chatService.saveMessage(chatMessageDto);
+    public void sendMessage(ChatMessageDto chatMessageDto, Principal principal) {
+        if (principal == null) {
+            throw new AccessDeniedException("로그인이 필요합니다.");
+        }
+        // 1. 받은 메시지를 DB에 저장 (발신자는 클라이언트가 보낸 senderSeq가 아니라 접속한 사용자)
+        ChatMessage savedMessage = chatService.saveMessage(chatMessageDto, principal.getName());
 
         // 2. DTO로 변환하여 클라이언트에 전송
         ChatMessageDto messageToSend = ChatMessageDto.fromEntity(savedMessage);
@@ -3,12 +3,22 @@ package net.dima.project.controller;
 import lombok.RequiredArgsConstructor;
 import net.dima.project.dto.NewRequestDto;
 import net.dima.project.service.RequestService;
+import net.dima.project.entity.LedgerEntryType;
+import net.dima.project.service.TransactionExportService;
+import net.dima.project.service.TransactionExportService.ExportFormat;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import net.dima.project.service.OfferService; // import 추가
 import net.dima.project.dto.OfferDto; // import 추가
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List; // import 추가
 import java.util.Map;   // import 추가
 
@@ -19,6 +29,7 @@ public class CusApiController {
 
     private final RequestService requestService;
     private final OfferService offerService;
+    private final TransactionExportService transactionExportService;
 
     @PostMapping("/requests")
     public ResponseEntity<String> createRequest(@RequestBody NewRequestDto dto, Authentication authentication) {
@@ -56,4 +67,26 @@ public class CusApiController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    // 요청 이력 내보내기 (CSV / XLSX 스트리밍)
+    @GetMapping("/history/export")
+    public ResponseEntity<?> exportHistory(
+            Authentication authentication,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(name = "keyword", required = false) String keyword) {
+        try {
+            ExportFormat exportFormat = ExportFormat.from(format);
+            StreamingResponseBody body = transactionExportService.export(authentication.getName(),
+                    EnumSet.of(LedgerEntryType.SHIPPER), startDate, endDate, keyword, exportFormat);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(transactionExportService.fileName("request_history", exportFormat)).build().toString())
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,23 +1,59 @@
 package net.dima.project.controller;
 
 import lombok.RequiredArgsConstructor;
-import net.dima.project.entity.ScfiData;
-import net.dima.project.repository.ScfiDataRepository;
+import net.dima.project.service.ScfiSeries;
+import net.dima.project.service.ScfiSeriesService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequiredArgsConstructor
 public class DataApiController {
 
-    private final ScfiDataRepository scfiDataRepository;
+    private final ScfiSeriesService scfiSeriesService;
 
+    /**
+     * SCFI 지수 시계열 (메인 차트, 대시보드)
+     * - from / to: 기간 (생략하면 전체)
+     * - interval: raw(기본, 발표일별) / week / month (주간·월간 OHLC)
+     * - points: raw일 때 최대 점 개수. 넘으면 LTTB로 줄임 (0이면 전부)
+     * 응답에는 데이터 해시 기반 ETag와 Last-Modified가 붙어, 바뀌지 않았으면 304로 끝납니다.
+     */
     @GetMapping("/api/scfi-data")
-    public ResponseEntity<List<ScfiData>> getScfiData() {
-        List<ScfiData> data = scfiDataRepository.findByOrderByRecordDateAsc();
-        return ResponseEntity.ok(data);
+    public ResponseEntity<?> getScfiData(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "interval", defaultValue = "raw") String interval,
+            @RequestParam(value = "points", defaultValue = "0") int points,
+            WebRequest webRequest) {
+        ScfiSeries.Interval unit;
+        try {
+            unit = ScfiSeries.Interval.valueOf(interval.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("지원하지 않는 간격입니다: " + interval);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("시작일이 종료일보다 늦습니다.");
+        }
+
+        ScfiSeries series = scfiSeriesService.snapshot();
+        // 같은 데이터라도 조회 조건마다 응답이 다르므로 조건을 ETag에 포함
+        String etag = "\"scfi-" + series.getEtag() + "-" + unit + "-" + from + "-" + to + "-" + Math.max(0, points) + "\"";
+        if (webRequest.checkNotModified(etag, series.getLastModified().toEpochMilli())) {
+            return null; // 304
+        }
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (unit == ScfiSeries.Interval.RAW) {
+            return ok.body(series.points(from, to, points));
+        }
+        return ok.body(series.ohlc(unit, from, to));
     }
-}
\ No newline at end of file
+}
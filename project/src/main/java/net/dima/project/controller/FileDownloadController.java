@@ -1,132 +1,110 @@
 package net.dima.project.controller;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.CacheControl;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import lombok.RequiredArgsConstructor;
-import net.dima.project.dto.BlDto;
-import net.dima.project.service.RequestService;
+import net.dima.project.dto.UserDTO;
+import net.dima.project.entity.BlDocument;
+import net.dima.project.entity.BlFormat;
+import net.dima.project.service.BlDocumentService;
+import net.dima.project.service.DocumentStore;
+import net.dima.project.service.FileStorage;
+import net.dima.project.service.StoredFile;
+import net.dima.project.service.UserService;
 
-import java.net.MalformedURLException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.security.core.Authentication;
-import java.nio.charset.StandardCharsets;
 
 @Controller
 @RequiredArgsConstructor
 public class FileDownloadController {
-	private final RequestService requestService; // RequestService 주입
+    private final UserService userService;
+    private final FileStorage fileStorage;
+    private final DocumentStore documentStore;
+    private final FileResponseWriter fileResponseWriter;
+    private final BlDocumentService blDocumentService;
 
-    // application.properties에 설정된 파일 저장 경로를 가져옵니다.
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    // 내용 주소 문서는 바뀌지 않으므로 재검증 없이 캐시 (민감 문서라 공용 캐시는 제외)
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
 
+    /**
+     * 사업자등록증 다운로드.
+     * 문서 저장소에 있는 파일은 내용 해시가 곧 이름이므로 1년 immutable 캐시를 허용하고(브라우저 전용),
+     * 이관 전 파일은 ETag(크기/수정 시각)로 매번 재검증합니다. 둘 다 Range 요청(이어받기)을 지원합니다.
+     */
     @GetMapping("/download/license/{fileName:.+}")
-    public ResponseEntity<Resource> downloadLicense(@PathVariable String fileName) {
-        try {
-            // 파일 경로를 설정합니다.
-            Path filePath = Paths.get(uploadDir).resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+    public void downloadLicense(@PathVariable String fileName, HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        Optional<UserDTO> owner = userService.findByBusinessLicense(fileName);
+        if (owner.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        UserDTO user = owner.get();
+        String downloadName = user.getBusinessLicenseOrigName() != null ? user.getBusinessLicenseOrigName() : fileName;
 
-            if (resource.exists()) {
-                // 파일이 존재하면, 다운로드할 수 있도록 사용자에게 보냅니다.
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
-            } else {
-                // 파일이 없으면 404 Not Found 응답을 보냅니다.
-                return ResponseEntity.notFound().build();
+        if (DocumentStore.isDocumentId(fileName)) {
+            Optional<StoredFile> document = documentStore.find(fileName);
+            if (document.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
-        } catch (MalformedURLException e) {
-            return ResponseEntity.badRequest().build();
+            fileResponseWriter.write(request, response, fileStorage, document.get(), downloadName, IMMUTABLE);
+            return;
+        }
+
+        Optional<StoredFile> legacy;
+        try {
+            legacy = fileStorage.stat(fileName);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (legacy.isEmpty()) {
+            // 파일이 없으면 404 Not Found 응답을 보냅니다.
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        StoredFile file = legacy.get().withMetadata(user.getBusinessLicenseSha256(), user.getBusinessLicenseContentType());
+        fileResponseWriter.write(request, response, fileStorage, file, downloadName,
+                CacheControl.noCache().cachePrivate());
     }
     
     /**
-     * B/L(선하증권) 텍스트 파일을 생성하고 다운로드하는 API
+     * B/L(선하증권) 다운로드. 컨테이너 확정 때 렌더링해 둔 문서를 그대로 보냅니다.
+     * format: txt(기본) 또는 pdf. 최종 제안/컨테이너가 바뀌면 문서가 다시 만들어지므로 ETag로 매번 재검증합니다.
      */
     @GetMapping("/download/bl/{requestId}")
-    public ResponseEntity<Resource> downloadBl(@PathVariable Long requestId, Authentication authentication) {
+    public void downloadBl(@PathVariable Long requestId, @RequestParam(defaultValue = "txt") String format,
+                           Authentication authentication, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        BlDocument bl;
+        Optional<StoredFile> document;
         try {
-            // 1. 현재 로그인한 사용자 정보를 가져옵니다.
-            String currentUserId = authentication.getName();
-            
-            // 2. RequestService를 통해 B/L 정보를 조회합니다. (이때 권한 검사도 함께 수행됨)
-            BlDto blInfo = requestService.getBlInfo(requestId, currentUserId);
-
-            // 3. 전달받은 B/L DTO를 사용하여 텍스트 파일 내용을 구성합니다.
-            String content = buildBlContent(blInfo);
-            
-            // 4. 생성된 텍스트 내용을 byte 배열로 변환합니다.
-            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
-            ByteArrayResource resource = new ByteArrayResource(contentBytes);
-
-            // 5. 다운로드할 파일 이름을 설정합니다.
-            String fileName = "BL_" + blInfo.getBlNo() + ".txt";
-            
-            // 6. HTTP 응답 헤더를 설정하여 파일 다운로드를 처리합니다.
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .contentLength(contentBytes.length)
-                    .body(resource);
-
+            // 권한 검사는 BlDocumentService에서 함께 수행됨 (요청 화주만 조회 가능)
+            bl = blDocumentService.getDocument(requestId, authentication.getName(), BlFormat.fromExtension(format));
+            document = documentStore.find(bl.getDocumentSha256());
         } catch (Exception e) {
             // B/L 정보 조회 실패 또는 파일 생성 실패 시 오류 응답
-            return ResponseEntity.notFound().build();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        if (document.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String fileName = "BL_" + bl.getBlNo() + "." + bl.getFormat().getExtension();
+        fileResponseWriter.write(request, response, fileStorage, document.get(), fileName,
+                CacheControl.noCache().cachePrivate());
     }
-
-    /**
-     * BlDto 객체를 기반으로 B/L 텍스트 파일의 전체 내용을 생성하는 헬퍼 메서드
-     */
-    private String buildBlContent(BlDto dto) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("==============================================\n");
-        sb.append("              BILL OF LADING (DRAFT)            \n");
-        sb.append("==============================================\n\n");
-        sb.append("B/L No: ").append(dto.getBlNo()).append("\n");
-        sb.append("Issue Date: ").append(dto.getIssueDate()).append("\n\n");
-        sb.append("----------------------------------------------\n");
-        sb.append(" SHIPPER / EXPORTER\n");
-        sb.append("----------------------------------------------\n");
-        sb.append("Name: ").append(dto.getShipperName()).append("\n");
-        sb.append("Address: ").append(dto.getShipperAddress()).append("\n\n");
-        sb.append("----------------------------------------------\n");
-        sb.append(" CONSIGNEE\n");
-        sb.append("----------------------------------------------\n");
-        sb.append("Name: ").append(dto.getConsigneeName()).append("\n");
-        sb.append("Address: ").append(dto.getConsigneeAddress()).append("\n\n");
-        sb.append("----------------------------------------------\n");
-        sb.append(" FORWARDING AGENT\n");
-        sb.append("----------------------------------------------\n");
-        sb.append("Name: ").append(dto.getForwarderName()).append("\n\n");
-        sb.append("----------------------------------------------\n");
-        sb.append(" VESSEL & VOYAGE INFORMATION\n");
-        sb.append("----------------------------------------------\n");
-        sb.append("Vessel Name: ").append(dto.getVesselName()).append("\n");
-        sb.append("IMO Number: ").append(dto.getImoNumber()).append("\n");
-        sb.append("Port of Loading: ").append(dto.getPortOfLoading()).append("\n");
-        sb.append("Port of Discharge: ").append(dto.getPortOfDischarge()).append("\n\n");
-        sb.append("----------------------------------------------\n");
-        sb.append(" CARGO & CONTAINER DETAILS\n");
-        sb.append("----------------------------------------------\n");
-        sb.append("Container No: ").append(dto.getContainerNo()).append("\n");
-        sb.append("Description of Goods: ").append(dto.getDescriptionOfGoods()).append("\n");
-        sb.append("CBM (Cubic Meter): ").append(String.format("%.2f", dto.getCbm())).append("\n\n");
-        sb.append("==============================================\n");
-        sb.append("              END OF DOCUMENT                 \n");
-        sb.append("==============================================\n");
-        return sb.toString();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package net.dima.project.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.dima.project.service.FileStorage;
+import net.dima.project.service.StoredFile;
+
+/**
+ * 저장소 파일을 HTTP 응답으로 내려보내는 도우미.
+ * - 조건부 요청: ETag / Last-Modified 가 같으면 304
+ * - Range: 단일 구간(bytes=a-b)은 206 Partial Content, 만족할 수 없으면 416. 여러 구간 요청은 전체(200)로 응답
+ * - 전송: Tomcat sendfile을 쓸 수 있으면 커널에서 바로 소켓으로 보내고(zero-copy),
+ *         아니면 FileChannel.transferTo로 응답 스트림에 흘려보낸다. (요청 스레드에 파일 전체를 올리지 않음)
+ */
+@Component
+public class FileResponseWriter {
+
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // 이보다 작은 파일은 sendfile 준비 비용이 더 커서 그냥 쓴다 (Tomcat sendfileSize 기본값과 같음)
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    public void write(HttpServletRequest request, HttpServletResponse response, FileStorage storage,
+                      StoredFile file, String downloadName, CacheControl cacheControl) throws IOException {
+        String etag = file.etag();
+        long lastModified = file.lastModified() == null ? -1 : file.lastModified().toEpochMilli();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return; // 304 (ETag, Last-Modified 헤더는 checkNotModified가 설정)
+        }
+
+        response.setContentType(contentType(file, downloadName).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(downloadName, StandardCharsets.UTF_8).build().toString());
+
+        long size = file.size();
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = singleRange(request, etag, lastModified);
+        if (range != null) {
+            if (size == 0 || range.getRangeStart(size) >= size) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length <= 0) {
+            return;
+        }
+        if (file.localPath() != null && length >= SENDFILE_MIN_BYTES
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.localPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return; // 본문은 서블릿이 끝난 뒤 Tomcat이 sendfile로 보냄
+        }
+        try (SeekableByteChannel channel = storage.open(file.key())) {
+            copy(channel, response.getOutputStream(), start, length);
+        }
+    }
+
+    // If-Range가 현재 버전과 다르면 Range를 무시하고 전체를 보낸다. 여러 구간은 지원하지 않음
+    private static HttpRange singleRange(HttpServletRequest request, String etag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            if (ifRange.startsWith("W/") || ifRangeDate == -1 || lastModified == -1 || lastModified / 1000 > ifRangeDate / 1000) {
+                return null;
+            }
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null; // 형식이 잘못된 Range는 무시 (RFC 9110)
+        }
+    }
+
+    private static void copy(SeekableByteChannel channel, OutputStream out, long start, long length) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        if (channel instanceof FileChannel fileChannel) {
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = fileChannel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            return;
+        }
+        channel.position(start);
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long remaining = length;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            int read = channel.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            remaining -= read;
+        }
+    }
+
+    private static MediaType contentType(StoredFile file, String downloadName) {
+        if (file.contentType() != null) {
+            return MediaType.parseMediaType(file.contentType());
+        }
+        return MediaTypeFactory.getMediaType(downloadName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
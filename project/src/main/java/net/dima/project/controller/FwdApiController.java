@@ -5,17 +5,31 @@ import lombok.extern.slf4j.Slf4j;
 import net.dima.project.dto.*;
 import net.dima.project.service.ContainerService;
 import net.dima.project.service.OfferService;
+import net.dima.project.service.PriceHintService;
 import net.dima.project.service.ResaleService;
+import net.dima.project.entity.LedgerEntryType;
+import net.dima.project.service.TransactionExportService;
+import net.dima.project.service.TransactionExportService.ExportFormat;
 import net.dima.project.service.TransactionHistoryService;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/fwd")
@@ -28,6 +42,8 @@ public class FwdApiController {
     private final OfferService offerService;
     private final ResaleService resaleService;
     private final TransactionHistoryService transactionHistoryService; // [✅ 추가]
+    private final TransactionExportService transactionExportService;
+    private final PriceHintService priceHintService;
 
     @GetMapping("/available-containers")
     public ResponseEntity<List<AvailableContainerDto>> getAvailableContainers(@RequestParam("requestId") Long requestId, Authentication authentication) {
@@ -36,6 +52,16 @@ public class FwdApiController {
         return ResponseEntity.ok(containers);
     }
 
+    // 제안가 추천 (같은 경로/CBM 구간 낙찰가 통계를 최신 SCFI 수준으로 환산)
+    @GetMapping("/price-hint")
+    public ResponseEntity<?> getPriceHint(@RequestParam("requestId") Long requestId) {
+        try {
+            return ResponseEntity.ok(priceHintService.hint(requestId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/offers")
     public ResponseEntity<String> submitOffer(@RequestBody OfferRequestDto offerDto, Authentication authentication) {
         try {
@@ -259,13 +285,15 @@ public class FwdApiController {
     
     
     // [✅ 추가] 거래내역 조회 API 3종
+    // 정산 원장을 DB에서 페이징하여 조회합니다. 응답 본문은 해당 페이지의 목록이며, 전체 건수는 헤더로 전달합니다.
     @GetMapping("/transactions")
     public ResponseEntity<List<TransactionHistoryDto>> getTransactions(
             Authentication authentication,
             @RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(name = "keyword", required = false) String keyword) {
-        return ResponseEntity.ok(transactionHistoryService.getTransactionHistory(authentication.getName(), startDate, endDate, keyword));
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @PageableDefault(size = 20, sort = "transactionDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        return toPagedResponse(transactionHistoryService.getTransactionHistory(authentication.getName(), startDate, endDate, keyword, pageable));
     }
 
     @GetMapping("/transactions/sales")
@@ -273,8 +301,9 @@ public class FwdApiController {
             Authentication authentication,
             @RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(name = "keyword", required = false) String keyword) {
-        return ResponseEntity.ok(transactionHistoryService.getSalesHistory(authentication.getName(), startDate, endDate, keyword));
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @PageableDefault(size = 20, sort = "transactionDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        return toPagedResponse(transactionHistoryService.getSalesHistory(authentication.getName(), startDate, endDate, keyword, pageable));
     }
 
     @GetMapping("/transactions/purchases")
@@ -282,8 +311,43 @@ public class FwdApiController {
             Authentication authentication,
             @RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @PageableDefault(size = 20, sort = "transactionDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        return toPagedResponse(transactionHistoryService.getPurchaseHistory(authentication.getName(), startDate, endDate, keyword, pageable));
+    }
+
+    // 거래내역 내보내기 (CSV / XLSX 스트리밍)
+    @GetMapping("/transactions/export")
+    public ResponseEntity<?> exportTransactions(
+            Authentication authentication,
+            @RequestParam(name = "type", defaultValue = "all") String type,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(name = "keyword", required = false) String keyword) {
-        return ResponseEntity.ok(transactionHistoryService.getPurchaseHistory(authentication.getName(), startDate, endDate, keyword));
+        try {
+            Set<LedgerEntryType> types = switch (type) {
+                case "sale" -> EnumSet.of(LedgerEntryType.SALE);
+                case "purchase" -> EnumSet.of(LedgerEntryType.PURCHASE);
+                default -> EnumSet.of(LedgerEntryType.SALE, LedgerEntryType.PURCHASE);
+            };
+            ExportFormat exportFormat = ExportFormat.from(format);
+            StreamingResponseBody body = transactionExportService.export(authentication.getName(), types, startDate, endDate, keyword, exportFormat);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(transactionExportService.fileName("transactions", exportFormat)).build().toString())
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<List<TransactionHistoryDto>> toPagedResponse(Page<TransactionHistoryDto> page) {
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(page.getTotalElements()))
+                .header("X-Total-Pages", String.valueOf(page.getTotalPages()))
+                .body(page.getContent());
     }
     
     @PostMapping("/containers/{containerId}/settle")
@@ -0,0 +1,85 @@
+package net.dima.project.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+
+import lombok.RequiredArgsConstructor;
+import net.dima.project.config.WebSocketChannelMetrics;
+import net.dima.project.service.ContentAddressedDocumentStore;
+import net.dima.project.service.JobLeaseService;
+import net.dima.project.service.PasswordHashingService;
+import net.dima.project.service.PriceHintService;
+import net.dima.project.service.UserCache;
+
+/**
+ * 운영 지표 조회 API (관리자 전용)
+ */
+@RestController
+@RequestMapping("/api/adm/metrics")
+@RequiredArgsConstructor
+public class MetricsApiController {
+
+    private final WebSocketChannelMetrics webSocketChannelMetrics;
+    private final WebSocketMessageBrokerStats webSocketMessageBrokerStats;
+    private final JobLeaseService jobLeaseService;
+    private final ContentAddressedDocumentStore documentStore;
+    private final UserCache userCache;
+    private final PasswordHashingService passwordHashingService;
+    private final PriceHintService priceHintService;
+
+    // 채팅(WebSocket) 채널 처리율 / 대기 깊이 / 처리 지연 / 느린 소비자 종료
+    @GetMapping("/websocket")
+    public ResponseEntity<Map<String, Object>> getWebSocketMetrics() {
+        Map<String, Object> body = new LinkedHashMap<>(webSocketChannelMetrics.snapshot());
+
+        // 스프링이 제공하는 실행기/세션 통계 문자열도 함께 노출
+        Map<String, String> executors = new LinkedHashMap<>();
+        executors.put("inbound", webSocketMessageBrokerStats.getClientInboundExecutorStatsInfo());
+        executors.put("outbound", webSocketMessageBrokerStats.getClientOutboundExecutorStatsInfo());
+        executors.put("sockJsScheduler", webSocketMessageBrokerStats.getSockJsTaskSchedulerStatsInfo());
+        body.put("executors", executors);
+        body.put("stompSessions", String.valueOf(webSocketMessageBrokerStats.getWebSocketSessionStats()));
+        return ResponseEntity.ok(body);
+    }
+
+    // 스케줄 작업 임대 현황 / 최근 실행 이력 (노드, 소요 시간, 처리 행 수)
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getJobMetrics(@RequestParam(name = "limit", defaultValue = "50") int limit) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("node", jobLeaseService.getNodeId());
+        body.put("leases", jobLeaseService.findLeases());
+        body.put("executions", jobLeaseService.findRecentExecutions(Math.max(1, Math.min(limit, 500))));
+        return ResponseEntity.ok(body);
+    }
+
+    // 문서 저장소 현황 (문서 수, 총 바이트, 총 참조 수)
+    @GetMapping("/documents")
+    public ResponseEntity<Map<String, Object>> getDocumentMetrics() {
+        return ResponseEntity.ok(documentStore.describe());
+    }
+
+    // 로그인 사용자 캐시 현황 (크기, 적중/미스, LRU 제거 수)
+    @GetMapping("/user-cache")
+    public ResponseEntity<Map<String, Object>> getUserCacheMetrics() {
+        return ResponseEntity.ok(userCache.stats());
+    }
+
+    // 비밀번호 해시 cost / 전용 풀 사용 현황
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingMetrics() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+
+    // 가격 추천 통계 현황 (범위 수, 반영된 낙찰 수, 마지막 전체 재계산 시각)
+    @GetMapping("/price-hints")
+    public ResponseEntity<Map<String, Object>> getPriceHintMetrics() {
+        return ResponseEntity.ok(priceHintService.stats());
+    }
+}
@@ -2,11 +2,15 @@ package net.dima.project.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import net.dima.project.entity.ContainerEntity;
+import net.dima.project.entity.OfferEntity;
+import net.dima.project.entity.RequestEntity;
+import net.dima.project.entity.UserEntity;
 
 import java.time.LocalDate;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class BlDto {
     // B/L 고유 정보
     private String blNo;
@@ -33,4 +37,32 @@ public class BlDto {
     private String containerNo;
     private String descriptionOfGoods;
     private Double cbm;
-}
\ No newline at end of file
+
+    /**
+     * 화주의 원본 요청과 최종 운송 제안으로 B/L 정보를 만든다.
+     * @param request 화주가 올린 원본 요청 (재판매 요청이 아님)
+     * @param finalOffer 실제로 컨테이너에 실린 최종 제안
+     */
+    public static BlDto from(RequestEntity request, OfferEntity finalOffer, LocalDate issueDate) {
+        ContainerEntity finalContainer = finalOffer.getContainer();
+        UserEntity shipper = request.getRequester();
+        UserEntity forwarder = finalOffer.getForwarder();
+
+        return BlDto.builder()
+                .blNo("SHB-" + request.getRequestId() + "-" + finalOffer.getOfferId())
+                .issueDate(issueDate)
+                .shipperName(shipper.getCompanyName())
+                .shipperAddress("null")
+                .consigneeName(shipper.getCompanyName())
+                .consigneeAddress("null")
+                .forwarderName(forwarder.getCompanyName())
+                .vesselName("null")
+                .imoNumber(finalContainer.getImoNumber())
+                .portOfLoading(request.getDeparturePort())
+                .portOfDischarge(request.getArrivalPort())
+                .containerNo(finalContainer.getContainerId())
+                .descriptionOfGoods(request.getCargo().getItemName())
+                .cbm(request.getCargo().getTotalCbm())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package net.dima.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+import net.dima.project.entity.UserEntity;
+
+/**
+ * 사용자 캐시(UserCache)에 보관하는 사용자 요약 정보.
+ * 여러 요청 스레드가 같은 객체를 공유하므로 변경할 수 없게 만든다.
+ * 로그인(LoginService)도 이 캐시를 쓰므로 비밀번호 해시를 담지만, 로그에 찍히지 않도록 toString/JSON에서 뺀다.
+ */
+@Value
+@Builder
+public class CachedUser {
+    Integer userSeq;
+    String provider;
+    String providerId;
+    String userId;
+    @ToString.Exclude
+    @JsonIgnore
+    String userPwd;
+    String userName;
+    String companyName;
+    String email;
+    String roles;
+    String approvalStatus;
+
+    public static CachedUser from(UserEntity user) {
+        return CachedUser.builder()
+                .userSeq(user.getUserSeq())
+                .provider(user.getProvider())
+                .providerId(user.getProviderId())
+                .userId(user.getUserId())
+                .userPwd(user.getUserPwd())
+                .userName(user.getUserName())
+                .companyName(user.getCompanyName())
+                .email(user.getEmail())
+                .roles(user.getRoles())
+                .approvalStatus(user.getApprovalStatus())
+                .build();
+    }
+}
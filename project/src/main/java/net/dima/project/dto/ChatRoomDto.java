@@ -7,6 +7,7 @@ import lombok.Data;
 @Builder
 public class ChatRoomDto {
     private Long chatRoomId;
+    private String roomType; // DIRECT(1:1) / CONTAINER(컨테이너 공지)
     private String roomName; // 예: "[화주] 쌤송전자 '재판매용 반도체'"
     private String lastMessage;
     private String lastMessageTime;
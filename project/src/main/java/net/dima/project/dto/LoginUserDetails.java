@@ -70,4 +70,18 @@ public class LoginUserDetails implements UserDetails, OAuth2User {
             .build();
     }
 
-}
\ No newline at end of file
+    /**
+     * 사용자 캐시(UserCache)의 값으로 로그인 정보를 만든다. (소셜 로그인이면 attributes를 함께 넘김)
+     */
+    public static LoginUserDetails from(CachedUser user, Map<String, Object> attributes) {
+        return LoginUserDetails.builder()
+            .userSeq(user.getUserSeq())
+            .userId(user.getUserId())
+            .userPwd(user.getUserPwd())
+            .userName(user.getUserName())
+            .roles(user.getRoles())
+            .attributes(attributes)
+            .build();
+    }
+
+}
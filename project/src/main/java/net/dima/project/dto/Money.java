@@ -0,0 +1,57 @@
+package net.dima.project.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 금액 + 통화 값 객체.
+ * 제안의 통화는 자유 입력 문자열이므로, 생성 시 통화 코드를 ISO 대문자 코드로 정리한다. (예: '원', '₩' -> KRW)
+ */
+public record Money(BigDecimal amount, String currency) {
+
+    // 금액 저장 정밀도 (offer.price, settlement_ledger.base_amount 와 동일한 DECIMAL(19, 4))
+    public static final int SCALE = 4;
+
+    private static final Map<String, String> CURRENCY_ALIASES = Map.of(
+            "원", "KRW",
+            "₩", "KRW",
+            "WON", "KRW",
+            "$", "USD",
+            "US$", "USD",
+            "달러", "USD");
+
+    public Money {
+        if (amount == null) {
+            throw new IllegalArgumentException("금액이 없습니다.");
+        }
+        currency = normalizeCurrency(currency);
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(amount, currency);
+    }
+
+    /**
+     * 통화가 비어 있으면 defaultCurrency로 봅니다. (통화 입력 도입 전의 기존 제안)
+     */
+    public static Money of(BigDecimal amount, String currency, String defaultCurrency) {
+        return new Money(amount, currency == null || currency.isBlank() ? defaultCurrency : currency);
+    }
+
+    /**
+     * 통화 1단위당 target 통화 금액(rate)을 곱해 target 통화로 환산합니다.
+     */
+    public Money convert(BigDecimal rate, String targetCurrency) {
+        return new Money(amount.multiply(rate).setScale(SCALE, RoundingMode.HALF_UP), targetCurrency);
+    }
+
+    public static String normalizeCurrency(String currency) {
+        if (currency == null || currency.isBlank()) {
+            throw new IllegalArgumentException("통화가 없습니다.");
+        }
+        String code = currency.trim().toUpperCase(Locale.ROOT);
+        return CURRENCY_ALIASES.getOrDefault(code, code);
+    }
+}
@@ -0,0 +1,30 @@
+package net.dima.project.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class PriceHintDto {
+    private Long requestId;
+    private String departurePort;
+    private String arrivalPort;
+    private Double cbm;
+    // 통계를 찾은 범위: ROUTE_BAND(같은 경로+CBM 구간) / ROUTE(같은 경로) / ALL(전체) / NONE(낙찰 이력 없음)
+    private String basis;
+    private String cbmBand;
+    private int sampleCount;
+    // 기준 통화 총액 (하위 25% / 중앙값 / 상위 25%), 이력이 없으면 null
+    private String currency;
+    private BigDecimal low;
+    private BigDecimal median;
+    private BigDecimal high;
+    private BigDecimal medianPerCbm;
+    // 같은 범위의 최근 절반 낙찰 단가와 이전 절반의 중앙값 차이 (%)
+    private Double routeTrendPct;
+    // 최신 SCFI와 4주 전 대비 변동 (%) - 추천가는 이미 최신 SCFI 수준으로 환산되어 있음
+    private BigDecimal scfiLatest;
+    private Double scfiTrendPct;
+}
@@ -0,0 +1,18 @@
+package net.dima.project.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class RevenueSummaryDto {
+    private String baseCurrency;     // 합계 통화 (fx.base-currency)
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal totalSales;   // 기간 내 화주 거래액 합계 (기준 통화 환산, 재판매 거래 제외)
+    private long dealCount;          // 화주 거래 건수
+    private long unconvertedCount;   // 환율이 없어 합계에서 빠진 건수
+}
@@ -0,0 +1,30 @@
+package net.dima.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class ScfiImportResultDto {
+    // 헤더/빈 줄/주석을 뺀 데이터 줄 수
+    private int totalRows;
+    // 반영(추가 또는 덮어쓰기)된 줄 수
+    private int importedRows;
+    private int errorRows;
+    // 반영된 기간
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    // 줄별 오류 (앞에서부터 최대 scfi.import.max-reported-errors 개)
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;
+        private String message;
+    }
+}
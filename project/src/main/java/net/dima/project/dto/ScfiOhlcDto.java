@@ -0,0 +1,21 @@
+package net.dima.project.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class ScfiOhlcDto {
+    // 구간 시작일 (주간: 월요일, 월간: 1일)과 구간 안 마지막 발표일
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    // 구간 안 발표 건수
+    private int count;
+}
@@ -30,6 +30,9 @@ public class UserDTO {
     private String businessNum;
     private String businessLicenseOrigName;
     private String businessLicenseSavedName;
+    private Long businessLicenseSize;
+    private String businessLicenseSha256;
+    private String businessLicenseContentType;
 	
     // 회원가입 폼에서 넘어온 실제 첨부파일을 담는 필드
     private MultipartFile businessLicenseFile;
@@ -53,6 +56,9 @@ public class UserDTO {
                 .businessNum(userEntity.getBusinessNum())
                 .businessLicenseOrigName(userEntity.getBusinessLicenseOrigName())
                 .businessLicenseSavedName(userEntity.getBusinessLicenseSavedName())
+                .businessLicenseSize(userEntity.getBusinessLicenseSize())
+                .businessLicenseSha256(userEntity.getBusinessLicenseSha256())
+                .businessLicenseContentType(userEntity.getBusinessLicenseContentType())
 	            .roles(userEntity.getRoles())
 	            .approvalStatus(userEntity.getApprovalStatus()) 
 	            .createDate(userEntity.getCreateDate())
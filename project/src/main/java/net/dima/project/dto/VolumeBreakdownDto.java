@@ -0,0 +1,15 @@
+package net.dima.project.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class VolumeBreakdownDto {
+    private String label;         // 경로("부산 → LA") 또는 포워더 회사명
+    private String departurePort; // 경로별 집계일 때만
+    private String arrivalPort;
+    private Integer forwarderSeq; // 포워더별 집계일 때만
+    private double cbm;
+    private long count;
+}
@@ -0,0 +1,22 @@
+package net.dima.project.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class VolumeSeriesDto {
+    private LocalDate date;
+    // 그날 마지막 집계 시점의 적재 현황
+    private double confirmedCbm;
+    private double resaleCbm;
+    private double biddingCbm;
+    private double availableCbm;
+    // 그날 발생한 물량
+    private double requestedCbm;
+    private double offeredCbm;
+    private double dealtCbm;
+    private long dealCount;
+}
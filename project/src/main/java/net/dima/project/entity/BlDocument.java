@@ -0,0 +1,60 @@
+package net.dima.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 미리 렌더링한 B/L 문서.
+ * 화주 요청 x 형식마다 한 행이며, 본문은 문서 저장소(DocumentStore)에 있다.
+ * sourceVersion은 B/L에 들어가는 최종 제안/컨테이너 정보의 해시로, 값이 바뀔 때만 다시 렌더링한다.
+ */
+@Entity
+@Table(name = "bl_document",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"request_id", "format"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlDocument {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long blId;
+
+    // 화주의 원본 요청 (재판매 요청이 아님)
+    @Column(nullable = false)
+    private Long requestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private BlFormat format;
+
+    @Column(nullable = false)
+    private Long finalOfferId;
+
+    @Column(nullable = false)
+    private String containerId;
+
+    // 다운로드 권한 확인용 (요청 화주)
+    @Column(nullable = false)
+    private String shipperUserId;
+
+    @Column(nullable = false)
+    private String blNo;
+
+    private LocalDate issueDate;
+
+    @Column(nullable = false, length = 64)
+    private String sourceVersion;
+
+    @Column(nullable = false, length = 64)
+    private String documentSha256;
+
+    private LocalDateTime renderedAt;
+}
@@ -0,0 +1,37 @@
+package net.dima.project.entity;
+
+/**
+ * B/L 문서 출력 형식
+ */
+public enum BlFormat {
+    TEXT("txt", "text/plain;charset=UTF-8"),
+    PDF("pdf", "application/pdf");
+
+    private final String extension;
+    private final String contentType;
+
+    BlFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 다운로드 요청의 format 파라미터 (txt / pdf)
+     */
+    public static BlFormat fromExtension(String extension) {
+        for (BlFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 B/L 형식입니다: " + extension);
+    }
+}
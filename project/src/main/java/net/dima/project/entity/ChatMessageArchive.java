@@ -0,0 +1,55 @@
+package net.dima.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 종료된 채팅방의 메시지를 묶어 압축 저장한 보관 세그먼트.
+ * 한 세그먼트는 한 채팅방의 연속된 메시지(message_id 구간)를 담는다.
+ */
+@Entity
+@Table(name = "chat_message_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long archiveId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chat_room_id", nullable = false)
+    private ChatRoom chatRoom;
+
+    @Column(nullable = false)
+    private Long firstMessageId;
+
+    @Column(nullable = false)
+    private Long lastMessageId;
+
+    @Column(nullable = false)
+    private Integer messageCount;
+
+    private LocalDateTime firstSentAt;
+
+    private LocalDateTime lastSentAt;
+
+    @Column(nullable = false)
+    private Integer rawBytes; // 압축 전 크기
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload; // GZIP 압축된 메시지 묶음
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime archivedAt;
+}
@@ -27,8 +27,11 @@ public class ChatParticipant {
     private UserEntity user;
 
     @Column(nullable = false)
-    private String roleInChat; // 예: "REQUESTER", "PROVIDER"
+    private String roleInChat; // 예: "REQUESTER", "PROVIDER" / 컨테이너 채팅방: "OWNER", "MEMBER"
     
     // [이 필드를 추가해주세요]
     private String customRoomName;
+
+    // 읽음 커서: 마지막으로 읽은 메시지 ID (컨테이너 채팅방은 메시지별 읽음 플래그 대신 이 값으로 안 읽은 수를 계산)
+    private Long lastReadMessageId;
 }
\ No newline at end of file
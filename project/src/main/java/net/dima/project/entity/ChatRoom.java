@@ -23,10 +23,19 @@ public class ChatRoom {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long chatRoomId;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private ChatRoomType roomType = ChatRoomType.DIRECT;
+
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "offer_id", nullable = false, unique = true)
+    @JoinColumn(name = "offer_id", unique = true) // DIRECT 채팅방에서만 사용
     private OfferEntity offer;
 
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "container_id", unique = true) // CONTAINER 채팅방에서만 사용
+    private ContainerEntity container;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -36,6 +45,8 @@ public class ChatRoom {
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    private LocalDateTime closedAt; // 종료(CLOSED) 처리 시각 - 메시지 보관 기준
+
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ChatParticipant> participants = new ArrayList<>();
@@ -0,0 +1,6 @@
+package net.dima.project.entity;
+
+public enum ChatRoomType {
+    DIRECT,   // 계약(제안) 단위 1:1 채팅
+    CONTAINER // 컨테이너 단위 공지(브로드캐스트) 채팅 - 운송사 발신, 화주 전원 수신
+}
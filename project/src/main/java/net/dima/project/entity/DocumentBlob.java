@@ -0,0 +1,41 @@
+package net.dima.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 문서 저장소(DocumentStore)의 내용 주소 블롭.
+ * 같은 내용은 SHA-256이 같으므로 한 번만 저장되고, 참조하는 곳마다 refCount가 1씩 늘어난다.
+ * refCount가 0인 채로 일정 시간이 지난 블롭은 가비지 수집 작업이 파일과 함께 지운다.
+ */
+@Entity
+@Table(name = "document_blob")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    private LocalDateTime createdAt;
+
+    // 마지막으로 참조 수가 바뀐 시각 (가비지 수집 유예 기준)
+    private LocalDateTime updatedAt;
+}
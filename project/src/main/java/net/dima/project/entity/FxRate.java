@@ -0,0 +1,45 @@
+package net.dima.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 환율 테이블.
+ * 통화 1단위가 기준 통화(fx.base-currency)로 얼마인지를 적용 시작일별로 저장한다.
+ * 특정 날짜의 환율은 그 날짜 이전(포함) 중 가장 최근 적용일의 값을 사용한다.
+ */
+@Entity
+@Table(name = "fx_rate",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"currency", "effective_date"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rateId;
+
+    @Column(nullable = false, length = 10)
+    private String currency;
+
+    @Column(nullable = false)
+    private LocalDate effectiveDate;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rateToBase;
+
+    private String source; // 'file:<경로>' 또는 'upload:<관리자 ID>'
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
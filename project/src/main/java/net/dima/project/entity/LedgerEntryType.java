@@ -0,0 +1,17 @@
+package net.dima.project.entity;
+
+public enum LedgerEntryType {
+    SALE("판매"),     // 운송사가 화주/다른 운송사에게 판매
+    PURCHASE("구매"), // 운송사가 재판매 요청으로 다른 운송사에게 구매
+    SHIPPER("요청");  // 화주의 원본 요청 거래
+
+    private final String label;
+
+    LedgerEntryType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
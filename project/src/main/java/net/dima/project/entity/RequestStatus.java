@@ -4,5 +4,6 @@ public enum RequestStatus {
     OPEN,       // 진행중
     CLOSED,      // 마감
     CONFIRMED,   // [✅ 추가] 확정 상태
-    RESOLD
+    RESOLD,
+    EXPIRED      // 화주 요청이 낙찰 없이 마감 기한을 넘김 (스케줄러가 처리)
 }
\ No newline at end of file
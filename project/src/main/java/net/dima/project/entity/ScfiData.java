@@ -1,5 +1,6 @@
 package net.dima.project.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -16,6 +17,8 @@ public class ScfiData {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    // 유니크 인덱스: ScfiImportService의 ON DUPLICATE KEY UPDATE 기준
+    @Column(nullable = false, unique = true)
     private LocalDate recordDate;
     private BigDecimal indexValue;
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package net.dima.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 정산 원장 (추가 전용).
+ * 컨테이너 정산 시점에 거래 한 건마다 당사자별로 한 행씩 기록하며, 이후 수정/삭제하지 않는다.
+ * 거래내역 조회가 제안/요청/컨테이너를 다시 따라가지 않도록 상대방, 품명, 경로, 금액을 비정규화해 저장한다.
+ */
+@Entity
+@Immutable
+@Table(name = "settlement_ledger")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long entryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LedgerEntryType entryType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "party_seq", nullable = false)
+    private UserEntity party; // 이 거래내역의 주인
+
+    private Integer partnerSeq;
+
+    private String partnerName; // 거래 상대방 회사명
+
+    @Column(nullable = false)
+    private String itemName;
+
+    private String departurePort;
+
+    private String arrivalPort;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private String currency;
+
+    // 기준 통화 환산 금액 (기록 시점의 환율 스냅샷 기준, 환율이 없으면 null -> 환율 등록 시 채움)
+    private BigDecimal baseAmount;
+
+    private String baseCurrency;
+
+    @Column(precision = 19, scale = 8)
+    private BigDecimal fxRate; // 적용 환율 (currency 1단위당 기준 통화 금액)
+
+    @Column(nullable = false)
+    private LocalDateTime transactionDate; // 화면에 표시되는 거래일
+
+    @Column(nullable = false)
+    private LocalDateTime settledAt; // 정산 처리 시각
+
+    @Column(nullable = false)
+    private String containerId; // 정산된(최종) 컨테이너
+
+    @Column(nullable = false)
+    private Long offerId;
+
+    @Column(nullable = false)
+    private Long requestId;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
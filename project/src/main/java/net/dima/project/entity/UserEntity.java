@@ -13,7 +13,9 @@ import lombok.NoArgsConstructor;
 import net.dima.project.dto.UserDTO;
 
 @Entity
-@Table(name="users")
+// 로그인 조회 경로는 모두 유일 인덱스를 탑니다: user_id, email(컬럼 unique), 소셜 로그인 (provider, provider_id)
+@Table(name="users",
+       uniqueConstraints = @UniqueConstraint(name = "uk_users_provider", columnNames = {"provider", "provider_id"}))
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -59,6 +61,16 @@ public class UserEntity {
 
     @Column(name="business_license_saved_name")
     private String businessLicenseSavedName;
+
+    // 업로드 시 계산한 사업자등록증 파일 정보 (다운로드 ETag / Content-Type)
+    @Column(name="business_license_size")
+    private Long businessLicenseSize;
+
+    @Column(name="business_license_sha256", length = 64)
+    private String businessLicenseSha256;
+
+    @Column(name="business_license_content_type", length = 100)
+    private String businessLicenseContentType;
     
     @Builder.Default
     @Column(name="roles")
@@ -84,6 +96,9 @@ public class UserEntity {
                 .businessNum(userDTO.getBusinessNum())
                 .businessLicenseOrigName(userDTO.getBusinessLicenseOrigName())
                 .businessLicenseSavedName(userDTO.getBusinessLicenseSavedName())
+                .businessLicenseSize(userDTO.getBusinessLicenseSize())
+                .businessLicenseSha256(userDTO.getBusinessLicenseSha256())
+                .businessLicenseContentType(userDTO.getBusinessLicenseContentType())
                 .roles(userDTO.getRoles())
                 .approvalStatus(userDTO.getApprovalStatus())
                 .build();
@@ -0,0 +1,26 @@
+package net.dima.project.entity;
+
+/**
+ * 일별 물동량 집계 구분.
+ * 현황(snapshot) 구분은 그날 마지막 갱신 시점의 SCHEDULED 컨테이너 적재 현황이고,
+ * 발생(flow) 구분은 그날 새로 생긴 물량을 이벤트마다 더한 누계이다.
+ */
+public enum VolumeBucket {
+    CONFIRMED(true), // 확정 (화주 수락, 컨테이너 확정 전)
+    RESALE(true),    // 재판매중
+    BIDDING(true),   // 입찰중 (마감 전 PENDING 제안)
+    CAPACITY(true),  // SCHEDULED 컨테이너 총 용량
+    REQUESTED(false), // 신규 운송 요청
+    OFFERED(false),   // 신규 제안(입찰)
+    DEALT(false);     // 낙찰(거래 체결)
+
+    private final boolean snapshot;
+
+    VolumeBucket(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,54 @@
+package net.dima.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일별 물동량 집계 (날짜 x 구분 x 경로 x 포워더).
+ * 관리자 물동량 차트/시계열은 원본 제안/컨테이너 대신 이 테이블만 읽는다.
+ * 행의 생성/갱신은 VolumeRollupService의 네이티브 쿼리(INSERT ... SELECT, 증분 UPSERT)로만 한다.
+ */
+@Entity
+@Table(name = "volume_rollup_daily",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"stat_date", "bucket", "departure_port", "arrival_port", "forwarder_seq"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolumeRollupDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VolumeBucket bucket;
+
+    @Column(nullable = false)
+    private String departurePort;
+
+    @Column(nullable = false)
+    private String arrivalPort;
+
+    @Column(nullable = false)
+    private Integer forwarderSeq; // 포워더가 없는 구분(REQUESTED)은 0
+
+    @Column(nullable = false)
+    private BigDecimal cbm;
+
+    @Column(nullable = false)
+    private Integer itemCount; // 제안/요청/컨테이너 건수
+
+    private LocalDateTime updatedAt;
+}
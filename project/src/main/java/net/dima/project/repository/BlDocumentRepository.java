@@ -0,0 +1,15 @@
+package net.dima.project.repository;
+
+import net.dima.project.entity.BlDocument;
+import net.dima.project.entity.BlFormat;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BlDocumentRepository extends JpaRepository<BlDocument, Long> {
+
+    Optional<BlDocument> findByRequestIdAndFormat(Long requestId, BlFormat format);
+
+    List<BlDocument> findByContainerId(String containerId);
+}
@@ -0,0 +1,12 @@
+package net.dima.project.repository;
+
+import net.dima.project.entity.ChatMessageArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ChatMessageArchiveRepository extends JpaRepository<ChatMessageArchive, Long> {
+
+    // 채팅방의 보관 세그먼트를 메시지 순서대로 조회
+    List<ChatMessageArchive> findByChatRoom_ChatRoomIdOrderByFirstMessageIdAsc(Long chatRoomId);
+}
@@ -4,6 +4,7 @@ import net.dima.project.entity.ChatMessage;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying; // [✅ 추가]
 import org.springframework.data.jpa.repository.Query; // [✅ 추가]
@@ -17,8 +18,19 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoom.chatRoomId = :roomId AND m.sender.userSeq != :userSeq AND m.isRead = false")
     long countUnreadMessages(@Param("roomId") Long roomId, @Param("userSeq") Integer userSeq);
 
+    // 읽음 커서 기준 안 읽은 메시지 수 (컨테이너 채팅방)
+    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoom.chatRoomId = :roomId AND m.sender.userSeq != :userSeq AND m.messageId > :afterMessageId")
+    long countUnreadMessagesAfter(@Param("roomId") Long roomId, @Param("userSeq") Integer userSeq, @Param("afterMessageId") Long afterMessageId);
+
+    // 채팅방의 마지막 메시지 ID (읽음 커서 이동용)
+    @Query("SELECT MAX(m.messageId) FROM ChatMessage m WHERE m.chatRoom.chatRoomId = :roomId")
+    Long findLastMessageId(@Param("roomId") Long roomId);
+
     // [✅ 추가] 특정 채팅방의 메시지를 모두 읽음 처리
     @Modifying
     @Query("UPDATE ChatMessage m SET m.isRead = true WHERE m.chatRoom.chatRoomId = :roomId AND m.sender.userSeq != :userSeq")
     void markAsReadByRoomIdAndUserSeq(@Param("roomId") Long roomId, @Param("userSeq") Integer userSeq);
+
+    // 보관 처리용: 채팅방의 메시지를 ID 순으로 일정 개수씩 조회
+    List<ChatMessage> findByChatRoom_ChatRoomIdOrderByMessageIdAsc(Long chatRoomId, Pageable pageable);
 }
\ No newline at end of file
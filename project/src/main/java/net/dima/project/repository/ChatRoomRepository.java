@@ -1,18 +1,30 @@
 package net.dima.project.repository;
 
 import net.dima.project.entity.ChatRoom;
+import net.dima.project.entity.ContainerEntity;
 import net.dima.project.entity.OfferEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     Optional<ChatRoom> findByOffer(OfferEntity offer);
+
+    // 컨테이너 공지 채팅방 조회
+    Optional<ChatRoom> findByContainer(ContainerEntity container);
     
     // [이 메서드를 추가해주세요]
     @Query("SELECT cr FROM ChatRoom cr JOIN cr.participants p WHERE p.user.userSeq = :userSeq ORDER BY cr.createdAt DESC")
     List<ChatRoom> findAllByUserSeq(@Param("userSeq") Integer userSeq);
+
+    // 보관 대상: 기준 시각 이전에 종료되었고 아직 메시지가 남아있는 채팅방
+    // (closedAt이 없는 기존 데이터는 생성 시각으로 판단)
+    @Query("SELECT cr.chatRoomId FROM ChatRoom cr WHERE cr.status = 'CLOSED' " +
+           "AND COALESCE(cr.closedAt, cr.createdAt) < :cutoff " +
+           "AND EXISTS (SELECT 1 FROM ChatMessage m WHERE m.chatRoom = cr)")
+    List<Long> findArchivableRoomIds(@Param("cutoff") LocalDateTime cutoff);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import net.dima.project.entity.ContainerEntity;
 import net.dima.project.entity.ContainerStatus;
 import net.dima.project.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Sort; 
 
@@ -20,4 +21,8 @@ public interface ContainerRepository extends JpaRepository<ContainerEntity, Stri
     List<ContainerEntity> findByStatus(ContainerStatus status);
     
     long countByForwarder(UserEntity forwarder); // [추가]
+
+    // 포워더별 컨테이너 수 (관리자 목록용, 한 번에 집계). [userSeq, count]
+    @Query("SELECT c.forwarder.userSeq, COUNT(c) FROM ContainerEntity c GROUP BY c.forwarder.userSeq")
+    List<Object[]> countGroupByForwarder();
 }
@@ -0,0 +1,52 @@
+package net.dima.project.repository;
+
+import jakarta.persistence.LockModeType;
+import net.dima.project.entity.DocumentBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, String> {
+
+    /**
+     * 참조 수를 1 늘린다. 처음 보는 내용이면 행을 만든다. (같은 트랜잭션이 끝날 때까지 행 잠금 유지)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO document_blob (sha256, size, content_type, ref_count, created_at, updated_at) " +
+                   "VALUES (:sha256, :size, :contentType, 1, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = :now", nativeQuery = true)
+    int retainOrInsert(@Param("sha256") String sha256, @Param("size") long size,
+                       @Param("contentType") String contentType, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE DocumentBlob b SET b.refCount = b.refCount + 1, b.updatedAt = :now WHERE b.sha256 = :sha256")
+    int retain(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE DocumentBlob b SET b.refCount = b.refCount - 1, b.updatedAt = :now " +
+           "WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int release(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    // 가비지 수집 후보: 참조가 없고 유예 시간이 지난 블롭
+    @Query("SELECT b.sha256 FROM DocumentBlob b WHERE b.refCount = 0 AND b.updatedAt < :cutoff ORDER BY b.updatedAt")
+    List<String> findUnreferenced(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT b.sha256 FROM DocumentBlob b WHERE b.sha256 IN :hashes")
+    List<String> findExisting(@Param("hashes") Collection<String> hashes);
+
+    // 가비지 수집 시 행 잠금 (없는 키도 잠가 동시에 같은 내용을 저장하는 트랜잭션을 기다리게 함)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM DocumentBlob b WHERE b.sha256 = :sha256")
+    Optional<DocumentBlob> findForUpdate(@Param("sha256") String sha256);
+
+    @Query("SELECT COUNT(b), COALESCE(SUM(b.size), 0), COALESCE(SUM(b.refCount), 0) FROM DocumentBlob b")
+    List<Object[]> summarize();
+}
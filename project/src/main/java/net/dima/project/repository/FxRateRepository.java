@@ -0,0 +1,12 @@
+package net.dima.project.repository;
+
+import net.dima.project.entity.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface FxRateRepository extends JpaRepository<FxRate, Long> {
+
+    Optional<FxRate> findByCurrencyAndEffectiveDate(String currency, LocalDate effectiveDate);
+}
@@ -2,18 +2,19 @@
 package net.dima.project.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import net.dima.project.entity.ContainerEntity;
-import net.dima.project.entity.ContainerStatus;
 import net.dima.project.entity.OfferEntity;
 import net.dima.project.entity.OfferStatus;
 import net.dima.project.entity.RequestEntity;
@@ -91,9 +92,6 @@ public interface OfferRepository extends JpaRepository<OfferEntity, Long>, JpaSp
             @Param("status") OfferStatus status,
             @Param("forwarder") UserEntity forwarder);
     
-    @Query("SELECT o FROM OfferEntity o JOIN FETCH o.request r JOIN FETCH r.cargo c WHERE o.container.status = :status")
-    List<OfferEntity> findAllByContainerStatus(@Param("status") ContainerStatus status);
-    
     long countByStatusAndCreatedAtBetween(OfferStatus status, LocalDateTime start, LocalDateTime end);
 
     long countByForwarder(UserEntity forwarder);
@@ -114,4 +112,24 @@ public interface OfferRepository extends JpaRepository<OfferEntity, Long>, JpaSp
     @Query("SELECT o.request.id FROM OfferEntity o WHERE o.forwarder.userId = :userId AND o.request IN :requests")
     Set<Long> findOfferedRequestIdsByUserIdAndRequestIn(@Param("userId") String userId, @Param("requests") List<RequestEntity> requests);
 
-}
\ No newline at end of file
+    // 포워더별 전체 제안 수 / 낙찰 이후 상태 제안 수 (관리자 목록용, 한 번에 집계). [userSeq, total, accepted]
+    @Query("SELECT o.forwarder.userSeq, COUNT(o), SUM(CASE WHEN o.status IN :acceptedStatuses THEN 1 ELSE 0 END) " +
+           "FROM OfferEntity o GROUP BY o.forwarder.userSeq")
+    List<Object[]> countGroupByForwarder(@Param("acceptedStatuses") Collection<OfferStatus> acceptedStatuses);
+
+    // 마감 처리: 요청들에 달린 제안 중 from 상태인 것을 to 상태로 일괄 변경
+    @Modifying
+    @Query("UPDATE OfferEntity o SET o.status = :to WHERE o.request.requestId IN :requestIds AND o.status = :from")
+    int updateStatusByRequestIds(@Param("requestIds") Collection<Long> requestIds,
+                                 @Param("from") OfferStatus from, @Param("to") OfferStatus to);
+
+    @Modifying
+    @Query("UPDATE OfferEntity o SET o.status = :to WHERE o.offerId IN :offerIds AND o.status = :from")
+    int updateStatusByOfferIds(@Param("offerIds") Collection<Long> offerIds,
+                               @Param("from") OfferStatus from, @Param("to") OfferStatus to);
+
+    // 가격 추천(PriceHintService) 통계용 낙찰 이력: 요청 출발/도착항, CBM, 가격, 통화, 제안 시각
+    @Query("SELECT r.departurePort, r.arrivalPort, c.totalCbm, o.price, o.currency, o.createdAt " +
+           "FROM OfferEntity o JOIN o.request r JOIN r.cargo c WHERE o.status IN :statuses")
+    List<Object[]> findDealPriceSamples(@Param("statuses") Collection<OfferStatus> statuses);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.domain.Sort; // [✅ import 추가]
 
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 // @Param은 더 이상 필요 없으므로 import 문을 지워도 됩니다.
@@ -16,6 +17,7 @@ import org.springframework.data.domain.Page;    // [✅ import 추가]
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -85,30 +87,44 @@ public interface RequestRepository extends JpaRepository<RequestEntity, Long>, J
     // [추가] 특정 사용자가 요청한 모든 화물의 CBM 총합을 구하는 메서드
     @Query("SELECT COALESCE(SUM(c.totalCbm), 0) FROM RequestEntity r JOIN r.cargo c WHERE r.requester = :requester")
     double sumTotalCbmByRequester(@Param("requester") UserEntity requester);
+
+    // 요청자별 요청 수 / 거래 성사(CLOSED) 수 / CBM 합계 (관리자 목록용, 한 번에 집계). [userSeq, total, closed, cbm]
+    @Query("SELECT r.requester.userSeq, COUNT(r), SUM(CASE WHEN r.status = 'CLOSED' THEN 1 ELSE 0 END), COALESCE(SUM(c.totalCbm), 0) " +
+           "FROM RequestEntity r JOIN r.cargo c GROUP BY r.requester.userSeq")
+    List<Object[]> summarizeGroupByRequester();
     
     
     /**
      * 입찰이 1건 이상 있었지만, 화주가 확정하지 않고 마감된 요청 수를 계산합니다.
-     * (상태: OPEN, 마감일: 지남, 입찰 수: 1 이상)
+     * (상태: EXPIRED 또는 OPEN이면서 마감일 지남, 입찰 수: 1 이상)
      */
-    @Query("SELECT COUNT(r) FROM RequestEntity r WHERE r.status = 'OPEN' AND r.deadline < :now AND EXISTS (SELECT o FROM OfferEntity o WHERE o.request = r)")
+    @Query("SELECT COUNT(r) FROM RequestEntity r WHERE (r.status = 'EXPIRED' OR (r.status = 'OPEN' AND r.deadline < :now)) AND EXISTS (SELECT o FROM OfferEntity o WHERE o.request = r)")
     long countOpenRequestsWithBidsPastDeadline(@Param("now") LocalDateTime now);
 
     /**
      * 전체 마감된 요청 수를 계산합니다. (비율 계산의 분모로 사용)
-     * (상태: CLOSED 또는 (상태: OPEN 이고 마감일 지남))
+     * (상태: CLOSED / EXPIRED 또는 (상태: OPEN 이고 마감일 지남))
      */
-    @Query("SELECT COUNT(r) FROM RequestEntity r WHERE r.status = 'CLOSED' OR (r.status = 'OPEN' AND r.deadline < :now)")
+    @Query("SELECT COUNT(r) FROM RequestEntity r WHERE r.status IN ('CLOSED', 'EXPIRED') OR (r.status = 'OPEN' AND r.deadline < :now)")
     long countTotalClosedOrExpiredRequests(@Param("now") LocalDateTime now);
     
     /**
-     * [✅ 핵심 추가] 스케줄러가 마감된 재판매 요청을 찾기 위한 쿼리입니다.
-     * - sourceOffer가 NULL이 아니고 (재판매 요청이고)
-     * - status가 'OPEN'이며 (아직 처리되지 않았고)
-     * - deadline이 현재 시간 이전인 (마감 시간이 지난)
-     * 모든 요청을 조회합니다.
+     * 마감 기한이 지난 OPEN 요청을 마감일 순으로 chunk 크기만큼 조회합니다. (재판매/화주 요청 모두)
+     * [requestId, sourceOfferId(화주 요청이면 null)]
      */
-    @Query("SELECT r FROM RequestEntity r WHERE r.sourceOffer IS NOT NULL AND r.status = 'OPEN' AND r.deadline < :now")
-    List<RequestEntity> findExpiredResaleRequests(@Param("now") LocalDateTime now);
+    @Query("SELECT r.requestId, so.offerId FROM RequestEntity r LEFT JOIN r.sourceOffer so " +
+           "WHERE r.status = 'OPEN' AND r.deadline < :now ORDER BY r.deadline")
+    List<Object[]> findExpiredOpenRequests(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 다음 마감 처리 시각 계산용: 아직 OPEN인 요청 중 가장 이른 마감일
+    @Query("SELECT MIN(r.deadline) FROM RequestEntity r WHERE r.status = 'OPEN'")
+    LocalDateTime findNextOpenDeadline();
+
+    @Modifying
+    @Query("UPDATE RequestEntity r SET r.status = :status WHERE r.requestId IN :requestIds AND r.status = 'OPEN'")
+    int closeOpenRequests(@Param("requestIds") Collection<Long> requestIds, @Param("status") RequestStatus status);
 
-}
\ No newline at end of file
+    // 가격 추천용 요청 경로/CBM (엔티티를 읽지 않고 필요한 값만)
+    @Query("SELECT r.departurePort, r.arrivalPort, c.totalCbm FROM RequestEntity r JOIN r.cargo c WHERE r.requestId = :requestId")
+    List<Object[]> findRouteAndCbm(@Param("requestId") Long requestId);
+}
@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ScfiDataRepository extends JpaRepository<ScfiData, Long> {
-    // 가장 최신 데이터부터 52개(약 1년치)를 날짜 오름차순으로 조회
+    // 전체를 날짜 오름차순으로 조회 (ScfiSeriesService 스냅샷 로드용, 기간/다운샘플링은 스냅샷에서 처리)
     List<ScfiData> findByOrderByRecordDateAsc();
     
     // [추가] 가장 최신 데이터 2개를 날짜 내림차순으로 조회
@@ -0,0 +1,50 @@
+package net.dima.project.repository;
+
+import net.dima.project.entity.LedgerEntryType;
+import net.dima.project.entity.SettlementLedgerEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SettlementLedgerRepository extends JpaRepository<SettlementLedgerEntry, Long> {
+
+    boolean existsByContainerId(String containerId);
+
+    /**
+     * 당사자별 거래내역 기간 조회. (party_seq, entry_type, transaction_date) 인덱스로 범위 검색 후 DB에서 페이징한다.
+     * keyword는 호출 측에서 소문자 + '%' 패턴으로 만들어 전달하며(검색어 안의 %, _ 는 '!' 로 이스케이프), 검색하지 않을 때는 null.
+     */
+    @Query(value = "SELECT e FROM SettlementLedgerEntry e " +
+                   "WHERE e.party.userSeq = :partySeq AND e.entryType IN :types " +
+                   "AND e.transactionDate >= :from AND e.transactionDate < :to " +
+                   "AND (:keyword IS NULL OR LOWER(e.itemName) LIKE :keyword ESCAPE '!' OR LOWER(e.partnerName) LIKE :keyword ESCAPE '!')",
+           countQuery = "SELECT COUNT(e) FROM SettlementLedgerEntry e " +
+                   "WHERE e.party.userSeq = :partySeq AND e.entryType IN :types " +
+                   "AND e.transactionDate >= :from AND e.transactionDate < :to " +
+                   "AND (:keyword IS NULL OR LOWER(e.itemName) LIKE :keyword ESCAPE '!' OR LOWER(e.partnerName) LIKE :keyword ESCAPE '!')")
+    Page<SettlementLedgerEntry> findHistory(@Param("partySeq") Integer partySeq,
+                                            @Param("types") Collection<LedgerEntryType> types,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("keyword") String keyword,
+                                            Pageable pageable);
+
+    List<SettlementLedgerEntry> findByBaseAmountIsNull();
+
+    /**
+     * 기간 내 화주 거래액 합계 (기준 통화). [합계, 건수, 환산 누락 건수]
+     * 재판매된 화물은 체인의 거래마다 SALE 행이 있으므로, 화주 원본 요청의 낙찰 거래(같은 제안의 SHIPPER 행이 있는 SALE)만
+     * 한 번씩 센다. 즉 합계는 화주가 지불한 운임 합계이며, 운송사 간 재판매 거래액은 포함하지 않는다.
+     */
+    @Query("SELECT COALESCE(SUM(e.baseAmount), 0), COUNT(e), SUM(CASE WHEN e.baseAmount IS NULL THEN 1 ELSE 0 END) " +
+           "FROM SettlementLedgerEntry e " +
+           "WHERE e.entryType = 'SALE' AND e.transactionDate >= :from AND e.transactionDate < :to " +
+           "AND EXISTS (SELECT 1 FROM SettlementLedgerEntry s WHERE s.entryType = 'SHIPPER' AND s.offerId = e.offerId)")
+    List<Object[]> sumSalesInBaseCurrency(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
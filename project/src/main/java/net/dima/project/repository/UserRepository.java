@@ -3,6 +3,9 @@ package net.dima.project.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import net.dima.project.entity.UserEntity;
 
 /**
@@ -16,6 +19,11 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
     // 이메일로 사용자 정보를 조회 (중복 확인 시 사용)
     UserEntity findByEmail(String email);
 
+    // 저장된 사업자등록증 파일 이름(문서 ID)으로 사용자 조회 (다운로드 시 원본 이름 확인, 같은 문서를 올린 사용자가 여럿일 수 있음)
+    UserEntity findFirstByBusinessLicenseSavedName(String businessLicenseSavedName);
+
+    List<UserEntity> findByBusinessLicenseSavedNameIsNotNull();
+
     // 소셜 로그인 제공자와 고유 ID로 사용자 정보를 조회 (카카오 로그인 시 사용)
     UserEntity findByProviderAndProviderId(String provider, String providerId);
     
@@ -23,4 +31,9 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
     List<UserEntity> findByRolesIn(List<String> roles);
 
     long countByRoles(String roles);
+
+    // 로그인 시 비밀번호 해시 갱신 (cost 상향 / 형식 변경)
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.userPwd = :userPwd WHERE u.userSeq = :userSeq")
+    int updatePassword(@Param("userSeq") Integer userSeq, @Param("userPwd") String userPwd);
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package net.dima.project.repository;
+
+import net.dima.project.entity.VolumeBucket;
+import net.dima.project.entity.VolumeRollupDaily;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface VolumeRollupRepository extends JpaRepository<VolumeRollupDaily, Long> {
+
+    boolean existsByStatDateAndBucket(LocalDate statDate, VolumeBucket bucket);
+
+    // ===== 갱신 (네이티브) =====
+
+    @Modifying
+    @Query(value = "DELETE FROM volume_rollup_daily WHERE stat_date = :day AND bucket IN (:buckets)", nativeQuery = true)
+    int deleteBuckets(@Param("day") LocalDate day, @Param("buckets") Collection<String> buckets);
+
+    /**
+     * SCHEDULED 컨테이너에 실린 제안을 상태 구분/경로/포워더별로 DB에서 합산해 적재한다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO volume_rollup_daily (stat_date, bucket, departure_port, arrival_port, forwarder_seq, cbm, item_count, updated_at) " +
+                   "SELECT :day, t.bucket, t.departure_port, t.arrival_port, t.forwarder_id, SUM(t.total_cbm), COUNT(*), :now FROM (" +
+                   "  SELECT CASE o.status WHEN 'ACCEPTED' THEN 'CONFIRMED' WHEN 'FOR_SALE' THEN 'RESALE' ELSE 'BIDDING' END AS bucket, " +
+                   "         c.departure_port, c.arrival_port, c.forwarder_id, cg.total_cbm " +
+                   "  FROM offer o " +
+                   "  JOIN container c ON c.container_id = o.container_id " +
+                   "  JOIN request r ON r.request_id = o.request_id " +
+                   "  JOIN cargo cg ON cg.cargo_id = r.cargo_id " +
+                   "  WHERE c.status = 'SCHEDULED' " +
+                   "  AND (o.status IN ('ACCEPTED', 'FOR_SALE') OR (o.status = 'PENDING' AND r.deadline > :now))" +
+                   ") t GROUP BY t.bucket, t.departure_port, t.arrival_port, t.forwarder_id", nativeQuery = true)
+    int insertOfferSnapshot(@Param("day") LocalDate day, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO volume_rollup_daily (stat_date, bucket, departure_port, arrival_port, forwarder_seq, cbm, item_count, updated_at) " +
+                   "SELECT :day, 'CAPACITY', c.departure_port, c.arrival_port, c.forwarder_id, SUM(c.capacity_cbm), COUNT(*), :now " +
+                   "FROM container c WHERE c.status = 'SCHEDULED' " +
+                   "GROUP BY c.departure_port, c.arrival_port, c.forwarder_id", nativeQuery = true)
+    int insertCapacitySnapshot(@Param("day") LocalDate day, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO volume_rollup_daily (stat_date, bucket, departure_port, arrival_port, forwarder_seq, cbm, item_count, updated_at) " +
+                   "SELECT :day, 'REQUESTED', r.departure_port, r.arrival_port, 0, SUM(cg.total_cbm), COUNT(*), :now " +
+                   "FROM request r JOIN cargo cg ON cg.cargo_id = r.cargo_id " +
+                   "WHERE r.created_at >= :from AND r.created_at < :to " +
+                   "GROUP BY r.departure_port, r.arrival_port", nativeQuery = true)
+    int insertRequestedFlow(@Param("day") LocalDate day, @Param("from") LocalDateTime from,
+                            @Param("to") LocalDateTime to, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO volume_rollup_daily (stat_date, bucket, departure_port, arrival_port, forwarder_seq, cbm, item_count, updated_at) " +
+                   "SELECT :day, 'OFFERED', c.departure_port, c.arrival_port, o.forwarder_id, SUM(cg.total_cbm), COUNT(*), :now " +
+                   "FROM offer o " +
+                   "JOIN container c ON c.container_id = o.container_id " +
+                   "JOIN request r ON r.request_id = o.request_id " +
+                   "JOIN cargo cg ON cg.cargo_id = r.cargo_id " +
+                   "WHERE o.created_at >= :from AND o.created_at < :to " +
+                   "GROUP BY c.departure_port, c.arrival_port, o.forwarder_id", nativeQuery = true)
+    int insertOfferedFlow(@Param("day") LocalDate day, @Param("from") LocalDateTime from,
+                          @Param("to") LocalDateTime to, @Param("now") LocalDateTime now);
+
+    /**
+     * 이벤트 발생 시 해당 날짜/구분/경로/포워더 행에 증분을 더한다. (행이 없으면 생성)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO volume_rollup_daily (stat_date, bucket, departure_port, arrival_port, forwarder_seq, cbm, item_count, updated_at) " +
+                   "VALUES (:day, :bucket, :departurePort, :arrivalPort, :forwarderSeq, :cbm, :itemCount, :now) " +
+                   "ON DUPLICATE KEY UPDATE cbm = cbm + VALUES(cbm), item_count = item_count + VALUES(item_count), updated_at = VALUES(updated_at)",
+           nativeQuery = true)
+    int increment(@Param("day") LocalDate day, @Param("bucket") String bucket,
+                  @Param("departurePort") String departurePort, @Param("arrivalPort") String arrivalPort,
+                  @Param("forwarderSeq") Integer forwarderSeq, @Param("cbm") BigDecimal cbm,
+                  @Param("itemCount") int itemCount, @Param("now") LocalDateTime now);
+
+    // ===== 조회 =====
+
+    /**
+     * 기간 내 날짜 x 구분별 합계. [statDate, bucket, cbm, itemCount]
+     */
+    @Query("SELECT v.statDate, v.bucket, SUM(v.cbm), SUM(v.itemCount) FROM VolumeRollupDaily v " +
+           "WHERE v.statDate BETWEEN :from AND :to " +
+           "GROUP BY v.statDate, v.bucket ORDER BY v.statDate")
+    List<Object[]> sumByDateAndBucket(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 기간 내 경로별 합계 (CBM 내림차순). [departurePort, arrivalPort, cbm, itemCount]
+     */
+    @Query("SELECT v.departurePort, v.arrivalPort, SUM(v.cbm), SUM(v.itemCount) FROM VolumeRollupDaily v " +
+           "WHERE v.statDate BETWEEN :from AND :to AND v.bucket = :bucket " +
+           "GROUP BY v.departurePort, v.arrivalPort ORDER BY SUM(v.cbm) DESC")
+    List<Object[]> sumByRoute(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("bucket") VolumeBucket bucket,
+                              Pageable pageable);
+
+    /**
+     * 기간 내 포워더별 합계 (CBM 내림차순). [forwarderSeq, companyName, cbm, itemCount]
+     */
+    @Query("SELECT v.forwarderSeq, u.companyName, SUM(v.cbm), SUM(v.itemCount) FROM VolumeRollupDaily v, UserEntity u " +
+           "WHERE u.userSeq = v.forwarderSeq AND v.statDate BETWEEN :from AND :to AND v.bucket = :bucket " +
+           "GROUP BY v.forwarderSeq, u.companyName ORDER BY SUM(v.cbm) DESC")
+    List<Object[]> sumByForwarder(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("bucket") VolumeBucket bucket,
+                                  Pageable pageable);
+}
@@ -3,6 +3,8 @@ package net.dima.project.service;
 import lombok.RequiredArgsConstructor;
 import net.dima.project.dto.DashboardMetricsDto;
 import net.dima.project.dto.ForwarderInfoDto;
+import net.dima.project.dto.RevenueSummaryDto;
+import net.dima.project.dto.ScfiDataDto;
 import net.dima.project.dto.UserInfoDto;
 import net.dima.project.dto.VolumeDto;
 import net.dima.project.entity.*;
@@ -10,16 +12,31 @@ import net.dima.project.repository.ContainerRepository;
 import net.dima.project.repository.OfferRepository;
 import net.dima.project.repository.RequestRepository;
 import net.dima.project.repository.ScfiDataRepository;
+import net.dima.project.repository.SettlementLedgerRepository;
 import net.dima.project.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +49,35 @@ public class AdminService {
     private final UserRepository userRepository;
     private final RequestRepository requestRepository;
     private final ScfiDataRepository scfiDataRepository; 
+    private final SettlementLedgerRepository settlementLedgerRepository;
+    private final FxRateService fxRateService;
+    private final VolumeRollupService volumeRollupService;
+    private final UserCache userCache;
+    private final ScfiSeriesService scfiSeriesService;
+
+    // 포워더/화주 관리 목록 캐시 유지 시간
+    @Value("${admin.stats.cache-ttl-ms:30000}")
+    private long statsCacheTtlMs;
+
+    private final StatsCache<ForwarderInfoDto> forwarderStatsCache = new StatsCache<>(() -> statsCacheTtlMs);
+    private final StatsCache<UserInfoDto> userStatsCache = new StatsCache<>(() -> statsCacheTtlMs);
+
+    // 목록 정렬 기준 (화면의 sort 파라미터 -> 비교 기준)
+    private static final Map<String, Comparator<ForwarderInfoDto>> FORWARDER_SORTS = Map.of(
+            "companyName", Comparator.comparing(ForwarderInfoDto::getCompanyName, Comparator.nullsLast(Comparator.naturalOrder())),
+            "createDate", Comparator.comparing(ForwarderInfoDto::getCreateDate, Comparator.nullsLast(Comparator.naturalOrder())),
+            "approvalStatus", Comparator.comparing(ForwarderInfoDto::getApprovalStatus, Comparator.nullsLast(Comparator.naturalOrder())),
+            "containerCount", Comparator.comparingLong(ForwarderInfoDto::getContainerCount),
+            "totalOffers", Comparator.comparingLong(ForwarderInfoDto::getTotalOffers),
+            "acceptedOffers", Comparator.comparingLong(ForwarderInfoDto::getAcceptedOffers));
+
+    private static final Map<String, Comparator<UserInfoDto>> USER_SORTS = Map.of(
+            "companyName", Comparator.comparing(UserInfoDto::getCompanyName, Comparator.nullsLast(Comparator.naturalOrder())),
+            "createDate", Comparator.comparing(UserInfoDto::getCreateDate, Comparator.nullsLast(Comparator.naturalOrder())),
+            "approvalStatus", Comparator.comparing(UserInfoDto::getApprovalStatus, Comparator.nullsLast(Comparator.naturalOrder())),
+            "totalRequests", Comparator.comparingLong(UserInfoDto::getTotalRequests),
+            "completedDeals", Comparator.comparingLong(UserInfoDto::getCompletedDeals),
+            "totalCbm", Comparator.comparingDouble(UserInfoDto::getTotalCbm));
     
     // [추가] SCFI 데이터 저장 메서드
     public void saveScfiData(LocalDate recordDate, BigDecimal indexValue) {
@@ -43,19 +89,31 @@ public class AdminService {
         scfiData.setRecordDate(recordDate);
         scfiData.setIndexValue(indexValue);
         scfiDataRepository.save(scfiData);
+        scfiSeriesService.invalidateAfterCommit(); // 차트/대시보드 스냅샷 갱신
     }
     
     // [추가] 포워더 목록 조회
+    // 포워더 수와 관계없이 사용자 1회 + 포워더별 그룹 집계 2회로 조회하고, 결과는 잠시 캐시한 뒤 정렬/페이징합니다.
     @Transactional(readOnly = true)
-    public List<ForwarderInfoDto> getForwarderList() {
+    public Page<ForwarderInfoDto> getForwarderList(Pageable pageable) {
+        List<ForwarderInfoDto> all = forwarderStatsCache.get(this::loadForwarderStats);
+        return sortAndPage(all, pageable, FORWARDER_SORTS);
+    }
+
+    private List<ForwarderInfoDto> loadForwarderStats() {
     	List<String> targetRoles = List.of("ROLE_fwd", "ROLE_PENDING");
     	List<UserEntity> forwarders = userRepository.findByRolesIn(targetRoles);
         List<OfferStatus> acceptedStatuses = List.of(OfferStatus.ACCEPTED, OfferStatus.RESOLD, OfferStatus.CONFIRMED, OfferStatus.SHIPPED, OfferStatus.COMPLETED);
 
+        Map<Integer, Object[]> containerStats = groupByUser(containerRepository.countGroupByForwarder());
+        Map<Integer, Object[]> offerStats = groupByUser(offerRepository.countGroupByForwarder(acceptedStatuses));
+
         return forwarders.stream().map(fwd -> {
-            long containerCount = containerRepository.countByForwarder(fwd);
-            long totalOffers = offerRepository.countByForwarder(fwd);
-            long acceptedOffers = offerRepository.countByForwarderAndStatusIn(fwd, acceptedStatuses);
+            Object[] containers = containerStats.get(fwd.getUserSeq());
+            Object[] offers = offerStats.get(fwd.getUserSeq());
+            long containerCount = containers == null ? 0 : ((Number) containers[1]).longValue();
+            long totalOffers = offers == null ? 0 : ((Number) offers[1]).longValue();
+            long acceptedOffers = offers == null ? 0 : ((Number) offers[2]).longValue();
             return ForwarderInfoDto.from(fwd, containerCount, totalOffers, acceptedOffers);
         }).collect(Collectors.toList());
     }
@@ -80,23 +138,103 @@ public class AdminService {
         // "PENDING" 상태로 변경하는 경우는 별도의 역할 변경이 필요 없습니다.
 
         userRepository.save(user);
+
+        // 로그인 사용자 캐시에도 바뀐 승인 상태/역할이 반영되도록 커밋 후 제거합니다.
+        userCache.invalidateAfterCommit(userSeq);
+
+        // 관리 목록에 바뀐 상태가 바로 보이도록 커밋 후 캐시를 비웁니다.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                forwarderStatsCache.invalidate();
+                userStatsCache.invalidate();
+            }
+        });
     }
     
 
     // [추가] 화주 목록 조회
+    // 사용자 1회 + 요청자별 그룹 집계 1회로 조회하고, 결과는 잠시 캐시한 뒤 정렬/페이징합니다.
     @Transactional(readOnly = true)
-    public List<UserInfoDto> getUserList() {
+    public Page<UserInfoDto> getUserList(Pageable pageable) {
+        List<UserInfoDto> all = userStatsCache.get(this::loadUserStats);
+        return sortAndPage(all, pageable, USER_SORTS);
+    }
+
+    private List<UserInfoDto> loadUserStats() {
         // [수정] "ROLE_cus" 역할을 가진 모든 유저를 조회하도록 변경
         List<UserEntity> users = userRepository.findByRolesIn(List.of("ROLE_cus"));
+        Map<Integer, Object[]> requestStats = groupByUser(requestRepository.summarizeGroupByRequester());
 
         return users.stream().map(user -> {
-            long totalRequests = requestRepository.countByRequester(user);
-            long completedDeals = requestRepository.countByRequesterAndStatus(user, RequestStatus.CLOSED);
-            double totalCbm = requestRepository.sumTotalCbmByRequester(user);
+            Object[] stats = requestStats.get(user.getUserSeq());
+            long totalRequests = stats == null ? 0 : ((Number) stats[1]).longValue();
+            long completedDeals = stats == null ? 0 : ((Number) stats[2]).longValue();
+            double totalCbm = stats == null ? 0 : ((Number) stats[3]).doubleValue();
             return UserInfoDto.from(user, totalRequests, completedDeals, totalCbm);
         }).collect(Collectors.toList());
     }
-    
+
+    // 그룹 집계 결과([userSeq, ...])를 사용자 번호로 찾을 수 있게 변환
+    private static Map<Integer, Object[]> groupByUser(List<Object[]> rows) {
+        Map<Integer, Object[]> byUser = new HashMap<>();
+        for (Object[] row : rows) {
+            byUser.put((Integer) row[0], row);
+        }
+        return byUser;
+    }
+
+    private static <T> Page<T> sortAndPage(List<T> all, Pageable pageable, Map<String, Comparator<T>> sorts) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : pageable.getSort()) {
+            Comparator<T> byField = sorts.get(order.getProperty());
+            if (byField == null) {
+                continue; // 목록에 없는 정렬 기준은 무시
+            }
+            if (order.isDescending()) {
+                byField = byField.reversed();
+            }
+            comparator = (comparator == null) ? byField : comparator.thenComparing(byField);
+        }
+        List<T> sorted = all;
+        if (comparator != null) {
+            sorted = new ArrayList<>(all);
+            sorted.sort(comparator);
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    /**
+     * 관리자 목록 캐시. 만료(ttl) 전까지는 같은 목록을 재사용하고, 사용자 상태가 바뀌면 즉시 비웁니다.
+     */
+    private static final class StatsCache<T> {
+
+        private record Entry<T>(List<T> value, long loadedAt) { }
+
+        private final AtomicReference<Entry<T>> entry = new AtomicReference<>();
+        private final LongSupplier ttlMs;
+
+        StatsCache(LongSupplier ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+
+        List<T> get(Supplier<List<T>> loader) {
+            Entry<T> current = entry.get();
+            long now = System.currentTimeMillis();
+            if (current == null || now - current.loadedAt() >= ttlMs.getAsLong()) {
+                current = new Entry<>(List.copyOf(loader.get()), now);
+                entry.set(current);
+            }
+            return current.value();
+        }
+
+        void invalidate() {
+            entry.set(null);
+        }
+    }
+
     // [추가] 대시보드 지표 계산 메서드
     @Transactional(readOnly = true)
     public DashboardMetricsDto getDashboardMetrics() {
@@ -123,7 +261,7 @@ public class AdminService {
 
 
         // [추가] SCFI 등락률 계산 로직
-        List<ScfiData> latestTwoScfi = scfiDataRepository.findTop2ByOrderByRecordDateDesc();
+        List<ScfiDataDto> latestTwoScfi = scfiSeriesService.snapshot().latest(2);
         Double scfiChangePercentage = null;
         String scfiStatus = "NORMAL";
 
@@ -158,41 +296,26 @@ public class AdminService {
                 .build();
     }
 
-    // 기존 물동량 그래프 계산 메서드
-    @Transactional(readOnly = true)
+    // 물동량 그래프: 원본 제안/컨테이너 대신 일별 집계 테이블의 오늘 현황을 사용
     public VolumeDto getSystemVolume() {
-        List<OfferEntity> offersInScheduledContainers = offerRepository.findAllByContainerStatus(ContainerStatus.SCHEDULED);
-        LocalDateTime now = LocalDateTime.now();
-
-        double confirmedCbm = 0;
-        double resaleCbm = 0;
-        double biddingCbm = 0;
-
-        for (OfferEntity offer : offersInScheduledContainers) {
-            OfferStatus status = offer.getStatus();
-            double cbm = offer.getRequest().getCargo().getTotalCbm();
-
-            if (status == OfferStatus.ACCEPTED) {
-                confirmedCbm += cbm;
-            } else if (status == OfferStatus.FOR_SALE) {
-                resaleCbm += cbm;
-            } else if (status == OfferStatus.PENDING && offer.getRequest().getDeadline().isAfter(now)) {
-                biddingCbm += cbm;
-            }
-        }
+        return volumeRollupService.getCurrentVolume();
+    }
 
-        List<ContainerEntity> scheduledContainers = containerRepository.findByStatus(ContainerStatus.SCHEDULED);
-        double totalScheduledCapacity = scheduledContainers.stream()
-                .mapToDouble(ContainerEntity::getCapacityCbm)
-                .sum();
-        double totalUsedCbm = confirmedCbm + resaleCbm + biddingCbm;
-        double availableCbm = totalScheduledCapacity - totalUsedCbm;
-
-        return VolumeDto.builder()
-                .confirmedCbm(confirmedCbm)
-                .resaleCbm(resaleCbm)
-                .biddingCbm(biddingCbm)
-                .availableCbm(availableCbm)
+    /**
+     * 기간 내 화주 거래액 합계. 원장에 기록된 기준 통화 금액을 DB에서 바로 합산합니다.
+     * 재판매 체인은 화주 원본 거래만 한 번 세고, 운송사 간 재판매 거래는 빼고 셉니다.
+     * @param to 종료일(포함)
+     */
+    @Transactional(readOnly = true)
+    public RevenueSummaryDto getRevenueSummary(LocalDate from, LocalDate to) {
+        Object[] row = settlementLedgerRepository.sumSalesInBaseCurrency(from.atStartOfDay(), to.plusDays(1).atStartOfDay()).get(0);
+        return RevenueSummaryDto.builder()
+                .baseCurrency(fxRateService.getBaseCurrency())
+                .from(from)
+                .to(to)
+                .totalSales((BigDecimal) row[0])
+                .dealCount(((Number) row[1]).longValue())
+                .unconvertedCount(row[2] == null ? 0 : ((Number) row[2]).longValue())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,187 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.BlDto;
+import net.dima.project.entity.BlDocument;
+import net.dima.project.entity.BlFormat;
+import net.dima.project.entity.ContainerEntity;
+import net.dima.project.entity.ContainerStatus;
+import net.dima.project.entity.NotificationEvents.ContainerStatusChangedEvent;
+import net.dima.project.entity.OfferEntity;
+import net.dima.project.entity.OfferStatus;
+import net.dima.project.entity.RequestEntity;
+import net.dima.project.repository.BlDocumentRepository;
+import net.dima.project.repository.OfferRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * B/L 문서 파이프라인.
+ * 컨테이너가 확정(confirmContainer)되면 실린 화물마다 B/L을 텍스트/PDF로 한 번 렌더링해 문서 저장소에 넣고,
+ * 다운로드는 저장된 문서를 그대로 내려보냅니다. (요청마다 재판매 체인을 다시 따라가지 않음)
+ *
+ * 렌더링 기준은 렌더러에 넘기는 B/L 정보(원본 요청 + 최종 제안 + 컨테이너 정보) 전체의 해시(sourceVersion)이며,
+ * 컨테이너 상태가 바뀔 때 이 값이 달라진 경우에만 다시 렌더링하고 이전 문서의 참조를 놓습니다.
+ * 기능 도입 전에 확정된 요청처럼 문서가 없으면 첫 다운로드 때 만들어 둡니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BlDocumentService {
+
+    // B/L을 발행할 수 있는 최종 제안 상태 (컨테이너 확정 이후)
+    private static final Set<OfferStatus> ISSUED_STATUSES =
+            EnumSet.of(OfferStatus.CONFIRMED, OfferStatus.SHIPPED, OfferStatus.COMPLETED);
+
+    private final BlDocumentRepository blDocumentRepository;
+    private final OfferRepository offerRepository;
+    private final RequestService requestService;
+    private final DocumentStore documentStore;
+    private final BlRenderer blRenderer;
+
+    /**
+     * 컨테이너에 실린 확정 화물의 B/L을 렌더링합니다. (ContainerService.confirmContainer에서 호출)
+     * @param offers 컨테이너의 제안 목록 (이미 조회한 것을 그대로 넘김)
+     * @return 새로 렌더링한 문서 수
+     */
+    public int renderForContainer(ContainerEntity container, List<OfferEntity> offers) {
+        Map<Long, BlDocument> existing = blDocumentRepository.findByContainerId(container.getContainerId()).stream()
+                .filter(doc -> doc.getFormat() == BlFormat.TEXT)
+                .collect(Collectors.toMap(BlDocument::getRequestId, Function.identity(), (a, b) -> a));
+        int rendered = 0;
+        for (OfferEntity offer : offers) {
+            if (!ISSUED_STATUSES.contains(offer.getStatus())) {
+                continue;
+            }
+            RequestEntity original = originalRequest(offer.getRequest());
+            BlDocument current = existing.get(original.getRequestId());
+            BlDto info = BlDto.from(original, offer, null);
+            String version = sourceVersion(info);
+            if (current != null && current.getSourceVersion().equals(version)) {
+                continue;
+            }
+            info.setIssueDate(current != null && current.getFinalOfferId().equals(offer.getOfferId())
+                    ? current.getIssueDate() : LocalDate.now());
+            render(original, offer, info, version);
+            rendered++;
+        }
+        if (rendered > 0) {
+            log.info("B/L 렌더링: 컨테이너 {} ({}건)", container.getContainerId(), rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * 컨테이너 정보가 바뀌었을 수 있으므로 B/L 기준값을 다시 비교합니다. (같으면 아무것도 하지 않음)
+     */
+    @EventListener
+    public void onContainerStatusChanged(ContainerStatusChangedEvent event) {
+        ContainerEntity container = event.getContainer();
+        if (container.getStatus() == null || container.getStatus().ordinal() < ContainerStatus.CONFIRMED.ordinal()) {
+            return;
+        }
+        renderForContainer(container, offerRepository.findAllByContainer(container));
+    }
+
+    /**
+     * 다운로드할 B/L 문서. 없으면 지금 렌더링해 저장합니다.
+     * @throws SecurityException 요청 화주가 아닌 경우
+     */
+    public BlDocument getDocument(Long requestId, String currentUserId, BlFormat format) {
+        Optional<BlDocument> stored = blDocumentRepository.findByRequestIdAndFormat(requestId, format);
+        if (stored.isPresent()) {
+            if (!stored.get().getShipperUserId().equals(currentUserId)) {
+                throw new SecurityException("자신의 요청에 대한 B/L만 조회할 수 있습니다.");
+            }
+            return stored.get();
+        }
+
+        // 문서가 없으면 재판매 체인을 따라 최종 제안을 찾는다 (권한 검사 포함)
+        BlDto info = requestService.getBlInfo(requestId, currentUserId);
+        OfferEntity finalOffer = offerRepository.findById(blOfferId(info.getBlNo()))
+                .orElseThrow(() -> new IllegalStateException("확정된 운송 정보를 찾을 수 없습니다."));
+        RequestEntity original = originalRequest(finalOffer.getRequest());
+        render(original, finalOffer, info, sourceVersion(info));
+        return blDocumentRepository.findByRequestIdAndFormat(requestId, format)
+                .orElseThrow(() -> new IllegalStateException("B/L 문서 생성에 실패했습니다."));
+    }
+
+    // ===== 렌더링 =====
+
+    private void render(RequestEntity original, OfferEntity finalOffer, BlDto info, String version) {
+        LocalDateTime now = LocalDateTime.now();
+        for (BlFormat format : BlFormat.values()) {
+            byte[] body = format == BlFormat.PDF ? blRenderer.renderPdf(info) : blRenderer.renderText(info);
+            StoredFile document = store(body, format);
+
+            BlDocument row = blDocumentRepository.findByRequestIdAndFormat(original.getRequestId(), format)
+                    .orElseGet(() -> BlDocument.builder().requestId(original.getRequestId()).format(format).build());
+            if (row.getDocumentSha256() != null) {
+                documentStore.release(row.getDocumentSha256());
+            }
+            row.setFinalOfferId(finalOffer.getOfferId());
+            row.setContainerId(finalOffer.getContainer().getContainerId());
+            row.setShipperUserId(original.getRequester().getUserId());
+            row.setBlNo(info.getBlNo());
+            row.setIssueDate(info.getIssueDate());
+            row.setSourceVersion(version);
+            row.setDocumentSha256(document.sha256());
+            row.setRenderedAt(now);
+            blDocumentRepository.save(row);
+        }
+    }
+
+    private StoredFile store(byte[] body, BlFormat format) {
+        try {
+            return documentStore.put(new ByteArrayInputStream(body), format.getContentType(), body.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("B/L 문서 저장 실패", e);
+        }
+    }
+
+    // 재판매 요청이면 원래 화주의 요청까지 거슬러 올라간다
+    private static RequestEntity originalRequest(RequestEntity request) {
+        RequestEntity current = request;
+        while (current.getSourceOffer() != null) {
+            current = current.getSourceOffer().getRequest();
+        }
+        return current;
+    }
+
+    // B/L 번호 형식: SHB-{요청 ID}-{최종 제안 ID}
+    private static Long blOfferId(String blNo) {
+        return Long.valueOf(blNo.substring(blNo.lastIndexOf('-') + 1));
+    }
+
+    // 렌더러에 넘기는 B/L 정보 전체의 해시 (발행일 제외). 필드가 추가되어도 toString에 포함되므로 함께 반영된다
+    static String sourceVersion(BlDto info) {
+        String source = info.toBuilder().issueDate(null).build().toString();
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package net.dima.project.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import net.dima.project.dto.BlDto;
+
+/**
+ * B/L(선하증권) 문서 렌더러. 텍스트와 PDF 두 형식을 같은 줄 목록에서 만든다.
+ *
+ * PDF는 외부 라이브러리 없이 한 장짜리 문서를 직접 쓴다. 회사명 등 한글이 들어가므로
+ * PDF 표준 CJK 글꼴(HYSMyeongJo-Medium, Adobe-Korea1, UniKS-UCS2-H 인코딩)을 내장하지 않고 참조하며,
+ * 문자열은 UCS-2(BMP) 16진수로 쓴다.
+ */
+@Component
+public class BlRenderer {
+
+    private static final String RULE = "----------------------------------------------";
+    private static final String DOUBLE_RULE = "==============================================";
+
+    // PDF 레이아웃 (A4, pt)
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN_LEFT = 56;
+    private static final int MARGIN_TOP = 60;
+    private static final int FONT_SIZE = 10;
+    private static final int LEADING = 14;
+
+    public byte[] renderText(BlDto dto) {
+        return (String.join("\n", lines(dto)) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] renderPdf(BlDto dto) {
+        List<String> lines = lines(dto);
+        int maxLines = (PAGE_HEIGHT - MARGIN_TOP * 2) / LEADING;
+
+        StringBuilder content = new StringBuilder();
+        content.append("BT\n/F1 ").append(FONT_SIZE).append(" Tf\n")
+               .append(LEADING).append(" TL\n")
+               .append(MARGIN_LEFT).append(' ').append(PAGE_HEIGHT - MARGIN_TOP).append(" Td\n");
+        for (String line : lines.subList(0, Math.min(lines.size(), maxLines))) {
+            content.append('<').append(ucs2Hex(line)).append("> Tj T*\n");
+        }
+        content.append("ET\n");
+        byte[] stream = content.toString().getBytes(StandardCharsets.US_ASCII);
+
+        List<String> objects = new ArrayList<>();
+        objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+        objects.add("<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+        objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] "
+                + "/Resources << /Font << /F1 5 0 R >> >> /Contents 4 0 R >>");
+        objects.add("<< /Length " + stream.length + " >>\nstream\n"
+                + new String(stream, StandardCharsets.US_ASCII) + "endstream");
+        objects.add("<< /Type /Font /Subtype /Type0 /BaseFont /HYSMyeongJo-Medium /Encoding /UniKS-UCS2-H "
+                + "/DescendantFonts [6 0 R] >>");
+        // 반각 ASCII(CID 1~95)는 폭 500, 나머지(한글 등)는 기본 폭 1000
+        objects.add("<< /Type /Font /Subtype /CIDFontType0 /BaseFont /HYSMyeongJo-Medium "
+                + "/CIDSystemInfo << /Registry (Adobe) /Ordering (Korea1) /Supplement 2 >> "
+                + "/FontDescriptor 7 0 R /DW 1000 /W [1 95 500] >>");
+        objects.add("<< /Type /FontDescriptor /FontName /HYSMyeongJo-Medium /Flags 6 "
+                + "/FontBBox [-28 -148 1001 880] /ItalicAngle 0 /Ascent 880 /Descent -148 "
+                + "/CapHeight 880 /StemV 59 >>");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, "%PDF-1.4\n%\u00E2\u00E3\u00CF\u00D3\n"); // 두 번째 줄: 바이너리 파일 표시
+        long[] offsets = new long[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            offsets[i] = out.size();
+            write(out, (i + 1) + " 0 obj\n" + objects.get(i) + "\nendobj\n");
+        }
+        long xref = out.size();
+        StringBuilder trailer = new StringBuilder();
+        trailer.append("xref\n0 ").append(objects.size() + 1).append('\n')
+               .append("0000000000 65535 f \n");
+        for (long offset : offsets) {
+            trailer.append(String.format("%010d 00000 n \n", offset));
+        }
+        trailer.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\n")
+               .append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(out, trailer.toString());
+        return out.toByteArray();
+    }
+
+    private static List<String> lines(BlDto dto) {
+        List<String> lines = new ArrayList<>();
+        lines.add(DOUBLE_RULE);
+        lines.add("              BILL OF LADING (DRAFT)            ");
+        lines.add(DOUBLE_RULE);
+        lines.add("");
+        lines.add("B/L No: " + dto.getBlNo());
+        lines.add("Issue Date: " + dto.getIssueDate());
+        lines.add("");
+        section(lines, " SHIPPER / EXPORTER");
+        lines.add("Name: " + dto.getShipperName());
+        lines.add("Address: " + dto.getShipperAddress());
+        lines.add("");
+        section(lines, " CONSIGNEE");
+        lines.add("Name: " + dto.getConsigneeName());
+        lines.add("Address: " + dto.getConsigneeAddress());
+        lines.add("");
+        section(lines, " FORWARDING AGENT");
+        lines.add("Name: " + dto.getForwarderName());
+        lines.add("");
+        section(lines, " VESSEL & VOYAGE INFORMATION");
+        lines.add("Vessel Name: " + dto.getVesselName());
+        lines.add("IMO Number: " + dto.getImoNumber());
+        lines.add("Port of Loading: " + dto.getPortOfLoading());
+        lines.add("Port of Discharge: " + dto.getPortOfDischarge());
+        lines.add("");
+        section(lines, " CARGO & CONTAINER DETAILS");
+        lines.add("Container No: " + dto.getContainerNo());
+        lines.add("Description of Goods: " + dto.getDescriptionOfGoods());
+        lines.add("CBM (Cubic Meter): " + String.format("%.2f", dto.getCbm()));
+        lines.add("");
+        lines.add(DOUBLE_RULE);
+        lines.add("              END OF DOCUMENT                 ");
+        lines.add(DOUBLE_RULE);
+        return lines;
+    }
+
+    private static void section(List<String> lines, String title) {
+        lines.add(RULE);
+        lines.add(title);
+        lines.add(RULE);
+    }
+
+    // BMP 밖 문자(서로게이트)는 '?'로 바꾼다 (UCS-2 인코딩)
+    private static String ucs2Hex(String text) {
+        StringBuilder hex = new StringBuilder(text.length() * 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isSurrogate(c)) {
+                c = '?';
+            }
+            hex.append(String.format("%04X", (int) c));
+        }
+        return hex.toString();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
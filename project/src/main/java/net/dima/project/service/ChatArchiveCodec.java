@@ -0,0 +1,89 @@
+package net.dima.project.service;
+
+import net.dima.project.entity.ChatMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 채팅 메시지 보관 세그먼트의 직렬화 형식.
+ * [버전(1)][개수(4)] 뒤에 메시지마다 [messageId(8)][senderSeq(4)][sentAt(8)][isRead(1)][본문 길이(4)][본문(UTF-8)]
+ * 를 이어 붙인 뒤 GZIP으로 압축한다. 발신자 이름은 저장하지 않고 읽을 때 조회한다.
+ */
+final class ChatArchiveCodec {
+
+    private static final byte VERSION = 1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    record ArchivedMessage(long messageId, int senderSeq, LocalDateTime sentAt, boolean read, String content) {
+    }
+
+    record Encoded(byte[] payload, int rawBytes) {
+    }
+
+    private ChatArchiveCodec() {
+    }
+
+    static Encoded encode(List<ChatMessage> messages) {
+        try {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(raw);
+            out.writeByte(VERSION);
+            out.writeInt(messages.size());
+            for (ChatMessage message : messages) {
+                byte[] content = message.getMessageContent().getBytes(StandardCharsets.UTF_8);
+                out.writeLong(message.getMessageId());
+                out.writeInt(message.getSender().getUserSeq());
+                out.writeLong(message.getSentAt() != null ? message.getSentAt().toEpochSecond(ZoneOffset.UTC) : NO_TIME);
+                out.writeBoolean(message.isRead());
+                out.writeInt(content.length);
+                out.write(content);
+            }
+            out.flush();
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.size() / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                raw.writeTo(gzip);
+            }
+            return new Encoded(compressed.toByteArray(), raw.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 세그먼트 생성 실패", e);
+        }
+    }
+
+    static List<ArchivedMessage> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("지원하지 않는 채팅 보관 형식입니다: " + version);
+            }
+            int count = in.readInt();
+            List<ArchivedMessage> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long messageId = in.readLong();
+                int senderSeq = in.readInt();
+                long sentAt = in.readLong();
+                boolean read = in.readBoolean();
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                messages.add(new ArchivedMessage(messageId, senderSeq,
+                        sentAt == NO_TIME ? null : LocalDateTime.ofEpochSecond(sentAt, 0, ZoneOffset.UTC),
+                        read, new String(content, StandardCharsets.UTF_8)));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 세그먼트 해제 실패", e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.ChatMessageDto;
+import net.dima.project.entity.ChatMessage;
+import net.dima.project.entity.ChatMessageArchive;
+import net.dima.project.entity.ChatRoom;
+import net.dima.project.entity.ChatRoomStatus;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.ChatMessageArchiveRepository;
+import net.dima.project.repository.ChatMessageRepository;
+import net.dima.project.repository.ChatRoomRepository;
+import net.dima.project.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 채팅 메시지 보관(아카이브) 서비스.
+ * 종료된 채팅방의 메시지를 압축 세그먼트로 묶어 chat_message_archive로 옮기고,
+ * chat_message(활성 테이블)에서는 삭제하여 활성 채팅방의 인덱스를 작게 유지합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ChatArchiveService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageArchiveRepository chatMessageArchiveRepository;
+    private final UserRepository userRepository;
+
+    // 세그먼트 하나에 담을 최대 메시지 수
+    @Value("${chat.archive.segment-size:500}")
+    private int segmentSize;
+
+    @Transactional(readOnly = true)
+    public List<Long> findArchivableRoomIds(LocalDateTime cutoff) {
+        return chatRoomRepository.findArchivableRoomIds(cutoff);
+    }
+
+    /**
+     * 채팅방 하나의 메시지를 모두 보관 세그먼트로 옮깁니다. (채팅방 단위 트랜잭션)
+     * @return 보관된 메시지 수
+     */
+    public int archiveRoom(Long chatRoomId) {
+        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
+                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
+        if (chatRoom.getStatus() != ChatRoomStatus.CLOSED) {
+            throw new IllegalStateException("종료된 채팅방만 보관할 수 있습니다.");
+        }
+
+        int archived = 0;
+        while (true) {
+            List<ChatMessage> batch = chatMessageRepository.findByChatRoom_ChatRoomIdOrderByMessageIdAsc(
+                    chatRoomId, PageRequest.of(0, segmentSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            ChatArchiveCodec.Encoded encoded = ChatArchiveCodec.encode(batch);
+            ChatMessage first = batch.get(0);
+            ChatMessage last = batch.get(batch.size() - 1);
+            chatMessageArchiveRepository.save(ChatMessageArchive.builder()
+                    .chatRoom(chatRoom)
+                    .firstMessageId(first.getMessageId())
+                    .lastMessageId(last.getMessageId())
+                    .messageCount(batch.size())
+                    .firstSentAt(first.getSentAt())
+                    .lastSentAt(last.getSentAt())
+                    .rawBytes(encoded.rawBytes())
+                    .payload(encoded.payload())
+                    .build());
+
+            chatMessageRepository.deleteAllInBatch(batch);
+            archived += batch.size();
+            if (batch.size() < segmentSize) {
+                break;
+            }
+        }
+        log.info("채팅방 {} 메시지 {}건 보관 완료", chatRoomId, archived);
+        return archived;
+    }
+
+    /**
+     * 보관된 메시지를 원래 순서대로 복원합니다. 보관된 적이 없는 채팅방은 빈 목록을 반환합니다.
+     */
+    @Transactional(readOnly = true)
+    public List<ChatMessageDto> getArchivedMessages(Long chatRoomId) {
+        List<ChatMessageArchive> segments = chatMessageArchiveRepository.findByChatRoom_ChatRoomIdOrderByFirstMessageIdAsc(chatRoomId);
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+
+        List<ChatArchiveCodec.ArchivedMessage> messages = new ArrayList<>();
+        for (ChatMessageArchive segment : segments) {
+            messages.addAll(ChatArchiveCodec.decode(segment.getPayload()));
+        }
+
+        // 발신자 이름은 한 번에 조회 (채팅방 참여자는 보통 2명)
+        Set<Integer> senderSeqs = messages.stream()
+                .map(ChatArchiveCodec.ArchivedMessage::senderSeq)
+                .collect(Collectors.toSet());
+        Map<Integer, String> senderNames = userRepository.findAllById(senderSeqs).stream()
+                .collect(Collectors.toMap(UserEntity::getUserSeq, UserEntity::getUserName));
+
+        return messages.stream().map(message -> {
+            ChatMessageDto dto = new ChatMessageDto();
+            dto.setChatRoomId(chatRoomId);
+            dto.setSenderSeq(message.senderSeq());
+            dto.setSenderName(senderNames.get(message.senderSeq()));
+            dto.setMessageContent(message.content());
+            return dto;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,156 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.UserRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 채팅 알림 묶음(digest) 처리.
+ * 메시지마다 바로 'unreadChat' 이벤트를 보내지 않고 수신자별로 채팅방별 건수를 모아 두었다가,
+ * - 접속 중인 사용자: 짧은 주기마다 채팅방별 건수를 담은 'unreadChat' 이벤트 1건으로 전송
+ * - 접속하지 않은 사용자: 대화가 일정 시간 잠잠해지면 요약 알림(Notification) 1건을 저장
+ * 합니다. 미접속 상태에서 대화가 끝없이 이어지더라도 최대 지연 시간이 지나면 요약 알림을 남깁니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatNotificationDigester {
+
+    private final SseEmitterService sseEmitterService;
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+
+    // 수신자 userId -> 모아 둔 채팅 활동
+    private final Map<String, PendingDigest> pending = new ConcurrentHashMap<>();
+
+    // 미접속 사용자: 마지막 메시지 이후 이 시간 동안 새 메시지가 없으면 요약 알림 저장
+    @Value("${chat.digest.offline-quiet-period-ms:300000}")
+    private long offlineQuietPeriodMs;
+
+    // 미접속 사용자: 첫 메시지 이후 이 시간이 지나면 대화가 계속되더라도 요약 알림 저장
+    @Value("${chat.digest.offline-max-delay-ms:1800000}")
+    private long offlineMaxDelayMs;
+
+    /**
+     * 채팅 메시지 1건을 수신자의 묶음에 추가합니다. (트랜잭션 커밋 후 호출)
+     */
+    public void record(String receiverUserId, Long chatRoomId) {
+        record(receiverUserId, chatRoomId, System.currentTimeMillis());
+    }
+
+    void record(String receiverUserId, Long chatRoomId, long now) {
+        pending.compute(receiverUserId, (userId, digest) -> {
+            PendingDigest target = (digest != null) ? digest : new PendingDigest(now);
+            target.roomCounts.merge(chatRoomId, 1, Integer::sum);
+            target.lastActivityAt = now;
+            return target;
+        });
+    }
+
+    /**
+     * 사용자가 채팅방을 읽었으면 해당 채팅방의 모아 둔 건수는 더 이상 알릴 필요가 없습니다.
+     */
+    public void clearRoom(String userId, Long chatRoomId) {
+        pending.computeIfPresent(userId, (key, digest) -> {
+            digest.roomCounts.remove(chatRoomId);
+            return digest.roomCounts.isEmpty() ? null : digest;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${chat.digest.flush-interval-ms:1000}")
+    public void flush() {
+        flush(System.currentTimeMillis());
+    }
+
+    void flush(long now) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (String userId : pending.keySet()) {
+            boolean connected = sseEmitterService.isConnected(userId);
+            PendingDigest[] due = new PendingDigest[1];
+            pending.computeIfPresent(userId, (key, digest) -> {
+                if (connected || isOfflineDue(digest, now)) {
+                    due[0] = digest;
+                    return null;
+                }
+                return digest;
+            });
+
+            if (due[0] == null) {
+                continue;
+            }
+            boolean delivered;
+            try {
+                if (connected) {
+                    delivered = sseEmitterService.sendToClient(userId, "unreadChat", due[0].toPayload());
+                } else {
+                    saveSummaryNotification(userId, due[0]);
+                    delivered = true;
+                }
+            } catch (Exception e) {
+                log.error("채팅 알림 묶음 전달 실패 (userId: {})", userId, e);
+                delivered = false;
+            }
+            if (!delivered) {
+                // 전송 중 연결이 끊긴 경우 등: 묶음을 되돌려 두면 다음 주기에 미접속 규칙(요약 알림)으로 처리된다
+                pending.merge(userId, due[0], PendingDigest::absorb);
+            }
+        }
+    }
+
+    private boolean isOfflineDue(PendingDigest digest, long now) {
+        return now - digest.lastActivityAt >= offlineQuietPeriodMs
+                || now - digest.firstActivityAt >= offlineMaxDelayMs;
+    }
+
+    private void saveSummaryNotification(String userId, PendingDigest digest) {
+        UserEntity receiver = userRepository.findByUserId(userId);
+        if (receiver == null) {
+            return;
+        }
+        String message = String.format("읽지 않은 채팅 메시지 %d건이 있습니다. (채팅방 %d개)",
+                digest.totalCount(), digest.roomCounts.size());
+        notificationService.sendNotification(receiver, message, "/chat");
+    }
+
+    // compute 블록 안에서만 수정되므로 별도 동기화가 필요 없다.
+    private static final class PendingDigest {
+        private long firstActivityAt;
+        private long lastActivityAt;
+        private final Map<Long, Integer> roomCounts = new LinkedHashMap<>();
+
+        PendingDigest(long now) {
+            this.firstActivityAt = now;
+            this.lastActivityAt = now;
+        }
+
+        // 되돌린 묶음과 그사이 새로 쌓인 묶음을 합친다
+        PendingDigest absorb(PendingDigest other) {
+            firstActivityAt = Math.min(firstActivityAt, other.firstActivityAt);
+            lastActivityAt = Math.max(lastActivityAt, other.lastActivityAt);
+            other.roomCounts.forEach((room, count) -> roomCounts.merge(room, count, Integer::sum));
+            return this;
+        }
+
+        int totalCount() {
+            return roomCounts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        Map<String, Object> toPayload() {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("total", totalCount());
+            payload.put("rooms", new LinkedHashMap<>(roomCounts));
+            return payload;
+        }
+    }
+}
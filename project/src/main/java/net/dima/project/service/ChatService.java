@@ -8,10 +8,16 @@ import net.dima.project.entity.*;
 import net.dima.project.repository.ChatMessageRepository;
 import net.dima.project.repository.ChatRoomRepository;
 import net.dima.project.repository.ContainerCargoRepository;
+import net.dima.project.repository.ContainerRepository;
 import net.dima.project.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -27,9 +33,12 @@ public class ChatService {
 
     private final ChatRoomRepository chatRoomRepository;
     private final ContainerCargoRepository containerCargoRepository;
+    private final ContainerRepository containerRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final UserRepository userRepository;
     private final SseEmitterService sseEmitterService;
+    private final ChatNotificationDigester chatNotificationDigester;
+    private final ChatArchiveService chatArchiveService;
 
     /**
      * 특정 제안(Offer)에 대한 채팅방을 생성합니다.
@@ -59,17 +68,82 @@ public class ChatService {
     }
 
     /**
-     * 정산 완료된 컨테이너와 관련된 모든 채팅방을 닫습니다. (기존과 동일)
+     * 컨테이너 공지 채팅방을 열고(없으면 생성) 참여자를 현재 적재 화물의 화주 목록과 맞춥니다.
+     * 운송사가 메시지를 한 번 저장하면 채팅방 토픽을 통해 모든 화주에게 전달됩니다.
+     */
+    public ChatRoom openContainerChatRoom(ContainerEntity container) {
+        ChatRoom chatRoom = chatRoomRepository.findByContainer(container).orElseGet(() -> {
+            ChatRoom created = ChatRoom.builder()
+                    .roomType(ChatRoomType.CONTAINER)
+                    .container(container)
+                    .build();
+            created.getParticipants().add(ChatParticipant.builder()
+                    .chatRoom(created).user(container.getForwarder()).roleInChat("OWNER").build());
+            return chatRoomRepository.save(created);
+        });
+        syncContainerChatMembers(chatRoom);
+        return chatRoom;
+    }
+
+    /**
+     * 운송사가 직접 컨테이너 공지 채팅방을 여는 경우 (소유자 검증 포함)
+     */
+    public Long openContainerChatRoom(String containerId, Integer userSeq) {
+        ContainerEntity container = containerRepository.findById(containerId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 컨테이너입니다."));
+        if (!container.getForwarder().getUserSeq().equals(userSeq)) {
+            throw new SecurityException("권한이 없습니다.");
+        }
+        ChatRoom chatRoom = openContainerChatRoom(container);
+        if (chatRoom.getStatus() != ChatRoomStatus.ACTIVE) {
+            throw new IllegalStateException("이미 종료된 채팅방입니다.");
+        }
+        return chatRoom.getChatRoomId();
+    }
+
+    /**
+     * 화물 이전 등으로 적재 화물이 바뀐 경우, 공지 채팅방이 있으면 참여자를 다시 맞춥니다.
+     */
+    public void refreshContainerChatMembers(ContainerEntity container) {
+        chatRoomRepository.findByContainer(container).ifPresent(this::syncContainerChatMembers);
+    }
+
+    // 참여자 = 소유 운송사(OWNER) + 컨테이너에 실린 내부 화물의 원본 화주(MEMBER)
+    private void syncContainerChatMembers(ChatRoom chatRoom) {
+        Map<Integer, UserEntity> owners = new LinkedHashMap<>();
+        containerCargoRepository.findAllByContainer(chatRoom.getContainer()).stream()
+                .filter(cargo -> !cargo.getIsExternal() && cargo.getOffer() != null)
+                .map(cargo -> cargo.getOffer().getRequest().getCargo().getOwner())
+                .forEach(owner -> owners.putIfAbsent(owner.getUserSeq(), owner));
+
+        // 컨테이너에서 빠진 화주는 제외 (운송사 본인은 유지)
+        chatRoom.getParticipants().removeIf(p ->
+                "MEMBER".equals(p.getRoleInChat()) && !owners.containsKey(p.getUser().getUserSeq()));
+
+        // 새로 실린 화주는 추가. 합류 이전 공지도 읽을 수 있도록 읽음 커서는 비워 둔다.
+        chatRoom.getParticipants().forEach(p -> owners.remove(p.getUser().getUserSeq()));
+        owners.values().forEach(owner -> chatRoom.getParticipants().add(ChatParticipant.builder()
+                .chatRoom(chatRoom).user(owner).roleInChat("MEMBER").build()));
+    }
+
+    /**
+     * 정산 완료된 컨테이너와 관련된 모든 채팅방을 닫습니다. (컨테이너 공지 채팅방 포함)
      */
     public void closeChatRoomsForSettledContainer(ContainerEntity container) {
         containerCargoRepository.findAllByContainer(container).stream()
             .filter(cargo -> !cargo.getIsExternal() && cargo.getOffer() != null)
             .forEach(cargo -> closeChatRoomAndUpstream(cargo.getOffer()));
+
+        chatRoomRepository.findByContainer(container).ifPresent(chatRoom -> {
+            chatRoom.setStatus(ChatRoomStatus.CLOSED);
+            chatRoom.setClosedAt(LocalDateTime.now());
+        });
     }
     
     private void closeChatRoomAndUpstream(OfferEntity offer) {
         chatRoomRepository.findByOffer(offer).ifPresent(chatRoom -> {
             chatRoom.setStatus(ChatRoomStatus.CLOSED);
+            chatRoom.setClosedAt(LocalDateTime.now());
             RequestEntity request = offer.getRequest();
             if (request.getSourceOffer() != null) {
                 closeChatRoomAndUpstream(request.getSourceOffer());
@@ -86,19 +160,45 @@ public class ChatService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 채팅방 메시지 조회. 보관(아카이브)된 과거 메시지를 먼저, 활성 테이블의 메시지를 뒤에 이어 반환합니다.
+     */
     @Transactional(readOnly = true)
     public List<ChatMessageDto> getMessagesForChatRoom(Long chatRoomId) {
-        return chatMessageRepository.findByChatRoom_ChatRoomIdOrderBySentAtAsc(chatRoomId).stream()
+        List<ChatMessageDto> messages = new ArrayList<>(chatArchiveService.getArchivedMessages(chatRoomId));
+        chatMessageRepository.findByChatRoom_ChatRoomIdOrderBySentAtAsc(chatRoomId).stream()
                 .map(ChatMessageDto::fromEntity)
-                .collect(Collectors.toList());
+                .forEach(messages::add);
+        return messages;
     }
 
-    public ChatMessage saveMessage(ChatMessageDto dto) {
-        UserEntity sender = userRepository.findById(dto.getSenderSeq())
-                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+    /**
+     * 채팅 메시지 저장. 발신자는 STOMP 세션의 로그인 사용자(senderUserId)이며, 메시지의 senderSeq 는 쓰지 않습니다.
+     */
+    public ChatMessage saveMessage(ChatMessageDto dto, String senderUserId) {
+        UserEntity sender = userRepository.findByUserId(senderUserId);
+        if (sender == null) {
+            throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
+        }
         ChatRoom chatRoom = chatRoomRepository.findById(dto.getChatRoomId())
                 .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
 
+        boolean isParticipant = chatRoom.getParticipants().stream()
+                .anyMatch(p -> p.getUser().getUserSeq().equals(sender.getUserSeq()));
+        if (!isParticipant) {
+            throw new SecurityException("채팅방 참여자만 메시지를 보낼 수 있습니다.");
+        }
+
+        if (chatRoom.getRoomType() == ChatRoomType.CONTAINER) {
+            // 공지 채팅방은 운송사만 발신할 수 있고, 발신 시점의 적재 화물 기준으로 수신자를 맞춥니다.
+            boolean isOwner = chatRoom.getParticipants().stream()
+                    .anyMatch(p -> "OWNER".equals(p.getRoleInChat()) && p.getUser().getUserSeq().equals(sender.getUserSeq()));
+            if (!isOwner) {
+                throw new SecurityException("공지 채팅방은 운송사만 메시지를 보낼 수 있습니다.");
+            }
+            syncContainerChatMembers(chatRoom);
+        }
+
         ChatMessage chatMessage = ChatMessage.builder()
                 .chatRoom(chatRoom)
                 .sender(sender)
@@ -107,16 +207,19 @@ public class ChatService {
         
         ChatMessage savedMessage = chatMessageRepository.save(chatMessage);
 
+        // 메시지는 한 번만 저장하고, 발신자를 제외한 모든 참여자의 알림 묶음에 추가합니다.
+        // (실제 'unreadChat' 전송/요약 알림 저장은 ChatNotificationDigester가 모아서 처리)
+        Long chatRoomId = chatRoom.getChatRoomId();
+        List<String> receiverUserIds = chatRoom.getParticipants().stream()
+                .map(ChatParticipant::getUser)
+                .filter(user -> !user.getUserSeq().equals(sender.getUserSeq()))
+                .map(UserEntity::getUserId)
+                .collect(Collectors.toList());
+
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
-                chatRoom.getParticipants().stream()
-                    .filter(p -> !p.getUser().getUserSeq().equals(sender.getUserSeq()))
-                    .findFirst()
-                    .ifPresent(receiverParticipant -> {
-                        String receiverUserId = receiverParticipant.getUser().getUserId();
-                        sseEmitterService.sendToClient(receiverUserId, "unreadChat", "new message");
-                    });
+                receiverUserIds.forEach(receiverUserId -> chatNotificationDigester.record(receiverUserId, chatRoomId));
             }
         });
         
@@ -124,13 +227,26 @@ public class ChatService {
     }
 
     public void markMessagesAsRead(Long roomId, Integer userSeq) {
-        chatMessageRepository.markAsReadByRoomIdAndUserSeq(roomId, userSeq);
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
+
+        if (chatRoom.getRoomType() == ChatRoomType.CONTAINER) {
+            // 공유 메시지의 플래그를 바꾸지 않고, 내 읽음 커서만 마지막 메시지로 이동합니다.
+            Long lastMessageId = chatMessageRepository.findLastMessageId(roomId);
+            chatRoom.getParticipants().stream()
+                    .filter(p -> p.getUser().getUserSeq().equals(userSeq))
+                    .findFirst()
+                    .ifPresent(p -> p.setLastReadMessageId(lastMessageId));
+        } else {
+            chatMessageRepository.markAsReadByRoomIdAndUserSeq(roomId, userSeq);
+        }
 
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
                 UserEntity user = userRepository.findById(userSeq).orElse(null);
                 if (user != null) {
+                    chatNotificationDigester.clearRoom(user.getUserId(), roomId);
                     sseEmitterService.sendToClient(user.getUserId(), "unreadChat", "marked as read");
                 }
             }
@@ -138,17 +254,21 @@ public class ChatService {
     }
 
     private ChatRoomDto toChatRoomDto(ChatRoom chatRoom, Integer currentUserSeq) {
+        ChatParticipant myParticipantInfo = chatRoom.getParticipants().stream()
+                .filter(p -> p.getUser().getUserSeq().equals(currentUserSeq))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("채팅방 참여 정보를 찾을 수 없습니다."));
+
+        if (chatRoom.getRoomType() == ChatRoomType.CONTAINER) {
+            return toContainerChatRoomDto(chatRoom, myParticipantInfo, currentUserSeq);
+        }
+
         UserEntity otherUser = chatRoom.getParticipants().stream()
                 .map(ChatParticipant::getUser)
                 .filter(user -> !user.getUserSeq().equals(currentUserSeq))
                 .findFirst()
                 .orElse(null);
 
-        ChatParticipant myParticipantInfo = chatRoom.getParticipants().stream()
-                .filter(p -> p.getUser().getUserSeq().equals(currentUserSeq))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("채팅방 참여 정보를 찾을 수 없습니다."));
-
         String myRole = myParticipantInfo.getRoleInChat();
         String customName = myParticipantInfo.getCustomRoomName();
 
@@ -166,6 +286,27 @@ public class ChatService {
 
         return ChatRoomDto.builder()
                 .chatRoomId(chatRoom.getChatRoomId())
+                .roomType(chatRoom.getRoomType().name())
+                .roomName(roomName)
+                .unreadCount((int) unreadCount)
+                .build();
+    }
+
+    private ChatRoomDto toContainerChatRoomDto(ChatRoom chatRoom, ChatParticipant me, Integer currentUserSeq) {
+        String roomName = me.getCustomRoomName();
+        if (roomName == null || roomName.isBlank()) {
+            ContainerEntity container = chatRoom.getContainer();
+            roomName = String.format("[공지] %s (%s → %s, 화주 %d명)",
+                    container.getContainerId(), container.getDeparturePort(), container.getArrivalPort(),
+                    chatRoom.getParticipants().size() - 1);
+        }
+
+        long unreadCount = chatMessageRepository.countUnreadMessagesAfter(
+                chatRoom.getChatRoomId(), currentUserSeq, Objects.requireNonNullElse(me.getLastReadMessageId(), 0L));
+
+        return ChatRoomDto.builder()
+                .chatRoomId(chatRoom.getChatRoomId())
+                .roomType(chatRoom.getRoomType().name())
                 .roomName(roomName)
                 .unreadCount((int) unreadCount)
                 .build();
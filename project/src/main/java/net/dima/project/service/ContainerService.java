@@ -37,10 +37,12 @@ public class ContainerService {
     private final ContainerRepository containerRepository;
     private final ContainerCargoRepository containerCargoRepository;
     private final OfferRepository offerRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final RequestRepository requestRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final ChatService chatService;
+    private final SettlementLedgerService settlementLedgerService;
+    private final BlDocumentService blDocumentService;
 
     // (getContainerStatuses, getAvailableContainers 등 다른 메서드는 기존과 동일)
     public List<ContainerStatusDto> getContainerStatuses(String currentUserId, Sort sort) {
@@ -48,7 +50,7 @@ public class ContainerService {
             sort = Sort.by("containerId").ascending();
         }
         
-        UserEntity forwarder = userRepository.findByUserId(currentUserId);
+        UserEntity forwarder = userCache.getReference(currentUserId);
         
         final String sortBy = sort.get().findFirst().map(Sort.Order::getProperty).orElse("containerId");
         final Sort.Direction direction = sort.get().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
@@ -123,9 +125,9 @@ public class ContainerService {
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 요청입니다: " + requestId));
         log.info(">> 조회된 요청 정보: 경로({} -> {}), CBM({})", request.getDeparturePort(), request.getArrivalPort(), request.getCargo().getTotalCbm());
 
-        UserEntity forwarder = Optional.ofNullable(userRepository.findByUserId(currentUserId))
+        UserEntity forwarder = Optional.ofNullable(userCache.getReference(currentUserId))
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + currentUserId));
-        log.info(">> 조회된 포워더 정보: {}", forwarder.getUserId());
+        log.info(">> 조회된 포워더 정보: {}", currentUserId);
 
         List<ContainerEntity> allMyContainers = containerRepository.findByForwarder(forwarder, Sort.by("containerId").ascending());
 
@@ -168,7 +170,7 @@ public class ContainerService {
     public void addExternalCargo(ExternalCargoDto dto, String currentUserId) {
         ContainerEntity container = containerRepository.findById(dto.getContainerId())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 컨테이너입니다."));
-        UserEntity forwarder = userRepository.findByUserId(currentUserId);
+        UserEntity forwarder = userCache.getReference(currentUserId);
 
         if (!container.getForwarder().getUserSeq().equals(forwarder.getUserSeq())) {
             throw new SecurityException("자신의 컨테이너에만 서류를 등록할 수 있습니다.");
@@ -212,7 +214,7 @@ public class ContainerService {
     }
 
     public List<CargoDetailDto> getDetailsForContainerStatus(String containerId, String statusString, String currentUserId) {
-        UserEntity forwarder = userRepository.findByUserId(currentUserId);
+        UserEntity forwarder = userCache.getReference(currentUserId);
         OfferStatus status = OfferStatus.valueOf(statusString.toUpperCase());
         List<CargoDetailDto> details = new ArrayList<>();
 
@@ -271,7 +273,7 @@ public class ContainerService {
     
     @Transactional
     public void createContainer(CreateContainerDto dto, String currentUserId) {
-        UserEntity forwarder = userRepository.findByUserId(currentUserId);
+        UserEntity forwarder = userCache.getReference(currentUserId);
 
         String containerId = "SEAU" + String.format("%07d", ThreadLocalRandom.current().nextInt(10000000));
 
@@ -351,6 +353,14 @@ public class ContainerService {
                 chatService.createChatRoomForOffer(offer);
             }
         }
+
+        // 확정된 화물이 있으면 화주 전원에게 공지할 수 있는 컨테이너 채팅방을 엽니다.
+        if (offers.stream().anyMatch(o -> o.getStatus() == OfferStatus.CONFIRMED)) {
+            chatService.openContainerChatRoom(container);
+        }
+
+        // 확정된 화물의 B/L을 여기서 한 번 렌더링해 둡니다. (다운로드는 저장된 문서를 그대로 전송)
+        blDocumentService.renderForContainer(container, offers);
         
         eventPublisher.publishEvent(new NotificationEvents.ContainerStatusChangedEvent(this, container, "컨테이너가 확정되었습니다."));
     }
@@ -398,6 +408,7 @@ public class ContainerService {
             throw new IllegalStateException("'운송완료' 상태의 컨테이너만 정산할 수 있습니다.");
         }
         container.setStatus(ContainerStatus.SETTLED);
+        settlementLedgerService.recordSettlement(container);
         eventPublisher.publishEvent(new NotificationEvents.ContainerStatusChangedEvent(this, container, "정산이 완료되었습니다."));
         chatService.closeChatRoomsForSettledContainer(container);
     }
@@ -409,7 +420,7 @@ public class ContainerService {
         ContainerEntity fromContainer = offerToMove.getContainer();
         ContainerEntity toContainer = containerRepository.findById(toContainerId)
                 .orElseThrow(() -> new IllegalArgumentException("대상 컨테이너를 찾을 수 없습니다."));
-        UserEntity forwarder = userRepository.findByUserId(currentUserId);
+        UserEntity forwarder = userCache.getReference(currentUserId);
 
         if (!fromContainer.getForwarder().getUserSeq().equals(forwarder.getUserSeq()) ||
             !toContainer.getForwarder().getUserSeq().equals(forwarder.getUserSeq())) {
@@ -448,6 +459,10 @@ public class ContainerService {
             cargo.setContainer(toContainer);
             containerCargoRepository.save(cargo);
         });
+
+        // 기존 컨테이너의 공지 채팅방에서는 옮겨간 화주를 빼고, 대상 컨테이너의 공지 채팅방에는 추가합니다.
+        chatService.refreshContainerChatMembers(fromContainer);
+        chatService.refreshContainerChatMembers(toContainer);
     }
 
     private ContainerEntity findAndValidateContainer(String containerId, String currentUserId) {
@@ -0,0 +1,186 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.entity.DocumentBlob;
+import net.dima.project.repository.DocumentBlobRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * FileStorage 위에 올린 DocumentStore 구현.
+ * - 경로: documents/ab/cd/abcd...(SHA-256) 처럼 앞 4자리로 두 단계 샤딩 (디렉터리당 파일 수 제한)
+ * - 저장: incoming/ 에 체크섬을 계산하며 쓴 뒤, 참조 행을 먼저 잠그고(UPSERT) 해시 경로로 옮긴다.
+ *         같은 내용이 이미 있으면 새로 쓴 파일은 버린다.
+ * - 가비지 수집: 참조 수 0으로 유예 시간이 지난 블롭, DB 행 없이 남은 파일(저장 후 롤백된 업로드)을
+ *   블롭마다 행 잠금을 잡은 트랜잭션 안에서 지운다. 같은 내용을 동시에 저장하는 트랜잭션은 잠금에서 기다린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ContentAddressedDocumentStore implements DocumentStore {
+
+    private static final String BLOB_PREFIX = "documents";
+    private static final String INCOMING_PREFIX = "incoming";
+    private static final int GC_BATCH = 500;
+
+    private final FileStorage fileStorage;
+    private final DocumentBlobRepository documentBlobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public StoredFile put(InputStream in, String contentType, long maxBytes) throws IOException {
+        String incoming = INCOMING_PREFIX + "/" + UUID.randomUUID();
+        StoredFile written = fileStorage.store(incoming, in, maxBytes);
+        String sha256 = written.sha256();
+        String key = blobKey(sha256);
+        try {
+            // 행 잠금을 먼저 잡아야 가비지 수집이 옮긴 직후의 파일을 지우지 않는다
+            documentBlobRepository.retainOrInsert(sha256, written.size(), contentType, LocalDateTime.now());
+            Optional<StoredFile> existing = fileStorage.stat(key);
+            if (existing.isPresent() && existing.get().size() == written.size()) {
+                log.debug("문서 중복 저장 생략: {}", sha256);
+            } else {
+                fileStorage.move(incoming, key);
+            }
+        } finally {
+            fileStorage.delete(incoming);
+        }
+        return find(sha256).orElseThrow(() -> new IllegalStateException("문서 저장에 실패했습니다."));
+    }
+
+    @Override
+    public void retain(String sha256) {
+        if (documentBlobRepository.retain(sha256, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("존재하지 않는 문서입니다.");
+        }
+    }
+
+    @Override
+    public void release(String sha256) {
+        documentBlobRepository.release(sha256, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredFile> find(String sha256) throws IOException {
+        if (!DocumentStore.isDocumentId(sha256)) {
+            return Optional.empty();
+        }
+        Optional<DocumentBlob> blob = documentBlobRepository.findById(sha256);
+        if (blob.isEmpty()) {
+            return Optional.empty();
+        }
+        return fileStorage.stat(blobKey(sha256))
+                .map(file -> file.withMetadata(sha256, blob.get().getContentType()));
+    }
+
+    /**
+     * 저장소 현황 (문서 수, 총 바이트, 총 참조 수)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> describe() {
+        Object[] row = documentBlobRepository.summarize().get(0);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("documents", row[0]);
+        result.put("bytes", row[1]);
+        result.put("references", row[2]);
+        return result;
+    }
+
+    /**
+     * 참조가 없는 블롭과 DB에 없는 파일을 지웁니다. (RequestScheduler가 작업 임대를 얻은 인스턴스에서 호출)
+     * @param grace 참조가 0이 된 뒤(또는 파일이 쓰인 뒤) 이 시간이 지나야 지운다
+     * @return 지운 블롭 수
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int collectGarbage(Duration grace) throws IOException {
+        LocalDateTime cutoff = LocalDateTime.now().minus(grace);
+        Instant cutoffInstant = cutoff.atZone(ZoneId.systemDefault()).toInstant();
+
+        Set<String> candidates = new LinkedHashSet<>(documentBlobRepository.findUnreferenced(cutoff, PageRequest.of(0, GC_BATCH)));
+        candidates.addAll(findOrphanFiles(cutoffInstant));
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int removed = 0;
+        for (String sha256 : candidates) {
+            try {
+                if (Boolean.TRUE.equals(tx.execute(status -> collect(sha256, cutoff)))) {
+                    removed++;
+                }
+            } catch (Exception e) {
+                log.warn("문서 삭제 실패: {}", sha256, e);
+            }
+        }
+
+        // 저장 도중 실패해 incoming/ 에 남은 파일
+        for (Map.Entry<String, Instant> entry : fileStorage.list(INCOMING_PREFIX).entrySet()) {
+            if (entry.getValue().isBefore(cutoffInstant)) {
+                fileStorage.delete(entry.getKey());
+            }
+        }
+        if (removed > 0) {
+            log.info("문서 저장소 정리: {}개 삭제", removed);
+        }
+        return removed;
+    }
+
+    private boolean collect(String sha256, LocalDateTime cutoff) {
+        Optional<DocumentBlob> blob = documentBlobRepository.findForUpdate(sha256);
+        if (blob.isPresent() && (blob.get().getRefCount() > 0 || !blob.get().getUpdatedAt().isBefore(cutoff))) {
+            return false; // 그사이 다시 참조됨
+        }
+        try {
+            fileStorage.delete(blobKey(sha256));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        blob.ifPresent(documentBlobRepository::delete);
+        return true;
+    }
+
+    // 유예 시간보다 오래된 파일 중 DB 행이 없는 것
+    private List<String> findOrphanFiles(Instant cutoff) throws IOException {
+        List<String> old = new ArrayList<>();
+        for (Map.Entry<String, Instant> entry : fileStorage.list(BLOB_PREFIX).entrySet()) {
+            String name = entry.getKey().substring(entry.getKey().lastIndexOf('/') + 1);
+            if (DocumentStore.isDocumentId(name) && entry.getValue().isBefore(cutoff)) {
+                old.add(name);
+            }
+        }
+        List<String> orphans = new ArrayList<>();
+        for (int i = 0; i < old.size(); i += GC_BATCH) {
+            List<String> chunk = old.subList(i, Math.min(old.size(), i + GC_BATCH));
+            Set<String> existing = new HashSet<>(documentBlobRepository.findExisting(chunk));
+            chunk.stream().filter(h -> !existing.contains(h)).forEach(orphans::add);
+        }
+        return orphans;
+    }
+
+    private static String blobKey(String sha256) {
+        return BLOB_PREFIX + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+}
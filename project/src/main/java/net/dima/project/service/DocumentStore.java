@@ -0,0 +1,42 @@
+package net.dima.project.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * 내용 주소(content-addressed) 문서 저장소.
+ * 문서는 내용의 SHA-256(hex 64자)으로 식별되며, 같은 내용은 디스크에 한 번만 저장됩니다.
+ * 문서를 참조하는 행을 만들 때 put/retain, 참조를 없앨 때 release를 같은 트랜잭션에서 호출하면
+ * 참조 수가 0이 된 문서는 가비지 수집 작업이 지웁니다. (해시가 바뀌지 않으므로 응답은 immutable 캐시 가능)
+ */
+public interface DocumentStore {
+
+    /**
+     * 문서를 저장하고 참조 수를 1 늘립니다.
+     * @return key = 저장소 경로, sha256 = 문서 ID
+     */
+    StoredFile put(InputStream in, String contentType, long maxBytes) throws IOException;
+
+    /**
+     * 이미 저장된 문서의 참조 수를 1 늘립니다.
+     */
+    void retain(String sha256);
+
+    /**
+     * 참조 수를 1 줄입니다.
+     */
+    void release(String sha256);
+
+    /**
+     * 문서 메타데이터. 응답 전송 시 key로 FileStorage에서 읽습니다.
+     */
+    Optional<StoredFile> find(String sha256) throws IOException;
+
+    /**
+     * 값이 문서 ID(SHA-256 hex) 형식인지 여부
+     */
+    static boolean isDocumentId(String value) {
+        return value != null && value.matches("[0-9a-f]{64}");
+    }
+}
@@ -0,0 +1,45 @@
+package net.dima.project.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 업로드 파일 저장소. 기본 구현은 로컬 파일시스템(LocalFileStorage)이며,
+ * storage.backend 값으로 다른 구현(예: 오브젝트 스토리지)을 끼워 넣을 수 있습니다.
+ *
+ * key는 저장소 안에서의 상대 경로이며 '/'로 하위 디렉터리를 나눌 수 있습니다. ('.'으로 시작하는 구간과 '..'은 허용하지 않음)
+ */
+public interface FileStorage {
+
+    /**
+     * 입력 스트림을 임시 파일에 쓰면서 SHA-256을 계산하고, 다 쓴 뒤 key 위치로 원자적으로 옮깁니다.
+     * @param maxBytes 허용 최대 크기. 넘으면 IllegalArgumentException (임시 파일은 지워짐)
+     */
+    StoredFile store(String key, InputStream in, long maxBytes) throws IOException;
+
+    /**
+     * 파일 메타데이터 (크기, 수정 시각, 로컬 경로). 체크섬/콘텐츠 타입은 저장소가 알지 못하면 null
+     */
+    Optional<StoredFile> stat(String key) throws IOException;
+
+    /**
+     * 읽기용 채널. 로컬 구현은 FileChannel을 돌려주므로 호출 측에서 transferTo를 쓸 수 있습니다.
+     */
+    SeekableByteChannel open(String key) throws IOException;
+
+    boolean delete(String key) throws IOException;
+
+    /**
+     * from 파일을 to 위치로 원자적으로 옮깁니다. to에 이미 파일이 있으면 덮어씁니다.
+     */
+    void move(String from, String to) throws IOException;
+
+    /**
+     * prefix 디렉터리 아래 모든 파일의 key와 수정 시각 (가비지 수집용)
+     */
+    Map<String, Instant> list(String prefix) throws IOException;
+}
@@ -0,0 +1,222 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.Money;
+import net.dima.project.entity.FxRate;
+import net.dima.project.repository.FxRateRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 환율 관리 서비스.
+ * fx_rate 테이블을 원본으로 하고, 조회는 메모리의 불변 스냅샷으로 처리합니다.
+ * 환율 파일/관리자 업로드로 테이블이 바뀌면 새 스냅샷을 만들어 통째로 교체하므로,
+ * 환산 중인 스레드는 잠금 없이 항상 일관된 한 벌의 환율을 보게 됩니다.
+ *
+ * CSV 형식: currency,effective_date,rate_to_base (첫 줄 헤더, '#' 주석 허용)
+ *   예) USD,2025-07-01,1385.20  -> 2025-07-01부터 1 USD = 1385.20 KRW
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FxRateService {
+
+    private final FxRateRepository fxRateRepository;
+
+    @Value("${fx.base-currency:KRW}")
+    private String baseCurrency;
+
+    // 기동 시 읽어 들일 환율 파일 (비어 있으면 DB의 환율만 사용)
+    @Value("${fx.rates-file:}")
+    private String ratesFile;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * 정산 원장 이관(SettlementLedgerService)보다 먼저 환율을 적재해야 하므로 가장 먼저 실행합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void loadOnStartup() {
+        if (ratesFile != null && !ratesFile.isBlank()) {
+            Path path = Path.of(ratesFile);
+            if (Files.isReadable(path)) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    importCsv(in, "file:" + path.getFileName());
+                    return;
+                } catch (IOException | IllegalArgumentException e) {
+                    log.error("환율 파일 적재 실패: {} ({})", path, e.getMessage());
+                }
+            } else {
+                log.warn("환율 파일을 읽을 수 없습니다: {}", path);
+            }
+        }
+        reload();
+    }
+
+    /**
+     * 환율 CSV를 fx_rate 테이블에 반영(같은 통화/적용일은 덮어쓰기)한 뒤 스냅샷을 교체합니다.
+     * 한 줄이라도 형식이 잘못되면 아무것도 반영하지 않습니다.
+     * @return 반영된 행 수
+     */
+    public int importCsv(InputStream in, String source) throws IOException {
+        List<FxRate> parsed = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.strip();
+                if (lineNo == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isEmpty() || line.startsWith("#")
+                        || (lineNo == 1 && line.toLowerCase(Locale.ROOT).startsWith("currency"))) {
+                    continue;
+                }
+                parsed.add(parseLine(line, lineNo, source));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("반영할 환율이 없습니다.");
+        }
+
+        for (FxRate rate : parsed) {
+            FxRate row = fxRateRepository.findByCurrencyAndEffectiveDate(rate.getCurrency(), rate.getEffectiveDate())
+                    .orElse(rate);
+            row.setRateToBase(rate.getRateToBase());
+            row.setSource(source);
+            fxRateRepository.save(row);
+        }
+        reload();
+        log.info("환율 {}건 반영 ({})", parsed.size(), source);
+        return parsed.size();
+    }
+
+    private FxRate parseLine(String line, int lineNo, String source) {
+        String[] cols = line.split(",");
+        if (cols.length < 3) {
+            throw new IllegalArgumentException(lineNo + "번째 줄: 'currency,effective_date,rate_to_base' 형식이 아닙니다.");
+        }
+        try {
+            String currency = Money.normalizeCurrency(cols[0]);
+            LocalDate effectiveDate = LocalDate.parse(cols[1].trim());
+            BigDecimal rate = new BigDecimal(cols[2].trim());
+            if (rate.signum() <= 0) {
+                throw new IllegalArgumentException(lineNo + "번째 줄: 환율은 0보다 커야 합니다.");
+            }
+            if (currency.equals(baseCurrency) && rate.compareTo(BigDecimal.ONE) != 0) {
+                throw new IllegalArgumentException(lineNo + "번째 줄: 기준 통화(" + baseCurrency + ")의 환율은 1이어야 합니다.");
+            }
+            return FxRate.builder()
+                    .currency(currency)
+                    .effectiveDate(effectiveDate)
+                    .rateToBase(rate)
+                    .source(source)
+                    .build();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException(lineNo + "번째 줄: 날짜 또는 환율 형식이 잘못되었습니다. (" + line + ")");
+        }
+    }
+
+    /**
+     * fx_rate 테이블 전체로 새 스냅샷을 만들어 교체합니다.
+     */
+    @Transactional(readOnly = true)
+    public void reload() {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> rates = new HashMap<>();
+        for (FxRate rate : fxRateRepository.findAll()) {
+            rates.computeIfAbsent(rate.getCurrency(), c -> new TreeMap<>())
+                 .put(rate.getEffectiveDate(), rate.getRateToBase());
+        }
+        snapshot.set(new Snapshot(rates));
+        log.info("환율 스냅샷 교체: 기준 통화 {}, 통화 {}개", baseCurrency, rates.size());
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * 금액을 해당 날짜 기준 환율로 기준 통화 금액으로 환산합니다.
+     * 환율이 없으면 빈 값을 반환합니다. (환율 등록 후 다시 환산)
+     */
+    public Optional<Money> toBase(Money money, LocalDate date) {
+        return rateOf(money.currency(), date).map(rate -> money.convert(rate, baseCurrency));
+    }
+
+    public Optional<BigDecimal> rateOf(String currency, LocalDate date) {
+        String code = Money.normalizeCurrency(currency);
+        if (code.equals(baseCurrency)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        return snapshot.get().rateOf(code, date);
+    }
+
+    /**
+     * 통화별 가장 최근 환율 (관리자 화면 조회용)
+     */
+    public Map<String, Object> describe() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> latest = new TreeMap<>();
+        current.rates.forEach((currency, byDate) -> {
+            Map.Entry<LocalDate, BigDecimal> last = byDate.lastEntry();
+            latest.put(currency, Map.of("effectiveDate", last.getKey(), "rateToBase", last.getValue(),
+                    "history", byDate.size()));
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("baseCurrency", baseCurrency);
+        result.put("rates", latest);
+        return result;
+    }
+
+    /**
+     * 불변 환율 스냅샷. 생성 후에는 읽기만 하므로 여러 스레드가 동시에 조회해도 안전합니다.
+     */
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of());
+
+        private final Map<String, NavigableMap<LocalDate, BigDecimal>> rates;
+
+        Snapshot(Map<String, NavigableMap<LocalDate, BigDecimal>> rates) {
+            Map<String, NavigableMap<LocalDate, BigDecimal>> copy = new HashMap<>();
+            rates.forEach((currency, byDate) ->
+                    copy.put(currency, Collections.unmodifiableNavigableMap(new TreeMap<>(byDate))));
+            this.rates = Collections.unmodifiableMap(copy);
+        }
+
+        /**
+         * date 이전(포함) 가장 최근 환율. date가 첫 적용일보다 이르면 가장 오래된 환율을 사용합니다.
+         */
+        Optional<BigDecimal> rateOf(String currency, LocalDate date) {
+            NavigableMap<LocalDate, BigDecimal> byDate = rates.get(currency);
+            if (byDate == null || byDate.isEmpty()) {
+                return Optional.empty();
+            }
+            Map.Entry<LocalDate, BigDecimal> entry = byDate.floorEntry(date);
+            return Optional.of(entry != null ? entry.getValue() : byDate.firstEntry().getValue());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package net.dima.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 여러 인스턴스에서 같은 스케줄 작업이 한 번만 실행되도록 하는 DB 임대(lease) 서비스.
+ *
+ * - job_lease: 작업 이름별 한 행. lease_until이 지난 행만 UPDATE로 가져갈 수 있으므로 동시에 한 노드만 임대를 얻습니다.
+ * - 실행 중에는 heartbeat 스레드가 ttl/3 마다 lease_until을 연장하고, 노드가 죽으면 ttl 뒤 다른 노드가 가져갑니다.
+ * - 작업이 끝나면 lock-at-least 만큼은 임대를 유지해, 조금 늦게 깨어난 다른 노드가 같은 회차를 다시 실행하지 않게 합니다.
+ * - job_execution: 실행 이력(노드, 소요 시간, 처리 행 수, 결과). 임대를 얻지 못해 건너뛴 회차는 남기지 않습니다.
+ *
+ * 임대 갱신은 호출한 쪽 트랜잭션과 무관하게 즉시 커밋되어야 하므로 매번 별도 트랜잭션(REQUIRES_NEW)으로 실행합니다.
+ * 시각은 각 노드의 시계를 쓰므로, 노드 간 시계 차이는 ttl보다 충분히 작아야 합니다.
+ */
+@Slf4j
+@Service
+public class JobLeaseService {
+
+    // 이력에 남기는 오류 메시지 최대 길이 (job_execution.error_message)
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /**
+     * 임대를 얻은 노드에서만 실행되는 작업. 처리한 행 수를 돌려줍니다.
+     */
+    @FunctionalInterface
+    public interface Job {
+        int run() throws Exception;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leaseTx;
+    private final String nodeId;
+    private final Duration leaseTtl;
+    private final ScheduledExecutorService heartbeats;
+
+    public JobLeaseService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${scheduler.node-id:}") String nodeId,
+                           @Value("${scheduler.lease.ttl-ms:60000}") long leaseTtlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTx = new TransactionTemplate(transactionManager);
+        this.leaseTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = (nodeId == null || nodeId.isBlank()) ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMs);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "job-lease-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 임대를 얻으면 job을 실행하고 이력을 남깁니다.
+     * @param lockAtLeast 실행이 끝난 뒤에도 임대를 유지할 최소 기간 (실행 시작 기준, 주기 작업의 중복 실행 방지)
+     * @return 이 노드에서 실행했으면 true, 다른 노드가 임대 중이라 건너뛰었으면 false
+     */
+    public boolean runExclusive(String jobName, Duration lockAtLeast, Job job) {
+        Lease lease = new Lease(jobName, UUID.randomUUID().toString());
+        LocalDateTime startedAt = now();
+        if (!tryAcquire(lease, startedAt)) {
+            log.debug("작업 임대 실패, 건너뜀: {} (node: {})", jobName, nodeId);
+            return false;
+        }
+
+        long period = Math.max(1, leaseTtl.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(
+                () -> renew(lease), period, period, TimeUnit.MILLISECONDS);
+
+        String status = "SUCCESS";
+        String error = null;
+        int rows = 0;
+        long start = System.nanoTime();
+        try {
+            rows = job.run();
+        } catch (Exception e) {
+            status = "FAILED";
+            error = String.valueOf(e.getMessage());
+            log.error("스케줄 작업 실패: {}", jobName, e);
+        } finally {
+            heartbeat.cancel(false);
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            release(lease, startedAt.plus(lockAtLeast));
+            recordExecution(jobName, startedAt, durationMs, status, rows, error);
+            if (lease.lost) {
+                log.warn("작업 실행 중 임대를 잃었습니다: {} (node: {}, {}ms)", jobName, nodeId, durationMs);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 현재 임대 현황 (관리자 모니터링용)
+     */
+    public List<Map<String, Object>> findLeases() {
+        return jdbcTemplate.queryForList(
+                "SELECT job_name, owner_node, locked_at, heartbeat_at, lease_until FROM job_lease ORDER BY job_name");
+    }
+
+    /**
+     * 최근 실행 이력 (관리자 모니터링용)
+     */
+    public List<Map<String, Object>> findRecentExecutions(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT execution_id, job_name, node_id, started_at, finished_at, duration_ms, status, row_count, error_message "
+              + "FROM job_execution ORDER BY execution_id DESC LIMIT ?", limit);
+    }
+
+    /**
+     * before 이전에 시작한 실행 이력을 지웁니다.
+     * @return 삭제한 행 수
+     */
+    public int purgeExecutions(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM job_execution WHERE started_at < ?", Timestamp.valueOf(before));
+    }
+
+    // ===== 임대 =====
+
+    // 임대 1회분. 연장(heartbeat 스레드)과 반납(작업 스레드)은 이 객체로 직렬화해 반납 뒤 연장되지 않게 한다
+    private static final class Lease {
+        private final String jobName;
+        private final String token;
+        private boolean released;
+        private volatile boolean lost;
+
+        private Lease(String jobName, String token) {
+            this.jobName = jobName;
+            this.token = token;
+        }
+    }
+
+    // DATETIME(3) 컬럼에 쓸 때 반올림되어 미래 시각이 저장되지 않도록 ms 단위로 자른다
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private boolean tryAcquire(Lease lease, LocalDateTime now) {
+        String jobName = lease.jobName;
+        String token = lease.token;
+        Timestamp nowTs = Timestamp.valueOf(now);
+        Timestamp until = Timestamp.valueOf(now.plus(leaseTtl));
+        Boolean acquired = leaseTx.execute(status -> {
+            int updated = jdbcTemplate.update(
+                    "UPDATE job_lease SET owner_node = ?, owner_token = ?, locked_at = ?, heartbeat_at = ?, lease_until = ? "
+                  + "WHERE job_name = ? AND lease_until <= ?",
+                    nodeId, token, nowTs, nowTs, until, jobName, nowTs);
+            return updated == 1;
+        });
+        if (Boolean.TRUE.equals(acquired)) {
+            return true;
+        }
+        // 처음 실행되는 작업이면 행을 만든다. (다른 노드가 먼저 만들었으면 PK 중복으로 실패)
+        try {
+            return Boolean.TRUE.equals(leaseTx.execute(status -> jdbcTemplate.update(
+                    "INSERT INTO job_lease (job_name, owner_node, owner_token, locked_at, heartbeat_at, lease_until) "
+                  + "VALUES (?, ?, ?, ?, ?, ?)",
+                    jobName, nodeId, token, nowTs, nowTs, until) == 1));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void renew(Lease lease) {
+        synchronized (lease) {
+            if (lease.released) {
+                return;
+            }
+            try {
+                LocalDateTime now = now();
+                Integer updated = leaseTx.execute(status -> jdbcTemplate.update(
+                        "UPDATE job_lease SET heartbeat_at = ?, lease_until = ? WHERE job_name = ? AND owner_token = ?",
+                        Timestamp.valueOf(now), Timestamp.valueOf(now.plus(leaseTtl)), lease.jobName, lease.token));
+                if (updated == null || updated == 0) {
+                    lease.lost = true;
+                }
+            } catch (Exception e) {
+                log.warn("작업 임대 연장 실패: {}", lease.jobName, e);
+            }
+        }
+    }
+
+    private void release(Lease lease, LocalDateTime holdUntil) {
+        synchronized (lease) {
+            lease.released = true;
+            LocalDateTime now = now();
+            LocalDateTime until = holdUntil.isAfter(now) ? holdUntil : now;
+            try {
+                leaseTx.executeWithoutResult(status -> jdbcTemplate.update(
+                        "UPDATE job_lease SET lease_until = ? WHERE job_name = ? AND owner_token = ?",
+                        Timestamp.valueOf(until), lease.jobName, lease.token));
+            } catch (Exception e) {
+                log.warn("작업 임대 반납 실패 (ttl 후 만료): {}", lease.jobName, e);
+            }
+        }
+    }
+
+    private void recordExecution(String jobName, LocalDateTime startedAt, long durationMs,
+                                 String status, int rows, String error) {
+        if (error != null && error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        String message = error;
+        try {
+            leaseTx.executeWithoutResult(tx -> jdbcTemplate.update(
+                    "INSERT INTO job_execution (job_name, node_id, started_at, finished_at, duration_ms, status, row_count, error_message) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    jobName, nodeId, Timestamp.valueOf(startedAt), Timestamp.valueOf(now()),
+                    durationMs, status, rows, message));
+        } catch (Exception e) {
+            log.warn("작업 실행 이력 기록 실패: {}", jobName, e);
+        }
+    }
+}
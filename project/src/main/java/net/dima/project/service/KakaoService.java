@@ -12,16 +12,15 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.CachedUser;
 import net.dima.project.dto.LoginUserDetails;
-import net.dima.project.entity.UserEntity;
-import net.dima.project.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KakaoService extends DefaultOAuth2UserService {
     
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     
     //OAuth2UserRequest userRequest: Spring Security가 카카오와 통신한 모든 결과물(엑세스 토큰 등)이 담겨있음. 이 결과물을 super.loadUser()에 전달해서 최종 사용자 정보를 꺼낼 겁니다.
 
@@ -34,7 +33,7 @@ public class KakaoService extends DefaultOAuth2UserService {
         String provider = "kakao";
         String providerId = oauth2User.getAttribute("id").toString();
         
-        UserEntity existingUser = userRepository.findByProviderAndProviderId(provider, providerId);
+        CachedUser existingUser = userCache.findByProvider(provider, providerId).orElse(null);
         
         // 이미 가입된 사용자인 경우
         if (existingUser != null) {
@@ -0,0 +1,165 @@
+package net.dima.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 파일시스템 저장소 (storage.backend=local, 기본값).
+ * 업로드는 root/.tmp 아래 임시 파일에 쓰고 fsync 한 뒤 같은 파일시스템 안에서 ATOMIC_MOVE로 옮기므로,
+ * 중간에 실패해도 반쯤 쓰인 파일이 key 위치에 나타나지 않습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalFileStorage implements FileStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_DIR = ".tmp";
+
+    private final Path root;
+
+    public LocalFileStorage(@Value("${storage.local.root:${file.upload-dir}}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StoredFile store(String key, InputStream in, long maxBytes) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path tempDir = root.resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest sha256 = newSha256();
+            long size = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException("파일 크기는 " + (maxBytes / (1024 * 1024)) + "MB를 넘을 수 없습니다.");
+                    }
+                    sha256.update(buffer, 0, n);
+                    wrapped.clear().limit(n);
+                    while (wrapped.hasRemaining()) {
+                        out.write(wrapped);
+                    }
+                }
+                out.force(true);
+            }
+            move(temp, target);
+            String checksum = HexFormat.of().formatHex(sha256.digest());
+            log.info("파일 저장 완료: {} ({} bytes, sha256 {})", target, size, checksum);
+            return new StoredFile(key, size, checksum, null, Files.getLastModifiedTime(target).toInstant(), target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<StoredFile> stat(String key) throws IOException {
+        Path path = resolve(key);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new StoredFile(key, attrs.size(), null, null, attrs.lastModifiedTime().toInstant(), path));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public SeekableByteChannel open(String key) throws IOException {
+        return FileChannel.open(resolve(key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public void move(String from, String to) throws IOException {
+        Path target = resolve(to);
+        Files.createDirectories(target.getParent());
+        move(resolve(from), target);
+    }
+
+    @Override
+    public Map<String, Instant> list(String prefix) throws IOException {
+        Path dir = resolve(prefix);
+        Map<String, Instant> files = new LinkedHashMap<>();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) walk.filter(Files::isRegularFile)::iterator) {
+                String key = root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+                files.put(key, Files.getLastModifiedTime(path).toInstant());
+            }
+        }
+        return files;
+    }
+
+    // key는 root 아래 상대 경로만 허용 (경로 조작 차단)
+    private Path resolve(String key) {
+        if (key == null || key.isBlank() || key.contains("\\") || key.startsWith("/")) {
+            throw new IllegalArgumentException("잘못된 파일 이름입니다.");
+        }
+        for (String segment : key.split("/")) {
+            if (segment.isEmpty() || segment.startsWith(".")) {
+                throw new IllegalArgumentException("잘못된 파일 이름입니다.");
+            }
+        }
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("잘못된 파일 이름입니다.");
+        }
+        return path;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
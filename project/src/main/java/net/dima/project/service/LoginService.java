@@ -1,29 +1,44 @@
 package net.dima.project.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import net.dima.project.dto.LoginUserDetails;
-import net.dima.project.entity.UserEntity;
 import net.dima.project.repository.UserRepository;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class LoginService implements UserDetailsService {
+public class LoginService implements UserDetailsService, UserDetailsPasswordService {
     
+    private final UserCache userCache;
     private final UserRepository userRepository;
     
+    // 사용자 캐시를 거치므로 재로그인/로그인 실패 재시도가 몰려도 users 테이블을 다시 읽지 않습니다.
     @Override
     public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
-        UserEntity userData = userRepository.findByUserId(userId);
-        
-        if (userData != null) {
-            // [수정] toResp 메서드를 호출하도록 다시 변경합니다.
-            return LoginUserDetails.toResp(userData);
-        }
-        
-        throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + userId);
+        return userCache.findByUserId(userId)
+                .map(user -> LoginUserDetails.from(user, null))
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + userId));
     }
-}
\ No newline at end of file
+
+    /**
+     * 로그인에 성공했는데 저장된 해시가 예전 형식이거나 cost가 낮으면 Spring Security가 새 해시로 호출합니다.
+     * (PasswordHashingService.upgradeEncoding)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        LoginUserDetails details = (LoginUserDetails) user;
+        userRepository.updatePassword(details.getUserSeq(), newPassword);
+        userCache.invalidateAfterCommit(details.getUserSeq());
+        log.info("비밀번호 해시 갱신: {}", details.getUserId());
+        details.setUserPwd(newPassword);
+        return details;
+    }
+}
@@ -13,16 +13,15 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.CachedUser;
 import net.dima.project.dto.LoginUserDetails;
-import net.dima.project.entity.UserEntity;
-import net.dima.project.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NaverService extends DefaultOAuth2UserService {
  
- private final UserRepository userRepository;
+ private final UserCache userCache;
  
  @Override
  public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -37,7 +36,7 @@ public class NaverService extends DefaultOAuth2UserService {
      // 'response' 맵에서 고유 ID를 문자열로 추출합니다.
      String providerId = response.get("id").toString();
      
-     UserEntity existingUser = userRepository.findByProviderAndProviderId(provider, providerId);
+     CachedUser existingUser = userCache.findByProvider(provider, providerId).orElse(null);
      
      // 이미 가입된 사용자인 경우
      if (existingUser != null) {
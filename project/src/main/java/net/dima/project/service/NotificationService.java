@@ -7,7 +7,6 @@ import net.dima.project.dto.NotificationDto;
 import net.dima.project.entity.Notification;
 import net.dima.project.entity.UserEntity;
 import net.dima.project.repository.NotificationRepository;
-import net.dima.project.repository.UserRepository;
 
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -28,7 +27,7 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final SseEmitterService sseEmitterService; // SseEmitterService 주입
 
     /**
@@ -58,7 +57,7 @@ public class NotificationService {
 
     @Transactional(readOnly = true)
     public long getUnreadNotificationCount(String userId) {
-        UserEntity user = userRepository.findByUserId(userId);
+        UserEntity user = userCache.getReference(userId);
         return notificationRepository.countByReceiverAndIsReadFalse(user);
     }
     
@@ -66,6 +65,7 @@ public class NotificationService {
      * [✅ 핵심 추가] SSE 연결 유지를 위한 Heartbeat
      * 15초마다 연결된 모든 클라이언트에게 'heartbeat' 이벤트를 보냅니다.
      * 이는 ngrok, 로드밸런서, 프록시 등이 유휴 상태로 간주하여 연결을 끊는 것을 방지합니다.
+     * SSE 연결은 인스턴스마다 따로 가지고 있으므로, 이 작업은 작업 임대(JobLeaseService) 없이 모든 인스턴스에서 실행합니다.
      */
     @Scheduled(fixedRate = 15000)
     public void sendHeartbeat() {
@@ -76,7 +76,7 @@ public class NotificationService {
 
     @Transactional(readOnly = true)
     public List<NotificationDto> getNotifications(String userId) {
-        UserEntity user = userRepository.findByUserId(userId);
+        UserEntity user = userCache.getReference(userId);
         return notificationRepository.findByReceiverAndIsReadFalseOrderByCreatedAtDesc(user)
                 .stream()
                 .map(NotificationDto::fromEntity)
@@ -101,7 +101,7 @@ public class NotificationService {
 
     @Transactional
     public void readAllNotifications(String userId) {
-        UserEntity user = userRepository.findByUserId(userId);
+        UserEntity user = userCache.getReference(userId);
         notificationRepository.markAllAsReadByUser(user);
         
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
@@ -10,7 +10,6 @@ import net.dima.project.entity.*;
 import net.dima.project.repository.ContainerRepository;
 import net.dima.project.repository.OfferRepository;
 import net.dima.project.repository.RequestRepository;
-import net.dima.project.repository.UserRepository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -40,7 +39,7 @@ public class OfferService {
 
     private final OfferRepository offerRepository;
     private final RequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ContainerRepository containerRepository;
     private final ApplicationEventPublisher eventPublisher; 
 
@@ -51,7 +50,7 @@ public class OfferService {
     public void createOffer(OfferRequestDto offerDto, String currentUserId) {
         RequestEntity request = requestRepository.findById(offerDto.getRequestId())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 요청입니다."));
-        UserEntity forwarder = Optional.ofNullable(userRepository.findByUserId(currentUserId))
+        UserEntity forwarder = Optional.ofNullable(userCache.getReference(currentUserId))
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
         ContainerEntity container = containerRepository.findById(offerDto.getContainerId())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 컨테이너입니다."));
@@ -88,7 +87,7 @@ public class OfferService {
  // OfferService.java의 getMyOffers 메서드 내부
     // ▼▼▼ getMyOffers 메서드 전체를 아래 코드로 교체해주세요 ▼▼▼
     public Page<MyOfferDto> getMyOffers(String currentUserId, String status, String keyword, Pageable pageable) {
-        UserEntity forwarder = userRepository.findByUserId(currentUserId);
+        UserEntity forwarder = userCache.getReference(currentUserId);
         LocalDateTime now = LocalDateTime.now();
 
         // [✅ 핵심 수정] Specification을 사용하여 DB에서 직접 필터링 조건을 처리합니다.
@@ -0,0 +1,176 @@
+package net.dima.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * 비밀번호 해시 서비스. (애플리케이션의 PasswordEncoder 빈)
+ *
+ * - 전용 풀: BCrypt 계산은 크기가 정해진 전용 스레드 풀에서만 실행되어, 가입이나 로그인이 몰려도
+ *   요청 스레드 전체가 CPU를 붙잡지 않습니다. 대기열이 가득 차면 바로 거절합니다. (다른 화면은 계속 응답)
+ * - 비용 보정: 시작할 때 이 서버에서 해시 1회가 security.password.target-ms 안에 끝나는 가장 높은 cost를 고릅니다.
+ *   (min-cost ~ max-cost, 기존 기본값 10보다 낮추지 않음)
+ * - 자동 갱신: 새 해시는 "{bcrypt}$2a$..." 형식으로 저장하고, 접두어가 없는 기존 해시나 현재보다 낮은 cost의 해시는
+ *   다음 로그인 때 다시 해시합니다. (DelegatingPasswordEncoder + LoginService.updatePassword)
+ */
+@Slf4j
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final String BCRYPT = "bcrypt";
+
+    private final DelegatingPasswordEncoder delegate;
+    private final int cost;
+    private final long calibratedMs;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor pool;
+
+    public PasswordHashingService(@Value("${security.password.target-ms:250}") long targetMs,
+                                  @Value("${security.password.min-cost:10}") int minCost,
+                                  @Value("${security.password.max-cost:16}") int maxCost,
+                                  @Value("${security.password.pool-size:0}") int poolSize,
+                                  @Value("${security.password.queue-capacity:100}") int queueCapacity,
+                                  @Value("${security.password.timeout-ms:10000}") long timeoutMs) {
+        // 1. cost 보정: min-cost를 실제로 재고, cost가 1 오를 때마다 시간이 두 배가 되는 것으로 추정
+        long measured = measure(minCost);
+        int selected = minCost;
+        long estimated = measured;
+        while (selected < maxCost && estimated * 2 <= targetMs) {
+            selected++;
+            estimated *= 2;
+        }
+        this.cost = selected;
+        this.calibratedMs = estimated;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(selected);
+        this.delegate = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        // 접두어 없는 기존 해시($2a$10$...)도 BCrypt로 확인
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // 2. 전용 풀: 기본 크기는 CPU 코어의 절반 (나머지는 요청 처리용)
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread t = new Thread(r, "password-hash-" + sequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+
+        log.info("비밀번호 해시 설정: bcrypt cost {} (측정 {}ms @cost {}, 예상 {}ms, 목표 {}ms), 전용 스레드 {}개, 대기열 {}",
+                selected, measured, minCost, estimated, targetMs, threads, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * 해시 현황 (관리자 모니터링용)
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "cost", cost,
+                "estimatedMs", calibratedMs,
+                "threads", pool.getMaximumPoolSize(),
+                "active", pool.getActiveCount(),
+                "queued", pool.getQueue().size(),
+                "completed", pool.getCompletedTaskCount());
+    }
+
+    /**
+     * 전용 풀에서 해시를 계산합니다. 기다리는 동안 다른 작업(파일 저장 등)을 함께 진행할 수 있습니다.
+     * @throws IllegalStateException 대기열이 가득 찬 경우
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> delegate.encode(rawPassword), pool);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("요청이 많아 잠시 후 다시 시도해 주세요.", e);
+        }
+    }
+
+    /**
+     * encodeAsync 결과를 기다립니다. (timeout-ms 초과 시 IllegalStateException)
+     */
+    public String await(CompletableFuture<String> hash) {
+        try {
+            return hash.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리가 중단되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            hash.cancel(true);
+            throw new IllegalStateException("비밀번호 처리에 실패했습니다.", e);
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(encodeAsync(rawPassword));
+    }
+
+    /**
+     * 로그인 시 비밀번호 확인. 풀이 가득 차면 인증 서비스 오류로 처리되어 로그인 실패 화면으로 돌아갑니다.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        CompletableFuture<Boolean> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> delegate.matches(rawPassword, encodedPassword), pool);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("로그인 요청이 많아 잠시 후 다시 시도해 주세요.", e);
+        }
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("비밀번호 확인이 중단되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            result.cancel(true);
+            throw new AuthenticationServiceException("비밀번호 확인에 실패했습니다.", e);
+        }
+    }
+
+    // 접두어가 없거나 현재 cost보다 낮으면 true (로그인 성공 후 다시 해시)
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        encoder.encode("warm-up");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return Math.max(1, best);
+    }
+}
@@ -0,0 +1,384 @@
+package net.dima.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.Money;
+import net.dima.project.dto.PriceHintDto;
+import net.dima.project.dto.ScfiDataDto;
+import net.dima.project.entity.NotificationEvents.OfferConfirmedEvent;
+import net.dima.project.entity.OfferEntity;
+import net.dima.project.entity.OfferStatus;
+import net.dima.project.entity.RequestEntity;
+import net.dima.project.repository.OfferRepository;
+import net.dima.project.repository.RequestRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 포워더 제안가 추천. (/api/fwd/price-hint)
+ *
+ * 낙찰된 제안의 CBM당 단가(기준 통화)를 그 제안 시점의 SCFI로 나눈 값을 경로(출발항-도착항)와 CBM 구간별로 모아 두고,
+ * 추천 시에는 백분위(25/50/75%)에 최신 SCFI와 요청 CBM을 곱해 총액으로 돌려줍니다.
+ * 즉 "이 경로에서 시장 지수 대비 얼마에 낙찰되었는가"를 현재 시장 수준으로 옮긴 값입니다.
+ *
+ * - 통계는 메모리에 두고 조회는 잠금 없이 읽습니다. 요청의 경로/CBM도 한 번 읽으면 캐시합니다. (요청 생성 후 바뀌지 않음)
+ * - 낙찰(OfferConfirmedEvent)이 커밋되면 해당 경로의 통계만 다시 계산합니다.
+ * - 다른 인스턴스의 낙찰, 환율/SCFI 보정은 pricing.hint.rebuild-interval-ms 마다 전체를 다시 읽어 반영합니다.
+ * - 같은 경로+CBM 구간의 이력이 min-samples 보다 적으면 같은 경로 전체, 그래도 부족하면 전체 이력으로 넓힙니다.
+ * 환율이 없는 통화의 낙찰은 환산할 수 없어 빠집니다.
+ */
+@Slf4j
+@Service
+public class PriceHintService {
+
+    // 낙찰로 보는 제안 상태. 재판매된(RESOLD) 제안은 빼고 재판매 체인의 마지막 거래만 표본으로 쓴다
+    // (증분 반영 시 재판매 전 원본 표본은 다음 전체 재계산 때 빠짐)
+    static final List<OfferStatus> DEAL_STATUSES = List.of(
+            OfferStatus.ACCEPTED, OfferStatus.CONFIRMED, OfferStatus.SHIPPED, OfferStatus.COMPLETED);
+    // CBM 구간 경계와 표시 이름
+    private static final double[] BAND_LIMITS = { 1, 3, 7, 15 };
+    private static final String[] BAND_LABELS = { "~1", "1~3", "3~7", "7~15", "15~" };
+    private static final int ALL_BANDS = -1;
+    private static final String ANY_PORT = "*";
+    private static final Key ALL = new Key(ANY_PORT, ANY_PORT, ALL_BANDS);
+
+    record Key(String departure, String arrival, int band) {
+    }
+
+    // unitPrice: 기준 통화 CBM당 단가, normalized: unitPrice / 제안 시점 SCFI
+    record Sample(double unitPrice, double normalized) {
+    }
+
+    /**
+     * 한 범위(경로+구간)의 통계. 만든 뒤 바뀌지 않는다.
+     */
+    record Stats(int count, double p25, double p50, double p75, Double trendPct) {
+
+        // samples: 오래된 것부터
+        static Stats of(ArrayDeque<Sample> samples) {
+            Sample[] ordered = samples.toArray(new Sample[0]);
+            double[] normalized = new double[ordered.length];
+            for (int i = 0; i < ordered.length; i++) {
+                normalized[i] = ordered[i].normalized();
+            }
+            Arrays.sort(normalized);
+            Double trend = null;
+            if (ordered.length >= 4) {
+                int half = ordered.length / 2;
+                double older = median(ordered, 0, half);
+                double recent = median(ordered, half, ordered.length);
+                trend = older > 0 ? (recent - older) / older * 100 : null;
+            }
+            return new Stats(ordered.length, percentile(normalized, 0.25), percentile(normalized, 0.5),
+                    percentile(normalized, 0.75), trend);
+        }
+
+        private static double median(Sample[] ordered, int from, int to) {
+            double[] unit = new double[to - from];
+            for (int i = from; i < to; i++) {
+                unit[i - from] = ordered[i].unitPrice();
+            }
+            Arrays.sort(unit);
+            return percentile(unit, 0.5);
+        }
+    }
+
+    // 요청의 경로/CBM
+    record Route(String departure, String arrival, double cbm) {
+    }
+
+    private final OfferRepository offerRepository;
+    private final RequestRepository requestRepository;
+    private final FxRateService fxRateService;
+    private final ScfiSeriesService scfiSeriesService;
+    private final int minSamples;
+    private final int maxSamples;
+
+    // 낙찰 이력은 this 로 동기화, 통계는 통째로 바꿔 끼워 잠금 없이 읽는다
+    private final Map<Key, ArrayDeque<Sample>> samples = new HashMap<>();
+    private volatile Map<Key, Stats> statsByKey = Map.of();
+    private volatile long lastRebuildAt;
+    private final Map<Long, Route> routes;
+
+    public PriceHintService(OfferRepository offerRepository,
+                            RequestRepository requestRepository,
+                            FxRateService fxRateService,
+                            ScfiSeriesService scfiSeriesService,
+                            @Value("${pricing.hint.min-samples:5}") int minSamples,
+                            @Value("${pricing.hint.max-samples:500}") int maxSamples,
+                            @Value("${pricing.hint.request-cache-size:10000}") int requestCacheSize) {
+        this.offerRepository = offerRepository;
+        this.requestRepository = requestRepository;
+        this.fxRateService = fxRateService;
+        this.scfiSeriesService = scfiSeriesService;
+        this.minSamples = Math.max(1, minSamples);
+        this.maxSamples = Math.max(1, maxSamples);
+        this.routes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Route> eldest) {
+                return size() > requestCacheSize;
+            }
+        };
+    }
+
+    // 환율 적재(FxRateService.loadOnStartup) 뒤에 실행된다 (그쪽이 가장 먼저)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("가격 추천 통계 적재 실패 (다음 주기에 다시 시도)", e);
+        }
+    }
+
+    /**
+     * 낙찰 이력 전체로 통계를 다시 만듭니다.
+     * @return 반영된 낙찰 건수
+     */
+    public synchronized int rebuild() {
+        ScfiSeries scfi = scfiSeriesService.snapshot();
+        List<Object[]> rows = new ArrayList<>(offerRepository.findDealPriceSamples(DEAL_STATUSES));
+        // 제안 시각 순으로 넣어야 구간별 최대 개수를 넘을 때 오래된 것부터 빠진다
+        rows.sort(Comparator.comparing(row -> (LocalDateTime) row[5], Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        samples.clear();
+        int used = 0;
+        for (Object[] row : rows) {
+            if (add((String) row[0], (String) row[1], (Double) row[2], (BigDecimal) row[3], (String) row[4],
+                    (LocalDateTime) row[5], scfi)) {
+                used++;
+            }
+        }
+        Map<Key, Stats> computed = new HashMap<>();
+        samples.forEach((key, deque) -> computed.put(key, Stats.of(deque)));
+        statsByKey = Map.copyOf(computed);
+        lastRebuildAt = System.currentTimeMillis();
+        log.info("가격 추천 통계: 낙찰 {}건 중 {}건 반영, 범위 {}개", rows.size(), used, computed.size());
+        return used;
+    }
+
+    /**
+     * 낙찰이 커밋되면 해당 경로의 통계만 갱신합니다. 필요한 값은 트랜잭션 안에서 미리 꺼내 둡니다.
+     */
+    @EventListener
+    public void onOfferConfirmed(OfferConfirmedEvent event) {
+        OfferEntity winner = event.getWinningOffer();
+        if (winner == null) {
+            return;
+        }
+        RequestEntity request = winner.getRequest();
+        String departure = request.getDeparturePort();
+        String arrival = request.getArrivalPort();
+        Double cbm = request.getCargo().getTotalCbm();
+        BigDecimal price = winner.getPrice();
+        String currency = winner.getCurrency();
+        LocalDateTime createdAt = winner.getCreatedAt();
+        Runnable update = () -> addDeal(departure, arrival, cbm, price, currency, createdAt);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    synchronized void addDeal(String departure, String arrival, Double cbm, BigDecimal price, String currency,
+                              LocalDateTime createdAt) {
+        if (!add(departure, arrival, cbm, price, currency, createdAt, scfiSeriesService.snapshot())) {
+            return;
+        }
+        Map<Key, Stats> updated = new HashMap<>(statsByKey);
+        for (Key key : keysOf(departure, arrival, cbm)) {
+            updated.put(key, Stats.of(samples.get(key)));
+        }
+        statsByKey = Map.copyOf(updated);
+    }
+
+    /**
+     * 요청에 대한 추천 제안가
+     * @throws IllegalArgumentException 없는 요청
+     */
+    public PriceHintDto hint(Long requestId) {
+        Route route = routeOf(requestId);
+        int band = band(route.cbm());
+        Map<Key, Stats> current = statsByKey;
+
+        String basis = "ROUTE_BAND";
+        Stats found = current.get(new Key(route.departure(), route.arrival(), band));
+        if (found == null || found.count() < minSamples) {
+            basis = "ROUTE";
+            found = current.get(new Key(route.departure(), route.arrival(), ALL_BANDS));
+        }
+        if (found == null || found.count() < minSamples) {
+            basis = "ALL";
+            found = current.get(ALL);
+        }
+
+        PriceHintDto.PriceHintDtoBuilder hint = PriceHintDto.builder()
+                .requestId(requestId)
+                .departurePort(route.departure())
+                .arrivalPort(route.arrival())
+                .cbm(route.cbm())
+                .cbmBand(BAND_LABELS[band]);
+
+        ScfiSeries scfi = scfiSeriesService.snapshot();
+        List<ScfiDataDto> latest = scfi.latest(1);
+        double level = 1;
+        if (!latest.isEmpty()) {
+            ScfiDataDto last = latest.get(0);
+            BigDecimal monthAgo = scfi.valueAt(last.getRecordDate().minusWeeks(4));
+            level = last.getIndexValue().doubleValue();
+            hint.scfiLatest(last.getIndexValue())
+                .scfiTrendPct(round(percentChange(monthAgo.doubleValue(), level)));
+        }
+
+        if (found == null) {
+            return hint.basis("NONE").build();
+        }
+        double perCbm = level * found.p50();
+        return hint.basis(basis)
+                .sampleCount(found.count())
+                .currency(fxRateService.getBaseCurrency())
+                .low(money(level * found.p25() * route.cbm()))
+                .median(money(perCbm * route.cbm()))
+                .high(money(level * found.p75() * route.cbm()))
+                .medianPerCbm(money(perCbm))
+                .routeTrendPct(found.trendPct() == null ? null : round(found.trendPct()))
+                .build();
+    }
+
+    /**
+     * 통계 현황 (관리자 모니터링용)
+     */
+    public Map<String, Object> stats() {
+        Map<Key, Stats> current = statsByKey;
+        Stats all = current.get(ALL);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("keys", current.size());
+        result.put("deals", all == null ? 0 : all.count());
+        result.put("lastRebuildAt", lastRebuildAt);
+        synchronized (routes) {
+            result.put("cachedRequests", routes.size());
+        }
+        return result;
+    }
+
+    // ===== 내부 =====
+
+    private Route routeOf(Long requestId) {
+        synchronized (routes) {
+            Route cached = routes.get(requestId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<Object[]> rows = requestRepository.findRouteAndCbm(requestId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 요청입니다.");
+        }
+        Object[] row = rows.get(0);
+        Double cbm = (Double) row[2];
+        Route route = new Route(port((String) row[0]), port((String) row[1]), cbm == null ? 0 : cbm);
+        synchronized (routes) {
+            routes.put(requestId, route);
+        }
+        return route;
+    }
+
+    // this 로 동기화된 상태에서 호출
+    private boolean add(String departure, String arrival, Double cbm, BigDecimal price, String currency,
+                        LocalDateTime createdAt, ScfiSeries scfi) {
+        if (cbm == null || cbm <= 0 || price == null || price.signum() <= 0 || currency == null) {
+            return false;
+        }
+        LocalDate date = createdAt == null ? LocalDate.now() : createdAt.toLocalDate();
+        Optional<Money> base;
+        try {
+            base = fxRateService.toBase(Money.of(price, currency), date);
+        } catch (IllegalArgumentException e) {
+            return false; // 통화가 비어 있는 등 환산할 수 없는 값
+        }
+        if (base.isEmpty()) {
+            return false;
+        }
+        double unitPrice = base.get().amount().doubleValue() / cbm;
+        BigDecimal index = scfi.valueAt(date);
+        double normalized = index == null || index.signum() <= 0 ? unitPrice : unitPrice / index.doubleValue();
+
+        Sample sample = new Sample(unitPrice, normalized);
+        for (Key key : keysOf(departure, arrival, cbm)) {
+            ArrayDeque<Sample> deque = samples.computeIfAbsent(key, k -> new ArrayDeque<>());
+            deque.addLast(sample);
+            if (deque.size() > maxSamples) {
+                deque.removeFirst();
+            }
+        }
+        return true;
+    }
+
+    private static List<Key> keysOf(String departure, String arrival, Double cbm) {
+        String from = port(departure);
+        String to = port(arrival);
+        return List.of(new Key(from, to, band(cbm)), new Key(from, to, ALL_BANDS), ALL);
+    }
+
+    private static String port(String port) {
+        return port == null ? "" : port.strip().toUpperCase(Locale.ROOT);
+    }
+
+    static int band(double cbm) {
+        for (int i = 0; i < BAND_LIMITS.length; i++) {
+            if (cbm < BAND_LIMITS[i]) {
+                return i;
+            }
+        }
+        return BAND_LIMITS.length;
+    }
+
+    // 정렬된 배열의 백분위 (선형 보간)
+    static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        double position = p * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(sorted.length - 1, lower + 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+    }
+
+    private static double percentChange(double from, double to) {
+        return from == 0 ? 0 : (to - from) / from * 100;
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
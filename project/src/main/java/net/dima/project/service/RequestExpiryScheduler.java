@@ -0,0 +1,184 @@
+package net.dima.project.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 요청 마감 처리 기동기.
+ * 고정 주기 대신 "가장 이른 OPEN 마감일"에 맞춰 한 번 깨어나 밀린 마감을 chunk 단위로 처리하고,
+ * 처리 후 다음 마감일로 다시 예약합니다. 새 요청의 마감일이 예약 시각보다 이르면 예약을 앞당깁니다.
+ * 다른 인스턴스에서 생성된 요청 등 예약이 놓친 경우는 RequestScheduler의 주기 점검(sweep)이 보완합니다.
+ *
+ * 처리와 예약은 전용 단일 스레드에서만 실행되므로 같은 인스턴스 안에서 마감 처리가 동시에 돌지 않으며,
+ * 인스턴스 사이에서는 "request-expiry" 작업 임대를 얻은 한 곳만 처리합니다. (못 얻은 쪽은 다음 마감일로 예약만 다시 함)
+ * 처리가 실패하면 밀린 마감일이 그대로 남아 바로 다시 깨어나게 되므로, 연속 실패 횟수에 따라 지수적으로 늘린 간격
+ * (최대 FAILURE_RETRY_MAX) 이후로만 다시 예약합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestExpiryScheduler {
+
+    // 마감 직후 처리 지연 (마감 시각과 같은 시각에 들어온 확정 요청과의 경합 방지)
+    private static final Duration GRACE = Duration.ofSeconds(1);
+    // 다른 인스턴스가 처리 중일 때 다시 확인하기까지의 간격
+    private static final Duration BUSY_RETRY = Duration.ofSeconds(30);
+    // 처리 실패 후 재시도 간격 (연속 실패마다 두 배, 최대값까지)
+    private static final Duration FAILURE_RETRY_MIN = Duration.ofSeconds(5);
+    private static final Duration FAILURE_RETRY_MAX = Duration.ofMinutes(5);
+
+    private final RequestExpiryService requestExpiryService;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${request.expiry.chunk-size:200}")
+    private int chunkSize;
+
+    private ThreadPoolTaskScheduler executor;
+    private ScheduledFuture<?> wakeup;
+    private LocalDateTime wakeupAt;
+    private int consecutiveFailures;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskScheduler();
+        executor.setPoolSize(1);
+        executor.setThreadNamePrefix("request-expiry-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        requestSweep();
+    }
+
+    /**
+     * 밀린 마감을 지금 처리하도록 요청합니다. (비동기, 마감 처리 스레드에서 실행)
+     */
+    public void requestSweep() {
+        executor.execute(this::processDue);
+    }
+
+    /**
+     * 새 마감일이 생겼음을 알립니다. 현재 트랜잭션이 커밋된 뒤 필요하면 예약을 앞당깁니다.
+     */
+    public void registerDeadline(LocalDateTime deadline) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> scheduleIfEarlier(deadline));
+                }
+            });
+        } else {
+            executor.execute(() -> scheduleIfEarlier(deadline));
+        }
+    }
+
+    public LocalDateTime getWakeupAt() {
+        return wakeupAt;
+    }
+
+    // ===== 마감 처리 스레드에서만 호출 =====
+
+    private void processDue() {
+        boolean ran = true;
+        // 작업이 끝까지 실행되어야 false가 됨 (runExclusive는 작업 실패를 기록만 하고 true를 돌려줌)
+        AtomicBoolean failed = new AtomicBoolean(true);
+        try {
+            ran = jobLeaseService.runExclusive("request-expiry", Duration.ZERO, () -> {
+                LocalDateTime now = LocalDateTime.now();
+                int total = 0;
+                int processed;
+                do {
+                    processed = requestExpiryService.expireChunk(now, chunkSize);
+                    total += processed;
+                } while (processed == chunkSize);
+                if (total > 0) {
+                    log.info("===== [마감 처리] 마감 기한이 지난 요청 {}건 처리 완료 =====", total);
+                }
+                failed.set(false);
+                return total;
+            });
+        } catch (Exception e) {
+            log.error("요청 마감 처리 실패", e);
+        } finally {
+            boolean failedRun = failed.get() && ran; // 임대를 못 얻어 건너뛴 경우는 실패가 아님
+            consecutiveFailures = failedRun ? consecutiveFailures + 1 : 0;
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime next = safeNextDeadline();
+            if (next != null && !ran) {
+                next = later(next, now.plus(BUSY_RETRY)); // 처리 중인 인스턴스가 끝낼 때까지 기다림
+            }
+            if (next != null && failedRun) {
+                Duration delay = failureBackoff(consecutiveFailures);
+                next = later(next, now.plus(delay));
+                log.warn("요청 마감 처리 {}회 연속 실패, {}초 뒤 다시 시도", consecutiveFailures, delay.toSeconds());
+            }
+            schedule(next);
+        }
+    }
+
+    /**
+     * 연속 실패 횟수에 따른 재시도 간격 (5초, 10초, 20초 ... 최대 5분)
+     */
+    static Duration failureBackoff(int consecutiveFailures) {
+        int doublings = Math.min(Math.max(consecutiveFailures - 1, 0), 16);
+        Duration delay = FAILURE_RETRY_MIN.multipliedBy(1L << doublings);
+        return delay.compareTo(FAILURE_RETRY_MAX) > 0 ? FAILURE_RETRY_MAX : delay;
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? b : a;
+    }
+
+    private LocalDateTime safeNextDeadline() {
+        try {
+            return requestExpiryService.findNextDeadline();
+        } catch (Exception e) {
+            log.error("다음 마감일 조회 실패", e);
+            return null; // 주기 점검(sweep)에 맡김
+        }
+    }
+
+    private void scheduleIfEarlier(LocalDateTime deadline) {
+        if (wakeupAt == null || deadline.isBefore(wakeupAt)) {
+            schedule(deadline);
+        }
+    }
+
+    private void schedule(LocalDateTime deadline) {
+        if (wakeup != null) {
+            wakeup.cancel(false);
+            wakeup = null;
+        }
+        wakeupAt = deadline;
+        if (deadline == null) {
+            return;
+        }
+        wakeup = executor.schedule(this::processDue,
+                deadline.plus(GRACE).atZone(ZoneId.systemDefault()).toInstant());
+        log.debug("다음 요청 마감 처리 예약: {}", deadline);
+    }
+}
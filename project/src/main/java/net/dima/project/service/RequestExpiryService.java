@@ -0,0 +1,74 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.entity.OfferStatus;
+import net.dima.project.entity.RequestStatus;
+import net.dima.project.repository.OfferRepository;
+import net.dima.project.repository.RequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 마감 기한이 지난 OPEN 요청의 일괄 마감 처리.
+ * 한 번 호출에 최대 chunkSize건만 한 트랜잭션으로 처리하므로, 장애 후 밀린 요청이 많아도 잠금이 오래 유지되지 않습니다.
+ * - 재판매 요청: 요청 CLOSED, 입찰 REJECTED, 원본 제안 FOR_SALE -> ACCEPTED (ResaleService.revertResaleRequest와 동일한 결과)
+ * - 화주 요청: 요청 EXPIRED, 입찰 REJECTED
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RequestExpiryService {
+
+    private final RequestRepository requestRepository;
+    private final OfferRepository offerRepository;
+
+    /**
+     * @return 이번에 마감 처리한 요청 수 (chunkSize보다 작으면 남은 대상이 없음)
+     */
+    public int expireChunk(LocalDateTime now, int chunkSize) {
+        List<Object[]> rows = requestRepository.findExpiredOpenRequests(now, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> allIds = new ArrayList<>();
+        List<Long> resaleIds = new ArrayList<>();
+        List<Long> shipperIds = new ArrayList<>();
+        List<Long> sourceOfferIds = new ArrayList<>();
+        for (Object[] row : rows) {
+            Long requestId = (Long) row[0];
+            allIds.add(requestId);
+            if (row[1] != null) {
+                resaleIds.add(requestId);
+                sourceOfferIds.add((Long) row[1]);
+            } else {
+                shipperIds.add(requestId);
+            }
+        }
+
+        int rejectedBids = offerRepository.updateStatusByRequestIds(allIds, OfferStatus.PENDING, OfferStatus.REJECTED);
+        if (!resaleIds.isEmpty()) {
+            offerRepository.updateStatusByOfferIds(sourceOfferIds, OfferStatus.FOR_SALE, OfferStatus.ACCEPTED);
+            requestRepository.closeOpenRequests(resaleIds, RequestStatus.CLOSED);
+        }
+        if (!shipperIds.isEmpty()) {
+            requestRepository.closeOpenRequests(shipperIds, RequestStatus.EXPIRED);
+        }
+
+        log.info("   - 마감 처리: 재판매 요청 {}건, 화주 요청 {}건 (입찰 {}건 거절)", resaleIds.size(), shipperIds.size(), rejectedBids);
+        return rows.size();
+    }
+
+    @Transactional(readOnly = true)
+    public LocalDateTime findNextDeadline() {
+        return requestRepository.findNextOpenDeadline();
+    }
+}
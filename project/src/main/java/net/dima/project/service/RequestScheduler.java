@@ -2,51 +2,182 @@ package net.dima.project.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.dima.project.entity.RequestEntity;
-import net.dima.project.repository.RequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * [✅ 핵심 추가] 주기적으로 실행되어야 하는 작업들을 관리하는 스케줄러
+ * 여러 인스턴스로 실행해도 각 작업은 JobLeaseService의 임대를 얻은 인스턴스 한 곳에서만 실행되며,
+ * 실행 결과는 job_execution 이력에 남습니다.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RequestScheduler {
 
-    private final RequestRepository requestRepository;
-    private final ResaleService resaleService;
+    private final RequestExpiryScheduler requestExpiryScheduler;
+    private final ChatArchiveService chatArchiveService;
+    private final VolumeRollupService volumeRollupService;
+    private final SettlementLedgerService settlementLedgerService;
+    private final JobLeaseService jobLeaseService;
+    private final ContentAddressedDocumentStore documentStore;
+    private final UserService userService;
+    private final PriceHintService priceHintService;
+
+    // 채팅방 종료 후 메시지를 보관 테이블로 옮기기까지의 기간(일)
+    @Value("${chat.archive.after-days:30}")
+    private int chatArchiveAfterDays;
+
+    // 변경 이벤트가 없어도 물동량 현황을 다시 계산하는 최대 간격 (입찰 마감 반영용)
+    @Value("${analytics.rollup.max-staleness-ms:300000}")
+    private long rollupMaxStalenessMs;
+
+    // 작업 실행 이력 보관 기간(일)
+    @Value("${scheduler.history.retention-days:14}")
+    private int historyRetentionDays;
+
+    // 참조가 없어진 문서를 지우기 전 유예 시간 (저장 중인 업로드 보호)
+    @Value("${storage.documents.gc-grace-ms:3600000}")
+    private long documentGcGraceMs;
+
+    private long lastRollupRefresh;
+
+    /**
+     * 기동 시 정산 원장 이관. 동시에 뜬 인스턴스 중 한 곳에서만 실행합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSettlementLedger() {
+        jobLeaseService.runExclusive("ledger-backfill", Duration.ofMinutes(10),
+                settlementLedgerService::backfillSettledContainers);
+    }
+
+    /**
+     * 기동 시 환율이 없어 비어 있던 원장의 기준 통화 금액을 채웁니다. 동시에 뜬 인스턴스 중 한 곳에서만 실행합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingLedgerBaseAmounts() {
+        jobLeaseService.runExclusive("ledger-fx-fill", Duration.ofMinutes(10),
+                settlementLedgerService::fillMissingBaseAmounts);
+    }
+
+    /**
+     * 기동 시 이전 형식(UUID_원본이름)으로 저장된 사업자등록증을 문서 저장소로 옮깁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyLicenses() {
+        jobLeaseService.runExclusive("license-migration", Duration.ofMinutes(10), userService::migrateLegacyLicenses);
+    }
+
+    /**
+     * 요청 마감 처리의 주기 점검.
+     * 평소에는 RequestExpiryScheduler가 가장 이른 마감일에 맞춰 처리하며,
+     * 이 점검은 다른 인스턴스에서 생성된 요청 등 예약이 놓친 마감을 보완합니다.
+     */
+    @Scheduled(fixedDelayString = "${request.expiry.sweep-interval-ms:300000}",
+               initialDelayString = "${request.expiry.sweep-interval-ms:300000}")
+    public void sweepExpiredRequests() {
+        requestExpiryScheduler.requestSweep();
+    }
 
     /**
-     * 매 시간 정각에 실행되어, 마감 기한이 지난 재판매 요청을 자동으로 처리합니다.
-     * cron = "초 분 시 일 월 요일"
+     * 매일 새벽, 종료된 지 일정 기간이 지난 채팅방의 메시지를 압축 보관 테이블로 옮깁니다.
+     * 채팅방마다 별도 트랜잭션으로 처리하므로, 한 채팅방이 실패해도 나머지는 계속 진행됩니다.
      */
-    @Scheduled(cron = "0 0 * * * *")
-    @Transactional
-    public void processExpiredResaleRequests() {
-        log.info("===== [스케줄러 실행] 마감된 재판매 요청 처리 시작 =====");
-        
-        // 1. Repository에서 마감된 재판매 요청 목록을 조회합니다.
-        List<RequestEntity> expiredRequests = requestRepository.findExpiredResaleRequests(LocalDateTime.now());
+    @Scheduled(cron = "${chat.archive.cron:0 30 3 * * *}")
+    public void archiveClosedChatRooms() {
+        jobLeaseService.runExclusive("chat-archive", Duration.ofMinutes(10), () -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(chatArchiveAfterDays);
+            List<Long> roomIds = chatArchiveService.findArchivableRoomIds(cutoff);
+            if (roomIds.isEmpty()) {
+                return 0;
+            }
 
-        if (expiredRequests.isEmpty()) {
-            log.info(">> 처리할 마감된 재판매 요청이 없습니다.");
+            log.info("===== [스케줄러 실행] 채팅 메시지 보관 시작 (대상 채팅방 {}개) =====", roomIds.size());
+            int archived = 0;
+            for (Long roomId : roomIds) {
+                try {
+                    archived += chatArchiveService.archiveRoom(roomId);
+                } catch (Exception e) {
+                    log.error("   - 채팅방 {} 보관 실패", roomId, e);
+                }
+            }
+            log.info("===== [스케줄러 종료] 채팅 메시지 {}건 보관 완료 =====", archived);
+            return archived;
+        });
+    }
+
+    /**
+     * 관리자 물동량 현황 집계를 갱신합니다.
+     * 제안/컨테이너 변경 이벤트가 있었거나 오늘 현황이 아직 없으면 바로, 아니면 최대 max-staleness-ms 마다 다시 계산합니다.
+     * (변경 여부는 인스턴스마다 따로 판단하며, 계산 자체는 임대를 얻은 곳에서만 실행)
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollup.refresh-interval-ms:60000}")
+    public void refreshVolumeRollup() {
+        long now = System.currentTimeMillis();
+        boolean force = now - lastRollupRefresh >= rollupMaxStalenessMs;
+        if (!force && !volumeRollupService.isSnapshotDirty()) {
             return;
         }
+        boolean ran = jobLeaseService.runExclusive("volume-rollup-refresh", Duration.ofSeconds(10),
+                () -> volumeRollupService.refreshSnapshot(LocalDate.now()));
+        if (ran || force) {
+            // 다른 인스턴스가 임대 중이면 그쪽이 방금 계산한 것으로 본다
+            lastRollupRefresh = now;
+        }
+    }
+
+    /**
+     * 자정 직후 전날의 발생 물량(요청/제안)을 원본 기준으로 보정하고, 새 날짜의 현황을 만듭니다.
+     */
+    @Scheduled(cron = "${analytics.rollup.reconcile-cron:0 5 0 * * *}")
+    public void reconcileVolumeRollup() {
+        jobLeaseService.runExclusive("volume-rollup-reconcile", Duration.ofMinutes(10), () -> {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            log.info("===== [스케줄러 실행] 물동량 집계 보정 ({}) =====", yesterday);
+            int rows = volumeRollupService.reconcileFlows(yesterday)
+                     + volumeRollupService.refreshSnapshot(LocalDate.now());
+            lastRollupRefresh = System.currentTimeMillis();
+            return rows;
+        });
+    }
 
-        log.info(">> 처리 대상 재판매 요청 {}건 발견", expiredRequests.size());
-        
-        // 2. 각 요청에 대해 ResaleService의 공통 로직을 호출하여 상태를 되돌립니다.
-        for (RequestEntity request : expiredRequests) {
-            log.info("   - 요청 ID {} 처리 중...", request.getRequestId());
-            resaleService.revertResaleRequest(request);
+    /**
+     * 보관 기간이 지난 작업 실행 이력을 지웁니다.
+     */
+    @Scheduled(cron = "${scheduler.history.purge-cron:0 45 3 * * *}")
+    public void purgeJobHistory() {
+        jobLeaseService.runExclusive("job-history-purge", Duration.ofMinutes(10),
+                () -> jobLeaseService.purgeExecutions(LocalDateTime.now().minusDays(historyRetentionDays)));
+    }
+
+    /**
+     * 참조가 없는 문서와 저장 도중 남은 파일을 정리합니다.
+     */
+    @Scheduled(cron = "${storage.documents.gc-cron:0 15 4 * * *}")
+    public void collectDocumentGarbage() {
+        jobLeaseService.runExclusive("document-gc", Duration.ofMinutes(10),
+                () -> documentStore.collectGarbage(Duration.ofMillis(documentGcGraceMs)));
+    }
+
+    /**
+     * 가격 추천 통계를 낙찰 이력 전체로 다시 계산합니다.
+     * 통계는 인스턴스마다 메모리에 따로 두므로 임대 없이 각자 실행합니다. (다른 인스턴스의 낙찰, 환율 변경 반영)
+     */
+    @Scheduled(fixedDelayString = "${pricing.hint.rebuild-interval-ms:3600000}",
+               initialDelayString = "${pricing.hint.rebuild-interval-ms:3600000}")
+    public void rebuildPriceHints() {
+        try {
+            priceHintService.rebuild();
+        } catch (Exception e) {
+            log.error("가격 추천 통계 재계산 실패", e);
         }
-        
-        log.info("===== [스케줄러 종료] 마감된 재판매 요청 처리 완료 =====");
     }
-}
\ No newline at end of file
+}
@@ -31,7 +31,6 @@ import net.dima.project.repository.CargoRepository;
 import net.dima.project.repository.ContainerCargoRepository;
 import net.dima.project.repository.OfferRepository;
 import net.dima.project.repository.RequestRepository;
-import net.dima.project.repository.UserRepository;
 import org.springframework.context.ApplicationEventPublisher;
 
 @Service
@@ -41,10 +40,11 @@ public class RequestService {
 
     private final RequestRepository requestRepository;
     private final OfferRepository offerRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final CargoRepository cargoRepository;
     private final ContainerCargoRepository containerCargoRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final RequestExpiryScheduler requestExpiryScheduler;
 
     /**
      * 포워더의 '견적요청조회' 페이지에 표시될 모든 공개 요청 목록을 조회합니다. (기존과 동일)
@@ -103,7 +103,7 @@ public class RequestService {
      */
     @Transactional(readOnly = true)
     public Page<MyPostedRequestDto> getRequestsForShipper(String currentUserId, String status, boolean excludeClosed, String itemName, Pageable pageable) {
-        UserEntity shipper = userRepository.findByUserId(currentUserId);
+        UserEntity shipper = userCache.getReference(currentUserId);
         LocalDateTime now = LocalDateTime.now();
 
         Specification<RequestEntity> spec = (root, query, cb) -> {
@@ -119,7 +119,8 @@ public class RequestService {
             if (status == null || "CLOSED".equalsIgnoreCase(status)) {
                 predicates.add(cb.equal(root.get("status"), RequestStatus.CLOSED));
             } else if ("OPEN".equalsIgnoreCase(status)) {
-                predicates.add(cb.equal(root.get("status"), RequestStatus.OPEN));
+                // 마감 처리된(EXPIRED) 요청도 기존처럼 '마감'으로 함께 표시
+                predicates.add(root.get("status").in(RequestStatus.OPEN, RequestStatus.EXPIRED));
                 if (excludeClosed) {
                     predicates.add(cb.greaterThan(root.get("deadline"), now));
                 }
@@ -147,7 +148,7 @@ public class RequestService {
         // 조회된 데이터를 새로운 DTO 생성 로직에 맞춰 가공합니다.
         List<MyPostedRequestDto> dtoList = requestsOnPage.stream()
             .map(req -> {
-                if (req.getStatus() == RequestStatus.OPEN) {
+                if (req.getStatus() == RequestStatus.OPEN || req.getStatus() == RequestStatus.EXPIRED) {
                     return MyPostedRequestDto.fromEntity(req, bidderCounts.getOrDefault(req.getRequestId(), 0L));
                 } else { // CLOSED
                     Optional<OfferEntity> directWinningOfferOpt = Optional.ofNullable(winningOffers.get(req.getRequestId()));
@@ -201,7 +202,7 @@ public class RequestService {
      */
     @Transactional
     public void createNewRequest(NewRequestDto dto, String currentUserId) {
-        UserEntity requester = userRepository.findByUserId(currentUserId);
+        UserEntity requester = userCache.getReference(currentUserId);
         CargoEntity newCargo = CargoEntity.builder()
                 .owner(requester)
                 .itemName(dto.getItemName())
@@ -224,6 +225,7 @@ public class RequestService {
                 .sourceOffer(null)
                 .build();
         requestRepository.save(newRequest);
+        requestExpiryScheduler.registerDeadline(newRequest.getDeadline());
         
         RequestCardDto dtoForEvent = RequestCardDto.fromEntity(newRequest, false);
         eventPublisher.publishEvent(new NotificationEvents.RequestCreatedEvent(this, dtoForEvent));
@@ -283,25 +285,6 @@ public class RequestService {
         OfferEntity finalOffer = findFinalOffer(request)
                 .orElseThrow(() -> new IllegalStateException("확정된 운송 정보를 찾을 수 없습니다."));
 
-        ContainerEntity finalContainer = finalOffer.getContainer();
-        UserEntity shipper = request.getRequester();
-        UserEntity forwarder = finalOffer.getForwarder();
-
-        return BlDto.builder()
-                .blNo("SHB-" + requestId + "-" + finalOffer.getOfferId())
-                .issueDate(LocalDate.now())
-                .shipperName(shipper.getCompanyName())
-                .shipperAddress("null")
-                .consigneeName(shipper.getCompanyName())
-                .consigneeAddress("null")
-                .forwarderName(forwarder.getCompanyName())
-                .vesselName("null")
-                .imoNumber(finalContainer.getImoNumber())
-                .portOfLoading(request.getDeparturePort())
-                .portOfDischarge(request.getArrivalPort())
-                .containerNo(finalContainer.getContainerId())
-                .descriptionOfGoods(request.getCargo().getItemName())
-                .cbm(request.getCargo().getTotalCbm())
-                .build();
+        return BlDto.from(request, finalOffer, LocalDate.now());
     }
 }
\ No newline at end of file
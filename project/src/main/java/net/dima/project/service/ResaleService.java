@@ -24,7 +24,6 @@ import net.dima.project.entity.*;
 import net.dima.project.repository.ContainerCargoRepository;
 import net.dima.project.repository.OfferRepository;
 import net.dima.project.repository.RequestRepository;
-import net.dima.project.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor
@@ -33,9 +32,10 @@ public class ResaleService {
 
     private final OfferRepository offerRepository;
     private final RequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ContainerCargoRepository containerCargoRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final RequestExpiryScheduler requestExpiryScheduler;
 
     /**
      * 특정 제안(Offer)을 재판매 시장에 내놓습니다. (기존과 동일)
@@ -44,7 +44,7 @@ public class ResaleService {
     public void createResaleRequest(Long offerId, String currentUserId) {
         OfferEntity originalOffer = offerRepository.findByIdWithDetails(offerId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 제안입니다."));
-        UserEntity forwarder = userRepository.findByUserId(currentUserId);
+        UserEntity forwarder = userCache.getReference(currentUserId);
 
         if (originalOffer.getStatus() != OfferStatus.ACCEPTED) {
             throw new IllegalStateException("'수락(ACCEPTED)' 상태의 제안만 재판매할 수 있습니다.");
@@ -71,6 +71,7 @@ public class ResaleService {
                 .sourceOffer(originalOffer)
                 .build();
         requestRepository.save(resaleRequest);
+        requestExpiryScheduler.registerDeadline(resaleRequest.getDeadline());
     }
 
     /**
@@ -110,7 +111,7 @@ public class ResaleService {
      */
     @Transactional(readOnly = true)
     public Page<MyPostedRequestDto> getMyPostedRequests(String currentUserId, String status, Pageable pageable) {
-        UserEntity requester = userRepository.findByUserId(currentUserId);
+        UserEntity requester = userCache.getReference(currentUserId);
         
         List<RequestEntity> allMyResaleRequests = requestRepository.findAllByRequesterAndSourceOfferIsNotNull(requester, pageable.getSort());
 
@@ -0,0 +1,183 @@
+package net.dima.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.ScfiImportResultDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * SCFI 지수 CSV 일괄 반영. (과거 이력 백필용)
+ *
+ * 파일을 한 줄씩 읽으며 검사하고, 올바른 줄만 scfi.import.batch-size 개씩 모아
+ * INSERT ... ON DUPLICATE KEY UPDATE 배치로 넣습니다. (scfi_data.record_date 유니크 인덱스 기준, 같은 날짜는 덮어쓰기)
+ * 파일 안에 같은 날짜가 여러 번 있으면 뒤의 줄이 남습니다.
+ * 잘못된 줄은 건너뛰고 줄 번호와 이유를 결과에 담으며, 전체는 한 트랜잭션이라 DB 오류가 나면 아무것도 반영되지 않습니다.
+ *
+ * 형식: record_date,index_value (헤더 줄, 빈 줄, # 주석 허용)
+ * - 날짜: 2024-01-05, 2024/01/05, 2024.01.05
+ * - 지수: 1896.65 또는 "1,896.65" (소수 둘째 자리까지, 반올림)
+ */
+@Slf4j
+@Service
+public class ScfiImportService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO scfi_data (record_date, index_value) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE index_value = VALUES(index_value)";
+    // scfi_data.index_value DECIMAL(10, 2)
+    private static final BigDecimal MAX_VALUE = new BigDecimal("99999999.99");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-M-d");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScfiSeriesService scfiSeriesService;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ScfiImportService(JdbcTemplate jdbcTemplate,
+                             ScfiSeriesService scfiSeriesService,
+                             @Value("${scfi.import.batch-size:1000}") int batchSize,
+                             @Value("${scfi.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scfiSeriesService = scfiSeriesService;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Transactional
+    public ScfiImportResultDto importCsv(InputStream in) throws IOException {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<ScfiImportResultDto.RowError> errors = new ArrayList<>();
+        int total = 0;
+        int imported = 0;
+        int errorRows = 0;
+        LocalDate first = null;
+        LocalDate last = null;
+        LocalDate today = LocalDate.now();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.strip();
+                if (lineNo == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isEmpty() || line.startsWith("#")
+                        || (lineNo == 1 && line.toLowerCase(Locale.ROOT).startsWith("record_date"))) {
+                    continue;
+                }
+                total++;
+                Object[] row;
+                try {
+                    row = parseLine(line, today);
+                } catch (IllegalArgumentException e) {
+                    errorRows++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add(new ScfiImportResultDto.RowError(lineNo, e.getMessage()));
+                    }
+                    continue;
+                }
+                LocalDate date = ((Date) row[0]).toLocalDate();
+                first = (first == null || date.isBefore(first)) ? date : first;
+                last = (last == null || date.isAfter(last)) ? date : last;
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    imported += flush(batch);
+                }
+            }
+        }
+        imported += flush(batch);
+
+        if (imported > 0) {
+            scfiSeriesService.invalidateAfterCommit();
+        }
+        log.info("SCFI 일괄 반영: 데이터 {}줄, 반영 {}줄, 오류 {}줄 ({} ~ {})", total, imported, errorRows, first, last);
+        return ScfiImportResultDto.builder()
+                .totalRows(total)
+                .importedRows(imported)
+                .errorRows(errorRows)
+                .firstDate(first)
+                .lastDate(last)
+                .errors(errors)
+                .build();
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    /**
+     * @return {record_date, index_value} 바인딩 값
+     * @throws IllegalArgumentException 형식 오류 (메시지는 결과에 그대로 표시)
+     */
+    static Object[] parseLine(String line, LocalDate today) {
+        List<String> cols = splitCsv(line);
+        if (cols.size() < 2) {
+            throw new IllegalArgumentException("'record_date,index_value' 형식이 아닙니다.");
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(cols.get(0).trim().replace('/', '-').replace('.', '-'), DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 잘못되었습니다: " + cols.get(0).trim());
+        }
+        if (date.isAfter(today)) {
+            throw new IllegalArgumentException("미래 날짜입니다: " + date);
+        }
+        BigDecimal value;
+        try {
+            value = new BigDecimal(cols.get(1).trim().replace(",", "")).setScale(2, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("지수 형식이 잘못되었습니다: " + cols.get(1).trim());
+        }
+        if (value.signum() <= 0 || value.compareTo(MAX_VALUE) > 0) {
+            throw new IllegalArgumentException("지수는 0보다 크고 " + MAX_VALUE.toPlainString() + " 이하여야 합니다: " + value);
+        }
+        return new Object[] { Date.valueOf(date), value };
+    }
+
+    // 큰따옴표로 감싼 값("1,896.65") 안의 쉼표는 구분자로 보지 않는다
+    private static List<String> splitCsv(String line) {
+        List<String> cols = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cols.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        cols.add(current.toString());
+        return cols;
+    }
+}
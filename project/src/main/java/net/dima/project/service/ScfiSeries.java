@@ -0,0 +1,261 @@
+package net.dima.project.service;
+
+import net.dima.project.dto.ScfiDataDto;
+import net.dima.project.dto.ScfiOhlcDto;
+import net.dima.project.entity.ScfiData;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * SCFI 지수 시계열의 변경 불가능한 스냅샷. (ScfiSeriesService가 교체하며 공유)
+ *
+ * 날짜 오름차순 배열로 보관해 기간 조회는 이진 탐색으로 잘라내고,
+ * 주간/월간 OHLC는 스냅샷을 만들 때 한 번 계산해 둡니다.
+ * etag는 내용(날짜, 지수)의 해시라서 인스턴스가 달라도 데이터가 같으면 같은 값입니다.
+ */
+public final class ScfiSeries {
+
+    public enum Interval { RAW, WEEK, MONTH }
+
+    private final LocalDate[] dates;
+    private final BigDecimal[] values;
+    private final List<ScfiOhlcDto> weekly;
+    private final List<ScfiOhlcDto> monthly;
+    private final String etag;
+    private final Instant lastModified;
+
+    /**
+     * @param rows 날짜 오름차순 (findByOrderByRecordDateAsc)
+     */
+    public ScfiSeries(List<ScfiData> rows, Instant lastModified) {
+        this.dates = new LocalDate[rows.size()];
+        this.values = new BigDecimal[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            dates[i] = rows.get(i).getRecordDate();
+            values[i] = rows.get(i).getIndexValue();
+        }
+        this.weekly = List.copyOf(ohlc(d -> d.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))));
+        this.monthly = List.copyOf(ohlc(d -> d.withDayOfMonth(1)));
+        this.etag = hash();
+        this.lastModified = lastModified;
+    }
+
+    public int size() {
+        return dates.length;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 같은 내용이면 이전 스냅샷의 변경 시각을 이어받는다 (다시 읽기만 한 경우 Last-Modified 유지)
+     */
+    public ScfiSeries withLastModifiedOf(ScfiSeries previous) {
+        if (previous == null || !previous.etag.equals(etag)) {
+            return this;
+        }
+        return new ScfiSeries(this, previous.lastModified);
+    }
+
+    private ScfiSeries(ScfiSeries source, Instant lastModified) {
+        this.dates = source.dates;
+        this.values = source.values;
+        this.weekly = source.weekly;
+        this.monthly = source.monthly;
+        this.etag = source.etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 최신 n개 (최신순)
+     */
+    public List<ScfiDataDto> latest(int n) {
+        List<ScfiDataDto> result = new ArrayList<>();
+        for (int i = dates.length - 1; i >= 0 && result.size() < n; i--) {
+            result.add(point(i));
+        }
+        return result;
+    }
+
+    /**
+     * date 당일 또는 그 이전 마지막 발표 지수. 그보다 앞선 발표가 없으면 첫 발표값, 데이터가 없으면 null
+     */
+    public BigDecimal valueAt(LocalDate date) {
+        if (dates.length == 0) {
+            return null;
+        }
+        int i = upperBound(date) - 1;
+        return values[Math.max(0, i)];
+    }
+
+    /**
+     * 기간 [from, to] 의 원본 지수. maxPoints > 0 이고 건수가 더 많으면 LTTB로 줄인다 (차트용, 처음/끝 점 유지)
+     */
+    public List<ScfiDataDto> points(LocalDate from, LocalDate to, int maxPoints) {
+        int start = lowerBound(from);
+        int end = upperBound(to);
+        if (maxPoints <= 0 || end - start <= maxPoints) {
+            List<ScfiDataDto> result = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                result.add(point(i));
+            }
+            return result;
+        }
+        return lttb(start, end, Math.max(3, maxPoints));
+    }
+
+    /**
+     * 기간 [from, to] 와 겹치는 주간(월요일 시작)/월간 OHLC
+     */
+    public List<ScfiOhlcDto> ohlc(Interval interval, LocalDate from, LocalDate to) {
+        List<ScfiOhlcDto> buckets = switch (interval) {
+            case WEEK -> weekly;
+            case MONTH -> monthly;
+            case RAW -> throw new IllegalArgumentException("원본 간격은 OHLC로 묶지 않습니다.");
+        };
+        List<ScfiOhlcDto> result = new ArrayList<>();
+        for (ScfiOhlcDto bucket : buckets) {
+            if ((from == null || !bucket.getPeriodEnd().isBefore(from)) && (to == null || !bucket.getPeriodStart().isAfter(to))) {
+                result.add(bucket);
+            }
+        }
+        return result;
+    }
+
+    // ===== 내부 =====
+
+    private ScfiDataDto point(int i) {
+        ScfiDataDto dto = new ScfiDataDto();
+        dto.setRecordDate(dates[i]);
+        dto.setIndexValue(values[i]);
+        return dto;
+    }
+
+    // from 이상인 첫 위치
+    private int lowerBound(LocalDate from) {
+        if (from == null) {
+            return 0;
+        }
+        int i = Arrays.binarySearch(dates, from);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    // to 초과인 첫 위치
+    private int upperBound(LocalDate to) {
+        if (to == null) {
+            return dates.length;
+        }
+        int i = Arrays.binarySearch(dates, to);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    private List<ScfiOhlcDto> ohlc(UnaryOperator<LocalDate> periodOf) {
+        List<ScfiOhlcDto> result = new ArrayList<>();
+        int i = 0;
+        while (i < dates.length) {
+            LocalDate period = periodOf.apply(dates[i]);
+            BigDecimal open = values[i];
+            BigDecimal high = open;
+            BigDecimal low = open;
+            int j = i;
+            while (j < dates.length && periodOf.apply(dates[j]).equals(period)) {
+                high = high.max(values[j]);
+                low = low.min(values[j]);
+                j++;
+            }
+            result.add(ScfiOhlcDto.builder()
+                    .periodStart(period)
+                    .periodEnd(dates[j - 1])
+                    .open(open).high(high).low(low).close(values[j - 1])
+                    .count(j - i)
+                    .build());
+            i = j;
+        }
+        return result;
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: 처음과 끝 점을 두고, 나머지를 (threshold - 2)개 구간으로 나눠
+     * 구간마다 이전에 고른 점, 다음 구간 평균과 만드는 삼각형이 가장 큰 점을 고른다.
+     * x 축은 날짜(epoch day)라서 발표가 빠진 주가 있어도 모양이 유지된다.
+     */
+    private List<ScfiDataDto> lttb(int start, int end, int threshold) {
+        int n = end - start;
+        List<ScfiDataDto> result = new ArrayList<>(threshold);
+        result.add(point(start));
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = start;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int rangeStart = start + 1 + (int) Math.floor(bucket * every);
+            int rangeEnd = start + 1 + (int) Math.floor((bucket + 1) * every);
+            int nextStart = rangeEnd;
+            int nextEnd = Math.min(end, start + 1 + (int) Math.floor((bucket + 2) * every));
+            if (bucket == threshold - 3) {
+                nextStart = end - 1;
+                nextEnd = end;
+            }
+            double avgX = 0;
+            double avgY = 0;
+            for (int k = nextStart; k < nextEnd; k++) {
+                avgX += x(k);
+                avgY += y(k);
+            }
+            int count = Math.max(1, nextEnd - nextStart);
+            avgX /= count;
+            avgY /= count;
+
+            double ax = x(a);
+            double ay = y(a);
+            double maxArea = -1;
+            int chosen = rangeStart;
+            for (int k = rangeStart; k < rangeEnd; k++) {
+                double area = Math.abs((ax - avgX) * (y(k) - ay) - (ax - x(k)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = k;
+                }
+            }
+            result.add(point(chosen));
+            a = chosen;
+        }
+        result.add(point(end - 1));
+        return result;
+    }
+
+    private double x(int i) {
+        return dates[i].toEpochDay();
+    }
+
+    private double y(int i) {
+        return values[i].doubleValue();
+    }
+
+    private String hash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < dates.length; i++) {
+                digest.update((dates[i] + "=" + values[i].toPlainString() + ";").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.repository.ScfiDataRepository;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * SCFI 지수 스냅샷 관리.
+ *
+ * 차트/대시보드 요청마다 scfi_data 전체를 읽던 것을, 메모리의 변경 불가능한 스냅샷(ScfiSeries) 하나로 대신합니다.
+ * - 갱신: AdminService.saveScfiData 가 커밋된 뒤 invalidateAfterCommit 으로 비우고, 다음 조회 때 다시 읽습니다.
+ * - 만료: 다른 인스턴스에서 저장된 값은 scfi.snapshot.ttl-ms 안에 반영됩니다.
+ * 다시 읽기는 한 스레드만 하고 나머지는 그 결과를 씁니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScfiSeriesService {
+
+    private final ScfiDataRepository scfiDataRepository;
+
+    @Value("${scfi.snapshot.ttl-ms:300000}")
+    private long ttlMs;
+
+    private volatile ScfiSeries current;
+    private volatile long loadedAt;
+
+    public ScfiSeries snapshot() {
+        ScfiSeries series = current;
+        if (series != null && System.currentTimeMillis() - loadedAt <= ttlMs) {
+            return series;
+        }
+        return reload();
+    }
+
+    // invalidate와 같은 잠금을 쓰므로, 읽는 도중 저장이 커밋되면 읽기가 끝난 뒤 비워지고 다음 조회가 새로 읽는다
+    private synchronized ScfiSeries reload() {
+        ScfiSeries series = current;
+        if (series != null && System.currentTimeMillis() - loadedAt <= ttlMs) {
+            return series; // 기다리는 동안 다른 스레드가 읽음
+        }
+        ScfiSeries loaded = new ScfiSeries(scfiDataRepository.findByOrderByRecordDateAsc(), Instant.now())
+                .withLastModifiedOf(series);
+        current = loaded;
+        loadedAt = System.currentTimeMillis();
+        log.debug("SCFI 스냅샷 로드: {}건, etag {}", loaded.size(), loaded.getEtag());
+        return loaded;
+    }
+
+    public synchronized void invalidate() {
+        // 이전 값은 남겨 두고 만료만 시킨다 (내용이 같으면 Last-Modified 유지)
+        loadedAt = 0;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 스냅샷을 비웁니다. (트랜잭션 밖이면 즉시)
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+}
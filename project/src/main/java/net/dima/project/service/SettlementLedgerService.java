@@ -0,0 +1,157 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.Money;
+import net.dima.project.entity.*;
+import net.dima.project.repository.ContainerRepository;
+import net.dima.project.repository.OfferRepository;
+import net.dima.project.repository.SettlementLedgerRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 정산 원장 기록 서비스.
+ * 컨테이너가 정산되면 그 컨테이너에 실린 최종 제안마다 재판매 체인을 거슬러 올라가며
+ * 체인의 각 거래를 판매(운송사) / 구매(재판매 요청자) / 요청(원본 화주) 행으로 남깁니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SettlementLedgerService {
+
+    // 원장은 추가 전용(@Immutable)이므로 엔티티 수정 대신 비어 있는 환산 컬럼만 한 번 채운다
+    private static final String FILL_BASE_AMOUNT_SQL =
+            "UPDATE settlement_ledger SET base_amount = ?, base_currency = ?, fx_rate = ? "
+            + "WHERE entry_id = ? AND base_amount IS NULL";
+
+    private final SettlementLedgerRepository settlementLedgerRepository;
+    private final OfferRepository offerRepository;
+    private final ContainerRepository containerRepository;
+    private final FxRateService fxRateService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 원장이 비어 있으면 기동 시 이미 정산된 컨테이너로 원장을 채웁니다. (도입 전 데이터 이관)
+    @Value("${ledger.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * 정산된 컨테이너의 거래를 원장에 기록합니다. 이미 기록된 컨테이너는 건너뜁니다.
+     */
+    public void recordSettlement(ContainerEntity container) {
+        if (settlementLedgerRepository.existsByContainerId(container.getContainerId())) {
+            return;
+        }
+        LocalDateTime settledAt = LocalDateTime.now();
+        List<SettlementLedgerEntry> entries = new ArrayList<>();
+
+        for (OfferEntity finalOffer : offerRepository.findAllByContainer(container)) {
+            if (finalOffer.getStatus() != OfferStatus.COMPLETED) {
+                continue; // 재판매된(RESOLD) 제안이나 탈락한 입찰은 최종 제안이 아님
+            }
+            // 판매/구매 거래일: 최종 컨테이너의 운송완료일 (없으면 각 제안의 생성일)
+            OfferEntity offer = finalOffer;
+            while (offer != null) {
+                RequestEntity request = offer.getRequest();
+                LocalDateTime transactionDate = Optional.ofNullable(container.getCompletedAt()).orElse(offer.getCreatedAt());
+
+                entries.add(entry(LedgerEntryType.SALE, offer.getForwarder(), request.getRequester(),
+                        offer, container, transactionDate, settledAt));
+
+                if (request.getSourceOffer() != null) {
+                    entries.add(entry(LedgerEntryType.PURCHASE, request.getRequester(), offer.getForwarder(),
+                            offer, container, transactionDate, settledAt));
+                } else {
+                    // 화주 요청 이력의 거래일은 낙찰 제안의 생성일 기준 (기존 화면과 동일)
+                    entries.add(entry(LedgerEntryType.SHIPPER, request.getRequester(), offer.getForwarder(),
+                            offer, container, offer.getCreatedAt(), settledAt));
+                }
+                offer = request.getSourceOffer();
+            }
+        }
+
+        settlementLedgerRepository.saveAll(entries);
+        log.info("정산 원장 기록: 컨테이너 {} ({}건)", container.getContainerId(), entries.size());
+    }
+
+    /**
+     * 원장이 비어 있으면 정산 완료 컨테이너를 원장으로 이관합니다.
+     * (기동 시 RequestScheduler가 작업 임대를 얻은 인스턴스에서 한 번만 호출)
+     * @return 이관한 컨테이너 수
+     */
+    public int backfillSettledContainers() {
+        if (!backfillOnStartup || settlementLedgerRepository.count() > 0) {
+            return 0;
+        }
+        List<ContainerEntity> settled = containerRepository.findByStatus(ContainerStatus.SETTLED);
+        if (settled.isEmpty()) {
+            return 0;
+        }
+        log.info("정산 원장 이관 시작: 정산 완료 컨테이너 {}개", settled.size());
+        settled.forEach(this::recordSettlement);
+        return settled.size();
+    }
+
+    /**
+     * 환율이 없어 기준 통화 금액이 비어 있는 원장 행을 현재 환율 스냅샷으로 채웁니다.
+     * (기동 시 RequestScheduler가 작업 임대를 얻은 인스턴스에서, 그리고 관리자가 환율을 등록한 직후 호출)
+     * 환산한 행은 한 번의 JDBC 배치 UPDATE로 보냅니다.
+     * @return 채운 행 수
+     */
+    public int fillMissingBaseAmounts() {
+        List<Object[]> batch = new ArrayList<>();
+        for (SettlementLedgerEntry e : settlementLedgerRepository.findByBaseAmountIsNull()) {
+            Optional<BigDecimal> rate = fxRateService.rateOf(e.getCurrency(), e.getTransactionDate().toLocalDate());
+            if (rate.isPresent()) {
+                Money base = Money.of(e.getPrice(), e.getCurrency()).convert(rate.get(), fxRateService.getBaseCurrency());
+                batch.add(new Object[] {base.amount(), base.currency(), rate.get(), e.getEntryId()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(FILL_BASE_AMOUNT_SQL, batch);
+        log.info("정산 원장 기준 통화 환산: {}건", batch.size());
+        return batch.size();
+    }
+
+    private SettlementLedgerEntry entry(LedgerEntryType type, UserEntity party, UserEntity partner, OfferEntity offer,
+                                        ContainerEntity container, LocalDateTime transactionDate, LocalDateTime settledAt) {
+        RequestEntity request = offer.getRequest();
+        // 통화가 없는 기존 제안은 기준 통화 금액으로 기록
+        Money price = Money.of(offer.getPrice(), offer.getCurrency(), fxRateService.getBaseCurrency());
+        Optional<BigDecimal> rate = fxRateService.rateOf(price.currency(), transactionDate.toLocalDate());
+        if (rate.isEmpty()) {
+            log.warn("환율 없음: {} ({}), 기준 통화 금액은 환율 등록 후 채워집니다.", price.currency(), transactionDate.toLocalDate());
+        }
+        return SettlementLedgerEntry.builder()
+                .entryType(type)
+                .party(party)
+                .partnerSeq(partner.getUserSeq())
+                .partnerName(partner.getCompanyName())
+                .itemName(request.getCargo().getItemName())
+                .departurePort(request.getDeparturePort())
+                .arrivalPort(request.getArrivalPort())
+                .price(offer.getPrice())
+                .currency(price.currency())
+                .baseAmount(rate.map(r -> price.convert(r, fxRateService.getBaseCurrency()).amount()).orElse(null))
+                .baseCurrency(rate.map(r -> fxRateService.getBaseCurrency()).orElse(null))
+                .fxRate(rate.orElse(null))
+                .transactionDate(transactionDate)
+                .settledAt(settledAt)
+                .containerId(container.getContainerId())
+                .offerId(offer.getOfferId())
+                .requestId(request.getRequestId())
+                .build();
+    }
+}
@@ -45,22 +45,33 @@ public class SseEmitterService {
 
     /**
      * 특정 사용자에게 이벤트를 전송합니다.
+     * @return 전송했으면 true, 연결이 없거나 전송에 실패했으면(연결은 목록에서 제거) false
      */
-    public void sendToClient(String userId, String eventName, Object data) {
+    public boolean sendToClient(String userId, String eventName, Object data) {
         SseEmitter emitter = emitters.get(userId);
-        if (emitter != null) {
-            try {
-                log.info("SSE: Sending event '{}' to user: {}. Data: {}", eventName, userId, data);
-                emitter.send(SseEmitter.event().name(eventName).data(data));
-            } catch (IOException e) {
-                log.error("SSE: Failed to send event to user {}. Removing emitter.", userId, e);
-                emitters.remove(userId);
-            }
-        } else {
+        if (emitter == null) {
             log.warn("SSE: No emitter found for user: {}", userId);
+            return false;
+        }
+        try {
+            log.info("SSE: Sending event '{}' to user: {}. Data: {}", eventName, userId, data);
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // IllegalStateException: 클라이언트가 이미 끊어 완료된 연결
+            log.error("SSE: Failed to send event to user {}. Removing emitter.", userId, e);
+            emitters.remove(userId, emitter);
+            return false;
         }
     }
     
+    /**
+     * 사용자가 현재 SSE로 연결되어 있는지 확인합니다.
+     */
+    public boolean isConnected(String userId) {
+        return emitters.containsKey(userId);
+    }
+
     public Map<String, SseEmitter> getEmitters() {
         return emitters;
     }
@@ -0,0 +1,30 @@
+package net.dima.project.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * 저장소에 있는 파일 하나의 메타데이터
+ * @param sha256 업로드 시 계산한 체크섬 (hex). 모르면 null
+ * @param contentType 모르면 null
+ * @param localPath 로컬 파일시스템에 있으면 그 경로 (sendfile 전송에 사용), 아니면 null
+ */
+public record StoredFile(String key, long size, String sha256, String contentType,
+                         Instant lastModified, Path localPath) {
+
+    /**
+     * 체크섬이 있으면 강한 ETag, 없으면(이전에 저장된 파일) 크기/수정 시각 기반의 약한 ETag
+     */
+    public String etag() {
+        if (sha256 != null) {
+            return "\"" + sha256 + "\"";
+        }
+        long modified = lastModified == null ? 0 : lastModified.toEpochMilli();
+        return "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(modified) + "\"";
+    }
+
+    public StoredFile withMetadata(String sha256, String contentType) {
+        return new StoredFile(key, size, sha256 != null ? sha256 : this.sha256,
+                contentType != null ? contentType : this.contentType, lastModified, localPath);
+    }
+}
@@ -0,0 +1,214 @@
+package net.dima.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.CachedUser;
+import net.dima.project.entity.LedgerEntryType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 거래내역(정산 원장) 내보내기 서비스.
+ * 정방향 전용(forward-only) JDBC 커서로 한 행씩 읽어 곧바로 응답 스트림에 CSV/XLSX로 기록하므로,
+ * 수백만 건을 내보내도 서버 메모리 사용량이 일정합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // 스프레드시트가 수식으로 해석할 수 있는 첫 글자 (OWASP CSV Injection: = + - @ 탭 CR)
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final Object[] HEADER = {"거래일", "유형", "출발항", "도착항", "품명", "거래처", "금액", "통화", "상태"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserCache userCache;
+
+    // MySQL Connector/J는 fetchSize = Integer.MIN_VALUE 일 때 결과를 한 행씩 스트리밍합니다.
+    // (다른 DB나 useCursorFetch=true 환경에서는 양수 값으로 지정)
+    @Value("${export.jdbc-fetch-size:-2147483648}")
+    private int fetchSize;
+
+    public enum ExportFormat {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat from(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 형식입니다: " + value);
+            }
+        }
+    }
+
+    /**
+     * 내보내기 스트림을 준비합니다. 사용자 확인과 조건 검증은 요청 스레드에서 먼저 수행하고,
+     * 실제 조회/기록은 반환된 StreamingResponseBody가 응답을 쓸 때 수행됩니다.
+     */
+    public StreamingResponseBody export(String currentUserId, Set<LedgerEntryType> types,
+                                        LocalDate startDate, LocalDate endDate, String keyword, ExportFormat format) {
+        Integer userSeq = userCache.findByUserId(currentUserId).map(CachedUser::getUserSeq)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦을 수 없습니다.");
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT transaction_date, entry_type, departure_port, arrival_port, item_name, partner_name, price, currency " +
+                "FROM settlement_ledger WHERE party_seq = ? AND entry_type IN (")
+                .append(types.stream().map(t -> "?").collect(Collectors.joining(", "))).append(")");
+        List<Object> params = new ArrayList<>();
+        params.add(userSeq);
+        types.forEach(t -> params.add(t.name()));
+        if (startDate != null) {
+            sql.append(" AND transaction_date >= ?");
+            params.add(Timestamp.valueOf(startDate.atStartOfDay()));
+        }
+        if (endDate != null) {
+            sql.append(" AND transaction_date < ?");
+            params.add(Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+        }
+        String pattern = TransactionHistoryService.containsPattern(keyword);
+        if (pattern != null) {
+            sql.append(" AND (LOWER(item_name) LIKE ? ESCAPE '!' OR LOWER(partner_name) LIKE ? ESCAPE '!')");
+            params.add(pattern);
+            params.add(pattern);
+        }
+        sql.append(" ORDER BY transaction_date DESC, entry_id DESC");
+
+        String query = sql.toString();
+        return out -> {
+            long started = System.currentTimeMillis();
+            long rows = (format == ExportFormat.XLSX) ? writeXlsx(query, params, out) : writeCsv(query, params, out);
+            log.info("거래내역 내보내기 완료: user={}, format={}, rows={}, {}ms",
+                    currentUserId, format, rows, System.currentTimeMillis() - started);
+        };
+    }
+
+    private long writeCsv(String query, List<Object> params, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF'); // 엑셀에서 한글이 깨지지 않도록 BOM 추가
+        writeCsvLine(writer, HEADER);
+        long rows = streamRows(query, params, values -> writeCsvLine(writer, values));
+        writer.flush();
+        return rows;
+    }
+
+    private long writeXlsx(String query, List<Object> params, OutputStream out) throws IOException {
+        try (XlsxStreamWriter xlsx = new XlsxStreamWriter(out, "거래내역", HEADER)) {
+            return streamRows(query, params, xlsx::writeRow);
+        }
+    }
+
+    private long streamRows(String query, List<Object> params, RowWriter rowWriter) {
+        long[] count = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Timestamp transactionDate = rs.getTimestamp("transaction_date");
+            try {
+                rowWriter.write(new Object[] {
+                        transactionDate != null ? DATE_FORMAT.format(transactionDate.toLocalDateTime()) : null,
+                        LedgerEntryType.valueOf(rs.getString("entry_type")).getLabel(),
+                        rs.getString("departure_port"),
+                        rs.getString("arrival_port"),
+                        rs.getString("item_name"),
+                        rs.getString("partner_name"),
+                        rs.getBigDecimal("price"),
+                        rs.getString("currency"),
+                        "정산완료"
+                });
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 등: 조회를 중단합니다.
+                throw new UncheckedIOException(e);
+            }
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = (value instanceof BigDecimal decimal) ? decimal.toPlainString() : value.toString();
+            if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text; // 스프레드시트 수식으로 해석되지 않도록
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 내보내기 파일명 (예: transactions_20250801.csv)
+     */
+    public String fileName(String prefix, ExportFormat format) {
+        return prefix + "_" + LocalDateTime.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + format.getExtension();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+    }
+}
@@ -1,200 +1,111 @@
-// [✅ /service/TransactionHistoryService.java 파일 전체를 이 최종 코드로 교체해주세요]
 package net.dima.project.service;
 
 import lombok.RequiredArgsConstructor;
+import net.dima.project.dto.CachedUser;
 import net.dima.project.dto.TransactionHistoryDto;
-import net.dima.project.entity.*;
-import net.dima.project.repository.OfferRepository;
-import net.dima.project.repository.RequestRepository;
-import net.dima.project.repository.UserRepository;
+import net.dima.project.entity.LedgerEntryType;
+import net.dima.project.entity.SettlementLedgerEntry;
+import net.dima.project.repository.SettlementLedgerRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.Predicate;
-import java.util.ArrayList;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime; // LocalDateTime 임포트 추가
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Set;
 
+/**
+ * 거래내역 조회 서비스.
+ * 컨테이너 정산 시 기록된 정산 원장(settlement_ledger)을 기간/검색어로 조회하고 DB에서 페이징합니다.
+ * 정렬은 허용한 속성만 쓰고, 같은 값끼리 페이지 사이에서 순서가 바뀌지 않도록 항상 entryId 역순을 마지막에 붙입니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class TransactionHistoryService {
 
-    private final UserRepository userRepository;
-    private final RequestRepository requestRepository;
-    private final OfferRepository offerRepository;
+    private static final LocalDateTime MIN_DATE = LocalDate.of(1970, 1, 1).atStartOfDay();
+    private static final LocalDateTime MAX_DATE = LocalDate.of(9999, 1, 1).atStartOfDay();
 
-    public List<TransactionHistoryDto> getTransactionHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword) {
-        List<TransactionHistoryDto> sales = getSalesHistory(currentUserId, startDate, endDate, keyword);
-        List<TransactionHistoryDto> purchases = getPurchaseHistory(currentUserId, startDate, endDate, keyword);
+    // 거래내역 화면에서 정렬할 수 있는 속성 (목록에 없는 정렬 기준은 무시)
+    private static final Set<String> SORTABLE = Set.of("transactionDate", "price", "itemName", "partnerName");
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc("transactionDate"));
+    private static final Sort.Order TIE_BREAKER = Sort.Order.desc("entryId");
 
-        return Stream.concat(sales.stream(), purchases.stream())
-                .sorted(Comparator.comparing(TransactionHistoryDto::getTransactionDate).reversed())
-                .collect(Collectors.toList());
-    }
-
-    public List<TransactionHistoryDto> getSalesHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword) {
-        UserEntity user = userRepository.findByUserId(currentUserId);
-        List<OfferStatus> successfulStatuses = List.of(OfferStatus.ACCEPTED, OfferStatus.CONFIRMED, OfferStatus.SHIPPED, OfferStatus.COMPLETED, OfferStatus.RESOLD);
-        List<OfferEntity> mySuccessfulOffers = offerRepository.findByForwarderAndStatusIn(user, successfulStatuses);
-        List<TransactionHistoryDto> salesHistory = new ArrayList<>();
-
-        for (OfferEntity myOffer : mySuccessfulOffers) {
-            Optional<OfferEntity> finalOfferInChainOpt = findFinalOffer(myOffer.getRequest());
+    private final UserCache userCache;
+    private final SettlementLedgerRepository settlementLedgerRepository;
 
-            if (finalOfferInChainOpt.isPresent() && finalOfferInChainOpt.get().getContainer().getStatus() == ContainerStatus.SETTLED) {
-                ContainerEntity finalContainer = finalOfferInChainOpt.get().getContainer();
-                
-                // 거래일을 '운송완료일'로, 없으면 '제안생성일'을 사용
-                LocalDateTime transactionDate = Optional.ofNullable(finalContainer.getCompletedAt())
-                                                        .orElse(myOffer.getCreatedAt());
-
-                TransactionHistoryDto dto = TransactionHistoryDto.builder()
-                        .transactionDate(transactionDate)
-                        .type("판매")
-                        .itemName(myOffer.getRequest().getCargo().getItemName())
-                        .departurePort(myOffer.getRequest().getDeparturePort())
-                        .arrivalPort(myOffer.getRequest().getArrivalPort())
-                        .partnerName(myOffer.getRequest().getRequester().getCompanyName())
-                        .price(myOffer.getPrice())
-                        .currency(myOffer.getCurrency())
-                        .status("정산완료")
-                        .build();
-                salesHistory.add(dto);
-            }
-        }
-
-        return salesHistory.stream()
-            .filter(dto -> (startDate == null || !dto.getTransactionDate().toLocalDate().isBefore(startDate)))
-            .filter(dto -> (endDate == null || !dto.getTransactionDate().toLocalDate().isAfter(endDate)))
-            .filter(dto -> (keyword == null || keyword.isBlank() ||
-                    (dto.getItemName() != null && dto.getItemName().toLowerCase().contains(keyword.toLowerCase())) ||
-                    (dto.getPartnerName() != null && dto.getPartnerName().toLowerCase().contains(keyword.toLowerCase()))))
-            .collect(Collectors.toList());
+    // 운송사: 판매 + 구매
+    public Page<TransactionHistoryDto> getTransactionHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword, Pageable pageable) {
+        return findHistory(currentUserId, EnumSet.of(LedgerEntryType.SALE, LedgerEntryType.PURCHASE), startDate, endDate, keyword, pageable);
     }
 
-    public List<TransactionHistoryDto> getPurchaseHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword) {
-        UserEntity user = userRepository.findByUserId(currentUserId);
-        List<RequestEntity> myResaleRequests = requestRepository.findByRequesterAndStatusAndSourceOfferIsNotNull(user, RequestStatus.CLOSED);
-
-        Map<Long, OfferEntity> winningOffersMap = offerRepository.findWinningOffersForRequests(myResaleRequests).stream()
-                .collect(Collectors.toMap(offer -> offer.getRequest().getRequestId(), Function.identity()));
-
-        return myResaleRequests.stream().map(req -> {
-            OfferEntity winningOffer = winningOffersMap.get(req.getRequestId());
-
-            if (winningOffer == null || winningOffer.getContainer().getStatus() != ContainerStatus.SETTLED) {
-                return null;
-            }
-            
-            ContainerEntity container = winningOffer.getContainer();
-            // 거래일을 '운송완료일'로, 없으면 '제안생성일'을 사용
-            LocalDateTime transactionDate = Optional.ofNullable(container.getCompletedAt())
-                                                    .orElse(winningOffer.getCreatedAt());
-            
-            return TransactionHistoryDto.builder()
-                    .transactionDate(transactionDate)
-                    .type("구매")
-                    .itemName(req.getCargo().getItemName())
-                    .departurePort(req.getDeparturePort())
-                    .arrivalPort(req.getArrivalPort())
-                    .partnerName(winningOffer.getForwarder().getCompanyName())
-                    .price(winningOffer.getPrice())
-                    .currency(winningOffer.getCurrency())
-                    .status("정산완료")
-                    .build();
-        })
-        .filter(dto -> dto != null)
-        .filter(dto -> (startDate == null || !dto.getTransactionDate().toLocalDate().isBefore(startDate)))
-        .filter(dto -> (endDate == null || !dto.getTransactionDate().toLocalDate().isAfter(endDate)))
-        .filter(dto -> (keyword == null || keyword.isBlank() ||
-                (dto.getItemName() != null && dto.getItemName().toLowerCase().contains(keyword.toLowerCase())) ||
-                (dto.getPartnerName() != null && dto.getPartnerName().toLowerCase().contains(keyword.toLowerCase()))))
-        .collect(Collectors.toList());
+    public Page<TransactionHistoryDto> getSalesHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword, Pageable pageable) {
+        return findHistory(currentUserId, EnumSet.of(LedgerEntryType.SALE), startDate, endDate, keyword, pageable);
     }
-    
-    public Page<TransactionHistoryDto> getShipperHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword, Pageable pageable) {
-        UserEntity shipper = userRepository.findByUserId(currentUserId);
-        List<RequestEntity> closedRequests = requestRepository.findByRequesterAndSourceOfferIsNullAndStatus(shipper, RequestStatus.CLOSED);
-        
-        Map<Long, OfferEntity> winningOffersMap = offerRepository.findWinningOffersForRequests(closedRequests).stream()
-                .collect(Collectors.toMap(offer -> offer.getRequest().getRequestId(), Function.identity(), (o1, o2) -> o1));
-
-        Map<Long, Optional<OfferEntity>> finalOffersMap = closedRequests.stream()
-                .collect(Collectors.toMap(RequestEntity::getRequestId, this::findFinalOffer));
 
-        List<TransactionHistoryDto> historyList = closedRequests.stream()
-                .map(req -> {
-                    Optional<OfferEntity> directWinningOfferOpt = Optional.ofNullable(winningOffersMap.get(req.getRequestId()));
-                    Optional<OfferEntity> finalOfferOpt = finalOffersMap.getOrDefault(req.getRequestId(), Optional.empty());
+    public Page<TransactionHistoryDto> getPurchaseHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword, Pageable pageable) {
+        return findHistory(currentUserId, EnumSet.of(LedgerEntryType.PURCHASE), startDate, endDate, keyword, pageable);
+    }
 
-                    if (directWinningOfferOpt.isPresent() && finalOfferOpt.isPresent() && finalOfferOpt.get().getContainer().getStatus() == ContainerStatus.SETTLED) {
-                        OfferEntity directWinningOffer = directWinningOfferOpt.get();
-                        
-                        return TransactionHistoryDto.builder()
-                                .transactionDate(directWinningOffer.getCreatedAt())
-                                .type("요청")
-                                .itemName(req.getCargo().getItemName())
-                                .departurePort(req.getDeparturePort())
-                                .arrivalPort(req.getArrivalPort())
-                                .partnerName(directWinningOffer.getForwarder().getCompanyName())
-                                .price(directWinningOffer.getPrice())
-                                .currency(directWinningOffer.getCurrency())
-                                .status("정산완료")
-                                .build();
-                    }
-                    return null;
-                })
-                .filter(dto -> dto != null)
-                .filter(dto -> (startDate == null || !dto.getTransactionDate().toLocalDate().isBefore(startDate)))
-                .filter(dto -> (endDate == null || !dto.getTransactionDate().toLocalDate().isAfter(endDate)))
-                .filter(dto -> (keyword == null || keyword.isBlank() ||
-                        (dto.getItemName() != null && dto.getItemName().toLowerCase().contains(keyword.toLowerCase())) ||
-                        (dto.getPartnerName() != null && dto.getPartnerName().toLowerCase().contains(keyword.toLowerCase()))))
-                .sorted(Comparator.comparing(TransactionHistoryDto::getTransactionDate).reversed())
-                .collect(Collectors.toList());
+    // 화주: 원본 요청 거래
+    public Page<TransactionHistoryDto> getShipperHistory(String currentUserId, LocalDate startDate, LocalDate endDate, String keyword, Pageable pageable) {
+        return findHistory(currentUserId, EnumSet.of(LedgerEntryType.SHIPPER), startDate, endDate, keyword, pageable);
+    }
 
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), historyList.size());
-        List<TransactionHistoryDto> pageContent = (start > end) ? List.of() : historyList.subList(start, end);
+    private Page<TransactionHistoryDto> findHistory(String currentUserId, Set<LedgerEntryType> types,
+                                                    LocalDate startDate, LocalDate endDate, String keyword, Pageable pageable) {
+        Integer userSeq = userCache.findByUserId(currentUserId).map(CachedUser::getUserSeq)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        LocalDateTime from = (startDate != null) ? startDate.atStartOfDay() : MIN_DATE;
+        LocalDateTime to = (endDate != null) ? endDate.plusDays(1).atStartOfDay() : MAX_DATE; // 종료일 포함
+        String keywordPattern = containsPattern(keyword);
 
-        return new PageImpl<>(pageContent, pageable, historyList.size());
+        return settlementLedgerRepository.findHistory(userSeq, types, from, to, keywordPattern, historyPageable(pageable))
+                .map(TransactionHistoryService::toDto);
     }
 
-    private Optional<OfferEntity> findFinalOffer(RequestEntity request) {
-        RequestEntity currentRequest = request;
-        while (true) {
-            Optional<OfferEntity> winningOfferOpt = offerRepository.findAllByRequest(currentRequest).stream()
-                    .filter(o -> o.getStatus() != OfferStatus.PENDING && o.getStatus() != OfferStatus.REJECTED)
-                    .findFirst();
+    /**
+     * 요청 정렬에서 허용한 속성만 남기고(없으면 거래일 역순) entryId 역순을 덧붙인 페이지 요청
+     */
+    static Pageable historyPageable(Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().filter(order -> SORTABLE.contains(order.getProperty())).toList();
+        Sort sort = (orders.isEmpty() ? DEFAULT_SORT : Sort.by(orders)).and(Sort.by(TIE_BREAKER));
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
 
-            if (winningOfferOpt.isPresent()) {
-                OfferEntity winningOffer = winningOfferOpt.get();
-                if (winningOffer.getStatus() == OfferStatus.RESOLD) {
-                    List<RequestEntity> nextRequests = requestRepository.findBySourceOfferOrderedByCreatedAtDesc(winningOffer);
-                    if (!nextRequests.isEmpty()) {
-                        currentRequest = nextRequests.get(0);
-                    } else {
-                        return winningOfferOpt;
-                    }
-                } else {
-                    return winningOfferOpt;
-                }
-            } else {
-                return Optional.empty();
-            }
+    /**
+     * 검색어 부분 일치용 LIKE 패턴 (소문자, ESCAPE '!'). 검색어의 %, _, ! 는 문자 그대로 찾도록 이스케이프한다.
+     * @return 검색어가 없으면 null
+     */
+    static String containsPattern(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
         }
+        String escaped = keyword.trim().toLowerCase()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
+    static TransactionHistoryDto toDto(SettlementLedgerEntry entry) {
+        return TransactionHistoryDto.builder()
+                .transactionDate(entry.getTransactionDate())
+                .type(entry.getEntryType().getLabel())
+                .itemName(entry.getItemName())
+                .departurePort(entry.getDeparturePort())
+                .arrivalPort(entry.getArrivalPort())
+                .partnerName(entry.getPartnerName())
+                .price(entry.getPrice())
+                .currency(entry.getCurrency())
+                .status("정산완료")
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,238 @@
+package net.dima.project.service;
+
+import net.dima.project.dto.CachedUser;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.UserRepository;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 로그인 사용자 조회용 캐시. (userId / userSeq / 소셜 provider+providerId 로 조회)
+ *
+ * 거의 모든 서비스 메서드가 userRepository.findByUserId(currentUserId)로 시작하는데,
+ * 실제로 필요한 것은 대부분 userSeq(연관관계 조건, 외래키)뿐입니다.
+ * 이 캐시는 userId -> 사용자 요약을 기억하고, 엔티티가 필요하면 getReference로 프록시만 만들어
+ * users 테이블을 다시 읽지 않게 합니다. (프록시의 다른 필드를 읽을 때만 SELECT)
+ *
+ * - 크기 제한: 접근 순서 LRU, user.cache.max-size 초과 시 가장 오래 안 쓴 항목부터 제거
+ * - 무효화: 사용자 정보가 바뀌면 invalidateAfterCommit으로 커밋 뒤 제거 (AdminService.updateUserStatus 등)
+ * - 만료: 무효화는 이 인스턴스에만 적용되므로, 다른 인스턴스에서 바뀐 값은 user.cache.ttl-ms 안에 반영됩니다.
+ * 없는 사용자는 캐시하지 않습니다. (가입 직후 조회가 바로 보이도록)
+ *
+ * 폼 로그인(LoginService)과 카카오/네이버 로그인도 이 캐시로 사용자를 찾으므로, 재로그인이 몰려도 users를 다시 읽지 않고
+ * 로그인 직후 이어지는 요청들도 이미 채워진 캐시를 씁니다.
+ */
+@Service
+public class UserCache {
+
+    private static final class Entry {
+        private final CachedUser user;
+        private final long loadedAt;
+
+        private Entry(CachedUser user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMs;
+
+    // 아래 필드는 this 로 동기화한다. userId / provider 색인은 LRU 제거와 함께 정리
+    private final LinkedHashMap<Integer, Entry> bySeq;
+    private final Map<String, Integer> seqByUserId = new HashMap<>();
+    private final Map<String, Integer> seqByProvider = new HashMap<>();
+    // 무효화 횟수. 조회 도중 무효화가 있었으면 읽어 온 값을 캐시에 넣지 않는다
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${user.cache.max-size:10000}") int maxSize,
+                     @Value("${user.cache.ttl-ms:600000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.bySeq = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() <= UserCache.this.maxSize) {
+                    return false;
+                }
+                unindex(eldest.getValue().user);
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public Optional<CachedUser> findByUserId(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            Integer userSeq = seqByUserId.get(userId);
+            CachedUser cached = userSeq == null ? null : fresh(userSeq);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+        }
+        return load(() -> userRepository.findByUserId(userId));
+    }
+
+    /**
+     * 소셜 로그인 사용자 조회 (카카오/네이버)
+     */
+    public Optional<CachedUser> findByProvider(String provider, String providerId) {
+        if (provider == null || providerId == null) {
+            return Optional.empty();
+        }
+        String key = providerKey(provider, providerId);
+        synchronized (this) {
+            Integer userSeq = seqByProvider.get(key);
+            CachedUser cached = userSeq == null ? null : fresh(userSeq);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+        }
+        return load(() -> userRepository.findByProviderAndProviderId(provider, providerId));
+    }
+
+    public Optional<CachedUser> findByUserSeq(Integer userSeq) {
+        if (userSeq == null) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            CachedUser cached = fresh(userSeq);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+        }
+        return load(() -> userRepository.findById(userSeq).orElse(null));
+    }
+
+    /**
+     * 연관관계 설정/조건용 사용자 엔티티 프록시. 트랜잭션 안에서 호출해야 합니다.
+     * @return 없는 사용자면 null (기존 findByUserId와 같음)
+     */
+    public UserEntity getReference(String userId) {
+        return findByUserId(userId)
+                .map(user -> userRepository.getReferenceById(user.getUserSeq()))
+                .orElse(null);
+    }
+
+    public synchronized void invalidate(Integer userSeq) {
+        generation++;
+        Entry removed = bySeq.remove(userSeq);
+        if (removed != null) {
+            unindex(removed.user);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 무효화합니다. (롤백되면 캐시 유지, 트랜잭션 밖이면 즉시)
+     * 커밋 전에 지우면 다른 요청이 아직 커밋되지 않은 이전 값을 다시 캐시할 수 있습니다.
+     */
+    public void invalidateAfterCommit(Integer userSeq) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userSeq);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userSeq);
+            }
+        });
+    }
+
+    /**
+     * 캐시 현황 (관리자 모니터링용)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("size", bySeq.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("ttlMs", ttlMs);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    // ===== 내부 =====
+
+    private static String providerKey(String provider, String providerId) {
+        return provider + ':' + providerId;
+    }
+
+    // 색인이 같은 사용자를 가리킬 때만 지운다 (다른 사용자로 다시 채워진 색인은 유지)
+    private void unindex(CachedUser user) {
+        if (user.getUserId() != null) {
+            seqByUserId.remove(user.getUserId(), user.getUserSeq());
+        }
+        if (user.getProviderId() != null) {
+            seqByProvider.remove(providerKey(user.getProvider(), user.getProviderId()), user.getUserSeq());
+        }
+    }
+
+    // 만료된 항목은 지우고 null
+    private CachedUser fresh(Integer userSeq) {
+        Entry entry = bySeq.get(userSeq);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.loadedAt > ttlMs) {
+            bySeq.remove(userSeq);
+            unindex(entry.user);
+            return null;
+        }
+        return entry.user;
+    }
+
+    private Optional<CachedUser> load(Supplier<UserEntity> loader) {
+        misses.increment();
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+        }
+        UserEntity entity = loader.get();
+        if (entity == null) {
+            return Optional.empty();
+        }
+        CachedUser user = CachedUser.from(entity);
+        synchronized (this) {
+            if (generation == startGeneration) {
+                Entry previous = bySeq.put(user.getUserSeq(), new Entry(user, System.currentTimeMillis()));
+                if (previous != null) {
+                    unindex(previous.user);
+                }
+                if (user.getUserId() != null) {
+                    seqByUserId.put(user.getUserId(), user.getUserSeq());
+                }
+                if (user.getProviderId() != null) {
+                    seqByProvider.put(providerKey(user.getProvider(), user.getProviderId()), user.getUserSeq());
+                }
+            }
+        }
+        return Optional.of(user);
+    }
+}
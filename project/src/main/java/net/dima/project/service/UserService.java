@@ -1,18 +1,28 @@
 package net.dima.project.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.dima.project.dto.UserDTO;
 import net.dima.project.entity.UserEntity;
 import net.dima.project.repository.UserRepository;
 import org.springframework.web.multipart.MultipartFile;
-import java.io.File;
-import java.util.UUID;
 import org.springframework.context.ApplicationEventPublisher; // ✅ import 추가
 import net.dima.project.entity.NotificationEvents;
 
@@ -25,12 +35,21 @@ import net.dima.project.entity.NotificationEvents;
 @Slf4j
 public class UserService {
     private final UserRepository repository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final ApplicationEventPublisher eventPublisher;
+    private final DocumentStore documentStore;
+    private final FileStorage fileStorage;
 
-    // [수정] application.properties에 정의된 파일 업로드 경로를 주입받음
-    @Value("${file.upload-dir}")
-    private String uploadPath;
+    // 사업자등록증으로 받을 수 있는 형식 (확장자 -> 콘텐츠 타입). 실제 파일 앞부분(시그니처)도 같은 형식이어야 함
+    private static final Map<String, String> LICENSE_TYPES = Map.of(
+            "pdf", "application/pdf",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg");
+
+    // 사업자등록증 최대 크기 (multipart 전체 제한과 별개)
+    @Value("${storage.license.max-bytes:10485760}")
+    private long licenseMaxBytes;
 
     /**
      * 일반 회원가입 처리 (파일 업로드 기능 포함)
@@ -39,32 +58,34 @@ public class UserService {
      */
     public void joinProc(UserDTO userDTO, String role) throws IOException {
         log.info("회원가입 처리 시작. 역할: {}", role);
+
+        // 비밀번호 해시는 전용 풀에서 계산하고, 그동안 사업자등록증 파일을 처리합니다.
+        CompletableFuture<String> passwordHash = passwordHashingService.encodeAsync(userDTO.getUserPwd());
         
         // --- 파일 업로드 처리 ---
         MultipartFile file = userDTO.getBusinessLicenseFile();
         
         if (file != null && !file.isEmpty()) {
-            String originalFilename = file.getOriginalFilename();
-            // 파일명이 겹치지 않도록 UUID를 이용해 고유한 저장용 파일명 생성
-            String savedFilename = UUID.randomUUID().toString() + "_" + originalFilename;
+            String originalFilename = StringUtils.getFilename(StringUtils.cleanPath(String.valueOf(file.getOriginalFilename())));
+            String extension = licenseExtension(originalFilename);
+            String contentType = checkLicenseFile(file, extension);
 
-            // DTO에 파일 이름 정보 설정
-            userDTO.setBusinessLicenseOrigName(originalFilename);
-            userDTO.setBusinessLicenseSavedName(savedFilename);
-            
-            // 지정된 경로에 실제 파일 저장
-            File saveDir = new File(uploadPath);
-            if (!saveDir.exists()) {
-                saveDir.mkdirs(); // 폴더가 없으면 생성
+            // 문서 저장소에 저장 (같은 내용이면 기존 파일을 참조). 가입이 롤백되면 참조 수도 롤백되어 가비지 수집 대상이 됨
+            StoredFile stored;
+            try (InputStream in = file.getInputStream()) {
+                stored = documentStore.put(in, contentType, licenseMaxBytes);
             }
-            File saveFile = new File(uploadPath, savedFilename);
-            file.transferTo(saveFile);
 
-            log.info("파일 저장 완료: {}", saveFile.getAbsolutePath());
+            // DTO에 파일 정보 설정 (저장 이름 = 문서 ID, 원본 이름은 다운로드 시 Content-Disposition으로 복원)
+            userDTO.setBusinessLicenseOrigName(originalFilename);
+            userDTO.setBusinessLicenseSavedName(stored.sha256());
+            userDTO.setBusinessLicenseSize(stored.size());
+            userDTO.setBusinessLicenseSha256(stored.sha256());
+            userDTO.setBusinessLicenseContentType(contentType);
         }
 
         // 비밀번호를 암호화
-        userDTO.setUserPwd(bCryptPasswordEncoder.encode(userDTO.getUserPwd()));
+        userDTO.setUserPwd(passwordHashingService.await(passwordHash));
         // 역할 설정
         userDTO.setRoles(role);
         
@@ -87,6 +108,110 @@ public class UserService {
         eventPublisher.publishEvent(new NotificationEvents.UserJoinedEvent(this));
     }
 
+    /**
+     * 저장된 사업자등록증 파일 이름으로 업로드한 사용자를 찾습니다. (다운로드 시 원본 이름/체크섬 확인용)
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserDTO> findByBusinessLicense(String savedName) {
+        return Optional.ofNullable(repository.findFirstByBusinessLicenseSavedName(savedName)).map(UserDTO::toDTO);
+    }
+
+    private static String licenseExtension(String filename) {
+        String extension = StringUtils.getFilenameExtension(filename);
+        extension = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+        if (!LICENSE_TYPES.containsKey(extension)) {
+            throw new IllegalArgumentException("사업자등록증은 PDF, PNG, JPG 파일만 첨부할 수 있습니다.");
+        }
+        return extension;
+    }
+
+    // 크기와 파일 시그니처를 확인하고 콘텐츠 타입을 돌려줌 (브라우저가 보낸 Content-Type은 믿지 않음)
+    private String checkLicenseFile(MultipartFile file, String extension) throws IOException {
+        if (file.getSize() > licenseMaxBytes) {
+            throw new IllegalArgumentException("사업자등록증 파일은 " + (licenseMaxBytes / (1024 * 1024)) + "MB를 넘을 수 없습니다.");
+        }
+        byte[] head;
+        try (InputStream in = file.getInputStream()) {
+            head = in.readNBytes(8);
+        }
+        String contentType = LICENSE_TYPES.get(extension);
+        boolean matches = switch (contentType) {
+            case "application/pdf" -> startsWith(head, 0x25, 0x50, 0x44, 0x46);   // %PDF
+            case "image/png" -> startsWith(head, 0x89, 0x50, 0x4E, 0x47);         // .PNG
+            default -> startsWith(head, 0xFF, 0xD8, 0xFF);                        // JPEG SOI
+        };
+        if (!matches) {
+            throw new IllegalArgumentException("파일 내용이 확장자(" + extension + ")와 맞지 않습니다.");
+        }
+        return contentType;
+    }
+
+    private static boolean startsWith(byte[] head, int... signature) {
+        if (head.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * UUID_원본이름 형식으로 저장된 이전 사업자등록증을 문서 저장소로 옮깁니다.
+     * (기동 시 RequestScheduler가 작업 임대를 얻은 인스턴스에서 호출, 이전 파일은 커밋 후 삭제)
+     * @return 옮긴 파일 수
+     */
+    public int migrateLegacyLicenses() throws IOException {
+        List<String> legacyFiles = new ArrayList<>();
+        for (UserEntity user : repository.findByBusinessLicenseSavedNameIsNotNull()) {
+            String savedName = user.getBusinessLicenseSavedName();
+            if (DocumentStore.isDocumentId(savedName)) {
+                continue;
+            }
+            Optional<StoredFile> legacy;
+            try {
+                legacy = fileStorage.stat(savedName);
+            } catch (IllegalArgumentException e) {
+                // 저장소가 허용하지 않는 이름: 이 파일만 건너뛰고 나머지는 계속 이관
+                log.warn("사업자등록증 파일 이름 오류로 이관 건너뜀 (사용자 {}): {} - {}", user.getUserId(), savedName, e.getMessage());
+                continue;
+            }
+            if (legacy.isEmpty()) {
+                log.warn("사업자등록증 파일 없음 (사용자 {}): {}", user.getUserId(), savedName);
+                continue;
+            }
+            String contentType = user.getBusinessLicenseContentType() != null ? user.getBusinessLicenseContentType()
+                    : MediaTypeFactory.getMediaType(savedName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            StoredFile stored;
+            try (InputStream in = Channels.newInputStream(fileStorage.open(savedName))) {
+                stored = documentStore.put(in, contentType, Long.MAX_VALUE);
+            }
+            user.setBusinessLicenseSavedName(stored.sha256());
+            user.setBusinessLicenseSize(stored.size());
+            user.setBusinessLicenseSha256(stored.sha256());
+            user.setBusinessLicenseContentType(contentType);
+            legacyFiles.add(savedName);
+        }
+        if (!legacyFiles.isEmpty()) {
+            log.info("사업자등록증 {}개를 문서 저장소로 이관", legacyFiles.size());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (String legacyFile : legacyFiles) {
+                        try {
+                            fileStorage.delete(legacyFile);
+                        } catch (IOException e) {
+                            log.warn("이전 사업자등록증 파일 삭제 실패: {}", legacyFile, e);
+                        }
+                    }
+                }
+            });
+        }
+        return legacyFiles.size();
+    }
+
     /**
      * 카카오 로그인 사용자의 추가 정보 입력 후 최종 회원가입 처리
      * @param userDTO 추가 정보가 포함된 DTO
@@ -96,7 +221,7 @@ public class UserService {
         
         // 카카오 사용자는 provider와 providerId가 이미 DTO에 설정되어 있어야 함
         // 비밀번호 암호화 및 역할 설정
-        userDTO.setUserPwd(bCryptPasswordEncoder.encode(userDTO.getUserPwd()));
+        userDTO.setUserPwd(passwordHashingService.encode(userDTO.getUserPwd()));
         // 역할은 가입 페이지에 따라 이미 DTO에 담겨 있어야 함.
         
         UserEntity userEntity = UserEntity.toEntity(userDTO);
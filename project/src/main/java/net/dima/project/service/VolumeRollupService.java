@@ -0,0 +1,239 @@
+package net.dima.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dima.project.dto.RequestCardDto;
+import net.dima.project.dto.VolumeBreakdownDto;
+import net.dima.project.dto.VolumeDto;
+import net.dima.project.dto.VolumeSeriesDto;
+import net.dima.project.entity.ContainerEntity;
+import net.dima.project.entity.NotificationEvents.ContainerStatusChangedEvent;
+import net.dima.project.entity.NotificationEvents.OfferConfirmedEvent;
+import net.dima.project.entity.NotificationEvents.OfferCreatedEvent;
+import net.dima.project.entity.NotificationEvents.RequestCreatedEvent;
+import net.dima.project.entity.OfferEntity;
+import net.dima.project.entity.VolumeBucket;
+import net.dima.project.repository.VolumeRollupRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 관리자 물동량 집계(rollup) 서비스.
+ * - 현황 구분(CONFIRMED/RESALE/BIDDING/CAPACITY): 오늘 날짜 행을 GROUP BY 쿼리 한 번으로 다시 계산 (스케줄러가 주기적으로 호출)
+ * - 발생 구분(REQUESTED/OFFERED/DEALT): 요청/제안/낙찰 트랜잭션이 커밋된 뒤 별도 트랜잭션에서 증분 UPSERT,
+ *   자정 이후 전날 REQUESTED/OFFERED는 원본 기준으로 한 번 더 맞춘다. (DEALT는 낙찰 시각이 원본에 없어 증분 값 유지)
+ *   집계 실패나 카운터 행 잠금 대기가 업무 트랜잭션을 실패시키거나 늦추지 않도록 커밋 후에 처리하고, 실패는 로그만 남깁니다.
+ * 제안/컨테이너 상태를 바꾸는 이벤트가 오면 변경 버전을 올려 다음 주기에 바로 다시 계산합니다.
+ * 조회는 집계 행을 읽기만 하며, 오늘 현황 행은 스케줄러(RequestScheduler)가 만듭니다.
+ */
+@Service
+@Slf4j
+@Transactional
+public class VolumeRollupService {
+
+    private static final List<String> SNAPSHOT_BUCKETS = Arrays.stream(VolumeBucket.values())
+            .filter(VolumeBucket::isSnapshot).map(Enum::name).toList();
+
+    private final VolumeRollupRepository volumeRollupRepository;
+    private final TransactionTemplate incrementTx;
+
+    // 제안/컨테이너 변경 버전과 마지막으로 커밋된 현황 계산이 반영한 버전 (이 인스턴스에서 받은 이벤트 기준)
+    private final AtomicLong changeVersion = new AtomicLong(1);
+    private final AtomicLong refreshedVersion = new AtomicLong(0);
+
+    public VolumeRollupService(VolumeRollupRepository volumeRollupRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.volumeRollupRepository = volumeRollupRepository;
+        this.incrementTx = new TransactionTemplate(transactionManager);
+        this.incrementTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ===== 집계 갱신 =====
+
+    /**
+     * day 날짜의 현황 구분 행을 현재 제안/컨테이너 상태로 다시 계산합니다.
+     * 계산 시작 시점의 변경 버전을 커밋 후에 반영했다고 표시하므로, 계산 중에 들어온 변경은 다음 주기에 다시 계산됩니다.
+     * @return 새로 만든 집계 행 수
+     */
+    public int refreshSnapshot(LocalDate day) {
+        long version = changeVersion.get();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshedVersion.accumulateAndGet(version, Math::max);
+            }
+        });
+        LocalDateTime now = LocalDateTime.now();
+        volumeRollupRepository.deleteBuckets(day, SNAPSHOT_BUCKETS);
+        int rows = volumeRollupRepository.insertOfferSnapshot(day, now)
+                 + volumeRollupRepository.insertCapacitySnapshot(day, now);
+        log.debug("물동량 현황 집계: {} ({}행)", day, rows);
+        return rows;
+    }
+
+    /**
+     * 마지막 계산 이후 제안/컨테이너 변경 이벤트가 있었거나 오늘 현황 행이 아직 없는지 여부
+     */
+    @Transactional(readOnly = true)
+    public boolean isSnapshotDirty() {
+        return changeVersion.get() > refreshedVersion.get()
+                || !volumeRollupRepository.existsByStatDateAndBucket(LocalDate.now(), VolumeBucket.CAPACITY);
+    }
+
+    /**
+     * day 날짜의 REQUESTED/OFFERED 행을 원본 생성일 기준으로 다시 계산합니다. (누락된 증분 보정)
+     */
+    public int reconcileFlows(LocalDate day) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        volumeRollupRepository.deleteBuckets(day, List.of(VolumeBucket.REQUESTED.name(), VolumeBucket.OFFERED.name()));
+        return volumeRollupRepository.insertRequestedFlow(day, from, to, now)
+             + volumeRollupRepository.insertOfferedFlow(day, from, to, now);
+    }
+
+    // ===== 이벤트 증분 =====
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onRequestCreated(RequestCreatedEvent event) {
+        RequestCardDto request = event.getRequestCardDto();
+        increment(VolumeBucket.REQUESTED, request.getDeparturePort(), request.getArrivalPort(), 0, request.getCbm());
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onOfferCreated(OfferCreatedEvent event) {
+        changeVersion.incrementAndGet();
+        OfferEntity offer = event.getOffer();
+        ContainerEntity container = offer.getContainer();
+        increment(VolumeBucket.OFFERED, container.getDeparturePort(), container.getArrivalPort(),
+                offer.getForwarder().getUserSeq(), offer.getRequest().getCargo().getTotalCbm());
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onOfferConfirmed(OfferConfirmedEvent event) {
+        changeVersion.incrementAndGet();
+        OfferEntity winner = event.getWinningOffer();
+        if (winner != null) {
+            ContainerEntity container = winner.getContainer();
+            increment(VolumeBucket.DEALT, container.getDeparturePort(), container.getArrivalPort(),
+                    winner.getForwarder().getUserSeq(), winner.getRequest().getCargo().getTotalCbm());
+        }
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onContainerStatusChanged(ContainerStatusChangedEvent event) {
+        changeVersion.incrementAndGet();
+    }
+
+    // 업무 트랜잭션은 이미 커밋되었으므로 별도 트랜잭션으로 올리고, 실패해도 로그만 남긴다 (REQUESTED/OFFERED는 자정 보정으로 맞춰짐)
+    private void increment(VolumeBucket bucket, String departurePort, String arrivalPort, Integer forwarderSeq, Double cbm) {
+        try {
+            incrementTx.executeWithoutResult(status -> volumeRollupRepository.increment(LocalDate.now(), bucket.name(),
+                    departurePort, arrivalPort, forwarderSeq, BigDecimal.valueOf(cbm == null ? 0 : cbm), 1, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("물동량 증분 집계 실패: {} {} → {}", bucket, departurePort, arrivalPort, e);
+        }
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * 관리자 대시보드 물동량 차트 (오늘 현황). 오늘 집계가 아직 없으면 다음 스케줄러 주기까지 0으로 보입니다.
+     */
+    @Transactional(readOnly = true)
+    public VolumeDto getCurrentVolume() {
+        LocalDate today = LocalDate.now();
+        List<VolumeSeriesDto> series = getDailySeries(today, today);
+        VolumeSeriesDto todayRow = series.isEmpty() ? VolumeSeriesDto.builder().date(today).build() : series.get(0);
+        return VolumeDto.builder()
+                .confirmedCbm(todayRow.getConfirmedCbm())
+                .resaleCbm(todayRow.getResaleCbm())
+                .biddingCbm(todayRow.getBiddingCbm())
+                .availableCbm(todayRow.getAvailableCbm())
+                .build();
+    }
+
+    /**
+     * 기간 내 일별 물동량 시계열 (집계가 있는 날짜만)
+     */
+    @Transactional(readOnly = true)
+    public List<VolumeSeriesDto> getDailySeries(LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<VolumeBucket, Object[]>> byDate = new TreeMap<>();
+        for (Object[] row : volumeRollupRepository.sumByDateAndBucket(from, to)) {
+            byDate.computeIfAbsent((LocalDate) row[0], d -> new EnumMap<>(VolumeBucket.class))
+                  .put((VolumeBucket) row[1], row);
+        }
+
+        List<VolumeSeriesDto> series = new ArrayList<>();
+        byDate.forEach((date, buckets) -> {
+            double confirmed = cbm(buckets, VolumeBucket.CONFIRMED);
+            double resale = cbm(buckets, VolumeBucket.RESALE);
+            double bidding = cbm(buckets, VolumeBucket.BIDDING);
+            series.add(VolumeSeriesDto.builder()
+                    .date(date)
+                    .confirmedCbm(confirmed)
+                    .resaleCbm(resale)
+                    .biddingCbm(bidding)
+                    .availableCbm(cbm(buckets, VolumeBucket.CAPACITY) - confirmed - resale - bidding)
+                    .requestedCbm(cbm(buckets, VolumeBucket.REQUESTED))
+                    .offeredCbm(cbm(buckets, VolumeBucket.OFFERED))
+                    .dealtCbm(cbm(buckets, VolumeBucket.DEALT))
+                    .dealCount(count(buckets, VolumeBucket.DEALT))
+                    .build());
+        });
+        return series;
+    }
+
+    @Transactional(readOnly = true)
+    public List<VolumeBreakdownDto> getRouteBreakdown(LocalDate from, LocalDate to, VolumeBucket bucket, int limit) {
+        return volumeRollupRepository.sumByRoute(from, to, bucket, PageRequest.of(0, limit)).stream()
+                .map(row -> VolumeBreakdownDto.builder()
+                        .label(row[0] + " → " + row[1])
+                        .departurePort((String) row[0])
+                        .arrivalPort((String) row[1])
+                        .cbm(((Number) row[2]).doubleValue())
+                        .count(((Number) row[3]).longValue())
+                        .build())
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<VolumeBreakdownDto> getForwarderBreakdown(LocalDate from, LocalDate to, VolumeBucket bucket, int limit) {
+        return volumeRollupRepository.sumByForwarder(from, to, bucket, PageRequest.of(0, limit)).stream()
+                .map(row -> VolumeBreakdownDto.builder()
+                        .label((String) row[1])
+                        .forwarderSeq((Integer) row[0])
+                        .cbm(((Number) row[2]).doubleValue())
+                        .count(((Number) row[3]).longValue())
+                        .build())
+                .toList();
+    }
+
+    private static double cbm(Map<VolumeBucket, Object[]> buckets, VolumeBucket bucket) {
+        Object[] row = buckets.get(bucket);
+        return row == null ? 0 : ((Number) row[2]).doubleValue();
+    }
+
+    private static long count(Map<VolumeBucket, Object[]> buckets, VolumeBucket bucket) {
+        Object[] row = buckets.get(bucket);
+        return row == null ? 0 : ((Number) row[3]).longValue();
+    }
+}
@@ -0,0 +1,147 @@
+package net.dima.project.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 최소 구성의 XLSX(Office Open XML) 스트리밍 작성기.
+ * 행을 받는 즉시 시트 XML로 압축 스트림에 기록하므로 행 수와 무관하게 메모리 사용량이 일정합니다.
+ * 문자열은 inlineStr로 기록하여 공유 문자열 테이블을 만들지 않으며, 시트당 최대 행 수를 넘으면 다음 시트로 넘어갑니다.
+ * (워크북/관계 파일은 시트 수가 정해진 뒤 마지막에 기록합니다.)
+ */
+final class XlsxStreamWriter implements AutoCloseable {
+
+    private static final int MAX_ROWS_PER_SHEET = 1_000_000; // 엑셀 한도(1,048,576) 이내
+    private static final String SHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PKG_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_DECL = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final String sheetName;
+    private final Object[] header;
+
+    private int sheetCount = 0;
+    private int rowsInSheet = 0;
+
+    XlsxStreamWriter(OutputStream out, String sheetName, Object... header) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        this.sheetName = sheetName;
+        this.header = header;
+        startSheet();
+    }
+
+    void writeRow(Object... values) throws IOException {
+        if (rowsInSheet >= MAX_ROWS_PER_SHEET) {
+            endSheet();
+            startSheet();
+        }
+        writeRowInternal(values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        endSheet();
+        writePackageParts();
+        writer.flush();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        writer.write(XML_DECL);
+        writer.write("<worksheet xmlns=\"" + SHEET_NS + "\"><sheetData>");
+        writeRowInternal(header);
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeRowInternal(Object[] values) throws IOException {
+        rowsInSheet++;
+        writer.write("<row>");
+        for (Object value : values) {
+            if (value == null) {
+                writer.write("<c/>");
+            } else if (value instanceof Number number) {
+                String text = (number instanceof BigDecimal decimal) ? decimal.toPlainString() : number.toString();
+                writer.write("<c><v>");
+                writer.write(text);
+                writer.write("</v></c>");
+            } else {
+                writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(value.toString());
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>");
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    // XML 1.0에서 허용되지 않는 제어 문자는 제외
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writePackageParts() throws IOException {
+        StringBuilder contentTypes = new StringBuilder(XML_DECL)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        StringBuilder sheets = new StringBuilder();
+        StringBuilder workbookRels = new StringBuilder(XML_DECL).append("<Relationships xmlns=\"" + PKG_REL_NS + "\">");
+        for (int i = 1; i <= sheetCount; i++) {
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            String name = (sheetCount == 1) ? sheetName : sheetName + " " + i;
+            sheets.append("<sheet name=\"").append(name).append("\" sheetId=\"").append(i)
+                    .append("\" r:id=\"rId").append(i).append("\"/>");
+            workbookRels.append("<Relationship Id=\"rId").append(i)
+                    .append("\" Type=\"" + REL_NS + "/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        contentTypes.append("</Types>");
+        workbookRels.append("</Relationships>");
+
+        writeEntry("[Content_Types].xml", contentTypes.toString());
+        writeEntry("_rels/.rels", XML_DECL + "<Relationships xmlns=\"" + PKG_REL_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writeEntry("xl/workbook.xml", XML_DECL + "<workbook xmlns=\"" + SHEET_NS + "\" xmlns:r=\"" + REL_NS + "\">"
+                + "<sheets>" + sheets + "</sheets></workbook>");
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRels.toString());
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+}
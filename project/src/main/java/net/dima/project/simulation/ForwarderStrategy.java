@@ -0,0 +1,32 @@
+package net.dima.project.simulation;
+
+/**
+ * 포워더 입찰/재판매 성향. 값은 파이썬 시뮬레이션(final10_real.py)과 같습니다.
+ */
+public enum ForwarderStrategy {
+    // 목표마진, 입찰배수(B2C), 재판매 시작 적재율, 최저가 비율, 재판매 매입 입찰배수, 새 컨테이너가 필요하면 매입 안 함
+    AGGRESSIVE(0.10, 1.05, 1.15, 1.1, 0.85, 0.90, 1.00, false),
+    CONSERVATIVE(0.30, 1.25, 1.40, 1.0, 0.75, 0.70, 0.85, true),
+    RATIONAL(0.20, 1.10, 1.30, 1.0, 0.85, 0.80, 0.95, false);
+
+    final double targetMargin;
+    final double bidLow;
+    final double bidHigh;
+    final double sellTrigger;
+    final double reserveRatio;
+    final double resaleBidLow;
+    final double resaleBidHigh;
+    final boolean resaleOnlyWithoutNewContainer;
+
+    ForwarderStrategy(double targetMargin, double bidLow, double bidHigh, double sellTrigger, double reserveRatio,
+                      double resaleBidLow, double resaleBidHigh, boolean resaleOnlyWithoutNewContainer) {
+        this.targetMargin = targetMargin;
+        this.bidLow = bidLow;
+        this.bidHigh = bidHigh;
+        this.sellTrigger = sellTrigger;
+        this.reserveRatio = reserveRatio;
+        this.resaleBidLow = resaleBidLow;
+        this.resaleBidHigh = resaleBidHigh;
+        this.resaleOnlyWithoutNewContainer = resaleOnlyWithoutNewContainer;
+    }
+}
@@ -0,0 +1,20 @@
+package net.dima.project.simulation;
+
+/**
+ * 시장 시나리오. (label 은 파이썬 시뮬레이션(final10_real.py)의 시나리오 이름과 같음)
+ */
+public enum MarketScenario {
+    PRIMITIVE_MARKET("Primitive_Market"),     // 화주가 아는 포워더 몇 곳에만 요청 (PRIMITIVE 접근 제한)
+    B2C_OPEN_MARKET("B2C_Open_Market"),       // 모든 포워더가 요청에 입찰
+    B2B_ENABLED_MARKET("B2B_Enabled_Market"); // 입찰 + 포워더 간 재판매(B2B)
+
+    private final String label;
+
+    MarketScenario(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,351 @@
+package net.dima.project.simulation;
+
+import net.dima.project.entity.OfferStatus;
+import net.dima.project.entity.RequestStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 포워더 입찰 시장 몬테카를로 한 번 실행. (final10_real.py 의 Simulation / TheChaumPlusPlatform 을 옮긴 것)
+ *
+ * 라운드마다 화주 요청(CBM)이 들어오고, 포워더는 한계 컨테이너 비용에 성향별 마진을 붙여 입찰합니다.
+ * 최저가 입찰자가 낙찰받고(요청 CLOSED, 입찰 없으면 EXPIRED), B2B 시나리오에서는 적재량을 넘긴 포워더가
+ * CBM당 수익이 낮은 계약부터 재판매(FOR_SALE)에 올려 최고가 입찰자에게 넘깁니다(RESOLD).
+ * 라운드 끝에 적재 CBM을 컨테이너(containerCapacityCbm)에 나눠 싣고 비용을 정산합니다.
+ *
+ * 파이썬판과 달리 포워더별 적재 CBM/매출을 누적해 두어 입찰 한 번이 O(1)이고, 라운드별 자본 이력은
+ * 온라인 분산(Welford)으로만 유지합니다. 난수는 호출자가 넘긴 SplittableRandom 하나만 쓰므로
+ * 같은 스트림이면 어느 스레드에서 실행해도 결과가 같습니다. 인스턴스는 한 번만 run() 할 수 있습니다.
+ */
+public final class MarketSimulation {
+
+    /**
+     * 실행 결과 KPI. 성향별 평균 순이익은 해당 성향 포워더가 없으면 NaN
+     */
+    public record Kpi(double avgNetProfit, double successRate, double ullageRate, int b2bTrades, double avgFreightCost,
+                      double profitCv, double aggressiveNetProfit, double conservativeNetProfit, double rationalNetProfit) {
+    }
+
+    // 화주 요청이자 낙찰 후에는 운송 계약 (RequestEntity + 낙찰 OfferEntity)
+    static final class Contract {
+        final int cbm;
+        double revenue;
+        Forwarder owner;
+        RequestStatus status = RequestStatus.OPEN;
+
+        Contract(int cbm) {
+            this.cbm = cbm;
+        }
+
+        double revenuePerCbm() {
+            return cbm > 0 ? revenue / cbm : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    // 재판매 등록 (재판매 요청 + 최고 입찰)
+    static final class Listing {
+        final Contract contract;
+        final double reservePrice;
+        final Forwarder seller;
+        Forwarder bestBuyer;
+        double bestPrice = Double.NEGATIVE_INFINITY;
+        OfferStatus status = OfferStatus.FOR_SALE;
+
+        Listing(Contract contract, double reservePrice, Forwarder seller) {
+            this.contract = contract;
+            this.reservePrice = reservePrice;
+            this.seller = seller;
+        }
+    }
+
+    final class Forwarder {
+        final ForwarderStrategy strategy;
+        final List<Contract> portfolio = new ArrayList<>();
+        int load;
+        double revenue;
+        double roundProfit;
+        double capital = config.initialCapital();
+        // 라운드별 자본의 평균/제곱편차합 (Welford)
+        double capitalMean;
+        double capitalM2;
+
+        Forwarder(ForwarderStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        void add(Contract contract) {
+            portfolio.add(contract);
+            contract.owner = this;
+            load += contract.cbm;
+            revenue += contract.revenue;
+        }
+
+        void remove(Contract contract) {
+            if (portfolio.remove(contract)) {
+                load -= contract.cbm;
+                revenue -= contract.revenue;
+            }
+        }
+
+        double marginalCost(int cbm) {
+            return (containers(load + cbm) - containers(load)) * containerUnitCost;
+        }
+
+        // 입찰가, 적재 한도를 넘으면 NaN (입찰 안 함)
+        double bid(Contract request) {
+            if (load + request.cbm > config.operationalCapacity() * 1.2) {
+                return Double.NaN;
+            }
+            double marginal = marginalCost(request.cbm);
+            double cbmCost = request.cbm * (containerUnitCost / config.containerCapacityCbm());
+            if (scenario != MarketScenario.B2B_ENABLED_MARKET) {
+                double base = marginal == 0 ? cbmCost * 1.1 : marginal;
+                return base * uniform(strategy.bidLow, strategy.bidHigh);
+            }
+            double target = cbmCost * 1.2 * (1 + strategy.targetMargin);
+            double adjustment = 1.0 - config.b2bConfidenceFactor() * uniform(0.0, 0.05);
+            return Math.max(marginal, target) * adjustment;
+        }
+
+        void listForResale(List<Listing> market) {
+            if (load <= config.operationalCapacity() * strategy.sellTrigger || portfolio.isEmpty()) {
+                return;
+            }
+            double toSell = load - config.operationalCapacity();
+            List<Contract> sorted = new ArrayList<>(portfolio);
+            sorted.sort(Comparator.comparingDouble(Contract::revenuePerCbm));
+            int sold = 0;
+            for (Contract contract : sorted) {
+                if (sold >= toSell) {
+                    break;
+                }
+                market.add(new Listing(contract, contract.revenue * strategy.reserveRatio, this));
+                sold += contract.cbm;
+            }
+        }
+
+        void bidForResale(List<Listing> market) {
+            for (Listing listing : market) {
+                Contract contract = listing.contract;
+                if (listing.seller == this || load + contract.cbm > config.operationalCapacity()) {
+                    continue;
+                }
+                double marginal = marginalCost(contract.cbm);
+                double willingness = contract.revenue - marginal;
+                if (willingness <= 0 || (strategy.resaleOnlyWithoutNewContainer && marginal > 0)) {
+                    continue;
+                }
+                double price = willingness * uniform(strategy.resaleBidLow, strategy.resaleBidHigh);
+                if (price >= listing.reservePrice && price > listing.bestPrice) {
+                    listing.bestPrice = price;
+                    listing.bestBuyer = this;
+                }
+            }
+        }
+    }
+
+    private final SimulationConfig config;
+    private final MarketScenario scenario;
+    private final int requestsPerRound;
+    private final double containerUnitCost;
+    private final SplittableRandom random;
+    private final Forwarder[] forwarders;
+
+    private long totalRequests;
+    private long successfulContracts;
+    private long successfulCbm;
+    private double successfulRevenue;
+    private double totalUllage;
+    private int b2bTrades;
+
+    public MarketSimulation(SimulationConfig config, MarketScenario scenario, int requestsPerRound, double containerUnitCost,
+                            int forwarderCount, SplittableRandom random) {
+        this.config = config;
+        this.scenario = scenario;
+        this.requestsPerRound = requestsPerRound;
+        this.containerUnitCost = containerUnitCost;
+        this.random = random;
+        this.forwarders = createForwarders(forwarderCount);
+    }
+
+    /**
+     * 성향 비율대로 배정 (파이썬 round() 와 같이 .5 는 짝수 쪽으로), 모자라면 RATIONAL 로 채우고 넘치면 자른다
+     */
+    private Forwarder[] createForwarders(int count) {
+        List<Forwarder> list = new ArrayList<>();
+        int total = config.strategyRatio().values().stream().mapToInt(Integer::intValue).sum();
+        for (Map.Entry<ForwarderStrategy, Integer> entry : config.strategyRatio().entrySet()) {
+            long n = (long) Math.rint(count * ((double) entry.getValue() / total));
+            for (long i = 0; i < n; i++) {
+                list.add(new Forwarder(entry.getKey()));
+            }
+        }
+        while (list.size() < count) {
+            list.add(new Forwarder(ForwarderStrategy.RATIONAL));
+        }
+        return list.subList(0, count).toArray(new Forwarder[0]);
+    }
+
+    ForwarderStrategy[] strategies() {
+        ForwarderStrategy[] result = new ForwarderStrategy[forwarders.length];
+        for (int i = 0; i < forwarders.length; i++) {
+            result[i] = forwarders[i].strategy;
+        }
+        return result;
+    }
+
+    public Kpi run() {
+        for (int round = 1; round <= config.rounds(); round++) {
+            List<Contract> requests = generateRequests();
+            runB2cRound(requests);
+            if (scenario == MarketScenario.B2B_ENABLED_MARKET) {
+                runB2bAuction();
+            }
+            finalizeRound(round);
+        }
+        return collect();
+    }
+
+    private List<Contract> generateRequests() {
+        int count = random.nextInt(requestsPerRound - config.requestSpread(), requestsPerRound + config.requestSpread() + 1);
+        List<Contract> requests = new ArrayList<>(Math.max(0, count));
+        for (int i = 0; i < count; i++) {
+            // Beta(1, b) 는 역함수 1 - U^(1/b) 로 바로 뽑는다
+            double beta = 1.0 - Math.pow(random.nextDouble(), 1.0 / config.cbmBetaB());
+            requests.add(new Contract(Math.max(config.cbmMin(), (int) (beta * config.cbmScale()))));
+        }
+        totalRequests += Math.max(0, count);
+        return requests;
+    }
+
+    private void runB2cRound(List<Contract> requests) {
+        Forwarder[] participants = forwarders;
+        if (scenario == MarketScenario.PRIMITIVE_MARKET && forwarders.length > config.primitiveAccessLimit()) {
+            participants = sample(config.primitiveAccessLimit());
+        }
+        for (Contract request : requests) {
+            Forwarder winner = null;
+            double best = Double.POSITIVE_INFINITY;
+            for (Forwarder forwarder : participants) {
+                double price = forwarder.bid(request);
+                if (price < best) { // NaN(입찰 안 함)은 비교에서 빠지고, 동가는 먼저 낸 쪽
+                    best = price;
+                    winner = forwarder;
+                }
+            }
+            if (winner == null) {
+                request.status = RequestStatus.EXPIRED;
+                continue;
+            }
+            request.revenue = best;
+            request.status = RequestStatus.CLOSED;
+            winner.add(request);
+            successfulContracts++;
+            successfulCbm += request.cbm;
+            successfulRevenue += best;
+        }
+    }
+
+    // 부분 Fisher-Yates 로 k명 비복원 추출
+    private Forwarder[] sample(int k) {
+        Forwarder[] pool = forwarders.clone();
+        for (int i = 0; i < k; i++) {
+            int j = random.nextInt(i, pool.length);
+            Forwarder tmp = pool[i];
+            pool[i] = pool[j];
+            pool[j] = tmp;
+        }
+        Forwarder[] picked = new Forwarder[k];
+        System.arraycopy(pool, 0, picked, 0, k);
+        return picked;
+    }
+
+    private void runB2bAuction() {
+        List<Listing> market = new ArrayList<>();
+        for (Forwarder forwarder : forwarders) {
+            forwarder.listForResale(market);
+        }
+        if (market.isEmpty()) {
+            return;
+        }
+        for (Forwarder forwarder : forwarders) {
+            forwarder.bidForResale(market);
+        }
+        for (Listing listing : market) {
+            if (listing.bestBuyer == null) {
+                continue;
+            }
+            Forwarder seller = listing.seller;
+            Forwarder buyer = listing.bestBuyer;
+            seller.roundProfit += listing.bestPrice;
+            buyer.roundProfit -= listing.bestPrice;
+            seller.remove(listing.contract);
+            buyer.add(listing.contract);
+            listing.contract.status = RequestStatus.RESOLD;
+            listing.status = OfferStatus.RESOLD;
+            b2bTrades++;
+        }
+    }
+
+    private void finalizeRound(int round) {
+        for (Forwarder forwarder : forwarders) {
+            int containers = containers(forwarder.load);
+            forwarder.roundProfit += forwarder.revenue - containers * containerUnitCost;
+            forwarder.capital += forwarder.roundProfit;
+            totalUllage += containers * config.containerCapacityCbm() - forwarder.load;
+
+            double delta = forwarder.capital - forwarder.capitalMean;
+            forwarder.capitalMean += delta / round;
+            forwarder.capitalM2 += delta * (forwarder.capital - forwarder.capitalMean);
+
+            forwarder.portfolio.clear();
+            forwarder.load = 0;
+            forwarder.revenue = 0;
+            forwarder.roundProfit = 0;
+        }
+    }
+
+    private int containers(int load) {
+        return load > 0 ? (int) Math.ceil(load / config.containerCapacityCbm()) : 0;
+    }
+
+    private double uniform(double low, double high) {
+        return low + (high - low) * random.nextDouble();
+    }
+
+    private Kpi collect() {
+        double capitalSum = 0;
+        double stdSum = 0;
+        double[] strategySum = new double[ForwarderStrategy.values().length];
+        int[] strategyCount = new int[strategySum.length];
+        for (Forwarder forwarder : forwarders) {
+            capitalSum += forwarder.capital;
+            stdSum += Math.sqrt(forwarder.capitalM2 / config.rounds()); // 모표준편차 (np.std)
+            strategySum[forwarder.strategy.ordinal()] += forwarder.capital;
+            strategyCount[forwarder.strategy.ordinal()]++;
+        }
+        int n = forwarders.length;
+        double meanFinal = n > 0 ? capitalSum / n : Double.NaN;
+        double cv = meanFinal > 0 ? (stdSum / n) / meanFinal : 0;
+        double capacityUsed = totalUllage + successfulCbm;
+        return new Kpi(
+                n > 0 ? meanFinal - config.initialCapital() : 0,
+                totalRequests > 0 ? successfulContracts * 100.0 / totalRequests : 0,
+                capacityUsed > 0 ? totalUllage / capacityUsed * 100 : 0,
+                b2bTrades,
+                successfulContracts > 0 ? successfulRevenue / successfulContracts : 0,
+                cv,
+                strategyNetProfit(strategySum, strategyCount, ForwarderStrategy.AGGRESSIVE),
+                strategyNetProfit(strategySum, strategyCount, ForwarderStrategy.CONSERVATIVE),
+                strategyNetProfit(strategySum, strategyCount, ForwarderStrategy.RATIONAL));
+    }
+
+    private double strategyNetProfit(double[] sum, int[] count, ForwarderStrategy strategy) {
+        int i = strategy.ordinal();
+        return count[i] > 0 ? sum[i] / count[i] - config.initialCapital() : Double.NaN;
+    }
+}
@@ -0,0 +1,109 @@
+package net.dima.project.simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 조합 x 반복 전체를 ForkJoinPool 에서 나눠 실행합니다. (gradle simulate --args="--iterations=50 --out=...")
+ *
+ * 행(조합, 반복)마다 난수 스트림을 루트 SplittableRandom 에서 행 순서대로 split() 해 미리 나눠 주므로
+ * 같은 seed 면 병렬도/작업 분배와 관계없이 결과가 같습니다.
+ * 스프링 컨텍스트나 DB 없이 실행되는 오프라인 도구입니다.
+ */
+public final class MarketSimulationRunner {
+
+    // 작업 하나가 순차로 실행할 최대 행 수
+    private static final int LEAF_ROWS = 4;
+
+    private MarketSimulationRunner() {
+    }
+
+    public static SimulationResults run(SimulationConfig config, SimulationGrid grid, long seed, ForkJoinPool pool) {
+        int rows = grid.rows();
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[rows];
+        for (int row = 0; row < rows; row++) {
+            streams[row] = root.split();
+        }
+        SimulationResults results = new SimulationResults(rows);
+        pool.invoke(new RowRange(config, grid, streams, results, 0, rows));
+        return results;
+    }
+
+    private static final class RowRange extends RecursiveAction {
+
+        private final SimulationConfig config;
+        private final SimulationGrid grid;
+        private final SplittableRandom[] streams;
+        private final SimulationResults results;
+        private final int from;
+        private final int to;
+
+        RowRange(SimulationConfig config, SimulationGrid grid, SplittableRandom[] streams, SimulationResults results,
+                 int from, int to) {
+            this.config = config;
+            this.grid = grid;
+            this.streams = streams;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_ROWS) {
+                for (int row = from; row < to; row++) {
+                    MarketSimulation simulation = new MarketSimulation(config, grid.scenarioOf(row), grid.requestsOf(row),
+                            grid.containerCostOf(row), grid.forwardersOf(row), streams[row]);
+                    results.set(row, grid, simulation.run());
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowRange(config, grid, streams, results, from, mid),
+                    new RowRange(config, grid, streams, results, mid, to));
+        }
+    }
+
+    /**
+     * 옵션: --out=디렉터리 (기본 build/simulation), --seed=정수 (기본 42), --iterations=조합당 반복 (기본 50),
+     * --parallelism=스레드 수 (기본 CPU 수)
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = Path.of("build", "simulation");
+        long seed = 42;
+        int iterations = 50;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("옵션 형식은 --이름=값 입니다: " + arg);
+            }
+            switch (option[0]) {
+                case "--out" -> out = Path.of(option[1]);
+                case "--seed" -> seed = Long.parseLong(option[1]);
+                case "--iterations" -> iterations = Integer.parseInt(option[1]);
+                case "--parallelism" -> parallelism = Integer.parseInt(option[1]);
+                default -> throw new IllegalArgumentException("알 수 없는 옵션입니다: " + option[0]);
+            }
+        }
+
+        SimulationGrid grid = SimulationGrid.defaults(iterations);
+        System.out.printf("[simulation] 조합 %d개 x %d회 = %d회 실행, 스레드 %d, seed %d%n",
+                grid.combinations(), iterations, grid.rows(), parallelism, seed);
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        SimulationResults results;
+        try {
+            results = run(SimulationConfig.defaults(), grid, seed, pool);
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        results.write(out);
+        System.out.printf("[simulation] %.2f초 (%.0f회/초), 결과: %s%n", seconds, grid.rows() / seconds, out.toAbsolutePath());
+    }
+}
@@ -0,0 +1,43 @@
+package net.dima.project.simulation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 시뮬레이션 환경 상수.
+ *
+ * @param containerCapacityCbm  컨테이너 한 대 용량 (ContainerEntity.capacityCbm, 20ft 기준 26 CBM)
+ * @param rounds                한 번 실행의 라운드 수
+ * @param initialCapital        포워더 시작 자본
+ * @param operationalCapacity   포워더가 한 라운드에 무리 없이 싣는 CBM (컨테이너 2대)
+ * @param cbmBetaB              화물 CBM 분포 Beta(1, b) 의 b
+ * @param cbmScale              CBM = max(cbmMin, floor(Beta * cbmScale))
+ * @param cbmMin                최소 CBM
+ * @param primitiveAccessLimit  Primitive 시장에서 라운드마다 요청을 받는 포워더 수
+ * @param b2bConfidenceFactor   B2B 시장에서 재판매를 믿고 입찰가를 낮추는 정도
+ * @param requestSpread         라운드별 요청 수 = 요청 건수 ± spread (균등)
+ * @param strategyRatio         포워더 성향 비율 (순서대로 배정, 남는 자리는 RATIONAL)
+ */
+public record SimulationConfig(double containerCapacityCbm, int rounds, double initialCapital, double operationalCapacity,
+                               double cbmBetaB, int cbmScale, int cbmMin, int primitiveAccessLimit,
+                               double b2bConfidenceFactor, int requestSpread, Map<ForwarderStrategy, Integer> strategyRatio) {
+
+    public SimulationConfig {
+        if (containerCapacityCbm <= 0 || rounds <= 0 || cbmBetaB <= 0 || primitiveAccessLimit <= 0) {
+            throw new IllegalArgumentException("시뮬레이션 설정값이 올바르지 않습니다.");
+        }
+        strategyRatio = Collections.unmodifiableMap(new LinkedHashMap<>(strategyRatio));
+    }
+
+    /**
+     * final10_real.py 와 같은 설정 (rational:aggressive:conservative = 5:3:2)
+     */
+    public static SimulationConfig defaults() {
+        Map<ForwarderStrategy, Integer> ratio = new LinkedHashMap<>();
+        ratio.put(ForwarderStrategy.RATIONAL, 5);
+        ratio.put(ForwarderStrategy.AGGRESSIVE, 3);
+        ratio.put(ForwarderStrategy.CONSERVATIVE, 2);
+        return new SimulationConfig(26.0, 50, 3000.0, 52.0, 15, 30, 3, 3, 0.8, 5, ratio);
+    }
+}
@@ -0,0 +1,62 @@
+package net.dima.project.simulation;
+
+import java.util.List;
+
+/**
+ * 실행할 조합 (시나리오 x 컨테이너 비용 x 요청 건수 x 포워더 수) 과 조합당 반복 횟수.
+ * 행 순서는 파이썬 itertools.product 와 같이 앞의 축이 가장 느리게 바뀝니다.
+ */
+public record SimulationGrid(List<MarketScenario> scenarios, List<Integer> containerCosts, List<Integer> requestLevels,
+                             List<Integer> forwarderCounts, int iterations) {
+
+    public SimulationGrid {
+        scenarios = List.copyOf(scenarios);
+        containerCosts = List.copyOf(containerCosts);
+        requestLevels = List.copyOf(requestLevels);
+        forwarderCounts = List.copyOf(forwarderCounts);
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("반복 횟수는 1 이상이어야 합니다.");
+        }
+    }
+
+    /**
+     * final10_real.py 와 같은 조합 (216개 x 50회)
+     */
+    public static SimulationGrid defaults(int iterations) {
+        return new SimulationGrid(List.of(MarketScenario.values()), List.of(1000, 1500, 2000),
+                List.of(25, 50, 75, 100, 125, 150, 175, 200), List.of(10, 15, 20), iterations);
+    }
+
+    public int combinations() {
+        return scenarios.size() * containerCosts.size() * requestLevels.size() * forwarderCounts.size();
+    }
+
+    public int rows() {
+        return combinations() * iterations;
+    }
+
+    // 행 번호 -> 조합 축 값
+    MarketScenario scenarioOf(int row) {
+        return scenarios.get(combo(row) / (containerCosts.size() * requestLevels.size() * forwarderCounts.size()));
+    }
+
+    int containerCostOf(int row) {
+        return containerCosts.get(combo(row) / (requestLevels.size() * forwarderCounts.size()) % containerCosts.size());
+    }
+
+    int requestsOf(int row) {
+        return requestLevels.get(combo(row) / forwarderCounts.size() % requestLevels.size());
+    }
+
+    int forwardersOf(int row) {
+        return forwarderCounts.get(combo(row) % forwarderCounts.size());
+    }
+
+    int iterationOf(int row) {
+        return row % iterations;
+    }
+
+    private int combo(int row) {
+        return row / iterations;
+    }
+}
@@ -0,0 +1,109 @@
+package net.dima.project.simulation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * 실행 결과를 열(column) 배열로 보관하고 열마다 파일 하나로 씁니다.
+ *
+ * 디렉터리 구성:
+ * - schema.csv : name,type,rows,labels (type 은 i32 / f64, labels 는 코드값 순서의 이름을 '|' 로 구분)
+ * - {name}.i32 / {name}.f64 : 리틀 엔디언 원시 배열 (numpy: np.fromfile(path, '<i4' / '<f8'))
+ * scenario 열은 MarketScenario 순번이고 이름은 schema.csv 의 labels 에 있습니다.
+ */
+public final class SimulationResults {
+
+    private static final String[] INT_COLUMNS = { "scenario", "container_cost", "requests", "forwarders", "iteration", "b2b_trades" };
+    private static final String[] DOUBLE_COLUMNS = { "avg_net_profit", "success_rate", "ullage_rate", "avg_freight_cost",
+            "profit_cv", "aggressive_net_profit", "conservative_net_profit", "rational_net_profit" };
+
+    private final int rows;
+    private final int[][] ints;
+    private final double[][] doubles;
+
+    SimulationResults(int rows) {
+        this.rows = rows;
+        this.ints = new int[INT_COLUMNS.length][rows];
+        this.doubles = new double[DOUBLE_COLUMNS.length][rows];
+    }
+
+    // 행마다 한 스레드만 쓴다 (ForkJoin 작업이 행 구간을 나눠 가짐)
+    void set(int row, SimulationGrid grid, MarketSimulation.Kpi kpi) {
+        ints[0][row] = grid.scenarioOf(row).ordinal();
+        ints[1][row] = grid.containerCostOf(row);
+        ints[2][row] = grid.requestsOf(row);
+        ints[3][row] = grid.forwardersOf(row);
+        ints[4][row] = grid.iterationOf(row);
+        ints[5][row] = kpi.b2bTrades();
+        doubles[0][row] = kpi.avgNetProfit();
+        doubles[1][row] = kpi.successRate();
+        doubles[2][row] = kpi.ullageRate();
+        doubles[3][row] = kpi.avgFreightCost();
+        doubles[4][row] = kpi.profitCv();
+        doubles[5][row] = kpi.aggressiveNetProfit();
+        doubles[6][row] = kpi.conservativeNetProfit();
+        doubles[7][row] = kpi.rationalNetProfit();
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int[] intColumn(String name) {
+        return ints[indexOf(INT_COLUMNS, name)].clone();
+    }
+
+    public double[] doubleColumn(String name) {
+        return doubles[indexOf(DOUBLE_COLUMNS, name)].clone();
+    }
+
+    /**
+     * 열 파일과 schema.csv 를 dir 에 쓴다 (같은 이름의 파일은 덮어씀)
+     */
+    public void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        String labels = Arrays.stream(MarketScenario.values()).map(MarketScenario::getLabel).collect(Collectors.joining("|"));
+        try (Writer schema = Files.newBufferedWriter(dir.resolve("schema.csv"), StandardCharsets.UTF_8)) {
+            schema.write("name,type,rows,labels\n");
+            for (int i = 0; i < INT_COLUMNS.length; i++) {
+                ByteBuffer buffer = ByteBuffer.allocate(rows * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.asIntBuffer().put(ints[i]);
+                writeColumn(dir.resolve(INT_COLUMNS[i] + ".i32"), buffer);
+                schema.write(INT_COLUMNS[i] + ",i32," + rows + "," + (i == 0 ? labels : "") + "\n");
+            }
+            for (int i = 0; i < DOUBLE_COLUMNS.length; i++) {
+                ByteBuffer buffer = ByteBuffer.allocate(rows * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.asDoubleBuffer().put(doubles[i]);
+                writeColumn(dir.resolve(DOUBLE_COLUMNS[i] + ".f64"), buffer);
+                schema.write(DOUBLE_COLUMNS[i] + ",f64," + rows + ",\n");
+            }
+        }
+    }
+
+    private static void writeColumn(Path path, ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static int indexOf(String[] columns, String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("없는 열입니다: " + name);
+    }
+}
@@ -119,4 +119,36 @@ document.addEventListener('DOMContentLoaded', () => {
 		            alert('데이터 저장 중 오류가 발생했습니다.');
 		        }
 		    });
+
+		    // --- SCFI CSV 일괄 반영 ---
+		    const scfiImportForm = document.getElementById('scfi-import-form');
+		    scfiImportForm.addEventListener('submit', async (e) => {
+		        e.preventDefault();
+		        const file = document.getElementById('scfi-file').files[0];
+		        if (!file) {
+		            alert('CSV 파일을 선택해주세요.');
+		            return;
+		        }
+		        const formData = new FormData();
+		        formData.append('file', file);
+
+		        try {
+		            const response = await fetch('/api/adm/scfi-data/import', { method: 'POST', body: formData });
+		            if (!response.ok) {
+		                alert(await response.text());
+		                return;
+		            }
+		            const result = await response.json();
+		            let message = `${result.importedRows}건 반영 (${result.firstDate ?? '-'} ~ ${result.lastDate ?? '-'}), 오류 ${result.errorRows}건`;
+		            if (result.errors.length > 0) {
+		                message += '\n' + result.errors.slice(0, 10).map(err => `${err.line}번째 줄: ${err.message}`).join('\n');
+		            }
+		            alert(message);
+		            if (result.importedRows > 0) {
+		                window.location.reload();
+		            }
+		        } catch (error) {
+		            alert('CSV 반영 중 오류가 발생했습니다.');
+		        }
+		    });
 		});
\ No newline at end of file
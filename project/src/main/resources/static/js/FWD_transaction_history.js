@@ -34,7 +34,13 @@ document.addEventListener('DOMContentLoaded', () => {
 	};
 	
 	
-    async function fetchAndRenderTransactions() {
+    const paginationContainer = document.querySelector('.pagination-container');
+    const pageSize = 20;
+    const summaryPageSize = 500;
+    let currentPage = 1;
+
+    // 현재 필터(구분/기간/검색어)에 해당하는 조회 URL. page는 1부터 (서버는 0부터)
+    function buildUrl(page, size) {
         const activeFilter = filterGroup.querySelector('.is-active');
         const filterType = activeFilter ? activeFilter.dataset.filter : 'all';
         const keyword = keywordInput.value;
@@ -49,15 +55,25 @@ document.addEventListener('DOMContentLoaded', () => {
         if (startDate) params.append('startDate', startDate);
         if (endDate) params.append('endDate', endDate);
         if (keyword) params.append('keyword', keyword);
-        
-        const fullUrl = `${url}?${params.toString()}`;
+        params.append('page', page - 1);
+        params.append('size', size);
+        return `${url}?${params.toString()}`;
+    }
 
-        try {
-            const response = await fetch(fullUrl);
-            if (!response.ok) throw new Error('데이터를 불러오는 데 실패했습니다.');
+    async function fetchPage(page, size) {
+        const response = await fetch(buildUrl(page, size));
+        if (!response.ok) throw new Error('데이터를 불러오는 데 실패했습니다.');
+        return {
+            transactions: await response.json(),
+            totalPages: parseInt(response.headers.get('X-Total-Pages') || '0', 10)
+        };
+    }
 
-            const transactions = await response.json();
+    async function fetchAndRenderTransactions() {
+        try {
+            const { transactions, totalPages } = await fetchPage(currentPage, pageSize);
             tableBody.innerHTML = '';
+            renderPagination(totalPages);
 
             if (transactions.length === 0) {
                 tableBody.innerHTML = '<tr><td colspan="7" style="text-align:center; padding: 40px 0; color: #6c757d;">거래 내역이 없습니다.</td></tr>';
@@ -82,13 +98,63 @@ document.addEventListener('DOMContentLoaded', () => {
             });
         } catch (error) {
             console.error(error);
+            paginationContainer.innerHTML = '';
             tableBody.innerHTML = `<tr><td colspan="7" style="text-align:center; color: red; padding: 40px 0;">${error.message}</td></tr>`;
         }
     }
 
-    function showSummaryModal() {
-        const rows = tableBody.querySelectorAll('tr');
-        if (rows.length === 0 || (rows.length === 1 && rows[0].querySelector('td[colspan="7"]'))) {
+    function renderPagination(totalPages) {
+        paginationContainer.innerHTML = '';
+        if (totalPages <= 1) return;
+        const ul = document.createElement('ul');
+        ul.className = 'pagination';
+        function createPageItem(page, text, isDisabled = false, isActive = false) {
+            const li = document.createElement('li');
+            li.className = 'pagination-item';
+            if (isDisabled) li.classList.add('is-disabled');
+            if (isActive) li.classList.add('is-active');
+            const a = document.createElement('a');
+            a.href = '#'; a.dataset.page = page; a.textContent = text;
+            li.appendChild(a); return li;
+        }
+        ul.appendChild(createPageItem(1, '<<', currentPage === 1));
+        ul.appendChild(createPageItem(currentPage - 1, '<', currentPage === 1));
+        const pageGroupSize = 5;
+        const currentGroup = Math.floor((currentPage - 1) / pageGroupSize);
+        let startPage = currentGroup * pageGroupSize + 1;
+        let endPage = Math.min(startPage + pageGroupSize - 1, totalPages);
+        for (let i = startPage; i <= endPage; i++) {
+            ul.appendChild(createPageItem(i, i, false, i === currentPage));
+        }
+        ul.appendChild(createPageItem(currentPage + 1, '>', currentPage === totalPages));
+        ul.appendChild(createPageItem(totalPages, '>>', currentPage === totalPages));
+        paginationContainer.appendChild(ul);
+    }
+
+    // 합계는 화면에 보이는 페이지가 아니라 조건에 맞는 전체 거래로 계산
+    async function fetchAllTransactions() {
+        const all = [];
+        let page = 1;
+        let totalPages = 1;
+        do {
+            const result = await fetchPage(page, summaryPageSize);
+            all.push(...result.transactions);
+            totalPages = result.totalPages;
+            page++;
+        } while (page <= totalPages);
+        return all;
+    }
+
+    async function showSummaryModal() {
+        let transactions;
+        try {
+            transactions = await fetchAllTransactions();
+        } catch (error) {
+            console.error(error);
+            alert(error.message);
+            return;
+        }
+        if (transactions.length === 0) {
             alert('계산할 데이터가 없습니다.');
             return;
         }
@@ -98,21 +164,16 @@ document.addEventListener('DOMContentLoaded', () => {
         // 모달 테이블 헤더에 '거래일' 추가
         let detailsHtml = '<table class="details-table" style="width:100%; border-collapse: collapse;"><thead><tr style="border-bottom: 1px solid #dee2e6;"><th style="padding: 8px; text-align: left;">거래일</th><th style="padding: 8px; text-align: left;">품명</th><th style="padding: 8px; text-align: left;">경로</th><th style="padding: 8px; text-align: right;">금액</th></tr></thead><tbody>';
 
-        rows.forEach(row => {
-            const cells = row.querySelectorAll('td');
-            const transactionDate = cells[0].textContent;
-            const type = cells[1].textContent;
-            const route = cells[2].textContent;
-            const itemName = cells[3].textContent;
-            const priceText = cells[5].textContent;
-            
-            const [amountStr, currency] = priceText.split(' ');
-            const amount = parseFloat(amountStr.replace(/,/g, ''));
+        transactions.forEach(tx => {
+            const transactionDate = new Date(tx.transactionDate).toLocaleDateString('ko-KR');
+            const route = `${tx.departurePort} → ${tx.arrivalPort}`;
+            const amount = Number(tx.price);
+            const currency = tx.currency;
             
             let amountHtml;
             let signedAmount = amount;
 
-            if (type === '구매') {
+            if (tx.type === '구매') {
                 amountHtml = `<span style="color: blue;">-${amount.toLocaleString()} ${currency}</span>`;
                 signedAmount = -amount;
             } else { // 판매
@@ -123,7 +184,7 @@ document.addEventListener('DOMContentLoaded', () => {
             if (currency === 'USD') totalUSD += signedAmount;
             
             // 모달 테이블 행에 '거래일' 데이터 추가
-            detailsHtml += `<tr style="border-bottom: 1px solid #f1f3f5;"><td style="padding: 8px;">${transactionDate}</td><td style="padding: 8px;">${itemName}</td><td style="padding: 8px;">${route}</td><td style="padding: 8px; text-align: right;">${amountHtml}</td></tr>`;
+            detailsHtml += `<tr style="border-bottom: 1px solid #f1f3f5;"><td style="padding: 8px;">${transactionDate}</td><td style="padding: 8px;">${tx.itemName}</td><td style="padding: 8px;">${route}</td><td style="padding: 8px; text-align: right;">${amountHtml}</td></tr>`;
         });
 
         detailsHtml += '</tbody></table>';
@@ -144,19 +205,35 @@ document.addEventListener('DOMContentLoaded', () => {
         summaryModal.style.display = 'flex';
     }
 
+    // 조건이 바뀌면 첫 페이지부터
+    function searchFromFirstPage() {
+        currentPage = 1;
+        fetchAndRenderTransactions();
+    }
+
     // (이하 이벤트 리스너 및 초기화 로직은 기존과 동일)
     filterGroup.addEventListener('click', (e) => {
         if (e.target.tagName !== 'BUTTON' || e.target.classList.contains('is-active')) return;
         filterGroup.querySelector('.is-active').classList.remove('is-active');
         e.target.classList.add('is-active');
-        fetchAndRenderTransactions();
+        searchFromFirstPage();
     });
     searchForm.addEventListener('submit', (e) => {
         e.preventDefault();
-        fetchAndRenderTransactions();
+        searchFromFirstPage();
+    });
+    startDateInput.addEventListener('change', searchFromFirstPage);
+    endDateInput.addEventListener('change', searchFromFirstPage);
+    paginationContainer.addEventListener('click', (e) => {
+        e.preventDefault();
+        const target = e.target.closest('a');
+        if (!target || target.parentElement.classList.contains('is-disabled')) return;
+        const page = parseInt(target.dataset.page, 10);
+        if (page && page !== currentPage) {
+            currentPage = page;
+            fetchAndRenderTransactions();
+        }
     });
-    startDateInput.addEventListener('change', fetchAndRenderTransactions);
-    endDateInput.addEventListener('change', fetchAndRenderTransactions);
     calcButton.addEventListener('click', () => {
         if (!startDateInput.value || !endDateInput.value) {
             alert('날짜를 지정한 뒤에 계산할 수 있습니다.');
@@ -66,6 +66,17 @@ document.addEventListener('DOMContentLoaded', () => {
             const submitBtn = formWrapper.querySelector('.btn-submit-bid');
             const cancelBtn = formWrapper.querySelector('.btn-cancel');
 
+            // 제안가 추천 (실패해도 제안 작성에는 영향 없음)
+            fetch(`/api/fwd/price-hint?requestId=${requestId}`)
+                .then(res => res.ok ? res.json() : null)
+                .then(hint => {
+                    if (!hint || hint.median == null) return;
+                    const fmt = v => Number(v).toLocaleString();
+                    priceInput.placeholder = `추천 ${fmt(hint.median)} ${hint.currency} (${fmt(hint.low)} ~ ${fmt(hint.high)})`;
+                    priceInput.title = `낙찰 ${hint.sampleCount}건 기준, SCFI ${hint.scfiLatest ?? '-'} 반영`;
+                })
+                .catch(() => {});
+
             if (availableContainers.length > 0) {
                 availableContainers.forEach(c => {
                     const option = document.createElement('option');
@@ -2,8 +2,9 @@ document.addEventListener('DOMContentLoaded', () => {
     const ctx = document.getElementById('scfiChart');
     if (!ctx) return;
 
-    // 서버에 SCFI 데이터 요청
-    fetch('/api/scfi-data')
+    // 서버에 SCFI 데이터 요청 (차트 폭에 맞는 점 개수로 서버에서 줄여서 받음, 변경 없으면 304)
+    const points = Math.max(52, Math.round(ctx.clientWidth / 4));
+    fetch(`/api/scfi-data?points=${points}`)
         .then(response => response.json())
         .then(data => {
             // Chart.js에 필요한 형식으로 데이터 가공
@@ -0,0 +1,134 @@
+package net.dima.project.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.Cookie;
+import net.dima.project.dto.LoginUserDetails;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.UserRepository;
+import net.dima.project.service.UserCache;
+
+/**
+ * 서명된 접근 쿠키 테스트 (발급 / 위조 / 만료 / 갱신 / 다른 인스턴스에서 확인)
+ */
+class AccessTokenCookiesTests {
+
+	private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	private AccessTokenCookies cookies(String secret, long ttlMs) {
+		return new AccessTokenCookies(secret, ttlMs, new UserCache(userRepository, 10, 60_000), new ObjectMapper());
+	}
+
+	private static LoginUserDetails user() {
+		return LoginUserDetails.builder().userSeq(1).userId("fwd1").userName("포워더").roles("ROLE_fwd").build();
+	}
+
+	// 응답의 Set-Cookie 값을 다음 요청의 쿠키로 옮긴다
+	private static MockHttpServletRequest requestWith(MockHttpServletResponse response) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		Cookie cookie = response.getCookie(AccessTokenCookies.ACCESS_COOKIE);
+		if (cookie != null) {
+			request.setCookies(cookie);
+		}
+		return request;
+	}
+
+	@Test
+	void issuedCookieIsAcceptedByAnotherInstanceWithTheSameKey() {
+		MockHttpServletResponse login = new MockHttpServletResponse();
+		cookies(SECRET, 60_000).issue(new MockHttpServletRequest(), login, user());
+
+		Cookie cookie = login.getCookie(AccessTokenCookies.ACCESS_COOKIE);
+		assertThat(cookie.isHttpOnly()).isTrue();
+
+		Optional<LoginUserDetails> result = cookies(SECRET, 60_000)
+				.authenticate(requestWith(login), new MockHttpServletResponse());
+		assertThat(result).map(LoginUserDetails::getUserSeq).contains(1);
+		assertThat(result).map(LoginUserDetails::getUsername).contains("fwd1");
+		assertThat(result.get().getAuthorities()).extracting("authority").containsExactly("ROLE_fwd");
+	}
+
+	@Test
+	void tamperedOrForeignCookieIsRejected() {
+		MockHttpServletResponse login = new MockHttpServletResponse();
+		AccessTokenCookies cookies = cookies(SECRET, 60_000);
+		cookies.issue(new MockHttpServletRequest(), login, user());
+		String token = login.getCookie(AccessTokenCookies.ACCESS_COOKIE).getValue();
+
+		// 권한을 admin으로 바꾼 payload에 기존 서명을 붙여 보낸다
+		String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))))
+				.replace("ROLE_fwd", "ROLE_admin");
+		String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes())
+				+ token.substring(token.indexOf('.'));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(AccessTokenCookies.ACCESS_COOKIE, forged));
+		assertThat(cookies.authenticate(request, new MockHttpServletResponse())).isEmpty();
+
+		// 다른 키로 서명된 쿠키
+		String otherSecret = Base64.getEncoder().encodeToString("another-key-another-key-another!!".getBytes());
+		assertThat(cookies(otherSecret, 60_000).authenticate(requestWith(login), new MockHttpServletResponse())).isEmpty();
+	}
+
+	@Test
+	void expiredCookieIsRejectedAndCleared() throws Exception {
+		MockHttpServletResponse login = new MockHttpServletResponse();
+		AccessTokenCookies cookies = cookies(SECRET, 1);
+		cookies.issue(new MockHttpServletRequest(), login, user());
+		Thread.sleep(5);
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertThat(cookies.authenticate(requestWith(login), response)).isEmpty();
+		assertThat(response.getCookie(AccessTokenCookies.ACCESS_COOKIE).getMaxAge()).isZero();
+	}
+
+	@Test
+	void cookieNearExpiryIsRefreshedWithCurrentRoles() throws Exception {
+		when(userRepository.findById(1)).thenReturn(Optional.of(UserEntity.builder().userSeq(1).userId("fwd1")
+				.userName("포워더").roles("ROLE_PENDING").approvalStatus("PENDING").build()));
+		MockHttpServletResponse login = new MockHttpServletResponse();
+		AccessTokenCookies cookies = cookies(SECRET, 200);
+		cookies.issue(new MockHttpServletRequest(), login, user());
+		Thread.sleep(120); // 유효 시간의 절반 이상 경과
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		Optional<LoginUserDetails> result = cookies.authenticate(requestWith(login), response);
+		assertThat(result).map(LoginUserDetails::getRoles).contains("ROLE_PENDING");
+		assertThat(result.get().getPassword()).isNull();
+		assertThat(response.getCookie(AccessTokenCookies.ACCESS_COOKIE).getValue()).isNotEmpty();
+	}
+
+	@Test
+	void oauth2AuthorizationRequestRoundTripsThroughSignedCookie() {
+		AccessTokenCookies cookies = cookies(SECRET, 60_000);
+		CookieOAuth2AuthorizationRequestRepository repository = new CookieOAuth2AuthorizationRequestRepository(cookies);
+		OAuth2AuthorizationRequest authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+				.authorizationUri("https://kauth.kakao.com/oauth/authorize")
+				.clientId("client")
+				.redirectUri("http://localhost:8080/login/oauth2/code/kakao")
+				.state("state-123")
+				.build();
+
+		MockHttpServletResponse redirect = new MockHttpServletResponse();
+		repository.saveAuthorizationRequest(authorizationRequest, new MockHttpServletRequest(), redirect);
+
+		MockHttpServletRequest callback = new MockHttpServletRequest();
+		callback.setCookies(redirect.getCookie(CookieOAuth2AuthorizationRequestRepository.AUTHORIZATION_COOKIE));
+		OAuth2AuthorizationRequest loaded = repository.removeAuthorizationRequest(callback, new MockHttpServletResponse());
+		assertThat(loaded).isNotNull();
+		assertThat(loaded.getState()).isEqualTo("state-123");
+	}
+}
@@ -0,0 +1,68 @@
+package net.dima.project.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * 채널 지표 인터셉터 테스트.
+ * 핸들러가 여러 개인 채널에서도 대기 깊이가 작업 단위로 증감하는지 확인한다.
+ */
+class ChannelMetricsTests {
+
+	@Test
+	void countsTasksPerHandlerAndDrainsQueue() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ChannelMetrics metrics = new ChannelMetrics("test");
+			ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel(executor);
+			channel.addInterceptor(metrics);
+
+			int messages = 50;
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(messages * 2);
+			channel.subscribe(message -> {
+				await(release);
+				done.countDown();
+			});
+			channel.subscribe(message -> done.countDown());
+
+			for (int i = 0; i < messages; i++) {
+				channel.send(MessageBuilder.withPayload("m" + i).build());
+			}
+			assertThat(metrics.getPending()).isPositive();
+
+			release.countDown();
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			long deadline = System.currentTimeMillis() + 5000;
+			while (metrics.getHandledCount() < messages * 2 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+
+			Map<String, Object> snapshot = metrics.snapshot();
+			assertThat(snapshot.get("sent")).isEqualTo((long) messages);
+			assertThat(snapshot.get("handled")).isEqualTo((long) messages * 2);
+			assertThat(snapshot.get("queueDepth")).isEqualTo(0);
+			assertThat((Integer) snapshot.get("peakQueueDepth")).isGreaterThan(2);
+			assertThat((Double) snapshot.get("ratePerSecond")).isPositive();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
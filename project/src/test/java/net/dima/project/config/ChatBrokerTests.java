@@ -0,0 +1,129 @@
+package net.dima.project.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * 채팅 브로커 계층 테스트.
+ * - sharded: 구독 저장소의 등록/해지/조회
+ * - relay  : 내장 STOMP 브로커를 상대로 한 릴레이 왕복 전달
+ */
+class ChatBrokerTests {
+
+	private static final String ROOM_TOPIC = "/topic/chatroom/1";
+
+	@Test
+	void shardedRegistryFindsAndRemovesSubscribers() {
+		ShardedSubscriptionRegistry registry = new ShardedSubscriptionRegistry(4);
+		registry.registerSubscription(subscribe("s1", "sub-0", ROOM_TOPIC));
+		registry.registerSubscription(subscribe("s2", "sub-0", ROOM_TOPIC));
+		registry.registerSubscription(subscribe("s2", "sub-1", "/topic/chatroom/2"));
+		registry.registerSubscription(subscribe("s3", "sub-0", "/topic/chatroom/*"));
+
+		MultiValueMap<String, String> found = registry.findSubscriptions(message(ROOM_TOPIC));
+		assertThat(found.keySet()).containsExactlyInAnyOrder("s1", "s2", "s3");
+		assertThat(registry.getSubscriptionCount()).isEqualTo(4);
+
+		registry.unregisterSubscription(unsubscribe("s1", "sub-0"));
+		registry.unregisterAllSubscriptions("s3");
+		assertThat(registry.findSubscriptions(message(ROOM_TOPIC)).keySet()).containsExactly("s2");
+
+		registry.unregisterAllSubscriptions("s2");
+		assertThat(registry.findSubscriptions(message("/topic/chatroom/2"))).isEmpty();
+		assertThat(registry.getSubscriptionCount()).isZero();
+	}
+
+	@Test
+	void relayDeliversThroughExternalBroker() throws Exception {
+		try (EmbeddedStompBroker broker = new EmbeddedStompBroker()) {
+			ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel();
+			BlockingQueue<Message<?>> received = new LinkedBlockingQueue<>();
+			outbound.subscribe(received::add);
+
+			StompBrokerRelayMessageHandler relay = new StompBrokerRelayMessageHandler(
+					new ExecutorSubscribableChannel(), outbound, new ExecutorSubscribableChannel(), List.of("/topic"));
+			relay.setRelayHost("127.0.0.1");
+			relay.setRelayPort(broker.getPort());
+			relay.setSystemHeartbeatSendInterval(0);
+			relay.setSystemHeartbeatReceiveInterval(0);
+			relay.start();
+			try {
+				await(relay::isBrokerAvailable);
+
+				StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+				connect.setSessionId("s1");
+				connect.setAcceptVersion("1.2");
+				connect.setHeartbeat(0, 0);
+				relay.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+				assertThat(StompHeaderAccessor.wrap(received.poll(5, TimeUnit.SECONDS)).getCommand())
+						.isEqualTo(StompCommand.CONNECTED);
+
+				relay.handleMessage(subscribe("s1", "sub-0", ROOM_TOPIC));
+				await(() -> broker.getSubscriptionCount() == 1);
+
+				// 서버 측 발행 (ChatController의 convertAndSend와 동일한 경로: 세션 없는 MESSAGE)
+				SimpMessageHeaderAccessor publish = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+				publish.setDestination(ROOM_TOPIC);
+				relay.handleMessage(MessageBuilder.createMessage("hello".getBytes(StandardCharsets.UTF_8), publish.getMessageHeaders()));
+
+				Message<?> delivered = received.poll(5, TimeUnit.SECONDS);
+				assertThat(delivered).isNotNull();
+				StompHeaderAccessor deliveredHeaders = StompHeaderAccessor.wrap(delivered);
+				assertThat(deliveredHeaders.getCommand()).isEqualTo(StompCommand.MESSAGE);
+				assertThat(deliveredHeaders.getSessionId()).isEqualTo("s1");
+				assertThat(deliveredHeaders.getSubscriptionId()).isEqualTo("sub-0");
+				assertThat(new String((byte[]) delivered.getPayload(), StandardCharsets.UTF_8)).isEqualTo("hello");
+			} finally {
+				relay.stop();
+			}
+		}
+	}
+
+	private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+		accessor.setSessionId(sessionId);
+		accessor.setSubscriptionId(subscriptionId);
+		accessor.setDestination(destination);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+
+	private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.UNSUBSCRIBE);
+		accessor.setSessionId(sessionId);
+		accessor.setSubscriptionId(subscriptionId);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+
+	private static Message<byte[]> message(String destination) {
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		accessor.setDestination(destination);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("조건이 시간 내에 충족되지 않았습니다.");
+			}
+			Thread.sleep(20);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package net.dima.project.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 브로커 릴레이 테스트용 최소 STOMP 1.2 브로커.
+ * CONNECT / SUBSCRIBE / UNSUBSCRIBE / SEND / DISCONNECT 만 처리하며,
+ * SEND된 메시지를 같은 목적지를 구독한 모든 연결에 MESSAGE 프레임으로 전달한다.
+ */
+class EmbeddedStompBroker implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final List<Connection> connections = new CopyOnWriteArrayList<>();
+	private final AtomicLong messageIds = new AtomicLong();
+
+	EmbeddedStompBroker() throws IOException {
+		this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		Thread acceptor = new Thread(this::acceptLoop, "stomp-broker-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	int getConnectionCount() {
+		return connections.size();
+	}
+
+	int getSubscriptionCount() {
+		return connections.stream().mapToInt(c -> c.subscriptions.size()).sum();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		for (Connection connection : connections) {
+			connection.close();
+		}
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Connection connection = new Connection(serverSocket.accept());
+				connections.add(connection);
+				Thread reader = new Thread(connection::readLoop, "stomp-broker-conn");
+				reader.setDaemon(true);
+				reader.start();
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void publish(String destination, Map<String, String> headers, String body) {
+		for (Connection connection : connections) {
+			connection.subscriptions.forEach((subscriptionId, subscribed) -> {
+				if (subscribed.equals(destination)) {
+					Map<String, String> out = new LinkedHashMap<>();
+					out.put("subscription", subscriptionId);
+					out.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+					out.put("destination", destination);
+					if (headers.containsKey("content-type")) {
+						out.put("content-type", headers.get("content-type"));
+					}
+					connection.write("MESSAGE", out, body);
+				}
+			});
+		}
+	}
+
+	private final class Connection {
+
+		private final Socket socket;
+		private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+		Connection(Socket socket) {
+			this.socket = socket;
+		}
+
+		void readLoop() {
+			try (InputStream in = socket.getInputStream()) {
+				while (true) {
+					String frame = readFrame(in);
+					if (frame == null) {
+						break;
+					}
+					handle(frame);
+				}
+			} catch (IOException ignored) {
+				// 연결 종료
+			} finally {
+				close();
+			}
+		}
+
+		private void handle(String frame) {
+			int headerEnd = frame.indexOf("\n\n");
+			String head = headerEnd >= 0 ? frame.substring(0, headerEnd) : frame;
+			String body = headerEnd >= 0 ? frame.substring(headerEnd + 2) : "";
+			String[] lines = head.split("\n");
+			String command = lines[0].trim();
+			Map<String, String> headers = new LinkedHashMap<>();
+			for (int i = 1; i < lines.length; i++) {
+				int colon = lines[i].indexOf(':');
+				if (colon > 0) {
+					headers.putIfAbsent(lines[i].substring(0, colon), lines[i].substring(colon + 1));
+				}
+			}
+
+			switch (command) {
+				case "CONNECT", "STOMP" -> write("CONNECTED", Map.of("version", "1.2", "heart-beat", "0,0"), "");
+				case "SUBSCRIBE" -> subscriptions.put(headers.get("id"), headers.get("destination"));
+				case "UNSUBSCRIBE" -> subscriptions.remove(headers.get("id"));
+				case "SEND" -> publish(headers.get("destination"), headers, body);
+				case "DISCONNECT" -> {
+					if (headers.containsKey("receipt")) {
+						write("RECEIPT", Map.of("receipt-id", headers.get("receipt")), "");
+					}
+					close();
+				}
+				default -> { }
+			}
+		}
+
+		synchronized void write(String command, Map<String, String> headers, String body) {
+			StringBuilder sb = new StringBuilder(command).append('\n');
+			headers.forEach((k, v) -> sb.append(k).append(':').append(v).append('\n'));
+			sb.append('\n').append(body);
+			try {
+				OutputStream out = socket.getOutputStream();
+				out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+				out.write(0);
+				out.flush();
+			} catch (IOException e) {
+				close();
+			}
+		}
+
+		void close() {
+			connections.remove(this);
+			try {
+				socket.close();
+			} catch (IOException ignored) {
+			}
+		}
+
+		private String readFrame(InputStream in) throws IOException {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			int b;
+			while ((b = in.read()) != -1) {
+				if (b == 0) {
+					String frame = buffer.toString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+					String trimmed = frame.replaceFirst("^\n+", ""); // heart-beat(EOL) 무시
+					if (!trimmed.isEmpty()) {
+						return trimmed;
+					}
+					buffer.reset();
+					continue;
+				}
+				buffer.write(b);
+			}
+			return null;
+		}
+	}
+}
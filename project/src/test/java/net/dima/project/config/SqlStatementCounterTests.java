@@ -0,0 +1,48 @@
+package net.dima.project.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * SQL 문 카운터 테스트.
+ * 문장 종류별 전체 카운터와, begin ~ end 사이 요청별 반복 횟수(N+1 의심)를 확인한다.
+ */
+class SqlStatementCounterTests {
+
+	@Test
+	void countsStatementsByTypeAndPerRequest() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SqlStatementCounter counter = new SqlStatementCounter(registry);
+
+		counter.inspect("select u.user_seq from users u where u.user_id=?");
+		counter.begin();
+		counter.inspect("select o.offer_id from offers o where o.container_id=?");
+		for (int i = 0; i < 12; i++) {
+			counter.inspect("select r.request_id from requests r where r.request_id=?");
+		}
+		counter.inspect("  (select 1)");
+		counter.inspect("insert into cargos (item_name) values (?)");
+		counter.inspect("UPDATE offers set status=? where offer_id=?");
+		SqlStatementCounter.RequestStats stats = counter.end();
+		counter.inspect("delete from job_lease where job_name=?");
+		counter.inspect("with t as (select 1) select * from t");
+
+		assertThat(stats.getTotal()).isEqualTo(16);
+		assertThat(stats.getMostRepeated().getKey()).isEqualTo("select r.request_id from requests r where r.request_id=?");
+		assertThat(stats.getMostRepeated().getValue()).isEqualTo(12);
+		assertThat(counter.end()).isNull();
+
+		assertThat(count(registry, "select")).isEqualTo(15);
+		assertThat(count(registry, "insert")).isEqualTo(1);
+		assertThat(count(registry, "update")).isEqualTo(1);
+		assertThat(count(registry, "delete")).isEqualTo(1);
+		assertThat(count(registry, "other")).isEqualTo(1);
+	}
+
+	private static double count(SimpleMeterRegistry registry, String type) {
+		return registry.get("sql.statements").tag("type", type).counter().count();
+	}
+}
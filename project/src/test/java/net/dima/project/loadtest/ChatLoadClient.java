@@ -0,0 +1,104 @@
+package net.dima.project.loadtest;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import net.dima.project.dto.ChatMessageDto;
+
+/**
+ * 채팅 사용자 한 명: /ws-chat(SockJS + STOMP)에 접속해 자기 채팅방(/topic/chatroom/{id})을 구독하고,
+ * /app/chat/sendMessage 로 보낸 메시지가 브로드캐스트로 되돌아올 때까지를 왕복 시간으로 잽니다.
+ * (서버에서는 메시지 저장 + 참여자 알림 묶음 추가 + 브로커 전달이 포함됨)
+ */
+final class ChatLoadClient implements AutoCloseable {
+
+	private final WebSocketStompClient stompClient;
+	private final StompSession session;
+	private final long chatRoomId;
+	private final int senderSeq;
+	private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+	private ChatLoadClient(WebSocketStompClient stompClient, StompSession session, long chatRoomId, int senderSeq) {
+		this.stompClient = stompClient;
+		this.session = session;
+		this.chatRoomId = chatRoomId;
+		this.senderSeq = senderSeq;
+	}
+
+	static ChatLoadClient connect(int port, String sessionCookie, long chatRoomId, int senderSeq, long timeoutMs)
+			throws Exception {
+		WebSocketStompClient stompClient = new WebSocketStompClient(
+				new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+		stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+		WebSocketHttpHeaders handshake = new WebSocketHttpHeaders();
+		handshake.add("Cookie", sessionCookie);
+		StompSession session = stompClient.connectAsync("http://localhost:{port}/ws-chat", handshake,
+				new StompSessionHandlerAdapter() {
+				}, port).get(timeoutMs, TimeUnit.MILLISECONDS);
+
+		ChatLoadClient client = new ChatLoadClient(stompClient, session, chatRoomId, senderSeq);
+		session.subscribe("/topic/chatroom/" + chatRoomId, new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return ChatMessageDto.class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object payload) {
+				CompletableFuture<Void> waiting = client.pending.remove(((ChatMessageDto) payload).getMessageContent());
+				if (waiting != null) {
+					waiting.complete(null);
+				}
+			}
+		});
+		// 구독이 브로커에 등록되도록 한 번 왕복해 둔다
+		client.roundTrip(timeoutMs);
+		return client;
+	}
+
+	/**
+	 * 메시지 1건을 보내고 자기 채팅방 브로드캐스트로 돌아올 때까지 기다린다 (시간 초과 시 예외)
+	 */
+	void roundTrip(long timeoutMs) throws Exception {
+		String token = "load-" + UUID.randomUUID();
+		CompletableFuture<Void> echoed = new CompletableFuture<>();
+		pending.put(token, echoed);
+		ChatMessageDto message = new ChatMessageDto();
+		message.setChatRoomId(chatRoomId);
+		message.setSenderSeq(senderSeq);
+		message.setMessageContent(token);
+		try {
+			// 한 WebSocket 세션에 여러 스레드가 동시에 쓰지 않도록
+			synchronized (this) {
+				session.send("/app/chat/sendMessage", message);
+			}
+			echoed.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} finally {
+			pending.remove(token);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (session.isConnected()) {
+			session.disconnect();
+		}
+		stompClient.stop();
+	}
+}
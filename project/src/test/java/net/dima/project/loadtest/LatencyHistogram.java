@@ -0,0 +1,81 @@
+package net.dima.project.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간 히스토그램 (마이크로초, 로그-선형 구간).
+ *
+ * 128 미만은 1us 단위, 그 위로는 2의 거듭제곱 구간마다 64칸으로 나눠 상대 오차가 1.6% 이내입니다.
+ * 기록은 락 없이 여러 가상 스레드에서 동시에 할 수 있고, 백분위는 구간 상한값으로 돌려줍니다(보수적).
+ */
+final class LatencyHistogram {
+
+	private static final int LINEAR = 128;
+	private static final int SUB_BUCKETS = 64;
+	private static final int MAX_SHIFT = 40; // 2^46 us (약 2년) 까지
+
+	private final AtomicLongArray counts = new AtomicLongArray(LINEAR + MAX_SHIFT * SUB_BUCKETS);
+	private final LongAdder total = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	void record(long micros) {
+		long value = Math.max(0, micros);
+		counts.incrementAndGet(indexOf(value));
+		total.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	long count() {
+		return total.sum();
+	}
+
+	long maxMicros() {
+		return max.get();
+	}
+
+	double meanMicros() {
+		long n = total.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * @param percentile 0 ~ 100
+	 */
+	long percentileMicros(double percentile) {
+		long n = total.sum();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(n * percentile / 100.0));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	static int indexOf(long value) {
+		if (value < LINEAR) {
+			return (int) value;
+		}
+		int shift = Math.min(MAX_SHIFT, 63 - Long.numberOfLeadingZeros(value) - 6);
+		long mantissa = Math.min(2L * SUB_BUCKETS - 1, value >>> shift); // 64 ~ 127
+		return LINEAR + (shift - 1) * SUB_BUCKETS + (int) (mantissa - SUB_BUCKETS);
+	}
+
+	static long upperBound(int index) {
+		if (index < LINEAR) {
+			return index;
+		}
+		int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+		long mantissa = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
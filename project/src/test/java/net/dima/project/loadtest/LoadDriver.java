@@ -0,0 +1,210 @@
+package net.dima.project.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 개방형(open-model) 부하 발생기.
+ *
+ * 엔드포인트마다 정해진 초당 요청 수로 "예정 시각"을 만들고, 그 시각이 되면 가상 스레드 하나에서 호출합니다.
+ * 응답이 느려져도 다음 요청은 예정대로 나가며(서버가 밀리면 동시 요청이 늘어남), 지연 시간은 실제 전송 시각이 아닌
+ * 예정 시각부터 재므로 발생기 쪽 대기(coordinated omission)까지 포함됩니다.
+ * warm-up 동안의 결과는 버리고, 동시 요청이 max-in-flight 를 넘으면 보내지 않고 dropped 로 셉니다.
+ */
+final class LoadDriver {
+
+	/**
+	 * 요청 한 번. HTTP 상태 코드(웹소켓은 성공 시 200)를 돌려주고, 시간 초과/연결 실패는 예외로 알린다.
+	 * 보낼 대상이 더 없으면(시드 데이터 소진) {@link #EXHAUSTED}
+	 */
+	@FunctionalInterface
+	interface Operation {
+		int call() throws Exception;
+	}
+
+	static final int EXHAUSTED = -1;
+
+	record Workload(String endpoint, double ratePerSecond, Operation operation) {
+	}
+
+	static final class EndpointStats {
+		final LatencyHistogram latency = new LatencyHistogram();
+		final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+		final LongAdder errors = new LongAdder();
+		final Map<String, LongAdder> exceptions = new ConcurrentHashMap<>();
+		final LongAdder dropped = new LongAdder();
+		final LongAdder exhausted = new LongAdder();
+		double targetRate;
+
+		void record(int status, long micros) {
+			statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+			if (status >= 400) {
+				errors.increment();
+			}
+			latency.record(micros);
+		}
+
+		long completed() {
+			return latency.count();
+		}
+
+		long exceptionCount() {
+			return exceptions.values().stream().mapToLong(LongAdder::sum).sum();
+		}
+	}
+
+	private final Duration warmup;
+	private final Duration duration;
+	private final int maxInFlight;
+	private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+	LoadDriver(Duration warmup, Duration duration, int maxInFlight) {
+		this.warmup = warmup;
+		this.duration = duration;
+		this.maxInFlight = maxInFlight;
+	}
+
+	EndpointStats stats(String endpoint) {
+		return stats.computeIfAbsent(endpoint, e -> new EndpointStats());
+	}
+
+	/**
+	 * 모든 부하를 동시에 warm-up + duration 동안 보내고, 남은 요청이 끝날 때까지 기다린다 (최대 drainTimeout)
+	 */
+	void run(List<Workload> workloads, Duration drainTimeout) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(maxInFlight);
+		long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+		long measureFrom = start + warmup.toNanos();
+		long end = measureFrom + duration.toNanos();
+
+		try (ExecutorService calls = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Thread> pacers = new ArrayList<>();
+			for (Workload workload : workloads) {
+				if (workload.ratePerSecond() <= 0) {
+					continue;
+				}
+				EndpointStats endpoint = stats(workload.endpoint());
+				endpoint.targetRate = workload.ratePerSecond();
+				long interval = (long) (TimeUnit.SECONDS.toNanos(1) / workload.ratePerSecond());
+				pacers.add(Thread.ofVirtual().name("pacer-" + workload.endpoint()).start(() -> {
+					for (long scheduled = start; scheduled < end; scheduled += interval) {
+						long wait = scheduled - System.nanoTime();
+						if (wait > 0) {
+							LockSupport.parkNanos(wait);
+						}
+						boolean measured = scheduled >= measureFrom;
+						if (!inFlight.tryAcquire()) {
+							if (measured) {
+								endpoint.dropped.increment();
+							}
+							continue;
+						}
+						long at = scheduled;
+						calls.execute(() -> {
+							try {
+								call(workload, endpoint, at, measured);
+							} finally {
+								inFlight.release();
+							}
+						});
+					}
+				}));
+			}
+			for (Thread pacer : pacers) {
+				pacer.join();
+			}
+			calls.shutdown();
+			if (!calls.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				calls.shutdownNow();
+			}
+		}
+	}
+
+	private static void call(Workload workload, EndpointStats endpoint, long scheduled, boolean measured) {
+		int status;
+		try {
+			status = workload.operation().call();
+		} catch (Exception e) {
+			if (measured) {
+				endpoint.exceptions.computeIfAbsent(e.getClass().getSimpleName(), name -> new LongAdder()).increment();
+			}
+			return;
+		}
+		if (!measured) {
+			return;
+		}
+		if (status == EXHAUSTED) {
+			endpoint.exhausted.increment();
+			return;
+		}
+		endpoint.record(status, (System.nanoTime() - scheduled) / 1_000);
+	}
+
+	/**
+	 * 엔드포인트별 처리량과 지연 백분위 (ms) 표
+	 */
+	void report(PrintStream out) {
+		out.printf("%-42s %8s %9s %10s %7s %7s %8s %8s %8s %8s %8s %s%n", "endpoint", "target/s", "completed", "through/s",
+				"errors", "dropped", "p50", "p90", "p99", "p99.9", "max", "statuses");
+		double seconds = duration.toNanos() / 1e9;
+		for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+			EndpointStats s = entry.getValue();
+			LatencyHistogram h = s.latency;
+			out.printf("%-42s %8.1f %9d %10.1f %7d %7d %8.1f %8.1f %8.1f %8.1f %8.1f %s%n", entry.getKey(), s.targetRate,
+					s.completed(), s.completed() / seconds, s.errors.sum() + s.exceptionCount(), s.dropped.sum(),
+					ms(h.percentileMicros(50)), ms(h.percentileMicros(90)), ms(h.percentileMicros(99)),
+					ms(h.percentileMicros(99.9)), ms(h.maxMicros()), statuses(s));
+		}
+	}
+
+	/**
+	 * 같은 내용을 CSV 로 (endpoint,target_rate,completed,throughput,errors,exceptions,dropped,exhausted,mean_ms,p50_ms,...)
+	 */
+	void writeCsv(Path path) throws IOException {
+		StringBuilder csv = new StringBuilder(
+				"endpoint,target_rate,completed,throughput,errors,exceptions,dropped,exhausted,mean_ms,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+		double seconds = duration.toNanos() / 1e9;
+		for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+			EndpointStats s = entry.getValue();
+			LatencyHistogram h = s.latency;
+			csv.append(String.join(",", "\"" + entry.getKey() + "\"", String.valueOf(s.targetRate),
+					String.valueOf(s.completed()), String.format("%.2f", s.completed() / seconds),
+					String.valueOf(s.errors.sum()), String.valueOf(s.exceptionCount()), String.valueOf(s.dropped.sum()),
+					String.valueOf(s.exhausted.sum()), String.format("%.3f", h.meanMicros() / 1000.0),
+					String.valueOf(ms(h.percentileMicros(50))), String.valueOf(ms(h.percentileMicros(90))),
+					String.valueOf(ms(h.percentileMicros(99))), String.valueOf(ms(h.percentileMicros(99.9))),
+					String.valueOf(ms(h.maxMicros())))).append('\n');
+		}
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, csv, StandardCharsets.UTF_8);
+	}
+
+	private static double ms(long micros) {
+		return micros / 1000.0;
+	}
+
+	private static String statuses(EndpointStats s) {
+		StringBuilder text = new StringBuilder();
+		new TreeMap<>(s.statuses).forEach((status, count) -> text.append(status).append('=').append(count.sum()).append(' '));
+		new TreeMap<>(s.exceptions).forEach((name, count) -> text.append(name).append('=').append(count.sum()).append(' '));
+		if (s.exhausted.sum() > 0) {
+			text.append("exhausted=").append(s.exhausted.sum());
+		}
+		return text.toString().trim();
+	}
+}
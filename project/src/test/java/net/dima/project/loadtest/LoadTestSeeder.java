@@ -0,0 +1,255 @@
+package net.dima.project.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import net.dima.project.entity.CargoEntity;
+import net.dima.project.entity.ChatParticipant;
+import net.dima.project.entity.ChatRoom;
+import net.dima.project.entity.ChatRoomType;
+import net.dima.project.entity.ContainerEntity;
+import net.dima.project.entity.ContainerStatus;
+import net.dima.project.entity.OfferEntity;
+import net.dima.project.entity.OfferStatus;
+import net.dima.project.entity.RequestEntity;
+import net.dima.project.entity.RequestStatus;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.CargoRepository;
+import net.dima.project.repository.ChatRoomRepository;
+import net.dima.project.repository.ContainerRepository;
+import net.dima.project.repository.OfferRepository;
+import net.dima.project.repository.RequestRepository;
+import net.dima.project.repository.UserRepository;
+
+/**
+ * 부하 테스트용 데이터 생성.
+ *
+ * 화주/포워더(승인 완료), 포워더별 SCHEDULED 컨테이너, 입찰이 달린 OPEN 요청, 확정 대기 요청,
+ * 재판매할 수 있는 낙찰(ACCEPTED) 제안, 1:1 채팅방을 만듭니다. 화물 CBM은 시장 시뮬레이션과 같은 Beta(1, 15) 분포입니다.
+ * 모든 사용자의 비밀번호는 {@link #PASSWORD} 하나이고 해시도 한 번만 계산합니다.
+ */
+final class LoadTestSeeder {
+
+	static final String PASSWORD = "load-test-pw";
+
+	private static final String[][] ROUTES = {
+			{ "BUSAN", "LOS ANGELES" }, { "BUSAN", "ROTTERDAM" }, { "INCHEON", "SHANGHAI" },
+			{ "BUSAN", "SINGAPORE" }, { "INCHEON", "TOKYO" }, { "BUSAN", "HAMBURG" } };
+
+	/**
+	 * 생성할 건수. offersPerRequest 는 OPEN/확정 대기 요청마다 달리는 기존 입찰 수 (포워더 수보다 작아야 함)
+	 */
+	record Volumes(int shippers, int forwarders, int containersPerForwarder, int openRequests, int offersPerRequest,
+				   int confirmableRequests, int resaleOffers, int chatRooms) {
+	}
+
+	record Confirmable(long requestId, int shipper, long offerId) {
+	}
+
+	record Resale(long offerId, int forwarder) {
+	}
+
+	record ChatSeat(long chatRoomId, int shipper) {
+	}
+
+	record SeedData(List<UserEntity> shippers, List<UserEntity> forwarders, List<List<String>> containers,
+					List<Long> openRequests, int offersPerRequest, List<Confirmable> confirmables,
+					List<Resale> resales, List<ChatSeat> chatSeats) {
+	}
+
+	private final UserRepository userRepository;
+	private final ContainerRepository containerRepository;
+	private final CargoRepository cargoRepository;
+	private final RequestRepository requestRepository;
+	private final OfferRepository offerRepository;
+	private final ChatRoomRepository chatRoomRepository;
+	private final PasswordEncoder passwordEncoder;
+
+	LoadTestSeeder(UserRepository userRepository, ContainerRepository containerRepository, CargoRepository cargoRepository,
+				   RequestRepository requestRepository, OfferRepository offerRepository,
+				   ChatRoomRepository chatRoomRepository, PasswordEncoder passwordEncoder) {
+		this.userRepository = userRepository;
+		this.containerRepository = containerRepository;
+		this.cargoRepository = cargoRepository;
+		this.requestRepository = requestRepository;
+		this.offerRepository = offerRepository;
+		this.chatRoomRepository = chatRoomRepository;
+		this.passwordEncoder = passwordEncoder;
+	}
+
+	SeedData seed(Volumes volumes, long seed) {
+		if (volumes.offersPerRequest() >= volumes.forwarders()) {
+			throw new IllegalArgumentException("요청당 입찰 수는 포워더 수보다 작아야 합니다.");
+		}
+		SplittableRandom random = new SplittableRandom(seed);
+		String hash = passwordEncoder.encode(PASSWORD);
+		LocalDateTime now = LocalDateTime.now();
+
+		List<UserEntity> shippers = users("load-cus-", "ROLE_cus", volumes.shippers(), hash);
+		List<UserEntity> forwarders = users("load-fwd-", "ROLE_fwd", volumes.forwarders(), hash);
+
+		List<List<String>> containerIds = new ArrayList<>();
+		List<ContainerEntity> containers = new ArrayList<>();
+		for (int f = 0; f < forwarders.size(); f++) {
+			List<String> ids = new ArrayList<>();
+			for (int c = 0; c < volumes.containersPerForwarder(); c++) {
+				String[] route = ROUTES[random.nextInt(ROUTES.length)];
+				ContainerEntity container = ContainerEntity.builder()
+						.containerId("LOAD-" + f + "-" + c)
+						.forwarder(forwarders.get(f))
+						.departurePort(route[0])
+						.arrivalPort(route[1])
+						.etd(now.toLocalDate().plusDays(20 + random.nextInt(10)))
+						.eta(now.toLocalDate().plusDays(40 + random.nextInt(10)))
+						.size("20FT")
+						.capacityCbm(26.0)
+						.status(ContainerStatus.SCHEDULED)
+						.build();
+				containers.add(container);
+				ids.add(container.getContainerId());
+			}
+			containerIds.add(ids);
+		}
+		containers = containerRepository.saveAll(containers);
+
+		// OPEN 요청 (입찰 부하 대상) + 기존 입찰
+		List<RequestEntity> open = requests(volumes.openRequests(), shippers, RequestStatus.OPEN, random, now);
+		List<OfferEntity> openOffers = new ArrayList<>();
+		for (int i = 0; i < open.size(); i++) {
+			for (int j = 0; j < volumes.offersPerRequest(); j++) {
+				openOffers.add(offer(open.get(i), forwarders, containers, volumes, (i + j) % forwarders.size(),
+						OfferStatus.PENDING, random));
+			}
+		}
+		offerRepository.saveAll(openOffers);
+
+		// 확정 대기 요청: 첫 입찰을 낙찰시킬 대상
+		List<RequestEntity> pending = requests(volumes.confirmableRequests(), shippers, RequestStatus.OPEN, random, now);
+		List<OfferEntity> pendingOffers = new ArrayList<>();
+		for (int i = 0; i < pending.size(); i++) {
+			for (int j = 0; j < volumes.offersPerRequest(); j++) {
+				pendingOffers.add(offer(pending.get(i), forwarders, containers, volumes, (i + j) % forwarders.size(),
+						OfferStatus.PENDING, random));
+			}
+		}
+		pendingOffers = offerRepository.saveAll(pendingOffers);
+		List<Confirmable> confirmables = new ArrayList<>();
+		for (int i = 0; i < pending.size(); i++) {
+			OfferEntity first = pendingOffers.get(i * volumes.offersPerRequest());
+			confirmables.add(new Confirmable(pending.get(i).getRequestId(), shippers.indexOf(pending.get(i).getRequester()),
+					first.getOfferId()));
+		}
+
+		// 낙찰(ACCEPTED)된 제안: 재판매 부하 대상 + 채팅방
+		int closedCount = volumes.resaleOffers() + volumes.chatRooms();
+		List<RequestEntity> closed = requests(closedCount, shippers, RequestStatus.CLOSED, random, now);
+		List<OfferEntity> accepted = new ArrayList<>();
+		for (int i = 0; i < closed.size(); i++) {
+			accepted.add(offer(closed.get(i), forwarders, containers, volumes, i % forwarders.size(), OfferStatus.ACCEPTED,
+					random));
+		}
+		accepted = offerRepository.saveAll(accepted);
+		List<Resale> resales = new ArrayList<>();
+		for (int i = 0; i < volumes.resaleOffers(); i++) {
+			resales.add(new Resale(accepted.get(i).getOfferId(), i % forwarders.size()));
+		}
+		List<ChatRoom> rooms = new ArrayList<>();
+		for (int i = volumes.resaleOffers(); i < closedCount; i++) {
+			OfferEntity offer = accepted.get(i);
+			ChatRoom room = ChatRoom.builder().roomType(ChatRoomType.DIRECT).offer(offer).build();
+			room.getParticipants().add(ChatParticipant.builder().chatRoom(room)
+					.user(offer.getRequest().getRequester()).roleInChat("REQUESTER").build());
+			room.getParticipants().add(ChatParticipant.builder().chatRoom(room)
+					.user(offer.getForwarder()).roleInChat("PROVIDER").build());
+			rooms.add(room);
+		}
+		rooms = chatRoomRepository.saveAll(rooms);
+		List<ChatSeat> chatSeats = new ArrayList<>();
+		for (int i = 0; i < rooms.size(); i++) {
+			UserEntity requester = closed.get(volumes.resaleOffers() + i).getRequester();
+			chatSeats.add(new ChatSeat(rooms.get(i).getChatRoomId(), shippers.indexOf(requester)));
+		}
+
+		return new SeedData(shippers, forwarders, containerIds, open.stream().map(RequestEntity::getRequestId).toList(),
+				volumes.offersPerRequest(), confirmables, resales, chatSeats);
+	}
+
+	private List<UserEntity> users(String prefix, String role, int count, String hash) {
+		List<UserEntity> users = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			users.add(UserEntity.builder()
+					.userId(prefix + i)
+					.userPwd(hash)
+					.email(prefix + i + "@load.test")
+					.userName(prefix + i)
+					.companyName("Load " + prefix + i)
+					.businessNum(String.format("%03d-%02d-%05d", i % 1000, i % 100, i))
+					.roles(role)
+					.approvalStatus("APPROVED")
+					.build());
+		}
+		return userRepository.saveAll(users);
+	}
+
+	private List<RequestEntity> requests(int count, List<UserEntity> shippers, RequestStatus status, SplittableRandom random,
+										 LocalDateTime now) {
+		List<CargoEntity> cargos = new ArrayList<>();
+		List<RequestEntity> requests = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			UserEntity shipper = shippers.get(random.nextInt(shippers.size()));
+			CargoEntity cargo = CargoEntity.builder()
+					.owner(shipper)
+					.itemName("LOAD ITEM " + i)
+					.incoterms("FOB")
+					.totalCbm(cbm(random.nextDouble()))
+					.isDangerous(false)
+					.build();
+			cargos.add(cargo);
+			String[] route = ROUTES[random.nextInt(ROUTES.length)];
+			requests.add(RequestEntity.builder()
+					.cargo(cargo)
+					.requester(shipper)
+					.departurePort(route[0])
+					.arrivalPort(route[1])
+					.deadline(now.plusDays(7 + random.nextInt(14)))
+					.desiredArrivalDate(desiredArrival(now))
+					.tradeType("EXPORT")
+					.transportType("FCL")
+					.status(status)
+					.build());
+		}
+		cargoRepository.saveAll(cargos);
+		return requestRepository.saveAll(requests);
+	}
+
+	private static OfferEntity offer(RequestEntity request, List<UserEntity> forwarders, List<ContainerEntity> containers,
+									 Volumes volumes, int forwarder, OfferStatus status, SplittableRandom random) {
+		int container = forwarder * volumes.containersPerForwarder() + random.nextInt(volumes.containersPerForwarder());
+		double perCbm = 60_000 + random.nextInt(60_000);
+		return OfferEntity.builder()
+				.request(request)
+				.container(containers.get(container))
+				.forwarder(forwarders.get(forwarder))
+				.price(BigDecimal.valueOf(Math.round(perCbm * request.getCargo().getTotalCbm())))
+				.currency("KRW")
+				.status(status)
+				.build();
+	}
+
+	// max(1, Beta(1, 15) x 30), 소수 첫째 자리
+	static double cbm(double uniform) {
+		double beta = 1.0 - Math.pow(uniform, 1.0 / 15);
+		return Math.max(1.0, Math.round(beta * 300) / 10.0);
+	}
+
+	// 희망 도착일: 마감 뒤 한 달 남짓
+	static LocalDate desiredArrival(LocalDateTime now) {
+		return now.toLocalDate().plusDays(45);
+	}
+}
@@ -0,0 +1,133 @@
+package net.dima.project.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 화면/REST/SSE 호출용 HTTP 클라이언트. 사용자마다 폼 로그인(/loginProc)으로 받은 세션 쿠키를 붙여 보냅니다.
+ * 응답 본문은 끝까지 읽고 버리므로 서버의 렌더링/직렬화 비용이 지연 시간에 포함됩니다.
+ */
+final class MarketplaceClient {
+
+	private final String baseUrl;
+	private final ObjectMapper objectMapper;
+	private final Duration timeout;
+	private final HttpClient http;
+
+	MarketplaceClient(int port, ObjectMapper objectMapper, Duration timeout) {
+		this.baseUrl = "http://localhost:" + port;
+		this.objectMapper = objectMapper;
+		this.timeout = timeout;
+		this.http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.connectTimeout(timeout)
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+	}
+
+	/**
+	 * 로그인 후 세션 쿠키("JSESSIONID=...") 를 돌려준다
+	 */
+	String login(String userId, String password) throws IOException, InterruptedException {
+		String form = "userId=" + URLEncoder.encode(userId, StandardCharsets.UTF_8)
+				+ "&userPwd=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+		HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri("/loginProc"))
+				.timeout(timeout)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form))
+				.build(), HttpResponse.BodyHandlers.discarding());
+		String location = response.headers().firstValue("Location").orElse("");
+		if (response.statusCode() != 302 || location.contains("error")) {
+			throw new IllegalStateException("로그인 실패: " + userId + " (" + response.statusCode() + " " + location + ")");
+		}
+		return response.headers().allValues("Set-Cookie").stream()
+				.map(cookie -> cookie.split(";", 2)[0])
+				.filter(cookie -> cookie.startsWith("JSESSIONID="))
+				.findFirst()
+				.orElseThrow(() -> new IllegalStateException("세션 쿠키가 없습니다: " + userId));
+	}
+
+	int get(String session, String path) throws IOException, InterruptedException {
+		return http.send(request(session, path).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	int postJson(String session, String path, Object body) throws IOException, InterruptedException {
+		return http.send(request(session, path)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	int post(String session, String path) throws IOException, InterruptedException {
+		return http.send(request(session, path).POST(HttpRequest.BodyPublishers.noBody()).build(),
+				HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	/**
+	 * SSE 구독: 첫 'unreadCount' 이벤트(초기 안읽은 알림 수)를 받으면 돌아온다. 이때까지가 지연 시간이고,
+	 * 연결은 별도 가상 스레드에서 holdMs 동안 열어 둔 뒤 닫는다 (동시 구독 수 유지)
+	 */
+	int subscribe(String session, String path, long holdMs) throws IOException, InterruptedException {
+		HttpResponse<InputStream> response = http.send(request(session, path)
+				.header("Accept", "text/event-stream")
+				.GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+		InputStream body = response.body();
+		boolean holding = false;
+		try {
+			if (response.statusCode() != 200) {
+				return response.statusCode();
+			}
+			BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("event:") && line.substring(6).trim().equals("unreadCount")) {
+					holding = true;
+					Thread.ofVirtual().start(() -> {
+						try {
+							Thread.sleep(holdMs);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						} finally {
+							closeQuietly(body);
+						}
+					});
+					return 200;
+				}
+			}
+			throw new IOException("unreadCount 이벤트 전에 스트림이 끝났습니다.");
+		} finally {
+			if (!holding) {
+				closeQuietly(body);
+			}
+		}
+	}
+
+	private static void closeQuietly(InputStream body) {
+		try {
+			body.close();
+		} catch (IOException ignored) {
+			// 구독 종료 중 오류는 측정과 무관
+		}
+	}
+
+	private HttpRequest.Builder request(String session, String path) {
+		return HttpRequest.newBuilder(uri(path)).timeout(timeout).header("Cookie", session);
+	}
+
+	private URI uri(String path) {
+		return URI.create(baseUrl + path);
+	}
+}
@@ -0,0 +1,269 @@
+package net.dima.project.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.dima.project.dto.NewRequestDto;
+import net.dima.project.dto.OfferRequestDto;
+import net.dima.project.repository.CargoRepository;
+import net.dima.project.repository.ChatRoomRepository;
+import net.dima.project.repository.ContainerRepository;
+import net.dima.project.repository.OfferRepository;
+import net.dima.project.repository.RequestRepository;
+import net.dima.project.repository.UserRepository;
+
+/**
+ * 마켓플레이스 부하 테스트 (gradle benchmark 로 실행, 기본 test 에서는 제외)
+ *
+ * 실제 서버(임의 포트, 보안 필터/Thymeleaf/STOMP 포함)를 내장 H2(MySQL 모드)로 띄우고 데이터를 채운 뒤,
+ * 화주/포워더/재판매/알림/채팅 사용자의 요청을 엔드포인트별 초당 요청 수로 동시에 보내 처리량과 지연 백분위를 출력합니다.
+ * 결과 표는 콘솔과 loadtest.report (CSV) 에 남습니다.
+ *
+ * 설정은 모두 loadtest.* 이고 시스템 속성(gradle benchmark -Dloadtest.rate.offer=100) 이나
+ * 환경 변수(LOADTEST_RATE_OFFER=100) 로 바꿀 수 있습니다. 초당 요청 수를 0으로 두면 그 부하는 보내지 않습니다.
+ * 비밀번호 해시 비용은 측정 대상이 아니므로 최소 cost로 고정합니다. (로그인 처리량은 LoginThroughputBenchmark)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.defer-datasource-initialization=true",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:job-lease-schema.sql",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=false",
+		"logging.level.root=WARN",
+		"logging.level.org.hibernate.stat=WARN",
+		"logging.level.net.dima.project.service.SseEmitterService=OFF",
+		"file.upload-dir=build/loadtest/uploads/",
+		"security.password.min-cost=4",
+		"security.password.max-cost=4",
+		"ledger.backfill-on-startup=false" })
+class MarketplaceLoadBenchmark {
+
+	private static final String CREATE_REQUEST = "POST /api/cus/requests";
+	private static final String CONFIRM = "POST /api/cus/requests/{id}/confirm";
+	private static final String OFFER = "POST /api/fwd/offers";
+	private static final String CONTAINER_INQUIRY = "GET /fwd/container-inquiry";
+	private static final String RESALE = "POST /api/fwd/resale/{offerId}";
+	private static final String SUBSCRIBE = "GET /api/notifications/subscribe";
+	private static final String CHAT_CONNECT = "STOMP /ws-chat CONNECT+SUBSCRIBE";
+	private static final String CHAT = "STOMP /app/chat/sendMessage (echo)";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private Environment env;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ContainerRepository containerRepository;
+	@Autowired
+	private CargoRepository cargoRepository;
+	@Autowired
+	private RequestRepository requestRepository;
+	@Autowired
+	private OfferRepository offerRepository;
+	@Autowired
+	private ChatRoomRepository chatRoomRepository;
+
+	@Test
+	void replayMixedMarketplaceTraffic() throws Exception {
+		LoadTestSeeder.Volumes volumes = new LoadTestSeeder.Volumes(
+				setting("loadtest.seed-data.shippers", 100),
+				setting("loadtest.seed-data.forwarders", 40),
+				setting("loadtest.seed-data.containers-per-forwarder", 4),
+				setting("loadtest.seed-data.open-requests", 2000),
+				setting("loadtest.seed-data.offers-per-request", 3),
+				setting("loadtest.seed-data.confirmable-requests", 1000),
+				setting("loadtest.seed-data.resale-offers", 1000),
+				setting("loadtest.seed-data.chat-rooms", 40));
+		long timeoutMs = setting("loadtest.timeout-ms", 10_000);
+		long sseHoldMs = setting("loadtest.sse-hold-ms", 10_000);
+		Duration warmup = Duration.ofSeconds(setting("loadtest.warmup-seconds", 5));
+		Duration duration = Duration.ofSeconds(setting("loadtest.duration-seconds", 20));
+
+		long seedStarted = System.nanoTime();
+		LoadTestSeeder.SeedData data = new LoadTestSeeder(userRepository, containerRepository, cargoRepository,
+				requestRepository, offerRepository, chatRoomRepository, passwordEncoder)
+				.seed(volumes, setting("loadtest.seed", 42));
+		System.out.printf("[load-test] seeded %s in %.1fs%n", volumes, (System.nanoTime() - seedStarted) / 1e9);
+
+		MarketplaceClient client = new MarketplaceClient(port, objectMapper, Duration.ofMillis(timeoutMs));
+		List<String> shipperSessions = login(client, data.shippers().stream().map(u -> u.getUserId()).toList());
+		List<String> forwarderSessions = login(client, data.forwarders().stream().map(u -> u.getUserId()).toList());
+
+		LoadDriver driver = new LoadDriver(warmup, duration, setting("loadtest.max-in-flight", 2000));
+		List<ChatLoadClient> chatClients = connectChatUsers(data, shipperSessions, driver, timeoutMs);
+		try {
+			driver.run(workloads(data, client, shipperSessions, forwarderSessions, chatClients, timeoutMs, sseHoldMs),
+					Duration.ofMillis(timeoutMs * 2));
+		} finally {
+			chatClients.forEach(ChatLoadClient::close);
+		}
+
+		System.out.printf("[load-test] warm-up %ds, measured %ds, latency from scheduled send time (ms)%n",
+				warmup.toSeconds(), duration.toSeconds());
+		driver.report(System.out);
+		Path report = Path.of(env.getProperty("loadtest.report", "build/loadtest/report.csv"));
+		driver.writeCsv(report);
+		System.out.println("[load-test] report: " + report.toAbsolutePath());
+
+		for (String endpoint : List.of(CREATE_REQUEST, CONFIRM, OFFER, CONTAINER_INQUIRY, RESALE, SUBSCRIBE, CHAT)) {
+			LoadDriver.EndpointStats stats = driver.stats(endpoint);
+			assertThat(stats.statuses.keySet()).as(endpoint).allMatch(status -> status < 500);
+			if (stats.targetRate > 0) {
+				assertThat(stats.completed()).as(endpoint).isPositive();
+			}
+		}
+	}
+
+	private List<LoadDriver.Workload> workloads(LoadTestSeeder.SeedData data, MarketplaceClient client,
+												List<String> shipperSessions, List<String> forwarderSessions,
+												List<ChatLoadClient> chatClients, long timeoutMs, long sseHoldMs) {
+		AtomicInteger offerCursor = new AtomicInteger();
+		AtomicInteger confirmCursor = new AtomicInteger();
+		AtomicInteger resaleCursor = new AtomicInteger();
+		int forwarders = forwarderSessions.size();
+		List<String> everyone = new ArrayList<>(shipperSessions);
+		everyone.addAll(forwarderSessions);
+
+		List<LoadDriver.Workload> workloads = new ArrayList<>();
+		// 화주: 새 요청 등록 / 입찰 중 하나 확정
+		workloads.add(new LoadDriver.Workload(CREATE_REQUEST, rate("create-request", 10), () -> {
+			LocalDateTime now = LocalDateTime.now();
+			NewRequestDto request = new NewRequestDto();
+			request.setItemName("LOAD ITEM");
+			request.setIncoterms("FOB");
+			request.setTotalCbm(LoadTestSeeder.cbm(ThreadLocalRandom.current().nextDouble()));
+			request.setDeparturePort("BUSAN");
+			request.setArrivalPort("LOS ANGELES");
+			request.setDeadline(now.plusDays(7));
+			request.setDesiredArrivalDate(LoadTestSeeder.desiredArrival(now));
+			request.setTradeType("EXPORT");
+			request.setTransportType("FCL");
+			return client.postJson(pick(shipperSessions), "/api/cus/requests", request);
+		}));
+		workloads.add(new LoadDriver.Workload(CONFIRM, rate("confirm", 5), () -> {
+			int n = confirmCursor.getAndIncrement();
+			if (n >= data.confirmables().size()) {
+				return LoadDriver.EXHAUSTED;
+			}
+			LoadTestSeeder.Confirmable target = data.confirmables().get(n);
+			return client.postJson(shipperSessions.get(target.shipper()),
+					"/api/cus/requests/" + target.requestId() + "/confirm", Map.of("winningOfferId", target.offerId()));
+		}));
+		// 포워더: 아직 입찰하지 않은 (요청, 포워더) 조합에 제안 / 컨테이너 조회 화면
+		workloads.add(new LoadDriver.Workload(OFFER, rate("offer", 30), () -> {
+			int n = offerCursor.getAndIncrement();
+			int requests = data.openRequests().size();
+			int request = n % requests;
+			int round = n / requests;
+			if (round >= forwarders - data.offersPerRequest()) {
+				return LoadDriver.EXHAUSTED;
+			}
+			int forwarder = (request + data.offersPerRequest() + round) % forwarders;
+			List<String> containers = data.containers().get(forwarder);
+			OfferRequestDto offer = new OfferRequestDto();
+			offer.setRequestId(data.openRequests().get(request));
+			offer.setContainerId(containers.get(n % containers.size()));
+			offer.setPrice(BigDecimal.valueOf(100_000 + ThreadLocalRandom.current().nextInt(900_000)));
+			offer.setCurrency("KRW");
+			return client.postJson(forwarderSessions.get(forwarder), "/api/fwd/offers", offer);
+		}));
+		workloads.add(new LoadDriver.Workload(CONTAINER_INQUIRY, rate("container-inquiry", 10),
+				() -> client.get(pick(forwarderSessions), "/fwd/container-inquiry")));
+		// 재판매: 낙찰받은 제안을 재판매 요청으로 등록
+		workloads.add(new LoadDriver.Workload(RESALE, rate("resale", 5), () -> {
+			int n = resaleCursor.getAndIncrement();
+			if (n >= data.resales().size()) {
+				return LoadDriver.EXHAUSTED;
+			}
+			LoadTestSeeder.Resale target = data.resales().get(n);
+			return client.post(forwarderSessions.get(target.forwarder()), "/api/fwd/resale/" + target.offerId());
+		}));
+		// 알림: SSE 구독 (첫 이벤트까지), 연결은 sse-hold-ms 동안 유지
+		workloads.add(new LoadDriver.Workload(SUBSCRIBE, rate("subscribe", 5),
+				() -> client.subscribe(pick(everyone), "/api/notifications/subscribe", sseHoldMs)));
+		// 채팅: 자기 채팅방으로 보낸 메시지가 되돌아올 때까지
+		if (!chatClients.isEmpty()) {
+			workloads.add(new LoadDriver.Workload(CHAT, rate("chat", 20), () -> {
+				chatClients.get(ThreadLocalRandom.current().nextInt(chatClients.size())).roundTrip(timeoutMs);
+				return 200;
+			}));
+		}
+		return workloads;
+	}
+
+	// 사용자마다 로그인해 세션 쿠키를 받아 둔다 (가상 스레드로 동시에)
+	private List<String> login(MarketplaceClient client, List<String> userIds) throws Exception {
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<String>> sessions = new ArrayList<>();
+			for (String userId : userIds) {
+				sessions.add(executor.submit(() -> client.login(userId, LoadTestSeeder.PASSWORD)));
+			}
+			List<String> result = new ArrayList<>();
+			for (Future<String> session : sessions) {
+				result.add(session.get());
+			}
+			return result;
+		}
+	}
+
+	private List<ChatLoadClient> connectChatUsers(LoadTestSeeder.SeedData data, List<String> shipperSessions,
+												  LoadDriver driver, long timeoutMs) throws Exception {
+		List<ChatLoadClient> clients = new ArrayList<>();
+		if (rate("chat", 20) <= 0) {
+			return clients;
+		}
+		for (LoadTestSeeder.ChatSeat seat : data.chatSeats()) {
+			long started = System.nanoTime();
+			clients.add(ChatLoadClient.connect(port, shipperSessions.get(seat.shipper()), seat.chatRoomId(),
+					data.shippers().get(seat.shipper()).getUserSeq(), timeoutMs));
+			driver.stats(CHAT_CONNECT).record(200, (System.nanoTime() - started) / 1_000);
+		}
+		return clients;
+	}
+
+	private static String pick(List<String> sessions) {
+		return sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+	}
+
+	private double rate(String workload, double defaultRate) {
+		return env.getProperty("loadtest.rate." + workload, Double.class, defaultRate);
+	}
+
+	private int setting(String key, int defaultValue) {
+		return env.getProperty(key, Integer.class, defaultValue);
+	}
+}
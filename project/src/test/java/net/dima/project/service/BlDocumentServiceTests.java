@@ -0,0 +1,48 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import net.dima.project.dto.BlDto;
+
+/**
+ * B/L 렌더링 기준값 테스트.
+ * 렌더링되는 값이 하나라도 바뀌면 기준값이 달라지고, 발행일만 다르면 같아야 한다.
+ */
+class BlDocumentServiceTests {
+
+	private final BlDto bl = BlDto.builder()
+			.blNo("SHB-10-42")
+			.issueDate(LocalDate.of(2025, 7, 1))
+			.shipperName("한국무역")
+			.shipperAddress("서울")
+			.consigneeName("한국무역")
+			.consigneeAddress("서울")
+			.forwarderName("Dima Logistics")
+			.vesselName("HMM ALGECIRAS")
+			.imoNumber("9811000")
+			.portOfLoading("부산")
+			.portOfDischarge("LA")
+			.containerNo("CONT-001")
+			.descriptionOfGoods("전자부품")
+			.cbm(3.5)
+			.build();
+
+	@Test
+	void everyRenderedFieldChangesVersion() {
+		String version = BlDocumentService.sourceVersion(bl);
+
+		assertThat(BlDocumentService.sourceVersion(bl.toBuilder().vesselName("HMM OSLO").build())).isNotEqualTo(version);
+		assertThat(BlDocumentService.sourceVersion(bl.toBuilder().shipperAddress("부산").build())).isNotEqualTo(version);
+		assertThat(BlDocumentService.sourceVersion(bl.toBuilder().consigneeAddress("LA").build())).isNotEqualTo(version);
+	}
+
+	@Test
+	void issueDateDoesNotChangeVersion() {
+		assertThat(BlDocumentService.sourceVersion(bl.toBuilder().issueDate(LocalDate.of(2025, 8, 1)).build()))
+				.isEqualTo(BlDocumentService.sourceVersion(bl));
+	}
+}
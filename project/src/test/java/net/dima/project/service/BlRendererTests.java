@@ -0,0 +1,56 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import net.dima.project.dto.BlDto;
+
+/**
+ * B/L 텍스트/PDF 렌더링 테스트
+ */
+class BlRendererTests {
+
+	private final BlRenderer renderer = new BlRenderer();
+
+	private final BlDto bl = BlDto.builder()
+			.blNo("SHB-10-42")
+			.issueDate(LocalDate.of(2025, 7, 1))
+			.shipperName("한국무역")
+			.consigneeName("한국무역")
+			.forwarderName("Dima Logistics")
+			.imoNumber("9811000")
+			.portOfLoading("부산")
+			.portOfDischarge("LA")
+			.containerNo("CONT-001")
+			.descriptionOfGoods("전자부품")
+			.cbm(3.5)
+			.build();
+
+	@Test
+	void textKeepsDraftLayout() {
+		String text = new String(renderer.renderText(bl), StandardCharsets.UTF_8);
+
+		assertThat(text).startsWith("==============================================\n              BILL OF LADING (DRAFT)");
+		assertThat(text).contains("B/L No: SHB-10-42\n", "Name: 한국무역\n", "CBM (Cubic Meter): 3.50\n");
+		assertThat(text).endsWith("              END OF DOCUMENT                 \n==============================================\n");
+	}
+
+	@Test
+	void pdfIsWellFormedAndDeterministic() {
+		byte[] pdf = renderer.renderPdf(bl);
+		String raw = new String(pdf, StandardCharsets.ISO_8859_1);
+
+		assertThat(raw).startsWith("%PDF-1.4").endsWith("%%EOF\n");
+		// startxref가 가리키는 곳에 xref 표가 있어야 한다
+		int startxref = Integer.parseInt(raw.substring(raw.lastIndexOf("startxref\n") + 10, raw.lastIndexOf("\n%%EOF")));
+		assertThat(raw.substring(startxref)).startsWith("xref\n0 8\n");
+		// 한글은 UCS-2 16진수 문자열로 들어간다 ("한" = U+D55C)
+		assertThat(raw).contains("/UniKS-UCS2-H", "D55C");
+		// 같은 내용이면 같은 바이트 (문서 저장소에서 중복 제거됨)
+		assertThat(renderer.renderPdf(bl)).isEqualTo(pdf);
+	}
+}
@@ -0,0 +1,48 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.dima.project.entity.ChatMessage;
+import net.dima.project.entity.UserEntity;
+
+/**
+ * 채팅 보관 세그먼트 직렬화 왕복 테스트
+ */
+class ChatArchiveCodecTests {
+
+	@Test
+	void roundTripsMessagesInOrder() {
+		UserEntity shipper = UserEntity.builder().userSeq(1).build();
+		UserEntity forwarder = UserEntity.builder().userSeq(2).build();
+		LocalDateTime base = LocalDateTime.of(2025, 3, 1, 9, 30, 15);
+
+		List<ChatMessage> messages = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			messages.add(ChatMessage.builder()
+					.messageId(1000L + i)
+					.sender(i % 2 == 0 ? shipper : forwarder)
+					.messageContent("선적 일정 확인 부탁드립니다 #" + i)
+					.sentAt(i == 5 ? null : base.plusMinutes(i))
+					.isRead(i % 3 == 0)
+					.build());
+		}
+
+		ChatArchiveCodec.Encoded encoded = ChatArchiveCodec.encode(messages);
+		assertThat(encoded.payload().length).isLessThan(encoded.rawBytes());
+
+		List<ChatArchiveCodec.ArchivedMessage> decoded = ChatArchiveCodec.decode(encoded.payload());
+		assertThat(decoded).hasSize(200);
+		assertThat(decoded.get(0).messageId()).isEqualTo(1000L);
+		assertThat(decoded.get(1).senderSeq()).isEqualTo(2);
+		assertThat(decoded.get(3).read()).isTrue();
+		assertThat(decoded.get(5).sentAt()).isNull();
+		assertThat(decoded.get(199).sentAt()).isEqualTo(base.plusMinutes(199));
+		assertThat(decoded.get(199).content()).isEqualTo("선적 일정 확인 부탁드립니다 #199");
+	}
+}
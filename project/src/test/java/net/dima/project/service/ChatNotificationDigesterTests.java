@@ -0,0 +1,104 @@
+package net.dima.project.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.UserRepository;
+
+/**
+ * 채팅 알림 묶음 테스트.
+ * 접속 사용자는 주기마다 'unreadChat' 1건, 미접속 사용자는 조용한 시간/최대 지연 뒤 요약 알림 1건,
+ * 전송 실패 시 묶음이 사라지지 않고 요약 알림으로 넘어가는지 확인한다.
+ */
+class ChatNotificationDigesterTests {
+
+	private static final long QUIET_MS = 300_000;
+	private static final long MAX_DELAY_MS = 1_800_000;
+
+	private final SseEmitterService sseEmitterService = mock(SseEmitterService.class);
+	private final NotificationService notificationService = mock(NotificationService.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final UserEntity receiver = UserEntity.builder().userSeq(2).userId("cus1").build();
+
+	private ChatNotificationDigester digester() {
+		ChatNotificationDigester digester = new ChatNotificationDigester(sseEmitterService, notificationService, userRepository);
+		ReflectionTestUtils.setField(digester, "offlineQuietPeriodMs", QUIET_MS);
+		ReflectionTestUtils.setField(digester, "offlineMaxDelayMs", MAX_DELAY_MS);
+		when(userRepository.findByUserId("cus1")).thenReturn(receiver);
+		return digester;
+	}
+
+	@Test
+	void connectedUserGetsOneEventPerFlush() {
+		ChatNotificationDigester digester = digester();
+		when(sseEmitterService.isConnected("cus1")).thenReturn(true);
+		when(sseEmitterService.sendToClient(eq("cus1"), eq("unreadChat"), any())).thenReturn(true);
+
+		digester.record("cus1", 10L, 0);
+		digester.record("cus1", 10L, 1);
+		digester.record("cus1", 11L, 2);
+		digester.flush(3);
+		digester.flush(4);
+
+		verify(sseEmitterService, times(1)).sendToClient("cus1", "unreadChat",
+				Map.of("total", 3, "rooms", Map.of(10L, 2, 11L, 1)));
+		verify(notificationService, never()).sendNotification(any(), anyString(), anyString());
+	}
+
+	@Test
+	void offlineUserGetsSummaryAfterQuietPeriod() {
+		ChatNotificationDigester digester = digester();
+
+		digester.record("cus1", 10L, 0);
+		digester.record("cus1", 10L, 1_000);
+		digester.flush(1_000 + QUIET_MS - 1);
+		verify(notificationService, never()).sendNotification(any(), anyString(), anyString());
+
+		digester.flush(1_000 + QUIET_MS);
+		digester.flush(1_000 + QUIET_MS + 1);
+		verify(notificationService, times(1)).sendNotification(receiver, "읽지 않은 채팅 메시지 2건이 있습니다. (채팅방 1개)", "/chat");
+	}
+
+	@Test
+	void offlineSummaryIsNotPostponedBeyondMaxDelay() {
+		ChatNotificationDigester digester = digester();
+
+		// 조용한 시간보다 짧은 간격으로 대화가 계속 이어짐
+		long now = 0;
+		for (; now < MAX_DELAY_MS; now += QUIET_MS / 2) {
+			digester.record("cus1", 10L, now);
+			digester.flush(now);
+		}
+		verify(notificationService, never()).sendNotification(any(), anyString(), anyString());
+
+		digester.flush(MAX_DELAY_MS);
+		verify(notificationService, times(1)).sendNotification(eq(receiver), anyString(), eq("/chat"));
+	}
+
+	@Test
+	void failedSendFallsBackToSummaryNotification() {
+		ChatNotificationDigester digester = digester();
+		when(sseEmitterService.isConnected("cus1")).thenReturn(true, false);
+		when(sseEmitterService.sendToClient(eq("cus1"), eq("unreadChat"), any())).thenReturn(false);
+
+		digester.record("cus1", 10L, 0);
+		digester.flush(1);
+		verify(notificationService, never()).sendNotification(any(), anyString(), anyString());
+
+		// 연결이 끊긴 뒤에는 미접속 규칙으로 요약 알림 저장
+		digester.flush(QUIET_MS);
+		verify(notificationService, times(1)).sendNotification(receiver, "읽지 않은 채팅 메시지 1건이 있습니다. (채팅방 1개)", "/chat");
+	}
+}
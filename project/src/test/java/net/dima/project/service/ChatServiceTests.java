@@ -0,0 +1,132 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import net.dima.project.dto.ChatMessageDto;
+import net.dima.project.entity.CargoEntity;
+import net.dima.project.entity.ChatMessage;
+import net.dima.project.entity.ChatParticipant;
+import net.dima.project.entity.ChatRoom;
+import net.dima.project.entity.ChatRoomType;
+import net.dima.project.entity.ContainerCargoEntity;
+import net.dima.project.entity.ContainerEntity;
+import net.dima.project.entity.OfferEntity;
+import net.dima.project.entity.RequestEntity;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.ChatMessageRepository;
+import net.dima.project.repository.ChatRoomRepository;
+import net.dima.project.repository.ContainerCargoRepository;
+import net.dima.project.repository.ContainerRepository;
+import net.dima.project.repository.UserRepository;
+
+/**
+ * 컨테이너 공지 채팅방 테스트.
+ * 화물 이전 후 양쪽 채팅방의 참여자 동기화와, 발신자를 접속 사용자로만 판단하는지 확인한다.
+ */
+class ChatServiceTests {
+
+	private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+	private final ContainerCargoRepository containerCargoRepository = mock(ContainerCargoRepository.class);
+	private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final ChatService chatService = new ChatService(chatRoomRepository, containerCargoRepository,
+			mock(ContainerRepository.class), chatMessageRepository, userRepository, mock(SseEmitterService.class),
+			mock(ChatNotificationDigester.class), mock(ChatArchiveService.class));
+
+	private final UserEntity forwarder = user(1, "fwd1");
+	private final UserEntity shipper = user(2, "cus1");
+
+	private static UserEntity user(int seq, String userId) {
+		return UserEntity.builder().userSeq(seq).userId(userId).build();
+	}
+
+	private static ContainerEntity container(String id, UserEntity forwarder) {
+		return ContainerEntity.builder().containerId(id).forwarder(forwarder).build();
+	}
+
+	private static ChatRoom room(ContainerEntity container, UserEntity... members) {
+		ChatRoom room = ChatRoom.builder().chatRoomId((long) container.getContainerId().hashCode())
+				.roomType(ChatRoomType.CONTAINER).container(container).build();
+		room.getParticipants().add(ChatParticipant.builder().chatRoom(room).user(container.getForwarder())
+				.roleInChat("OWNER").build());
+		for (UserEntity member : members) {
+			room.getParticipants().add(ChatParticipant.builder().chatRoom(room).user(member).roleInChat("MEMBER").build());
+		}
+		return room;
+	}
+
+	private ContainerCargoEntity loaded(ContainerEntity container, UserEntity owner) {
+		CargoEntity cargo = CargoEntity.builder().owner(owner).build();
+		OfferEntity offer = OfferEntity.builder().offerId(10L)
+				.request(RequestEntity.builder().cargo(cargo).requester(owner).build()).build();
+		return ContainerCargoEntity.builder().container(container).offer(offer).isExternal(false).build();
+	}
+
+	private static List<Integer> memberSeqs(ChatRoom room) {
+		return room.getParticipants().stream().map(p -> p.getUser().getUserSeq()).toList();
+	}
+
+	@Test
+	void transferredShipperMovesBetweenContainerRooms() {
+		ContainerEntity from = container("C-FROM", forwarder);
+		ContainerEntity to = container("C-TO", forwarder);
+		ChatRoom fromRoom = room(from, shipper);
+		ChatRoom toRoom = room(to);
+		when(chatRoomRepository.findByContainer(from)).thenReturn(Optional.of(fromRoom));
+		when(chatRoomRepository.findByContainer(to)).thenReturn(Optional.of(toRoom));
+		// 이전 후 적재 현황: 화물은 대상 컨테이너에만 있음
+		when(containerCargoRepository.findAllByContainer(from)).thenReturn(new ArrayList<>());
+		when(containerCargoRepository.findAllByContainer(to)).thenReturn(List.of(loaded(to, shipper)));
+
+		chatService.refreshContainerChatMembers(from);
+		chatService.refreshContainerChatMembers(to);
+
+		assertThat(memberSeqs(fromRoom)).containsExactly(1);
+		assertThat(memberSeqs(toRoom)).containsExactly(1, 2);
+		assertThat(toRoom.getParticipants().get(1).getRoleInChat()).isEqualTo("MEMBER");
+	}
+
+	@Test
+	void senderSeqFromPayloadCannotImpersonateOwner() {
+		ContainerEntity container = container("C-1", forwarder);
+		ChatRoom room = room(container, shipper);
+		when(chatRoomRepository.findById(room.getChatRoomId())).thenReturn(Optional.of(room));
+		when(userRepository.findByUserId("cus1")).thenReturn(shipper);
+
+		ChatMessageDto dto = new ChatMessageDto();
+		dto.setChatRoomId(room.getChatRoomId());
+		dto.setSenderSeq(forwarder.getUserSeq()); // 운송사인 척
+		dto.setMessageContent("공지");
+
+		assertThatThrownBy(() -> chatService.saveMessage(dto, "cus1")).isInstanceOf(SecurityException.class);
+		verify(chatMessageRepository, never()).save(any(ChatMessage.class));
+	}
+
+	@Test
+	void nonParticipantCannotPostToRoom() {
+		ChatRoom room = ChatRoom.builder().chatRoomId(7L).build();
+		room.getParticipants().add(ChatParticipant.builder().chatRoom(room).user(shipper).roleInChat("REQUESTER").build());
+		when(chatRoomRepository.findById(7L)).thenReturn(Optional.of(room));
+		when(userRepository.findByUserId("fwd1")).thenReturn(forwarder);
+
+		ChatMessageDto dto = new ChatMessageDto();
+		dto.setChatRoomId(7L);
+		dto.setSenderSeq(shipper.getUserSeq());
+		dto.setMessageContent("hi");
+
+		assertThatThrownBy(() -> chatService.saveMessage(dto, "fwd1")).isInstanceOf(SecurityException.class);
+		verify(chatMessageRepository, never()).save(any(ChatMessage.class));
+	}
+}
@@ -0,0 +1,167 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import net.dima.project.repository.DocumentBlobRepository;
+
+/**
+ * 내용 주소 문서 저장소 테스트 (임시 디렉터리 LocalFileStorage + 내장 DB H2, MySQL 모드).
+ * 같은 내용은 파일 하나에 참조 수만 늘고, 가비지 수집은 유예 시간이 지난 미참조 블롭 / DB 행 없는 파일 /
+ * 오래된 incoming 파일만 지우는지 확인한다. 저장과 수집이 각자 커밋하므로 테스트 트랜잭션은 쓰지 않는다.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:document-store;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ContentAddressedDocumentStore.class, ContentAddressedDocumentStoreTests.Storage.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentAddressedDocumentStoreTests {
+
+	private static final Duration GRACE = Duration.ofMinutes(10);
+	private static final byte[] CONTENT = "B/L SHB-10-42".getBytes(StandardCharsets.UTF_8);
+
+	@TestConfiguration
+	static class Storage {
+
+		@Bean
+		LocalFileStorage fileStorage() throws IOException {
+			return new LocalFileStorage(Files.createTempDirectory("document-store").toString());
+		}
+	}
+
+	@Autowired
+	private ContentAddressedDocumentStore documentStore;
+
+	@Autowired
+	private DocumentBlobRepository documentBlobRepository;
+
+	@Autowired
+	private LocalFileStorage fileStorage;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@AfterEach
+	void tearDown() throws IOException {
+		documentBlobRepository.deleteAll();
+		for (String key : fileStorage.list("documents").keySet()) {
+			fileStorage.delete(key);
+		}
+		for (String key : fileStorage.list("incoming").keySet()) {
+			fileStorage.delete(key);
+		}
+	}
+
+	private StoredFile put(byte[] content) throws IOException {
+		return documentStore.put(new ByteArrayInputStream(content), "text/plain", 1024);
+	}
+
+	private int refCount(String sha256) {
+		return documentBlobRepository.findById(sha256).orElseThrow().getRefCount();
+	}
+
+	// 참조 수가 마지막으로 바뀐 시각을 유예 시간 이전으로 돌린다
+	private void expireGrace(String sha256) {
+		jdbc.update("UPDATE document_blob SET updated_at = ? WHERE sha256 = ?",
+				Timestamp.valueOf(LocalDateTime.now().minus(GRACE).minusMinutes(1)), sha256);
+	}
+
+	private void writeFile(String key, byte[] content, Duration age) throws IOException {
+		fileStorage.store(key, new ByteArrayInputStream(content), 1024);
+		Path path = fileStorage.stat(key).orElseThrow().localPath();
+		Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+	}
+
+	private static String key(String sha256) {
+		return "documents/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+	}
+
+	@Test
+	void sameContentIsStoredOnceWithTwoReferences() throws IOException {
+		StoredFile first = put(CONTENT);
+		StoredFile second = put(CONTENT);
+
+		assertThat(second.sha256()).isEqualTo(first.sha256());
+		assertThat(fileStorage.list("documents")).containsOnlyKeys(key(first.sha256()));
+		assertThat(fileStorage.list("incoming")).isEmpty();
+		assertThat(refCount(first.sha256())).isEqualTo(2);
+	}
+
+	@Test
+	void releasedBlobIsCollectedOnlyAfterGrace() throws IOException {
+		String sha256 = put(CONTENT).sha256();
+		documentStore.release(sha256);
+		assertThat(refCount(sha256)).isZero();
+
+		assertThat(documentStore.collectGarbage(GRACE)).isZero();
+		assertThat(fileStorage.stat(key(sha256))).isPresent();
+
+		expireGrace(sha256);
+		assertThat(documentStore.collectGarbage(GRACE)).isEqualTo(1);
+		assertThat(fileStorage.stat(key(sha256))).isEmpty();
+		assertThat(documentBlobRepository.findById(sha256)).isEmpty();
+	}
+
+	@Test
+	void blobReferencedAgainWithinGraceSurvives() throws IOException {
+		String sha256 = put(CONTENT).sha256();
+		documentStore.release(sha256);
+		expireGrace(sha256);
+
+		// 수집 전에 같은 내용이 다시 저장됨
+		put(CONTENT);
+
+		assertThat(documentStore.collectGarbage(GRACE)).isZero();
+		assertThat(refCount(sha256)).isEqualTo(1);
+		assertThat(documentStore.find(sha256)).isPresent();
+	}
+
+	@Test
+	void orphanFileWithoutRowIsRemoved() throws IOException {
+		String orphan = "a".repeat(64);
+		String recent = "b".repeat(64);
+		writeFile(key(orphan), CONTENT, GRACE.plusMinutes(1));
+		writeFile(key(recent), CONTENT, Duration.ZERO);
+
+		assertThat(documentStore.collectGarbage(GRACE)).isEqualTo(1);
+		assertThat(fileStorage.stat(key(orphan))).isEmpty();
+		// 방금 쓰인 파일은 아직 커밋 전일 수 있으므로 남긴다
+		assertThat(fileStorage.stat(key(recent))).isPresent();
+	}
+
+	@Test
+	void staleIncomingFileIsCleanedUp() throws IOException {
+		writeFile("incoming/stale-upload", CONTENT, GRACE.plusMinutes(1));
+		writeFile("incoming/active-upload", CONTENT, Duration.ZERO);
+
+		documentStore.collectGarbage(GRACE);
+
+		assertThat(fileStorage.list("incoming")).containsOnlyKeys("incoming/active-upload");
+	}
+}
@@ -0,0 +1,114 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.CacheControl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import net.dima.project.controller.FileResponseWriter;
+
+/**
+ * 로컬 파일 저장소와 다운로드 응답(Range / ETag) 테스트
+ */
+class FileStorageTests {
+
+	private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+	@TempDir
+	Path root;
+
+	private LocalFileStorage storage;
+	private final FileResponseWriter writer = new FileResponseWriter();
+
+	@BeforeEach
+	void setUp() {
+		storage = new LocalFileStorage(root.toString());
+	}
+
+	@Test
+	void storeWritesAtomicallyWithChecksum() throws Exception {
+		StoredFile stored = storage.store("license.pdf", new ByteArrayInputStream(CONTENT), 1024);
+
+		assertThat(stored.size()).isEqualTo(CONTENT.length);
+		assertThat(stored.sha256()).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT)));
+		assertThat(Files.readAllBytes(root.resolve("license.pdf"))).isEqualTo(CONTENT);
+		try (var temp = Files.list(root.resolve(".tmp"))) {
+			assertThat(temp).isEmpty();
+		}
+	}
+
+	@Test
+	void oversizedUploadLeavesNothingBehind() throws Exception {
+		assertThatThrownBy(() -> storage.store("big.pdf", new ByteArrayInputStream(CONTENT), 10))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(storage.stat("big.pdf")).isEmpty();
+		try (var temp = Files.list(root.resolve(".tmp"))) {
+			assertThat(temp).isEmpty();
+		}
+	}
+
+	@Test
+	void keysCannotEscapeRoot() {
+		assertThatThrownBy(() -> storage.stat("../secret.txt")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> storage.stat(".tmp")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void nestedKeysCanBeMovedAndListed() throws Exception {
+		storage.store("incoming/upload", new ByteArrayInputStream(CONTENT), 1024);
+		storage.move("incoming/upload", "documents/ab/cd/abcd");
+
+		assertThat(storage.stat("incoming/upload")).isEmpty();
+		assertThat(storage.stat("documents/ab/cd/abcd")).hasValueSatisfying(f -> assertThat(f.size()).isEqualTo(CONTENT.length));
+		assertThat(storage.list("documents")).containsOnlyKeys("documents/ab/cd/abcd");
+		assertThatThrownBy(() -> storage.stat("documents/../../x")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rangeRequestReturnsPartialContent() throws Exception {
+		StoredFile stored = storage.store("license.pdf", new ByteArrayInputStream(CONTENT), 1024);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download/license/license.pdf");
+		request.addHeader("Range", "bytes=5-9");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		writer.write(request, response, storage, stored, "사업자등록증.pdf", CacheControl.noCache().cachePrivate());
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 5-9/20");
+		assertThat(response.getContentAsString()).isEqualTo("56789");
+		assertThat(response.getHeader("ETag")).isEqualTo(stored.etag());
+		assertThat(response.getHeader("Content-Disposition")).contains("filename*=UTF-8''");
+	}
+
+	@Test
+	void unsatisfiableRangeAndMatchingEtag() throws Exception {
+		StoredFile stored = storage.store("license.pdf", new ByteArrayInputStream(CONTENT), 1024);
+
+		MockHttpServletRequest outOfRange = new MockHttpServletRequest("GET", "/download/license/license.pdf");
+		outOfRange.addHeader("Range", "bytes=100-");
+		MockHttpServletResponse rangeResponse = new MockHttpServletResponse();
+		writer.write(outOfRange, rangeResponse, storage, stored, "a.pdf", CacheControl.noCache());
+		assertThat(rangeResponse.getStatus()).isEqualTo(416);
+		assertThat(rangeResponse.getHeader("Content-Range")).isEqualTo("bytes */20");
+
+		MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/download/license/license.pdf");
+		revalidate.addHeader("If-None-Match", stored.etag());
+		MockHttpServletResponse notModified = new MockHttpServletResponse();
+		writer.write(revalidate, notModified, storage, stored, "a.pdf", CacheControl.noCache());
+		assertThat(notModified.getStatus()).isEqualTo(304);
+		assertThat(notModified.getContentAsByteArray()).isEmpty();
+	}
+}
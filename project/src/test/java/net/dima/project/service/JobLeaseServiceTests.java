@@ -0,0 +1,168 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 작업 임대 테스트.
+ * 같은 내장 DB(H2, MySQL 모드)를 바라보는 애플리케이션 컨텍스트 두 개를 두 인스턴스로 보고,
+ * 같은 작업을 실행했을 때 한 곳에서만 실행되는지 확인한다.
+ */
+class JobLeaseServiceTests {
+
+	private static final String URL = "jdbc:h2:mem:job-lease;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	private static final long TTL_MS = 300;
+
+	private AnnotationConfigApplicationContext nodeA;
+	private AnnotationConfigApplicationContext nodeB;
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void setUp() {
+		nodeA = node("node-a");
+		nodeB = node("node-b");
+		jdbc = nodeA.getBean(JdbcTemplate.class);
+		jdbc.execute("DROP TABLE IF EXISTS job_lease");
+		jdbc.execute("DROP TABLE IF EXISTS job_execution");
+		new ResourceDatabasePopulator(new ClassPathResource("job-lease-schema.sql"))
+				.execute(nodeA.getBean(DataSource.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		nodeA.close();
+		nodeB.close();
+	}
+
+	@Test
+	void concurrentRunsExecuteOnlyOnce() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch ready = new CountDownLatch(1);
+		JobLeaseService.Job job = () -> {
+			runs.incrementAndGet();
+			Thread.sleep(200);
+			return 7;
+		};
+
+		CompletableFuture<Boolean> a = CompletableFuture.supplyAsync(() -> runAfter(ready, lease(nodeA), job));
+		CompletableFuture<Boolean> b = CompletableFuture.supplyAsync(() -> runAfter(ready, lease(nodeB), job));
+		ready.countDown();
+
+		assertThat(List.of(a.get(5, TimeUnit.SECONDS), b.get(5, TimeUnit.SECONDS))).containsExactlyInAnyOrder(true, false);
+		assertThat(runs).hasValue(1);
+
+		List<Map<String, Object>> history = lease(nodeA).findRecentExecutions(10);
+		assertThat(history).hasSize(1);
+		assertThat(history.get(0).get("STATUS")).isEqualTo("SUCCESS");
+		assertThat(history.get(0).get("ROW_COUNT")).isEqualTo(7);
+		assertThat(history.get(0).get("NODE_ID")).isEqualTo(a.get() ? "node-a" : "node-b");
+	}
+
+	@Test
+	void heartbeatKeepsLeaseWhileRunning() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CompletableFuture<Boolean> longRun = CompletableFuture.supplyAsync(() -> lease(nodeA).runExclusive("long", Duration.ZERO, () -> {
+			started.countDown();
+			Thread.sleep(TTL_MS * 4);
+			return 0;
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// ttl이 여러 번 지나도 실행 중인 동안에는 다른 노드가 가져가지 못한다
+		int attempts = 0;
+		while (!longRun.isDone()) {
+			assertThat(lease(nodeB).runExclusive("long", Duration.ZERO, () -> 0)).isFalse();
+			attempts++;
+			Thread.sleep(50);
+		}
+		assertThat(longRun.get()).isTrue();
+		assertThat(attempts).isGreaterThan(5);
+
+		// 끝난 뒤(lock-at-least 없음)에는 바로 가져갈 수 있다
+		assertThat(lease(nodeB).runExclusive("long", Duration.ZERO, () -> 0)).isTrue();
+	}
+
+	@Test
+	void expiredLeaseOfCrashedNodeIsTakenOver() {
+		LocalDateTime now = LocalDateTime.now();
+		insertLease("stale", now.minusSeconds(1));
+		insertLease("held", now.plusMinutes(1));
+
+		assertThat(lease(nodeB).runExclusive("stale", Duration.ZERO, () -> 1)).isTrue();
+		assertThat(lease(nodeB).runExclusive("held", Duration.ZERO, () -> 1)).isFalse();
+		assertThat(jdbc.queryForObject("SELECT owner_node FROM job_lease WHERE job_name = 'stale'", String.class))
+				.isEqualTo("node-b");
+	}
+
+	@Test
+	void lockAtLeastPreventsRerunOnOtherNode() {
+		assertThat(lease(nodeA).runExclusive("nightly", Duration.ofMinutes(1), () -> 3)).isTrue();
+		assertThat(lease(nodeB).runExclusive("nightly", Duration.ofMinutes(1), () -> 3)).isFalse();
+		assertThat(lease(nodeA).runExclusive("nightly", Duration.ofMinutes(1), () -> 3)).isFalse();
+	}
+
+	@Test
+	void failedJobIsRecordedAndReleased() {
+		assertThat(lease(nodeA).runExclusive("broken", Duration.ZERO, () -> {
+			throw new IllegalStateException("boom");
+		})).isTrue();
+
+		Map<String, Object> row = lease(nodeA).findRecentExecutions(1).get(0);
+		assertThat(row.get("STATUS")).isEqualTo("FAILED");
+		assertThat(row.get("ERROR_MESSAGE")).isEqualTo("boom");
+		assertThat(lease(nodeB).runExclusive("broken", Duration.ZERO, () -> 0)).isTrue();
+	}
+
+	private static AnnotationConfigApplicationContext node(String nodeId) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.registerBean(DataSource.class, () -> new DriverManagerDataSource(URL));
+		context.registerBean(JdbcTemplate.class, () -> new JdbcTemplate(context.getBean(DataSource.class)));
+		context.registerBean(PlatformTransactionManager.class,
+				() -> new DataSourceTransactionManager(context.getBean(DataSource.class)));
+		context.registerBean(JobLeaseService.class, () -> new JobLeaseService(context.getBean(JdbcTemplate.class),
+				context.getBean(PlatformTransactionManager.class), nodeId, TTL_MS));
+		context.refresh();
+		return context;
+	}
+
+	private static JobLeaseService lease(AnnotationConfigApplicationContext node) {
+		return node.getBean(JobLeaseService.class);
+	}
+
+	private static boolean runAfter(CountDownLatch ready, JobLeaseService lease, JobLeaseService.Job job) {
+		try {
+			ready.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return lease.runExclusive("race", Duration.ofSeconds(10), job);
+	}
+
+	private void insertLease(String jobName, LocalDateTime leaseUntil) {
+		Timestamp lockedAt = Timestamp.valueOf(leaseUntil.minusMinutes(5));
+		jdbc.update("INSERT INTO job_lease (job_name, owner_node, owner_token, locked_at, heartbeat_at, lease_until) "
+				+ "VALUES (?, 'crashed-node', 'token', ?, ?, ?)", jobName, lockedAt, lockedAt, Timestamp.valueOf(leaseUntil));
+	}
+}
@@ -0,0 +1,179 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.web.client.RestTemplate;
+
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.UserRepository;
+
+/**
+ * 로그인 처리량 벤치마크 (gradle benchmark 로 실행, 기본 test 에서는 제외)
+ *
+ * 폼 로그인(LoginService)과 카카오/네이버 로그인(KakaoService, NaverService)의 사용자 조회 경로를
+ * 여러 스레드에서 반복 호출해, 사용자 캐시가 있을 때와 없을 때의 처리량과 users 조회 횟수를 비교합니다.
+ * - DB: UserRepository 목(mock)이 조회마다 DB_LATENCY_MS 만큼 지연 (네트워크 왕복 + 인덱스 조회 가정)
+ * - OAuth 제공자: 사용자 정보 API를 RestTemplate 목으로 대신하므로 외부 네트워크 없이 실행됩니다.
+ * 비밀번호 해시 비용은 사용자 조회와 무관하므로 포함하지 않습니다.
+ */
+@Tag("benchmark")
+class LoginThroughputBenchmark {
+
+	private static final int USERS = 500;
+	private static final int THREADS = 16;
+	private static final int LOGINS = 20_000;
+	private static final long DB_LATENCY_MS = 2;
+
+	@Test
+	void compareLoginThroughputWithAndWithoutUserCache() throws Exception {
+		Result uncached = run(0);
+		Result cached = run(10_000);
+
+		System.out.printf("[login-benchmark] users=%d threads=%d logins=%d db-latency=%dms%n",
+				USERS, THREADS, LOGINS, DB_LATENCY_MS);
+		System.out.println("[login-benchmark] no cache : " + uncached);
+		System.out.println("[login-benchmark] user cache: " + cached);
+
+		assertThat(uncached.queries).isEqualTo(LOGINS);
+		// 사용자마다 로그인 경로(폼/카카오/네이버)별로 처음 한 번씩만 조회
+		// (같은 사용자를 여러 스레드가 동시에 처음 조회하면 중복될 수 있어 스레드 수만큼 여유를 둔다)
+		assertThat(cached.queries).isLessThanOrEqualTo(USERS * 3L + (long) THREADS * THREADS);
+		assertThat(cached.loginsPerSecond).isGreaterThan(uncached.loginsPerSecond);
+	}
+
+	private record Result(long elapsedMs, double loginsPerSecond, long queries) {
+		@Override
+		public String toString() {
+			return String.format("%,d ms, %,.0f logins/s, users 조회 %,d회", elapsedMs, loginsPerSecond, queries);
+		}
+	}
+
+	private Result run(int cacheSize) throws Exception {
+		LongAdder queries = new LongAdder();
+		UserRepository userRepository = slowRepository(queries);
+		UserCache userCache = new UserCache(userRepository, cacheSize, 600_000);
+
+		LoginService loginService = new LoginService(userCache, userRepository);
+		KakaoService kakaoService = new KakaoService(userCache);
+		kakaoService.setRestOperations(userInfoApi(id -> Map.of("id", id)));
+		NaverService naverService = new NaverService(userCache);
+		naverService.setRestOperations(userInfoApi(id -> Map.of("response", Map.of("id", String.valueOf(id)))));
+		ClientRegistration kakao = registration("kakao", "id");
+		ClientRegistration naver = registration("naver", "response");
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(pool.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < LOGINS / THREADS; i++) {
+						int user = random.nextInt(USERS);
+						int kind = random.nextInt(10);
+						if (kind < 6) {
+							loginService.loadUserByUsername("user" + user);
+						} else if (kind < 8) {
+							kakaoService.loadUser(userRequest(kakao, user));
+						} else {
+							naverService.loadUser(userRequest(naver, user));
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+			pool.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return new Result(elapsedMs, LOGINS * 1000.0 / elapsedMs, queries.sum());
+	}
+
+	private static UserEntity user(int n, String provider, String providerId) {
+		return UserEntity.builder().userSeq(n + 1).userId("user" + n).userPwd("{noop}pw").userName("사용자" + n)
+				.companyName("회사" + n).email("user" + n + "@example.com").provider(provider).providerId(providerId)
+				.roles("ROLE_fwd").approvalStatus("APPROVED").build();
+	}
+
+	// 조회마다 DB 왕복 지연을 흉내 내는 UserRepository
+	private static UserRepository slowRepository(LongAdder queries) {
+		UserRepository repository = mock(UserRepository.class);
+		when(repository.findByUserId(anyString())).thenAnswer(invocation -> {
+			query(queries);
+			String userId = invocation.getArgument(0);
+			return user(Integer.parseInt(userId.substring(4)), "local", null);
+		});
+		when(repository.findByProviderAndProviderId(anyString(), anyString())).thenAnswer(invocation -> {
+			query(queries);
+			String provider = invocation.getArgument(0);
+			String providerId = invocation.getArgument(1);
+			// 소셜 가입자는 userSeq가 겹치지 않도록 따로 번호를 매긴다
+			int offset = "kakao".equals(provider) ? USERS : USERS * 2;
+			return user(offset + Integer.parseInt(providerId), provider, providerId);
+		});
+		return repository;
+	}
+
+	private static void query(LongAdder queries) throws InterruptedException {
+		queries.increment();
+		Thread.sleep(DB_LATENCY_MS);
+	}
+
+	// OAuth 제공자의 사용자 정보 API 대신 응답하는 RestTemplate (사용자 번호는 액세스 토큰에 담아 전달)
+	private static RestTemplate userInfoApi(IntFunction<Map<String, Object>> body) {
+		return new RestTemplate() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> ResponseEntity<T> exchange(RequestEntity<?> request, ParameterizedTypeReference<T> responseType) {
+				String token = request.getHeaders().getFirst("Authorization").substring("Bearer ".length());
+				return ResponseEntity.ok((T) body.apply(Integer.parseInt(token)));
+			}
+		};
+	}
+
+	private static ClientRegistration registration(String id, String userNameAttribute) {
+		return ClientRegistration.withRegistrationId(id)
+				.clientId("benchmark")
+				.authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+				.redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+				.authorizationUri("https://" + id + ".invalid/oauth/authorize")
+				.tokenUri("https://" + id + ".invalid/oauth/token")
+				.userInfoUri("https://" + id + ".invalid/v1/user/me")
+				.userNameAttributeName(userNameAttribute)
+				.build();
+	}
+
+	private static OAuth2UserRequest userRequest(ClientRegistration registration, int user) {
+		OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, String.valueOf(user),
+				Instant.now(), Instant.now().plusSeconds(3600));
+		return new OAuth2UserRequest(registration, token);
+	}
+}
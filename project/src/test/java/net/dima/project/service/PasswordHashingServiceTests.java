@@ -0,0 +1,63 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 비밀번호 해시 서비스 테스트 (cost 보정 범위 / 기존 해시 호환 / 자동 갱신 대상 / 대기열 제한)
+ */
+class PasswordHashingServiceTests {
+
+	@Test
+	void calibratedCostStaysWithinBounds() {
+		PasswordHashingService fixed = new PasswordHashingService(10_000, 4, 4, 1, 10, 10_000);
+		assertThat(fixed.getCost()).isEqualTo(4);
+
+		PasswordHashingService bounded = new PasswordHashingService(10_000, 4, 6, 1, 10, 10_000);
+		assertThat(bounded.getCost()).isBetween(4, 6);
+	}
+
+	@Test
+	void newHashesArePrefixedAndVerified() {
+		PasswordHashingService hashing = new PasswordHashingService(1, 4, 4, 2, 10, 10_000);
+
+		String hash = hashing.encode("secret!");
+
+		assertThat(hash).startsWith("{bcrypt}$2a$04$");
+		assertThat(hashing.matches("secret!", hash)).isTrue();
+		assertThat(hashing.matches("wrong", hash)).isFalse();
+		assertThat(hashing.upgradeEncoding(hash)).isFalse();
+	}
+
+	@Test
+	void legacyAndWeakerHashesAreUpgraded() {
+		PasswordHashingService hashing = new PasswordHashingService(1, 5, 5, 1, 10, 10_000);
+
+		// 접두어 없는 기존 해시도 로그인은 되고, 다음 로그인 때 다시 해시 대상
+		String legacy = new BCryptPasswordEncoder(4).encode("secret!");
+		assertThat(hashing.matches("secret!", legacy)).isTrue();
+		assertThat(hashing.upgradeEncoding(legacy)).isTrue();
+
+		// 현재보다 낮은 cost
+		assertThat(hashing.upgradeEncoding("{bcrypt}" + legacy)).isTrue();
+	}
+
+	@Test
+	void fullQueueRejectsInsteadOfBlocking() {
+		PasswordHashingService hashing = new PasswordHashingService(1, 12, 12, 1, 1, 10_000);
+
+		assertThatThrownBy(() -> {
+			List<CompletableFuture<String>> hashes = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				hashes.add(hashing.encodeAsync("secret" + i));
+			}
+		}).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,134 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import net.dima.project.dto.Money;
+import net.dima.project.dto.PriceHintDto;
+import net.dima.project.entity.OfferStatus;
+import net.dima.project.entity.ScfiData;
+import net.dima.project.repository.OfferRepository;
+import net.dima.project.repository.RequestRepository;
+
+/**
+ * 제안가 추천 테스트 (SCFI 보정 / 범위 넓히기 / 낙찰 증분 반영 / 요청 경로 캐시)
+ */
+class PriceHintServiceTests {
+
+	private final OfferRepository offerRepository = mock(OfferRepository.class);
+	private final RequestRepository requestRepository = mock(RequestRepository.class);
+	private final FxRateService fxRateService = mock(FxRateService.class);
+	private final ScfiSeriesService scfiSeriesService = mock(ScfiSeriesService.class);
+
+	private PriceHintService service(List<Object[]> deals) {
+		// SCFI: 1월 1000 -> 3월 2000 (시장 두 배)
+		List<ScfiData> scfi = new ArrayList<>();
+		scfi.add(scfi("2024-01-05", "1000"));
+		scfi.add(scfi("2024-02-02", "1500"));
+		scfi.add(scfi("2024-03-01", "2000"));
+		when(scfiSeriesService.snapshot()).thenReturn(new ScfiSeries(scfi, Instant.EPOCH));
+		when(fxRateService.getBaseCurrency()).thenReturn("KRW");
+		when(fxRateService.toBase(any(Money.class), any(LocalDate.class)))
+				.thenAnswer(invocation -> {
+					Money money = invocation.getArgument(0);
+					return "KRW".equals(money.currency()) ? Optional.of(money) : Optional.empty();
+				});
+		when(offerRepository.findDealPriceSamples(anyCollection())).thenReturn(deals);
+		when(requestRepository.findRouteAndCbm(anyLong())).thenReturn(List.<Object[]>of(new Object[] { "Busan", "LA", 2.0 }));
+		PriceHintService service = new PriceHintService(offerRepository, requestRepository, fxRateService, scfiSeriesService,
+				3, 100, 100);
+		service.rebuild();
+		return service;
+	}
+
+	private static ScfiData scfi(String date, String value) {
+		ScfiData data = new ScfiData();
+		data.setRecordDate(LocalDate.parse(date));
+		data.setIndexValue(new BigDecimal(value));
+		return data;
+	}
+
+	private static Object[] deal(String from, String to, double cbm, String price, String currency, String date) {
+		return new Object[] { from, to, cbm, new BigDecimal(price), currency, LocalDate.parse(date).atStartOfDay() };
+	}
+
+	@Test
+	void hintIsScaledToCurrentScfiLevel() {
+		// 1월(SCFI 1000)에 CBM당 100,000원 낙찰 3건 -> 현재 SCFI 2000 이면 CBM당 200,000원
+		PriceHintService service = service(new ArrayList<>(List.of(
+				deal("BUSAN", "LA", 2, "200000", "KRW", "2024-01-10"),
+				deal("busan ", "la", 2.5, "250000", "KRW", "2024-01-11"),
+				deal("BUSAN", "LA", 1.5, "150000", "KRW", "2024-01-12"))));
+
+		PriceHintDto hint = service.hint(1L);
+		assertThat(hint.getBasis()).isEqualTo("ROUTE_BAND");
+		assertThat(hint.getSampleCount()).isEqualTo(3);
+		assertThat(hint.getMedianPerCbm()).isEqualByComparingTo("200000");
+		assertThat(hint.getMedian()).isEqualByComparingTo("400000"); // 2 CBM
+		assertThat(hint.getCurrency()).isEqualTo("KRW");
+		assertThat(hint.getScfiLatest()).isEqualByComparingTo("2000");
+		assertThat(hint.getScfiTrendPct()).isEqualTo(33.33); // 4주 전 1500 대비
+	}
+
+	@Test
+	void fallsBackToWiderScopeWhenRouteHasFewDeals() {
+		PriceHintService service = service(new ArrayList<>(List.of(
+				deal("BUSAN", "LA", 2, "200000", "KRW", "2024-01-10"),
+				deal("INCHEON", "TOKYO", 10, "1000000", "KRW", "2024-01-10"),
+				deal("INCHEON", "TOKYO", 10, "1000000", "KRW", "2024-01-11"),
+				deal("INCHEON", "TOKYO", 10, "1000000", "USD", "2024-01-11")))); // 환율 없음 -> 제외
+
+		PriceHintDto hint = service.hint(1L);
+		assertThat(hint.getBasis()).isEqualTo("ALL");
+		assertThat(hint.getSampleCount()).isEqualTo(3);
+	}
+
+	@Test
+	void confirmedDealUpdatesStatisticsWithoutRebuild() {
+		PriceHintService service = service(new ArrayList<>());
+		assertThat(service.hint(1L).getBasis()).isEqualTo("NONE");
+
+		LocalDateTime at = LocalDateTime.parse("2024-03-01T10:00:00");
+		for (int i = 0; i < 3; i++) {
+			service.addDeal("Busan", "LA", 2.0, new BigDecimal("600000"), "KRW", at);
+		}
+		PriceHintDto hint = service.hint(1L);
+		assertThat(hint.getBasis()).isEqualTo("ROUTE_BAND");
+		assertThat(hint.getMedian()).isEqualByComparingTo("600000");
+		verify(offerRepository, times(1)).findDealPriceSamples(anyCollection());
+		// 요청 경로는 한 번만 조회
+		verify(requestRepository, times(1)).findRouteAndCbm(1L);
+	}
+
+	@Test
+	void resoldOffersAreNotSampled() {
+		service(new ArrayList<>());
+
+		verify(offerRepository).findDealPriceSamples(PriceHintService.DEAL_STATUSES);
+		assertThat(PriceHintService.DEAL_STATUSES).contains(OfferStatus.ACCEPTED).doesNotContain(OfferStatus.RESOLD);
+	}
+
+	@Test
+	void unknownRequestIsRejected() {
+		PriceHintService service = service(new ArrayList<>());
+		when(requestRepository.findRouteAndCbm(99L)).thenReturn(List.of());
+		assertThatThrownBy(() -> service.hint(99L)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,75 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 요청 마감 처리 예약 테스트.
+ * 처리가 실패하면 밀린 마감일이 남아 있어도 바로 다시 깨어나지 않고 재시도 간격 뒤로 예약되는지 확인한다.
+ */
+class RequestExpirySchedulerTests {
+
+	private final RequestExpiryService requestExpiryService = mock(RequestExpiryService.class);
+	private final JobLeaseService jobLeaseService = mock(JobLeaseService.class);
+	private final RequestExpiryScheduler scheduler = new RequestExpiryScheduler(requestExpiryService, jobLeaseService);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(scheduler, "chunkSize", 200);
+		scheduler.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	void failedRunIsRetriedAfterBackoff() throws Exception {
+		// runExclusive처럼 작업 실패를 기록만 하고 실행했다고 돌려줌
+		when(jobLeaseService.runExclusive(eq("request-expiry"), any(), any())).thenAnswer(invocation -> {
+			try {
+				invocation.getArgument(2, JobLeaseService.Job.class).run();
+			} catch (Exception e) {
+				// FAILED 이력만 남김
+			}
+			return true;
+		});
+		when(requestExpiryService.expireChunk(any(), anyInt())).thenThrow(new QueryTimeoutException("lock wait timeout"));
+		when(requestExpiryService.findNextDeadline()).thenReturn(LocalDateTime.now().minusHours(1));
+
+		LocalDateTime startedAt = LocalDateTime.now();
+		scheduler.requestSweep();
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (scheduler.getWakeupAt() == null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		Thread.sleep(300);
+
+		assertThat(scheduler.getWakeupAt()).isAfter(startedAt.plusSeconds(4));
+		verify(requestExpiryService, times(1)).expireChunk(any(), anyInt());
+	}
+
+	@Test
+	void backoffDoublesUpToMaximum() {
+		assertThat(RequestExpiryScheduler.failureBackoff(1)).isEqualTo(Duration.ofSeconds(5));
+		assertThat(RequestExpiryScheduler.failureBackoff(2)).isEqualTo(Duration.ofSeconds(10));
+		assertThat(RequestExpiryScheduler.failureBackoff(4)).isEqualTo(Duration.ofSeconds(40));
+		assertThat(RequestExpiryScheduler.failureBackoff(50)).isEqualTo(Duration.ofMinutes(5));
+	}
+}
@@ -0,0 +1,120 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 요청 마감 일괄 처리 테스트 (내장 DB H2, MySQL 모드).
+ * 재판매 요청은 CLOSED + 원본 제안 FOR_SALE -> ACCEPTED, 화주 요청은 EXPIRED,
+ * 입찰은 PENDING만 REJECTED가 되고, chunk 크기를 넘는 밀린 요청도 반복 호출로 모두 처리되는지 확인한다.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:request-expiry;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RequestExpiryService.class)
+class RequestExpiryServiceTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 7, 1, 12, 0);
+
+	@Autowired
+	private RequestExpiryService requestExpiryService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private long nextId = 1;
+
+	@BeforeEach
+	void setUp() {
+		// 사용자/화물/컨테이너 행 없이 요청과 제안만 다룬다
+		jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE");
+	}
+
+	private long request(String status, LocalDateTime deadline, Long sourceOfferId) {
+		long id = nextId++;
+		jdbc.update("INSERT INTO request (request_id, cargo_id, requester_id, departure_port, arrival_port, deadline, "
+				+ "trade_type, transport_type, status, source_offer_id) VALUES (?, 1, 1, 'BUSAN', 'LA', ?, 'EXPORT', 'SEA', ?, ?)",
+				id, Timestamp.valueOf(deadline), status, sourceOfferId);
+		return id;
+	}
+
+	private long offer(long requestId, String status) {
+		long id = nextId++;
+		jdbc.update("INSERT INTO offer (offer_id, request_id, container_id, forwarder_id, price, currency, status) "
+				+ "VALUES (?, ?, 'C-1', 1, 1000, 'KRW', ?)", id, requestId, status);
+		return id;
+	}
+
+	private String requestStatus(long requestId) {
+		return jdbc.queryForObject("SELECT status FROM request WHERE request_id = ?", String.class, requestId);
+	}
+
+	private String offerStatus(long offerId) {
+		return jdbc.queryForObject("SELECT status FROM offer WHERE offer_id = ?", String.class, offerId);
+	}
+
+	@Test
+	void resaleRequestIsClosedAndSourceOfferReturnsToAccepted() {
+		long shipperRequest = request("CLOSED", NOW.minusDays(10), null);
+		long sourceOffer = offer(shipperRequest, "FOR_SALE");
+		long resaleRequest = request("OPEN", NOW.minusMinutes(1), sourceOffer);
+
+		assertThat(requestExpiryService.expireChunk(NOW, 10)).isEqualTo(1);
+
+		assertThat(requestStatus(resaleRequest)).isEqualTo("CLOSED");
+		assertThat(offerStatus(sourceOffer)).isEqualTo("ACCEPTED");
+	}
+
+	@Test
+	void shipperRequestExpiresAndOnlyPendingBidsAreRejected() {
+		long shipperRequest = request("OPEN", NOW.minusMinutes(1), null);
+		long pending = offer(shipperRequest, "PENDING");
+		long accepted = offer(shipperRequest, "ACCEPTED");
+		long rejected = offer(shipperRequest, "REJECTED");
+
+		assertThat(requestExpiryService.expireChunk(NOW, 10)).isEqualTo(1);
+
+		assertThat(requestStatus(shipperRequest)).isEqualTo("EXPIRED");
+		assertThat(offerStatus(pending)).isEqualTo("REJECTED");
+		assertThat(offerStatus(accepted)).isEqualTo("ACCEPTED");
+		assertThat(offerStatus(rejected)).isEqualTo("REJECTED");
+	}
+
+	@Test
+	void backlogLargerThanChunkIsProcessedByRepeatedCalls() {
+		for (int i = 0; i < 7; i++) {
+			request("OPEN", NOW.minusHours(i + 1), null);
+		}
+		long notDue = request("OPEN", NOW.plusHours(1), null);
+		long closed = request("CLOSED", NOW.minusDays(1), null);
+		long confirmed = request("CONFIRMED", NOW.minusDays(1), null);
+
+		int total = 0;
+		int processed;
+		do {
+			processed = requestExpiryService.expireChunk(NOW, 3);
+			total += processed;
+		} while (processed == 3);
+
+		assertThat(total).isEqualTo(7);
+		assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM request WHERE status = 'EXPIRED'", Integer.class)).isEqualTo(7);
+		assertThat(requestStatus(notDue)).isEqualTo("OPEN");
+		assertThat(requestStatus(closed)).isEqualTo("CLOSED");
+		assertThat(requestStatus(confirmed)).isEqualTo("CONFIRMED");
+		assertThat(requestExpiryService.findNextDeadline()).isEqualTo(NOW.plusHours(1));
+	}
+}
@@ -0,0 +1,75 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import net.dima.project.dto.ScfiImportResultDto;
+
+/**
+ * SCFI CSV 일괄 반영 테스트 (형식 검사 / 줄별 오류 / 배치 크기)
+ */
+class ScfiImportServiceTests {
+
+	private static final LocalDate TODAY = LocalDate.parse("2025-06-30");
+
+	@Test
+	void parsesCommonDateAndNumberFormats() {
+		assertThat(ScfiImportService.parseLine("2024-01-05,1896.65", TODAY))
+				.containsExactly(Date.valueOf("2024-01-05"), new BigDecimal("1896.65"));
+		assertThat(ScfiImportService.parseLine("2024/1/12,\"2,206.031\"", TODAY))
+				.containsExactly(Date.valueOf("2024-01-12"), new BigDecimal("2206.03"));
+		assertThat(ScfiImportService.parseLine("2024.01.19, 2239.6", TODAY))
+				.containsExactly(Date.valueOf("2024-01-19"), new BigDecimal("2239.60"));
+	}
+
+	@Test
+	void rejectsInvalidRows() {
+		assertThatThrownBy(() -> ScfiImportService.parseLine("2024-01-05", TODAY)).hasMessageContaining("형식");
+		assertThatThrownBy(() -> ScfiImportService.parseLine("2024-13-05,100", TODAY)).hasMessageContaining("날짜");
+		assertThatThrownBy(() -> ScfiImportService.parseLine("2024-01-05,abc", TODAY)).hasMessageContaining("지수");
+		assertThatThrownBy(() -> ScfiImportService.parseLine("2024-01-05,-1", TODAY)).hasMessageContaining("0보다");
+		assertThatThrownBy(() -> ScfiImportService.parseLine("2030-01-04,100", TODAY)).hasMessageContaining("미래");
+	}
+
+	@Test
+	void importsValidRowsInBatchesAndReportsBadLines() throws Exception {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		ScfiSeriesService seriesService = mock(ScfiSeriesService.class);
+		ScfiImportService service = new ScfiImportService(jdbcTemplate, seriesService, 2, 100);
+
+		String csv = "\uFEFFrecord_date,index_value\n"
+				+ "2024-01-05,1896.65\n"
+				+ "# 주석\n"
+				+ "2024-01-12,oops\n"
+				+ "\n"
+				+ "2024-01-19,2239.61\n"
+				+ "2024-01-26,2179.09\n"
+				+ "2024-02-02,2049.57\n";
+		ScfiImportResultDto result = service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.getTotalRows()).isEqualTo(5);
+		assertThat(result.getImportedRows()).isEqualTo(4);
+		assertThat(result.getErrorRows()).isEqualTo(1);
+		assertThat(result.getErrors()).singleElement()
+				.satisfies(error -> assertThat(error.getLine()).isEqualTo(4));
+		assertThat(result.getFirstDate()).isEqualTo(LocalDate.parse("2024-01-05"));
+		assertThat(result.getLastDate()).isEqualTo(LocalDate.parse("2024-02-02"));
+		// 4줄 / 배치 2 = 2번
+		verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+		verify(seriesService).invalidateAfterCommit();
+	}
+}
@@ -0,0 +1,101 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.dima.project.dto.ScfiDataDto;
+import net.dima.project.dto.ScfiOhlcDto;
+import net.dima.project.entity.ScfiData;
+
+/**
+ * SCFI 스냅샷 테스트 (기간 조회 / 주간·월간 OHLC / LTTB / ETag)
+ */
+class ScfiSeriesTests {
+
+	private static ScfiData row(String date, String value) {
+		ScfiData data = new ScfiData();
+		data.setRecordDate(LocalDate.parse(date));
+		data.setIndexValue(new BigDecimal(value));
+		return data;
+	}
+
+	private static final List<ScfiData> ROWS = List.of(
+			row("2024-01-05", "1896.65"), // 금요일
+			row("2024-01-12", "2206.03"),
+			row("2024-01-19", "2239.61"),
+			row("2024-01-26", "2179.09"),
+			row("2024-02-02", "2049.57"),
+			row("2024-02-09", "2166.31"));
+
+	@Test
+	void rangeIsInclusiveAndToleratesMissingDates() {
+		ScfiSeries series = new ScfiSeries(ROWS, Instant.EPOCH);
+
+		assertThat(series.points(LocalDate.parse("2024-01-12"), LocalDate.parse("2024-01-26"), 0))
+				.extracting(ScfiDataDto::getRecordDate)
+				.containsExactly(LocalDate.parse("2024-01-12"), LocalDate.parse("2024-01-19"), LocalDate.parse("2024-01-26"));
+		assertThat(series.points(LocalDate.parse("2024-01-13"), LocalDate.parse("2024-01-25"), 0)).hasSize(1);
+		assertThat(series.points(null, null, 0)).hasSize(6);
+		assertThat(series.latest(2)).extracting(ScfiDataDto::getIndexValue)
+				.containsExactly(new BigDecimal("2166.31"), new BigDecimal("2049.57"));
+	}
+
+	@Test
+	void monthlyOhlcGroupsByCalendarMonth() {
+		ScfiSeries series = new ScfiSeries(ROWS, Instant.EPOCH);
+
+		List<ScfiOhlcDto> months = series.ohlc(ScfiSeries.Interval.MONTH, null, null);
+		assertThat(months).hasSize(2);
+		ScfiOhlcDto january = months.get(0);
+		assertThat(january.getPeriodStart()).isEqualTo(LocalDate.parse("2024-01-01"));
+		assertThat(january.getOpen()).isEqualByComparingTo("1896.65");
+		assertThat(january.getHigh()).isEqualByComparingTo("2239.61");
+		assertThat(january.getLow()).isEqualByComparingTo("1896.65");
+		assertThat(january.getClose()).isEqualByComparingTo("2179.09");
+		assertThat(january.getCount()).isEqualTo(4);
+
+		// 주간은 월요일 시작, 기간과 겹치는 구간만
+		assertThat(series.ohlc(ScfiSeries.Interval.WEEK, LocalDate.parse("2024-02-01"), null))
+				.extracting(ScfiOhlcDto::getPeriodStart)
+				.containsExactly(LocalDate.parse("2024-01-29"), LocalDate.parse("2024-02-05"));
+	}
+
+	@Test
+	void lttbKeepsEndpointsAndPeak() {
+		List<ScfiData> rows = new ArrayList<>();
+		LocalDate date = LocalDate.parse("2020-01-03");
+		for (int i = 0; i < 200; i++) {
+			String value = i == 137 ? "5000" : String.valueOf(1000 + i % 7);
+			rows.add(row(date.plusWeeks(i).toString(), value));
+		}
+		ScfiSeries series = new ScfiSeries(rows, Instant.EPOCH);
+
+		List<ScfiDataDto> points = series.points(null, null, 20);
+		assertThat(points).hasSize(20);
+		assertThat(points.get(0).getRecordDate()).isEqualTo(date);
+		assertThat(points.get(19).getRecordDate()).isEqualTo(date.plusWeeks(199));
+		assertThat(points).extracting(ScfiDataDto::getIndexValue).contains(new BigDecimal("5000"));
+		assertThat(points).extracting(ScfiDataDto::getRecordDate).isSorted();
+	}
+
+	@Test
+	void etagDependsOnContentOnly() {
+		ScfiSeries first = new ScfiSeries(ROWS, Instant.ofEpochSecond(100));
+		ScfiSeries reloaded = new ScfiSeries(new ArrayList<>(ROWS), Instant.ofEpochSecond(200)).withLastModifiedOf(first);
+		assertThat(reloaded.getEtag()).isEqualTo(first.getEtag());
+		assertThat(reloaded.getLastModified()).isEqualTo(Instant.ofEpochSecond(100));
+
+		List<ScfiData> changed = new ArrayList<>(ROWS);
+		changed.add(row("2024-02-23", "2109.91"));
+		ScfiSeries updated = new ScfiSeries(changed, Instant.ofEpochSecond(300)).withLastModifiedOf(first);
+		assertThat(updated.getEtag()).isNotEqualTo(first.getEtag());
+		assertThat(updated.getLastModified()).isEqualTo(Instant.ofEpochSecond(300));
+	}
+}
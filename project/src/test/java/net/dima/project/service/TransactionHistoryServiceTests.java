@@ -0,0 +1,42 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 거래내역 조회 테스트 (검색어 와일드카드는 그대로 검색 / 정렬 속성 제한과 페이지 순서 고정)
+ */
+class TransactionHistoryServiceTests {
+
+	@Test
+	void keywordWildcardsAreEscaped() {
+		assertThat(TransactionHistoryService.containsPattern(" Steel ")).isEqualTo("%steel%");
+		assertThat(TransactionHistoryService.containsPattern("100%_cotton!")).isEqualTo("%100!%!_cotton!!%");
+		assertThat(TransactionHistoryService.containsPattern("  ")).isNull();
+		assertThat(TransactionHistoryService.containsPattern(null)).isNull();
+	}
+
+	@Test
+	void sortIsWhitelistedAndEndsWithEntryId() {
+		Pageable requested = PageRequest.of(2, 20, Sort.by(Sort.Order.asc("price"), Sort.Order.desc("party.password")));
+
+		Pageable pageable = TransactionHistoryService.historyPageable(requested);
+
+		assertThat(pageable.getPageNumber()).isEqualTo(2);
+		assertThat(pageable.getPageSize()).isEqualTo(20);
+		assertThat(pageable.getSort()).containsExactly(Sort.Order.asc("price"), Sort.Order.desc("entryId"));
+	}
+
+	@Test
+	void unknownOrMissingSortFallsBackToTransactionDate() {
+		Pageable pageable = TransactionHistoryService.historyPageable(PageRequest.of(0, 20, Sort.by("nope")));
+
+		assertThat(pageable.getSort()).containsExactly(Sort.Order.desc("transactionDate"), Sort.Order.desc("entryId"));
+		assertThat(TransactionHistoryService.historyPageable(PageRequest.of(0, 20)).getSort())
+				.containsExactly(Sort.Order.desc("transactionDate"), Sort.Order.desc("entryId"));
+	}
+}
@@ -0,0 +1,80 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import net.dima.project.dto.CachedUser;
+import net.dima.project.entity.UserEntity;
+import net.dima.project.repository.UserRepository;
+
+/**
+ * 로그인 사용자 캐시 테스트 (LRU 제한 / 무효화 / 없는 사용자)
+ */
+class UserCacheTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	private static UserEntity user(int seq, String userId, String status) {
+		return UserEntity.builder().userSeq(seq).userId(userId).userName(userId).companyName("회사" + seq)
+				.approvalStatus(status).build();
+	}
+
+	@Test
+	void repeatedLookupsHitTheCacheByIdAndSeq() {
+		when(userRepository.findByUserId("fwd1")).thenReturn(user(1, "fwd1", "APPROVED"));
+		UserCache cache = new UserCache(userRepository, 10, 60_000);
+
+		assertThat(cache.findByUserId("fwd1")).map(CachedUser::getUserSeq).contains(1);
+		assertThat(cache.findByUserId("fwd1")).map(CachedUser::getCompanyName).contains("회사1");
+		assertThat(cache.findByUserSeq(1)).map(CachedUser::getUserId).contains("fwd1");
+
+		verify(userRepository, times(1)).findByUserId("fwd1");
+		assertThat(cache.stats()).containsEntry("hits", 2L).containsEntry("misses", 1L);
+	}
+
+	@Test
+	void invalidationReloadsChangedUser() {
+		when(userRepository.findByUserId("fwd1"))
+				.thenReturn(user(1, "fwd1", "PENDING"), user(1, "fwd1", "APPROVED"));
+		UserCache cache = new UserCache(userRepository, 10, 60_000);
+
+		assertThat(cache.findByUserId("fwd1")).map(CachedUser::getApprovalStatus).contains("PENDING");
+		cache.invalidateAfterCommit(1); // 트랜잭션 밖이면 즉시 제거
+		assertThat(cache.findByUserId("fwd1")).map(CachedUser::getApprovalStatus).contains("APPROVED");
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvicted() {
+		for (int i = 1; i <= 3; i++) {
+			when(userRepository.findByUserId("u" + i)).thenReturn(user(i, "u" + i, "APPROVED"));
+		}
+		UserCache cache = new UserCache(userRepository, 2, 60_000);
+
+		cache.findByUserId("u1");
+		cache.findByUserId("u2");
+		cache.findByUserId("u1"); // u2가 가장 오래 안 쓴 항목이 됨
+		cache.findByUserId("u3");
+		cache.findByUserId("u1");
+		cache.findByUserId("u2");
+
+		verify(userRepository, times(1)).findByUserId("u1");
+		verify(userRepository, times(2)).findByUserId("u2");
+		assertThat(cache.stats()).containsEntry("size", 2);
+	}
+
+	@Test
+	void missingUserIsNotCached() {
+		when(userRepository.findById(7)).thenReturn(Optional.empty()).thenReturn(Optional.of(user(7, "new", "PENDING")));
+		UserCache cache = new UserCache(userRepository, 10, 60_000);
+
+		assertThat(cache.findByUserSeq(7)).isEmpty();
+		assertThat(cache.findByUserSeq(7)).isPresent();
+	}
+}
@@ -0,0 +1,90 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import net.dima.project.dto.RequestCardDto;
+import net.dima.project.entity.ContainerEntity;
+import net.dima.project.entity.NotificationEvents.ContainerStatusChangedEvent;
+import net.dima.project.entity.NotificationEvents.RequestCreatedEvent;
+import net.dima.project.entity.VolumeBucket;
+import net.dima.project.repository.VolumeRollupRepository;
+
+/**
+ * 물동량 집계 테스트.
+ * 현황 계산 중에 들어온 변경이 다음 주기에 다시 계산되는지, 커밋 후 증분 실패가 호출한 쪽으로 전파되지 않는지 확인한다.
+ */
+class VolumeRollupServiceTests {
+
+	private final VolumeRollupRepository volumeRollupRepository = mock(VolumeRollupRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final VolumeRollupService volumeRollupService = new VolumeRollupService(volumeRollupRepository, transactionManager);
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	// 트랜잭션 안에서 현황을 계산하고 커밋까지 마친 것처럼 동기화 콜백을 실행한다
+	private void refreshAndCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		volumeRollupService.refreshSnapshot(LocalDate.now());
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void changeDuringRefreshKeepsSnapshotDirty() {
+		when(volumeRollupRepository.existsByStatDateAndBucket(any(LocalDate.class), any(VolumeBucket.class))).thenReturn(true);
+		when(volumeRollupRepository.insertOfferSnapshot(any(), any())).thenAnswer(invocation -> {
+			// 계산 도중 컨테이너 상태가 바뀜
+			volumeRollupService.onContainerStatusChanged(
+					new ContainerStatusChangedEvent(this, ContainerEntity.builder().build(), "컨테이너가 확정되었습니다."));
+			return 1;
+		});
+
+		refreshAndCommit();
+		assertThat(volumeRollupService.isSnapshotDirty()).isTrue();
+
+		when(volumeRollupRepository.insertOfferSnapshot(any(), any())).thenReturn(1);
+		refreshAndCommit();
+		assertThat(volumeRollupService.isSnapshotDirty()).isFalse();
+	}
+
+	@Test
+	void snapshotIsDirtyUntilTodayRowsExist() {
+		refreshAndCommit();
+		when(volumeRollupRepository.existsByStatDateAndBucket(any(LocalDate.class), any(VolumeBucket.class))).thenReturn(false);
+
+		assertThat(volumeRollupService.isSnapshotDirty()).isTrue();
+	}
+
+	@Test
+	void incrementFailureDoesNotPropagate() {
+		when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+		when(volumeRollupRepository.increment(any(), anyString(), any(), any(), any(), any(), anyInt(), any()))
+				.thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+		RequestCardDto request = RequestCardDto.builder().departurePort("KRPUS").arrivalPort("USLAX").cbm(3.0).build();
+		volumeRollupService.onRequestCreated(new RequestCreatedEvent(this, request));
+
+		verify(transactionManager).rollback(any());
+	}
+}
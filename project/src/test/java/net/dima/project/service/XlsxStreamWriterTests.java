@@ -0,0 +1,48 @@
+package net.dima.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 스트리밍 XLSX 작성기 테스트: 패키지 구성 요소와 셀 이스케이프 확인
+ */
+class XlsxStreamWriterTests {
+
+	@Test
+	void writesMinimalWorkbookPackage() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (XlsxStreamWriter xlsx = new XlsxStreamWriter(out, "거래내역", "품명", "금액")) {
+			xlsx.writeRow("전자부품 <A&B>", new BigDecimal("1250000.5000"));
+			xlsx.writeRow(null, 3);
+		}
+
+		Map<String, String> entries = new LinkedHashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+
+		assertThat(entries).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+				"xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+		assertThat(entries.get("xl/workbook.xml")).contains("<sheet name=\"거래내역\" sheetId=\"1\" r:id=\"rId1\"/>");
+
+		String sheet = entries.get("xl/worksheets/sheet1.xml");
+		assertThat(sheet).contains("<t xml:space=\"preserve\">품명</t>");
+		assertThat(sheet).contains("전자부품 &lt;A&amp;B&gt;");
+		assertThat(sheet).contains("<v>1250000.5000</v>");
+		assertThat(sheet).contains("<row><c/><c><v>3</v></c></row>");
+		assertThat(sheet).endsWith("</sheetData></worksheet>");
+	}
+}
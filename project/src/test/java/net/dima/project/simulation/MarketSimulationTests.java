@@ -0,0 +1,101 @@
+package net.dima.project.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 시장 시뮬레이션 테스트 (성향 배정 / 시나리오별 특성 / 병렬 재현성 / 열 파일)
+ */
+class MarketSimulationTests {
+
+	private static final SimulationConfig CONFIG = SimulationConfig.defaults();
+
+	private static SimulationGrid grid(int iterations) {
+		return new SimulationGrid(List.of(MarketScenario.values()), List.of(1000, 2000), List.of(50, 150), List.of(15),
+				iterations);
+	}
+
+	@Test
+	void strategiesFollowRatioWithPythonRounding() {
+		// 15 x 5/10 = 7.5 -> 8, 15 x 3/10 = 4.5 -> 4, 15 x 2/10 = 3
+		ForwarderStrategy[] strategies = new MarketSimulation(CONFIG, MarketScenario.B2C_OPEN_MARKET, 50, 1000, 15,
+				new SplittableRandom(1)).strategies();
+		assertThat(strategies).hasSize(15);
+		assertThat(List.of(strategies)).filteredOn(s -> s == ForwarderStrategy.RATIONAL).hasSize(8);
+		assertThat(List.of(strategies)).filteredOn(s -> s == ForwarderStrategy.AGGRESSIVE).hasSize(4);
+		assertThat(List.of(strategies)).filteredOn(s -> s == ForwarderStrategy.CONSERVATIVE).hasSize(3);
+	}
+
+	@Test
+	void resaleHappensOnlyInB2bMarket() {
+		MarketSimulation.Kpi primitive = new MarketSimulation(CONFIG, MarketScenario.PRIMITIVE_MARKET, 150, 1000, 15,
+				new SplittableRandom(7)).run();
+		MarketSimulation.Kpi open = new MarketSimulation(CONFIG, MarketScenario.B2C_OPEN_MARKET, 150, 1000, 15,
+				new SplittableRandom(7)).run();
+		MarketSimulation.Kpi b2b = new MarketSimulation(CONFIG, MarketScenario.B2B_ENABLED_MARKET, 150, 1000, 15,
+				new SplittableRandom(7)).run();
+
+		assertThat(primitive.b2bTrades()).isZero();
+		assertThat(open.b2bTrades()).isZero();
+		assertThat(b2b.b2bTrades()).isPositive();
+		// 접근 제한(3곳) 때문에 Primitive 시장은 적재 한도에 걸려 놓치는 요청이 많다
+		assertThat(primitive.successRate()).isLessThan(open.successRate());
+		assertThat(open.successRate()).isBetween(0.0, 100.0);
+		assertThat(b2b.ullageRate()).isBetween(0.0, 100.0);
+	}
+
+	@Test
+	void resultsAreReproducibleRegardlessOfParallelism() {
+		SimulationGrid grid = grid(5);
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool parallel = new ForkJoinPool(4);
+		try {
+			SimulationResults first = MarketSimulationRunner.run(CONFIG, grid, 42, single);
+			SimulationResults second = MarketSimulationRunner.run(CONFIG, grid, 42, parallel);
+			SimulationResults other = MarketSimulationRunner.run(CONFIG, grid, 43, parallel);
+
+			assertThat(first.rows()).isEqualTo(3 * 2 * 2 * 5);
+			assertThat(second.doubleColumn("avg_net_profit")).containsExactly(first.doubleColumn("avg_net_profit"));
+			assertThat(second.intColumn("b2b_trades")).containsExactly(first.intColumn("b2b_trades"));
+			assertThat(other.doubleColumn("avg_net_profit")).isNotEqualTo(first.doubleColumn("avg_net_profit"));
+			// 행 순서: 시나리오 -> 비용 -> 요청 -> 포워더 -> 반복
+			assertThat(first.intColumn("scenario")[0]).isZero();
+			assertThat(first.intColumn("container_cost")[10]).isEqualTo(2000);
+			assertThat(first.intColumn("requests")[5]).isEqualTo(150);
+			assertThat(first.intColumn("iteration")[7]).isEqualTo(2);
+		} finally {
+			single.shutdown();
+			parallel.shutdown();
+		}
+	}
+
+	@Test
+	void writesOneLittleEndianFilePerColumn(@TempDir Path dir) throws Exception {
+		SimulationGrid grid = grid(1);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		SimulationResults results;
+		try {
+			results = MarketSimulationRunner.run(CONFIG, grid, 1, pool);
+		} finally {
+			pool.shutdown();
+		}
+		results.write(dir);
+
+		assertThat(Files.readAllLines(dir.resolve("schema.csv")))
+				.contains("scenario,i32,12,Primitive_Market|B2C_Open_Market|B2B_Enabled_Market", "success_rate,f64,12,");
+		ByteBuffer successRate = ByteBuffer.wrap(Files.readAllBytes(dir.resolve("success_rate.f64"))).order(ByteOrder.LITTLE_ENDIAN);
+		assertThat(successRate.remaining()).isEqualTo(12 * Double.BYTES);
+		assertThat(successRate.getDouble(3 * Double.BYTES)).isEqualTo(results.doubleColumn("success_rate")[3]);
+		assertThat(Files.size(dir.resolve("requests.i32"))).isEqualTo(12 * Integer.BYTES);
+	}
+}
@@ -0,0 +1,22 @@
+-- SQL.txt 17. 스케줄 작업 임대(lease) / 실행 이력 과 동일 (테스트용 H2, MySQL 모드)
+CREATE TABLE job_lease (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner_node VARCHAR(200) NOT NULL,
+    owner_token VARCHAR(36) NOT NULL COMMENT '임대 1회마다 새로 발급 (연장/반납 시 본인 확인)',
+    locked_at DATETIME(3) NOT NULL,
+    heartbeat_at DATETIME(3) NOT NULL,
+    lease_until DATETIME(3) NOT NULL
+);
+CREATE TABLE job_execution (
+    execution_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    node_id VARCHAR(200) NOT NULL,
+    started_at DATETIME(3) NOT NULL,
+    finished_at DATETIME(3) NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL COMMENT 'SUCCESS, FAILED',
+    row_count INT NOT NULL DEFAULT 0,
+    error_message VARCHAR(1000) NULL,
+    KEY idx_job_execution_job_started (job_name, started_at),
+    KEY idx_job_execution_started (started_at)
+);